@@ -0,0 +1,83 @@
+package com.example.benchmarks;
+
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.BatchDigester;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara impressões digitais SHA-256 de um lote de senhas calculadas uma a uma pelo
+ * {@link HashingUtils} (com Base64) e pelo {@link BatchDigester}, em array e em buffer direto.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchDigesterBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private List<String> passwords;
+    private BatchDigester sha256;
+    private BatchDigester hmac;
+    private byte[] out;
+    private ByteBuffer direct;
+
+    @Setup
+    public void setup() {
+        passwords = new SecurePasswordGenerator(new PasswordPolicy(16, true, true, true, true)).generateBatch(BATCH_SIZE);
+        sha256 = BatchDigester.sha256();
+        hmac = BatchDigester.hmacSha256("chave-do-benchmark".getBytes());
+        out = new byte[BATCH_SIZE * BatchDigester.DIGEST_LENGTH];
+        direct = ByteBuffer.allocateDirect(out.length);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void hashingUtils(Blackhole blackhole) {
+        for (String password : passwords) {
+            blackhole.consume(HashingUtils.hashPassword(password, HashAlgorithm.SHA256));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] batchArray() {
+        sha256.digestAll(passwords, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public ByteBuffer batchDirect() {
+        direct.clear();
+        sha256.digestAll(passwords.iterator(), direct);
+        return direct;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] batchHmac() {
+        hmac.digestAll(passwords, out, 0);
+        return out;
+    }
+}
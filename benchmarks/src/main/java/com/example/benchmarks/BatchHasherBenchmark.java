@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.generator.hashing.BatchHasher;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a escalabilidade do {@link BatchHasher} conforme o paralelismo do pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(1)
+@Fork(1)
+public class BatchHasherBenchmark {
+
+    private static final int BATCH_SIZE = 256;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"PBKDF2", "BCRYPT"})
+    public HashAlgorithm algorithm;
+
+    private BatchHasher hasher;
+    private List<String> passwords;
+
+    @Setup
+    public void setup() {
+        hasher = new BatchHasher(parallelism);
+        passwords = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            passwords.add("senha-de-teste-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hasher.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<HashResult> hashAll() {
+        return hasher.hashAll(passwords, algorithm);
+    }
+}
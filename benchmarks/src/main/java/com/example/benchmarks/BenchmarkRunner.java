@@ -0,0 +1,46 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Ponto de entrada dos benchmarks.
+ *
+ * Executa os benchmarks selecionados uma vez para cada quantidade de threads pedida, sempre com
+ * o profiler de GC ativo (taxa de alocação) e gravando um relatório JSON por execução, para que
+ * resultados de versões diferentes possam ser comparados.
+ *
+ * <p>Uso: {@code java -jar benchmarks.jar [regex] [threads] [diretório]}, por exemplo
+ * {@code java -jar benchmarks.jar Hashing 1,4,16 resultados}.</p>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com.example.benchmarks.*";
+        String threads = args.length > 1 ? args[1] : "1,4";
+        File outputDir = new File(args.length > 2 ? args[2] : "jmh-results");
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            throw new IllegalStateException("Não foi possível criar o diretório " + outputDir);
+        }
+
+        for (String value : threads.split(",")) {
+            int threadCount = Integer.parseInt(value.trim());
+            File result = new File(outputDir, "jmh-result-" + threadCount + "t.json");
+
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threadCount)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(result.getPath());
+            new Runner(options.build()).run();
+            System.out.println("Relatório gravado em " + result.getPath());
+        }
+    }
+}
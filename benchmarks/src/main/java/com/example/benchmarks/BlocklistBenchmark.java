@@ -0,0 +1,102 @@
+package com.example.benchmarks;
+
+import com.example.generator.blocklist.BreachBlocklist;
+import com.example.generator.blocklist.BreachHashFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Mede a consulta à lista de senhas vazadas montada a partir de hashes SHA-1 sintéticos.
+ *
+ * {@code digestMiss} mede só o filtro de Bloom, com hashes já calculados; {@code passwordMiss}
+ * e {@code passwordHit} incluem o SHA-1 da senha e, no acerto, a busca binária no arquivo ordenado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlocklistBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"1000000"})
+    public int entries;
+
+    private Path dir;
+    private BreachBlocklist blocklist;
+    private String[] hits;
+    private String[] misses;
+    private byte[][] missDigests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("blocklist-bench");
+        Path dump = dir.resolve("dump.txt");
+        HexFormat hex = HexFormat.of().withUpperCase();
+        try (BufferedWriter out = Files.newBufferedWriter(dump, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < entries; i++) {
+                out.write(hex.formatHex(BreachHashFormat.SHA1.digest("vazada" + i)));
+                out.write(":1\n");
+            }
+        }
+        blocklist = BreachBlocklist.build(dump, dir.resolve("vazadas"), BreachHashFormat.SHA1);
+
+        SplittableRandom random = new SplittableRandom(1);
+        hits = new String[SAMPLES];
+        misses = new String[SAMPLES];
+        missDigests = new byte[SAMPLES][];
+        for (int i = 0; i < SAMPLES; i++) {
+            hits[i] = "vazada" + random.nextInt(entries);
+            misses[i] = "aleatoria" + random.nextLong();
+            missDigests[i] = BreachHashFormat.SHA1.digest(misses[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        blocklist.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean digestMiss() {
+        return blocklist.containsDigest(missDigests[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public boolean passwordMiss() {
+        return blocklist.contains(misses[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public boolean passwordHit() {
+        return blocklist.contains(hits[next++ & (SAMPLES - 1)]);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.benchmarks;
+
+import com.example.generator.hashing.CryptoPrimitives;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a obtenção de primitivas via {@code getInstance} a cada chamada com as instâncias
+ * reaproveitadas por thread de {@link CryptoPrimitives}, com 32 threads disputando os provedores.
+ *
+ * As entradas são pequenas e o PBKDF2 usa poucas iterações para que o custo de lookup e
+ * alocação, e não o da derivação em si, domine a medição.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+@Fork(1)
+public class CryptoPrimitivesBenchmark {
+
+    private static final int ITERATIONS = 16;
+
+    private final byte[] input = "MinhaSenha123".getBytes(StandardCharsets.UTF_8);
+    private final char[] password = "MinhaSenha123".toCharArray();
+    private final byte[] salt = new byte[16];
+    private final byte[] out = new byte[32];
+
+    @Benchmark
+    public byte[] sha256GetInstance() throws GeneralSecurityException {
+        return MessageDigest.getInstance("SHA-256").digest(input);
+    }
+
+    @Benchmark
+    public byte[] sha256Pooled() {
+        return CryptoPrimitives.sha256().digest(input);
+    }
+
+    @Benchmark
+    public byte[] pbkdf2GetInstance() throws GeneralSecurityException {
+        PBEKeySpec spec = new PBEKeySpec(password, salt, ITERATIONS, 256);
+        return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+    }
+
+    @Benchmark
+    public byte[] pbkdf2Pooled() {
+        return CryptoPrimitives.pbkdf2(password, salt, ITERATIONS, 256);
+    }
+
+    @Benchmark
+    public byte[] pbkdf2PooledIntoBuffer() {
+        CryptoPrimitives.pbkdf2(input, salt, ITERATIONS, out);
+        return out;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmarks;
+
+import com.example.database.DatabaseManager;
+import com.example.database.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@link DatabaseManager#salvarUsuario} e {@link DatabaseManager#salvarUsuarios} contra um banco H2 em memória,
+ * isolando o custo do código JDBC do projeto da latência de rede do MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark {
+
+    static final String URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String HASH = "c2FsdHNhbHRzYWx0c2FsdA==:aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g=";
+
+    private Connection keepAlive;
+    private DatabaseManager db;
+    private List<Usuario> usuarios;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        createSchema(keepAlive);
+        db = new DatabaseManager(URL, "sa", "");
+        usuarios = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            usuarios.add(new Usuario("usuario" + i, HASH, "PBKDF2"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        db.fecharConexao();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE usuarios");
+        }
+        keepAlive.close();
+    }
+
+    @Benchmark
+    public void salvarUsuario() {
+        db.salvarUsuario("usuario", HASH, "PBKDF2");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int salvarUsuarios() {
+        return db.salvarUsuarios(usuarios);
+    }
+
+    /**
+     * Cria a tabela {@code usuarios} com o mesmo formato descrito no README.
+     *
+     * @param connection Conexão com o banco em memória.
+     * @throws SQLException Se a criação falhar.
+     */
+    static void createSchema(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS usuarios ("
+                    + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "usuario VARCHAR(255) NOT NULL, "
+                    + "senha_hash TEXT NOT NULL, "
+                    + "algoritmo VARCHAR(50) NOT NULL)");
+        }
+    }
+}
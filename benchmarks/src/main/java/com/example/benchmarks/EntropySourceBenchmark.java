@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.generator.random.EntropySource;
+import com.example.generator.random.EntropySources;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede cada fonte de entropia: vazão ao reabastecer o buffer de 4 KB do {@code RandomBuffer} e
+ * tempo até o primeiro byte em uma JVM recém-iniciada.
+ */
+@State(Scope.Thread)
+@Fork(1)
+public class EntropySourceBenchmark {
+
+    private static final int REFILL_SIZE = 4096;
+
+    @Param({EntropySources.NATIVE, EntropySources.DRBG, EntropySources.CHACHA20, EntropySources.DEFAULT})
+    public String source;
+
+    private EntropySource entropy;
+    private byte[] buffer;
+
+    @Setup
+    public void setup() {
+        entropy = EntropySources.create(source);
+        buffer = new byte[REFILL_SIZE];
+    }
+
+    /** Vazão de reabastecimento; multiplique por 4 KB para obter bytes por segundo. */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public byte[] refill() {
+        entropy.nextBytes(buffer);
+        return buffer;
+    }
+
+    /**
+     * Criação da fonte e primeiros 32 bytes em uma JVM nova, incluindo carga de classes e semeadura.
+     * Cada fork executa uma única chamada.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public byte[] startup() {
+        byte[] first = new byte[32];
+        EntropySources.create(source).nextBytes(first);
+        return first;
+    }
+}
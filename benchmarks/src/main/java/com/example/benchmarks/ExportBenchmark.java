@@ -0,0 +1,96 @@
+package com.example.benchmarks;
+
+import com.example.export.CredentialExporter;
+import com.example.export.ExportConfig;
+import com.example.export.ExportFormat;
+import com.example.export.SyncPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo por registro do {@link CredentialExporter} em cada formato, com e sem gzip, e o
+ * de um {@link BufferedWriter} que monta uma {@link String} por linha, como a saída da carga em
+ * lote. O arquivo é recriado a cada iteração, sem sincronização com o disco; execute com
+ * {@code -prof gc} para comparar {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    @Param({"CSV", "JSONL", "BINARY"})
+    public ExportFormat format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private final String[] usuarios = new String[1024];
+    private final char[][] senhas = new char[1024][];
+    private final String hash = "k3J9pQ2mX8vR1tY6wZ4nB7cD0fG5hL2sA9eU3iO8jM1=";
+    private Path file;
+    private CredentialExporter exporter;
+    private BufferedWriter writer;
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = "usuario" + i + "@example.com";
+            senhas[i] = ("Sx7!" + Integer.toHexString(i * 40503) + "qZ#9").toCharArray();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void open() throws IOException {
+        file = Files.createTempFile("export-benchmark", ".out");
+        ExportConfig config = new ExportConfig();
+        config.setFormat(format);
+        config.setGzip(gzip);
+        config.setSyncPolicy(SyncPolicy.NONE);
+        config.setOverwrite(true);
+        exporter = new CredentialExporter(file, config);
+        writer = Files.newBufferedWriter(file.resolveSibling(file.getFileName() + ".writer"), StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void close() throws IOException {
+        exporter.close();
+        writer.close();
+        Files.delete(file);
+        Files.delete(file.resolveSibling(file.getFileName() + ".writer"));
+    }
+
+    @Benchmark
+    public void exporter() {
+        int i = next++ & (usuarios.length - 1);
+        exporter.write(usuarios[i], senhas[i], hash);
+    }
+
+    @Benchmark
+    public void bufferedWriter() throws IOException {
+        int i = next++ & (usuarios.length - 1);
+        writer.write(usuarios[i] + ',' + new String(senhas[i]) + ',' + hash);
+        writer.write('\n');
+    }
+}
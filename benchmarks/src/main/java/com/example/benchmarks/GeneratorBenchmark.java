@@ -0,0 +1,93 @@
+package com.example.benchmarks;
+
+import com.example.generator.GenerationMode;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a geração de senhas por comprimento, formato de política e modo de geração.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"12", "32"})
+    public int length;
+
+    /** Formato da política: todas as classes, alfanumérica ou apenas dígitos. */
+    @Param({"ALL", "ALNUM", "DIGITS"})
+    public String shape;
+
+    @Param({"UNIFORM", "ALL_CLASSES"})
+    public GenerationMode mode;
+
+    private SecurePasswordGenerator generator;
+    private char[] dest;
+
+    @Setup
+    public void setup() {
+        generator = new SecurePasswordGenerator(Policies.of(shape, length), mode);
+        dest = new char[length];
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    /** Geração sem String, no mesmo array a cada chamada; não deve alocar memória. */
+    @Benchmark
+    public char[] generateInto() {
+        generator.generateInto(dest);
+        return dest;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<String> generateBatch() {
+        return generator.generateBatch(BATCH_SIZE);
+    }
+
+    /**
+     * Políticas nomeadas usadas como parâmetros dos benchmarks.
+     */
+    static final class Policies {
+
+        private Policies() {
+        }
+
+        static PasswordPolicy of(String shape, int length) {
+            switch (shape) {
+                case "ALL":
+                    return new PasswordPolicy(length, true, true, true, true);
+                case "ALNUM":
+                    return new PasswordPolicy(length, true, true, true, false);
+                case "DIGITS":
+                    return new PasswordPolicy(length, false, false, true, false);
+                default:
+                    throw new IllegalArgumentException("Formato de política desconhecido: " + shape);
+            }
+        }
+    }
+}
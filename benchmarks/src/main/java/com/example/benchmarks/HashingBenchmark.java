@@ -0,0 +1,54 @@
+package com.example.benchmarks;
+
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@link HashingUtils#hashPassword} e {@link HashingUtils#verifyPassword} por algoritmo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashingBenchmark {
+
+    @Param({"PBKDF2", "BCRYPT", "SHA256"})
+    public HashAlgorithm algorithm;
+
+    @Param({"12", "64"})
+    public int passwordLength;
+
+    private String password;
+    private String storedHash;
+
+    @Setup
+    public void setup() {
+        password = "x".repeat(passwordLength);
+        storedHash = HashingUtils.hashPassword(password, algorithm);
+    }
+
+    @Benchmark
+    public String hash() {
+        return HashingUtils.hashPassword(password, algorithm);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return HashingUtils.verifyPassword(password, storedHash, algorithm);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.benchmarks;
+
+import com.example.server.PasswordServer;
+import com.example.server.ServerConfig;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gerador de carga para o {@link PasswordServer}.
+ *
+ * Cada cliente envia uma requisição por vez, em laço fechado, durante o tempo pedido. Ao final
+ * são impressos a vazão, a quantidade de respostas por código HTTP (incluindo 503 da recusa por
+ * fila cheia ou limite de simultâneos, 429 do limite por chave e 504 do tempo máximo) e os
+ * percentis de latência. Cada requisição de hash usa um usuário diferente, como em um ataque de
+ * credential stuffing, então quem segura a carga é o limite adaptativo de simultâneos e não o
+ * limite por chave. Sem URL, um servidor é iniciado no próprio processo em uma porta livre.
+ *
+ * Os clientes respeitam o {@code Retry-After} das recusas; com
+ * {@code -Dcarga.ignoreRetryAfter=true} eles repetem imediatamente, como um atacante.
+ *
+ * <p>Uso: {@code java -cp benchmarks.jar com.example.benchmarks.HttpLoadGenerator
+ * [generate|hash|verify] [clientes] [segundos] [url]}, por exemplo
+ * {@code ... HttpLoadGenerator hash 64 10}.</p>
+ */
+public class HttpLoadGenerator {
+
+    private static final String PASSWORD = "Senha-De-Carga-123";
+
+    public static void main(String[] args) throws Exception {
+        String endpoint = args.length > 0 ? args[0] : "hash";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        boolean ignoreRetryAfter = Boolean.getBoolean("carga.ignoreRetryAfter");
+
+        PasswordServer local = null;
+        String url;
+        if (args.length > 3) {
+            url = args[3];
+        } else {
+            // Sem o Nagle desligado, cada resposta espera o ACK atrasado do cliente; veja ServerConfig
+            if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+                System.setProperty("sun.net.httpserver.nodelay", "true");
+            }
+            ServerConfig config = new ServerConfig();
+            config.setPort(0);
+            local = new PasswordServer(config);
+            local.start();
+            url = "http://127.0.0.1:" + local.getPort();
+            System.out.println("Servidor local em " + url + " (" + config + ")");
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        String hash = endpoint.equals("verify") ? fetchHash(client, url) : null;
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+
+        Thread[] threads = new Thread[clients];
+        for (int t = 0; t < clients; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < end) {
+                    HttpRequest request = request(url, endpoint, "carga-" + id + "-" + count, hash);
+                    long start = System.nanoTime();
+                    int status;
+                    long retryAfter = 0;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        status = response.statusCode();
+                        retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - start;
+                    statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    if (retryAfter > 0 && !ignoreRetryAfter) {
+                        try {
+                            Thread.sleep(Math.min(retryAfter * 1000, Math.max(0, (end - System.nanoTime()) / 1_000_000)));
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                latencies[id] = samples;
+                counts[id] = count;
+            }, "carga-" + t);
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (local != null) {
+            System.out.println("Admissão: " + local.getAdmission());
+            local.close();
+        }
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int t = 0; t < clients; t++) {
+            System.arraycopy(latencies[t], 0, all, offset, counts[t]);
+            offset += counts[t];
+        }
+        Arrays.sort(all);
+
+        System.out.printf("%s: %d clientes, %d s, %d requisições (%.0f req/s)%n",
+                endpoint, clients, seconds, total, total / (double) seconds);
+        System.out.println("Respostas por código (-1 = falha de conexão): " + new TreeMap<>(statuses));
+        if (total > 0) {
+            System.out.printf("Latência: p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, máx %.2f ms%n",
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[total - 1] / 1e6);
+        }
+    }
+
+    private static HttpRequest request(String url, String endpoint, String user, String hash) {
+        switch (endpoint) {
+            case "generate":
+                return HttpRequest.newBuilder(URI.create(url + "/generate?count=10")).GET().build();
+            case "hash":
+                return post(url + "/hash", "{\"user\":\"" + user + "\",\"password\":\"" + PASSWORD
+                        + "\",\"algorithm\":\"PBKDF2\"}");
+            case "verify":
+                return post(url + "/verify", "{\"user\":\"" + user + "\",\"password\":\"" + PASSWORD
+                        + "\",\"hash\":\"" + hash + "\",\"algorithm\":\"PBKDF2\"}");
+            default:
+                throw new IllegalArgumentException("Endpoint desconhecido: " + endpoint);
+        }
+    }
+
+    /*
+     * O hash verificado em cada requisição é obtido uma única vez do próprio servidor.
+     */
+    private static String fetchHash(HttpClient client, String url) throws Exception {
+        String body = client.send(request(url, "hash", "carga", null), HttpResponse.BodyHandlers.ofString()).body();
+        return body.replaceAll(".*\"hash\":\"([^\"]+)\".*", "$1");
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
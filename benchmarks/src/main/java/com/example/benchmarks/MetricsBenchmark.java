@@ -0,0 +1,65 @@
+package com.example.benchmarks;
+
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.metrics.Histogram;
+import com.example.metrics.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo da instrumentação de {@code com.example.metrics} no caminho da geração, com as
+ * métricas desativadas e ativadas, e o custo de um registro isolado no {@link Histogram}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private SecurePasswordGenerator generator;
+    private Histogram histogram;
+    private long value;
+
+    @Setup
+    public void setup() {
+        Metrics.setEnabled(enabled);
+        generator = new SecurePasswordGenerator(new PasswordPolicy(16, true, true, true, true));
+        histogram = new Histogram();
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Benchmark
+    public String generate() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    public long recordHistogram() {
+        value = value * 6364136223846793005L + 1442695040888963407L;
+        histogram.record(value >>> 40);
+        return value;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmarks;
+
+import com.example.generator.SecretBuffer;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a alocação no heap do caminho com {@link String} e do caminho com {@link SecretBuffer}
+ * na geração e no hashing de uma senha. O SHA-256 é usado para que o custo do hash não esconda a
+ * diferença; execute com {@code -prof gc} (ou pelo {@link BenchmarkRunner}) e compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecretBufferBenchmark {
+
+    private SecurePasswordGenerator generator;
+    private SecretBuffer secret;
+
+    @Setup
+    public void setup() {
+        generator = new SecurePasswordGenerator(new PasswordPolicy(16, true, true, true, true));
+        secret = SecretBuffer.allocate(16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        secret.close();
+    }
+
+    @Benchmark
+    public String generateString() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    public int generateSecret() {
+        return generator.generateInto(secret);
+    }
+
+    @Benchmark
+    public String generateAndHashString() {
+        return HashingUtils.hashPassword(generator.generate(), HashAlgorithm.SHA256);
+    }
+
+    @Benchmark
+    public String generateAndHashSecret() {
+        generator.generateInto(secret);
+        return HashingUtils.hashPassword(secret, HashAlgorithm.SHA256);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mede o tempo até a primeira senha da linha de comando ({@code App --generate}), do início do
+ * processo até a primeira linha na saída, em processos novos a cada execução.
+ *
+ * São comparadas a JVM sem compartilhamento de classes ({@code -Xshare:off}), o arquivo CDS
+ * padrão do JDK e, se existir, o arquivo AppCDS gerado pelo perfil {@code appcds} do módulo da
+ * aplicação. As execuções das configurações são intercaladas para que variações da máquina
+ * afetem todas igualmente.
+ *
+ * <p>Uso: {@code java -cp benchmarks.jar com.example.benchmarks.StartupTimer [execuções] [jar]
+ * [arquivo.jsa] [argumentos do App...]}, por exemplo
+ * {@code ... StartupTimer 20 gerador-de-senhas/target/gerador-de-senhas-app.jar
+ * gerador-de-senhas/target/gerador-de-senhas-app.jsa --generate --algorithm PBKDF2}.</p>
+ */
+public class StartupTimer {
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        String jar = args.length > 1 ? args[1] : "gerador-de-senhas/target/gerador-de-senhas-app.jar";
+        String archive = args.length > 2 ? args[2] : jar.replaceAll("\\.jar$", ".jsa");
+        List<String> appArgs = args.length > 3
+                ? Arrays.asList(args).subList(3, args.length)
+                : List.of("--generate");
+        if (!new File(jar).isFile()) {
+            throw new IllegalArgumentException("Jar não encontrado: " + jar + " (execute mvn -P appcds package)");
+        }
+
+        List<String> names = new ArrayList<>(List.of("-Xshare:off", "CDS do JDK"));
+        List<List<String>> options = new ArrayList<>(List.of(List.of("-Xshare:off"), List.of()));
+        if (new File(archive).isFile()) {
+            names.add("AppCDS");
+            options.add(List.of("-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off"));
+        } else {
+            System.out.println("Arquivo AppCDS não encontrado: " + archive);
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        long[][] samples = new long[names.size()][runs];
+        // Uma execução de aquecimento de cada configuração, para o cache de disco
+        for (int c = 0; c < names.size(); c++) {
+            timeToFirstLine(java, options.get(c), jar, appArgs);
+        }
+        for (int r = 0; r < runs; r++) {
+            for (int c = 0; c < names.size(); c++) {
+                samples[c][r] = timeToFirstLine(java, options.get(c), jar, appArgs);
+            }
+        }
+
+        System.out.printf("Tempo até a primeira senha (%s), %d execuções:%n", String.join(" ", appArgs), runs);
+        for (int c = 0; c < names.size(); c++) {
+            long[] sorted = samples[c].clone();
+            Arrays.sort(sorted);
+            System.out.printf("  %-12s mín %6.1f ms, p50 %6.1f ms, p90 %6.1f ms%n", names.get(c),
+                    sorted[0] / 1e6, sorted[runs / 2] / 1e6, sorted[Math.min(runs - 1, runs * 9 / 10)] / 1e6);
+        }
+    }
+
+    private static long timeToFirstLine(String java, List<String> jvmOptions, String jar, List<String> appArgs)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(appArgs);
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String line;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            line = reader.readLine();
+            long elapsed = System.nanoTime() - start;
+            while (reader.readLine() != null) {
+                // Descarta o restante da saída
+            }
+            if (process.waitFor() != 0 || line == null) {
+                throw new IllegalStateException("O processo falhou: " + command + " -> " + line);
+            }
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.config.PasswordStrengthEstimator;
+import com.example.generator.config.StrengthScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo de avaliar a força de uma senha, individualmente e em lote.
+ * As amostras misturam senhas geradas com senhas escolhidas por pessoas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrengthEstimatorBenchmark {
+
+    private static final int SAMPLES = 1024;
+    private static final String[] HUMAN = {"P@ssw0rd2024", "qwertyuiop", "dragon123", "abcabcabc", "Monkey!1"};
+
+    @Param({"16"})
+    public int length;
+
+    private PasswordStrengthEstimator estimator;
+    private String[] passwords;
+    private List<String> batch;
+    private int next;
+
+    @Setup
+    public void setup() {
+        estimator = new PasswordStrengthEstimator();
+        List<String> generated = new SecurePasswordGenerator(new PasswordPolicy(length, true, true, true, true))
+                .generateBatch(SAMPLES);
+        passwords = generated.toArray(new String[0]);
+        for (int i = 0; i < SAMPLES; i += 2) {
+            passwords[i] = HUMAN[i % HUMAN.length];
+        }
+        batch = new ArrayList<>(List.of(passwords).subList(0, 64));
+    }
+
+    @Benchmark
+    public StrengthScore score() {
+        return estimator.score(passwords[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public List<StrengthScore> scoreAll64() {
+        return estimator.scoreAll(batch);
+    }
+}
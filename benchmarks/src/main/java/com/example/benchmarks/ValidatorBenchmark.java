@@ -0,0 +1,77 @@
+package com.example.benchmarks;
+
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.CharacterClass;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.config.PasswordValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compara o validador compilado com a validação equivalente por expressões regulares.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    private static final Pattern[] REGEX_RULES = {
+            Pattern.compile("^[A-Za-z2-9!@#$%^&*()\\-_=+\\[\\]{}|;:,.<>/?]{12,}$"),
+            Pattern.compile("[A-Z]"),
+            Pattern.compile("[0-9].*[0-9]"),
+            Pattern.compile("(.)\\1\\1")
+    };
+
+    @Param({"16"})
+    public int length;
+
+    private PasswordValidator validator;
+    private String[] passwords;
+    private int next;
+
+    @Setup
+    public void setup() {
+        PasswordPolicy policy = new PasswordPolicy(12, true, true, true, true);
+        policy.setExcludeAmbiguous(true);
+        policy.setMinimum(CharacterClass.UPPERCASE, 1);
+        policy.setMinimum(CharacterClass.DIGITS, 2);
+        policy.setMaxRepeated(2);
+        validator = policy.compileValidator();
+
+        List<String> generated = new SecurePasswordGenerator(new PasswordPolicy(length, true, true, true, true))
+                .generateBatch(SAMPLES);
+        passwords = generated.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public int compiled() {
+        return validator.validate(passwords[next++ & (SAMPLES - 1)]);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        String password = passwords[next++ & (SAMPLES - 1)];
+        return REGEX_RULES[0].matcher(password).matches()
+                && REGEX_RULES[1].matcher(password).find()
+                && REGEX_RULES[2].matcher(password).find()
+                && !REGEX_RULES[3].matcher(password).find();
+    }
+}
@@ -1,18 +1,57 @@
 package com.example;
 
 
+import com.example.admission.AdaptiveConcurrencyLimit;
+import com.example.admission.AdmissionController;
+import com.example.admission.KeyedRateLimiter;
 import com.example.generator.SecurePasswordGenerator;
 import com.example.generator.config.PasswordPolicy;
 import com.example.generator.hashing.HashingUtils;
 import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashCost;
 import com.example.database.DatabaseManager;
+import com.example.metrics.Metrics;
+import com.example.provisioning.BulkProvisioner;
+import com.example.provisioning.ProvisioningReport;
+import com.example.server.PasswordServer;
+import com.example.server.ServerConfig;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Scanner;
 
 public class App {
+
+    /** Propriedade de sistema equivalente a {@code --fast-start}. */
+    public static final String FAST_START_PROPERTY = "senhas.fastStart";
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--generate")) {
+            runGenerate(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--bulk")) {
+            runBulk(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer(args);
+            return;
+        }
+        boolean fastStart = Boolean.getBoolean(FAST_START_PROPERTY) || Arrays.asList(args).contains("--fast-start");
         Scanner scanner = new Scanner(System.in);
-        DatabaseManager db = DatabaseManager.getInstance();
+        // Na inicialização rápida a conexão só é aberta na hora de salvar
+        DatabaseManager db = fastStart ? null : DatabaseManager.getInstance();
+
+        if (fastStart) {
+            System.out.println("Custo de hashing padrão: " + HashingUtils.getCost());
+        } else {
+            // Calibrando o custo dos hashes para que cada um leve cerca de 50 ms nesta máquina
+            HashCost custo = HashingUtils.calibrate(Duration.ofMillis(50));
+            System.out.println("Custo de hashing calibrado: " + custo);
+        }
 
         System.out.print("Digite o nome de usuário: ");
         String usuario = scanner.nextLine();
@@ -31,6 +70,9 @@ public class App {
         System.out.println("Verificação do Hash: " + HashingUtils.verifyPassword(password, senhaHash, algoritmo));
 
         // Salvando no banco de dados
+        if (db == null) {
+            db = DatabaseManager.getInstance();
+        }
         db.salvarUsuario(usuario, senhaHash, algoritmo.name());
 
         System.out.println("\nUsuário cadastrado com sucesso no banco de dados!");
@@ -42,6 +84,176 @@ public class App {
 
         scanner.close();
     }
-}
 
+    /**
+     * Modo não interativo para scripts: imprime senhas, uma por linha, e termina. Não abre conexão
+     * com o banco nem calibra o custo dos hashes, e os provedores criptográficos só são carregados
+     * se um algoritmo for pedido; é o caminho medido pelo {@code StartupTimer} e usado no
+     * treinamento do arquivo AppCDS (perfil {@code appcds}).
+     *
+     * Uso: {@code --generate [--count N] [--length N] [--algorithm PBKDF2|BCRYPT|SHA256]}; com
+     * {@code --algorithm}, cada linha traz a senha e o hash separados por tabulação.
+     */
+    private static void runGenerate(String[] args) {
+        int count = 1;
+        int length = 12;
+        HashAlgorithm algoritmo = null;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--count":
+                    count = Integer.parseInt(args[++i]);
+                    break;
+                case "--length":
+                    length = Integer.parseInt(args[++i]);
+                    break;
+                case "--algorithm":
+                    algoritmo = HashAlgorithm.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy(length, true, true, true, true));
+        for (int i = 0; i < count; i++) {
+            String password = generator.generate();
+            System.out.println(algoritmo == null ? password : password + '\t' + HashingUtils.hashPassword(password, algoritmo));
+        }
+    }
+
+    /**
+     * Modo não interativo: cadastra os usuários de um arquivo CSV ou JSONL.
+     *
+     * Uso: {@code --bulk <entrada> <saída> [--no-db] [--threads N] [--algorithm PBKDF2|BCRYPT|SHA256]
+     * [--column nome] [--chunk-size N] [--length N]}. Executar de novo com os mesmos arquivos retoma
+     * a carga a partir do último checkpoint.
+     */
+    private static void runBulk(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: --bulk <entrada> <saída> [--no-db] [--threads N] [--algorithm ALGORITMO]"
+                    + " [--column nome] [--chunk-size N] [--length N]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[1]);
+        Path output = Path.of(args[2]);
+        boolean useDatabase = true;
+        int threads = Runtime.getRuntime().availableProcessors();
+        HashAlgorithm algoritmo = HashAlgorithm.PBKDF2;
+        String column = null;
+        int chunkSize = BulkProvisioner.DEFAULT_CHUNK_SIZE;
+        int length = 12;
+        for (int i = 3; i < args.length; i++) {
+            switch (args[i]) {
+                case "--no-db":
+                    useDatabase = false;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[++i]);
+                    break;
+                case "--algorithm":
+                    algoritmo = HashAlgorithm.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    break;
+                case "--column":
+                    column = args[++i];
+                    break;
+                case "--chunk-size":
+                    chunkSize = Integer.parseInt(args[++i]);
+                    break;
+                case "--length":
+                    length = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        DatabaseManager db = useDatabase ? DatabaseManager.getInstance() : null;
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy(length, true, true, true, true));
+        long[] lastReport = {System.nanoTime()};
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, algoritmo, db, threads)) {
+            provisioner.setChunkSize(chunkSize);
+            provisioner.setUsernameField(column);
+            provisioner.setProgressListener(report -> {
+                // No máximo uma linha de andamento por segundo.
+                if (System.nanoTime() - lastReport[0] >= 1_000_000_000L) {
+                    lastReport[0] = System.nanoTime();
+                    System.err.printf("%d linhas, %d cadastrados, %d erros (%.0f linhas/s)%n", report.getLinesRead(),
+                            report.getProvisioned(), report.getFailed(), report.getLinesPerSecond());
+                }
+            });
+            ProvisioningReport report = provisioner.provision(input, output);
+            System.out.println("Carga concluída: " + report);
+            System.out.println("Credenciais em " + output + "; erros em " + BulkProvisioner.errorsPath(output));
+        } finally {
+            if (db != null) {
+                db.fecharConexao();
+            }
+        }
+    }
 
+    /**
+     * Modo servidor: atende {@code /generate}, {@code /hash} e {@code /verify} por HTTP até o
+     * processo ser encerrado.
+     *
+     * Uso: {@code --server [--host H] [--port N] [--hash-threads N] [--queue N] [--timeout-ms N]
+     * [--length N] [--rate N] [--burst N] [--no-admission]}, em que {@code --rate} e {@code --burst}
+     * definem o limite de hashes por origem e por usuário.
+     */
+    private static void runServer(String[] args) {
+        // Sem o Nagle desligado, cada resposta espera o ACK atrasado do cliente; veja ServerConfig
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        ServerConfig config = new ServerConfig();
+        int length = config.getPolicy().getLength();
+        double rate = AdmissionController.DEFAULT_PERMITS_PER_SECOND;
+        int burst = AdmissionController.DEFAULT_BURST;
+        boolean admission = true;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--host":
+                    config.setHost(args[++i]);
+                    break;
+                case "--port":
+                    config.setPort(Integer.parseInt(args[++i]));
+                    break;
+                case "--hash-threads":
+                    config.setHashThreads(Integer.parseInt(args[++i]));
+                    break;
+                case "--queue":
+                    config.setHashQueueCapacity(Integer.parseInt(args[++i]));
+                    break;
+                case "--timeout-ms":
+                    config.setRequestTimeoutMillis(Long.parseLong(args[++i]));
+                    break;
+                case "--length":
+                    length = Integer.parseInt(args[++i]);
+                    break;
+                case "--rate":
+                    rate = Double.parseDouble(args[++i]);
+                    break;
+                case "--burst":
+                    burst = Integer.parseInt(args[++i]);
+                    break;
+                case "--no-admission":
+                    admission = false;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+        config.setAdmission(admission
+                ? new AdmissionController(new KeyedRateLimiter(rate, burst), new AdaptiveConcurrencyLimit())
+                : null);
+        config.setPolicy(new PasswordPolicy(length, true, true, true, true));
+
+        if (System.getProperty("senhas.metrics") == null) {
+            // O servidor exporta as métricas em /metrics; -Dsenhas.metrics=false as desativa
+            Metrics.setEnabled(true);
+        }
+        PasswordServer server = new PasswordServer(config);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.println("Servidor em http://" + config.getHost() + ":" + server.getPort()
+                + (server.isVirtualThreads() ? " (threads virtuais)" : " (pool de threads de plataforma)"));
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de trabalhos simultâneos que se ajusta à latência medida (aumento aditivo, redução
+ * multiplicativa).
+ *
+ * A latência de referência é a menor observada, isto é, o custo de um trabalho sem fila, e é
+ * mantida separadamente para cada rota (por exemplo, endpoint e algoritmo): um PBKDF2 de 50 ms e
+ * um SHA-256 de microssegundos passam pelo mesmo limite sem que o mais barato vire a referência
+ * do mais caro. Enquanto as medições ficam abaixo de {@code tolerance} vezes a referência da sua
+ * rota e o limite está sendo usado, ele cresce cerca de uma unidade a cada limite de amostras;
+ * quando uma medição passa disso, ou um trabalho é descartado por tempo, ele é reduzido em 10%, no
+ * máximo uma vez por latência média. Assim a fila em frente à CPU fica curta: o excesso é recusado
+ * em vez de esperar até estourar o prazo da requisição.
+ *
+ * A referência de cada rota é recalculada a cada {@value #WINDOW} amostras dela, descendo
+ * imediatamente e subindo devagar, para acompanhar uma recalibração do custo dos hashes sem ser
+ * inflada por uma rajada. Trabalhos descartados não entram na referência, e trabalhos que falharam
+ * devolvem a vaga com {@link #cancel()}, sem amostra, já que o seu tempo não mede o custo da rota.
+ * As rotas devem formar um conjunto pequeno e fixo, pois cada uma guarda o seu estado.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    static final int WINDOW = 100;
+    /** Rota das amostras liberadas sem rota. */
+    static final String DEFAULT_ROUTE = "";
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Protegidos pelo monitor: as amostras chegam no ritmo dos hashes, bem abaixo da contenção.
+    private final Map<String, Baseline> baselines = new HashMap<>();
+    private double estimate;
+    private long smoothedNanos;
+    private long lastDecrease;
+
+    /**
+     * Cria um limite que começa em duas vezes a quantidade de processadores e varia entre um e
+     * 64 vezes essa quantidade, com tolerância de duas vezes a latência de referência.
+     */
+    public AdaptiveConcurrencyLimit() {
+        this(2 * Runtime.getRuntime().availableProcessors(), 1, 64 * Runtime.getRuntime().availableProcessors(), 2.0);
+    }
+
+    /**
+     * @param initialLimit Limite inicial.
+     * @param minLimit     Menor limite possível.
+     * @param maxLimit     Maior limite possível.
+     * @param tolerance    Quantas vezes a latência de referência é aceita antes de reduzir o limite.
+     * @throws IllegalArgumentException se os limites forem inconsistentes ou a tolerância for menor que um.
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, tolerance, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, LongSupplier clock) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites inválidos: inicial " + initialLimit
+                    + ", mínimo " + minLimit + ", máximo " + maxLimit + ".");
+        }
+        if (!(tolerance >= 1.0)) {
+            throw new IllegalArgumentException("A tolerância deve ser de pelo menos 1.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.clock = clock;
+        this.limit = initialLimit;
+        this.estimate = initialLimit;
+    }
+
+    /**
+     * Reserva uma vaga se houver.
+     *
+     * @return {@code true} se a vaga foi reservada; nesse caso {@link #release} deve ser chamado.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma vaga e usa a latência do trabalho para ajustar o limite, na rota padrão.
+     *
+     * @param latencyNanos Tempo entre a reserva e o fim do trabalho.
+     * @param dropped      {@code true} se o trabalho foi abandonado por tempo ou sobrecarga.
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        release(DEFAULT_ROUTE, latencyNanos, dropped);
+    }
+
+    /**
+     * Libera uma vaga e usa a latência do trabalho para ajustar o limite.
+     *
+     * @param route        Rota do trabalho, cuja latência de referência é usada na comparação.
+     * @param latencyNanos Tempo entre a reserva e o fim do trabalho.
+     * @param dropped      {@code true} se o trabalho foi abandonado por tempo ou sobrecarga.
+     */
+    public void release(String route, long latencyNanos, boolean dropped) {
+        int used = inFlight.getAndDecrement();
+        onSample(route == null ? DEFAULT_ROUTE : route, Math.max(1L, latencyNanos), dropped, used);
+    }
+
+    /**
+     * Libera uma vaga sem amostra, para trabalhos que falharam ou terminaram antes do custo
+     * normal e por isso não dizem nada sobre a carga.
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void onSample(String route, long latencyNanos, boolean dropped, int used) {
+        long now = clock.getAsLong();
+        smoothedNanos = smoothedNanos == 0 ? latencyNanos : smoothedNanos + (latencyNanos - smoothedNanos) / 8;
+
+        boolean overloaded = dropped;
+        if (!dropped) {
+            Baseline baseline = baselines.computeIfAbsent(route, r -> new Baseline());
+            baseline.add(latencyNanos);
+            overloaded = latencyNanos > baseline.nanos * tolerance;
+        }
+
+        if (overloaded) {
+            if (now - lastDecrease >= smoothedNanos) {
+                estimate = Math.max(minLimit, estimate * DECREASE_FACTOR);
+                lastDecrease = now;
+            }
+        } else if (used * 2 >= limit) {
+            // Só cresce quando o limite atual está sendo usado, para não crescer sem medir.
+            estimate = Math.min(maxLimit, estimate + 1.0 / estimate);
+        }
+        limit = (int) estimate;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Média móvel da latência, usada como sugestão de nova tentativa quando não há vaga.
+     */
+    public synchronized long getSmoothedLatencyNanos() {
+        return smoothedNanos;
+    }
+
+    /**
+     * @return Latência de referência atual da rota padrão, ou zero antes da primeira amostra.
+     */
+    public long getBaselineLatencyNanos() {
+        return getBaselineLatencyNanos(DEFAULT_ROUTE);
+    }
+
+    /**
+     * @return Latência de referência atual da rota, ou zero antes da primeira amostra dela.
+     */
+    public synchronized long getBaselineLatencyNanos(String route) {
+        Baseline baseline = baselines.get(route == null ? DEFAULT_ROUTE : route);
+        return baseline == null ? 0 : baseline.nanos;
+    }
+
+    private synchronized int routeCount() {
+        return baselines.size();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveConcurrencyLimit{" +
+                "limit=" + limit +
+                ", inFlight=" + inFlight.get() +
+                ", routes=" + routeCount() +
+                ", smoothedMillis=" + TimeUnit.NANOSECONDS.toMillis(getSmoothedLatencyNanos()) +
+                '}';
+    }
+
+    /**
+     * Latência de referência de uma rota, protegida pelo monitor do limite.
+     */
+    private static final class Baseline {
+        private long nanos;
+        private long windowMinNanos = Long.MAX_VALUE;
+        private int windowSamples;
+
+        private void add(long latencyNanos) {
+            if (nanos == 0 || latencyNanos < nanos) {
+                nanos = latencyNanos;
+            }
+            windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+            if (++windowSamples >= WINDOW) {
+                nanos = windowMinNanos <= nanos ? windowMinNanos : nanos + (windowMinNanos - nanos) / 8;
+                windowMinNanos = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.admission;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão em frente ao trabalho caro de {@code HashingUtils.hashPassword} e
+ * {@code HashingUtils.verifyPassword}.
+ *
+ * Cada pedido passa por duas verificações, nesta ordem:
+ * <ol>
+ *     <li>o {@link KeyedRateLimiter} de cada chave do pedido (endereço de origem e usuário), que
+ *     barra uma rajada de tentativas vinda da mesma origem ou contra a mesma conta;</li>
+ *     <li>o {@link AdaptiveConcurrencyLimit}, que limita os hashes simultâneos de acordo com a
+ *     latência medida e protege a CPU quando a rajada vem de muitas chaves.</li>
+ * </ol>
+ * A recusa é imediata, com {@link AdmissionRejectedException} e uma sugestão de nova tentativa:
+ * o tempo até a próxima ficha da chave ou a latência média de um hash. Os contadores separam o
+ * trabalho admitido do recusado por cada motivo.
+ */
+public class AdmissionController {
+
+    /** Taxa padrão por chave: uma tentativa a cada 200 ms. */
+    public static final double DEFAULT_PERMITS_PER_SECOND = 5.0;
+    /** Rajada padrão por chave. */
+    public static final int DEFAULT_BURST = 10;
+
+    private final KeyedRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimit limit;
+    private final LongSupplier clock;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overloaded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Cria um controle com os valores padrão de taxa por chave e de limite adaptativo.
+     */
+    public AdmissionController() {
+        this(new KeyedRateLimiter(DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST), new AdaptiveConcurrencyLimit());
+    }
+
+    /**
+     * @param rateLimiter Limite por chave, ou {@code null} para não limitar por chave.
+     * @param limit       Limite de trabalhos simultâneos.
+     */
+    public AdmissionController(KeyedRateLimiter rateLimiter, AdaptiveConcurrencyLimit limit) {
+        this(rateLimiter, limit, System::nanoTime);
+    }
+
+    AdmissionController(KeyedRateLimiter rateLimiter, AdaptiveConcurrencyLimit limit, LongSupplier clock) {
+        if (limit == null) {
+            throw new IllegalArgumentException("O limite de trabalhos simultâneos não pode ser nulo.");
+        }
+        this.rateLimiter = rateLimiter;
+        this.limit = limit;
+        this.clock = clock;
+    }
+
+    /**
+     * Pede uma vaga para um trabalho da chave, na rota padrão do limite de simultâneos.
+     *
+     * @param key Chave limitada por taxa; {@code null} aplica apenas o limite de simultâneos.
+     * @return A vaga, que deve ser liberada com {@link Permit#release()}, {@link Permit#drop()} ou
+     *         {@link Permit#cancel()}.
+     * @throws AdmissionRejectedException se a chave excedeu a taxa ou não houver vaga.
+     */
+    public Permit acquire(String key) {
+        return acquire(null, key == null ? List.of() : List.of(key));
+    }
+
+    /**
+     * Pede uma vaga para um trabalho cobrado de todas as chaves, como o endereço de origem e o
+     * usuário. As chaves são consultadas na ordem dada e a primeira que recusar encerra o pedido,
+     * sem cobrar as seguintes; por isso a chave mais estável, que um cliente não escolhe, deve vir
+     * primeiro.
+     *
+     * @param route Rota do trabalho no {@link AdaptiveConcurrencyLimit}, ou {@code null} para a padrão.
+     * @param keys  Chaves limitadas por taxa; vazia aplica apenas o limite de simultâneos.
+     * @return A vaga, que deve ser liberada com {@link Permit#release()}, {@link Permit#drop()} ou
+     *         {@link Permit#cancel()}.
+     * @throws AdmissionRejectedException se alguma chave excedeu a taxa ou não houver vaga.
+     */
+    public Permit acquire(String route, List<String> keys) {
+        if (rateLimiter != null) {
+            for (String key : keys) {
+                long wait = rateLimiter.tryAcquire(key);
+                if (wait > 0) {
+                    rateLimited.increment();
+                    throw new AdmissionRejectedException(AdmissionRejectedException.Reason.RATE_LIMITED, wait);
+                }
+            }
+        }
+        if (!limit.tryAcquire()) {
+            overloaded.increment();
+            long wait = Math.max(TimeUnit.MILLISECONDS.toNanos(1), limit.getSmoothedLatencyNanos());
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.OVERLOADED, wait);
+        }
+        admitted.increment();
+        return new Permit(route, clock.getAsLong());
+    }
+
+    /**
+     * Executa um trabalho dentro de uma vaga, liberando-a ao final. Se o trabalho falhar, a vaga é
+     * devolvida sem amostra de latência.
+     *
+     * @throws AdmissionRejectedException se a vaga for recusada; o trabalho não é executado.
+     */
+    public <T> T call(String key, Supplier<T> work) {
+        Permit permit = acquire(key);
+        boolean completed = false;
+        try {
+            T result = work.get();
+            completed = true;
+            return result;
+        } finally {
+            if (completed) {
+                permit.release();
+            } else {
+                permit.cancel();
+            }
+        }
+    }
+
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public long getOverloadedCount() {
+        return overloaded.sum();
+    }
+
+    /**
+     * @return Trabalhos admitidos e depois abandonados por tempo ou sobrecarga.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public AdaptiveConcurrencyLimit getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Limite por chave, ou {@code null} se não houver.
+     */
+    public KeyedRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public String toString() {
+        return "AdmissionController{" +
+                "admitted=" + getAdmittedCount() +
+                ", rateLimited=" + getRateLimitedCount() +
+                ", overloaded=" + getOverloadedCount() +
+                ", dropped=" + getDroppedCount() +
+                ", limit=" + limit.getLimit() +
+                ", inFlight=" + limit.getInFlight() +
+                '}';
+    }
+
+    /**
+     * Vaga concedida a um trabalho. Apenas a primeira liberação tem efeito.
+     */
+    public final class Permit {
+        private final String route;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String route, long start) {
+            this.route = route;
+            this.start = start;
+        }
+
+        /**
+         * Libera a vaga de um trabalho concluído, usando o seu tempo para ajustar o limite.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release(route, clock.getAsLong() - start, false);
+            }
+        }
+
+        /**
+         * Libera a vaga de um trabalho abandonado por tempo ou por fila cheia, o que é tratado
+         * como sinal de sobrecarga.
+         */
+        public void drop() {
+            if (released.compareAndSet(false, true)) {
+                dropped.increment();
+                limit.release(route, clock.getAsLong() - start, true);
+            }
+        }
+
+        /**
+         * Libera a vaga de um trabalho que falhou, como por uma entrada inválida, sem usar o seu
+         * tempo no ajuste do limite.
+         */
+        public void cancel() {
+            if (released.compareAndSet(false, true)) {
+                limit.cancel();
+            }
+        }
+    }
+}
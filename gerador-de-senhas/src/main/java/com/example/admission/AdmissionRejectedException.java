@@ -0,0 +1,48 @@
+package com.example.admission;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indica que o {@link AdmissionController} recusou um trabalho, com o motivo e uma sugestão de
+ * quando tentar de novo.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Motivo da recusa.
+     */
+    public enum Reason {
+        /** A chave excedeu a sua taxa de requisições. */
+        RATE_LIMITED,
+        /** Não há vaga no limite de trabalhos simultâneos. */
+        OVERLOADED
+    }
+
+    private final Reason reason;
+    private final long retryAfterNanos;
+
+    public AdmissionRejectedException(Reason reason, long retryAfterNanos) {
+        super(reason == Reason.RATE_LIMITED ? "Limite de requisições excedido." : "Capacidade de hashing esgotada.",
+                null, false, false);
+        this.reason = reason;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterNanos() {
+        return retryAfterNanos;
+    }
+
+    /**
+     * @return Sugestão de espera em segundos inteiros, arredondada para cima e de pelo menos um,
+     *         no formato do cabeçalho HTTP {@code Retry-After}.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
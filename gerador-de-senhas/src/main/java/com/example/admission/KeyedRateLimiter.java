@@ -0,0 +1,126 @@
+package com.example.admission;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de taxa por chave (usuário, endereço de origem, chave de API) com um balde de fichas
+ * para cada chave.
+ *
+ * Cada balde é um único {@link AtomicLong} com o "instante teórico de chegada" do algoritmo GCRA:
+ * uma requisição é aceita se o instante atual não estiver mais que a rajada permitida antes desse
+ * valor, que então avança um intervalo de emissão. Isso equivale a um balde de fichas com
+ * capacidade {@code burst} reabastecido a {@code permitsPerSecond}, mas é atualizado com um único
+ * compare-and-set, sem trava.
+ *
+ * As chaves ficam em mapas separados por faixa de hash. Um balde cujo instante teórico já passou
+ * está cheio e é indistinguível de um balde novo, então pode ser removido: cada faixa é varrida
+ * depois de um certo número de consultas, o que mantém a memória proporcional às chaves ativas
+ * mesmo quando um ataque usa milhões de usuários diferentes.
+ */
+public class KeyedRateLimiter {
+
+    private static final int STRIPES = 16;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier clock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * @param permitsPerSecond Taxa sustentada de requisições aceitas por chave.
+     * @param burst            Quantidade de requisições aceitas de uma vez por uma chave ociosa.
+     * @throws IllegalArgumentException se a taxa não for positiva ou a rajada for menor que um.
+     */
+    public KeyedRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    KeyedRateLimiter(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("A taxa deve ser positiva e a rajada maior que zero.");
+        }
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.clock = clock;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Tenta consumir uma ficha do balde da chave.
+     *
+     * @param key Chave limitada.
+     * @return Zero se a requisição foi aceita; caso contrário, quantos nanossegundos faltam para a
+     *         próxima ficha.
+     */
+    public long tryAcquire(String key) {
+        Stripe stripe = stripes[spread(key.hashCode()) & (STRIPES - 1)];
+        long now = clock.getAsLong();
+        if (stripe.operations.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            stripe.sweep(now);
+        }
+
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            AtomicLong created = new AtomicLong(now + intervalNanos);
+            bucket = stripe.buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                return 0;
+            }
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long allowedAt = arrival - toleranceNanos;
+            if (now - allowedAt < 0) {
+                return allowedAt - now;
+            }
+            long next = Math.max(arrival, now) + intervalNanos;
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return Quantidade de chaves com balde em memória.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    /**
+     * Remove os baldes que já estão cheios de novo.
+     */
+    public void sweep() {
+        long now = clock.getAsLong();
+        for (Stripe stripe : stripes) {
+            stripe.sweep(now);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicInteger operations = new AtomicInteger();
+
+        /*
+         * Uma consulta concorrente pode ter acabado de consumir uma ficha de um balde removido; o
+         * próximo acesso da chave cria um balde cheio, o que só concede uma ficha a mais.
+         */
+        private void sweep(long now) {
+            buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.database;
+
+/**
+ * Substituição do hash de um usuário, aplicada somente se o hash armazenado ainda for o antigo.
+ */
+public final class AtualizacaoHash {
+
+    private final String usuario;
+    private final String hashAntigo;
+    private final String hashNovo;
+    private final String algoritmo;
+
+    /**
+     * @param usuario    Nome do usuário.
+     * @param hashAntigo Hash que deve estar armazenado para que a troca aconteça.
+     * @param hashNovo   Novo hash da senha.
+     * @param algoritmo  Algoritmo do novo hash.
+     */
+    public AtualizacaoHash(String usuario, String hashAntigo, String hashNovo, String algoritmo) {
+        this.usuario = usuario;
+        this.hashAntigo = hashAntigo;
+        this.hashNovo = hashNovo;
+        this.algoritmo = algoritmo;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getHashAntigo() {
+        return hashAntigo;
+    }
+
+    public String getHashNovo() {
+        return hashNovo;
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * Retorna uma representação em String da atualização, sem os hashes.
+     *
+     * @return Uma String com o usuário e o novo algoritmo.
+     */
+    @Override
+    public String toString() {
+        return "AtualizacaoHash{" +
+                "usuario='" + usuario + '\'' +
+                ", algoritmo='" + algoritmo + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.database;
+
+import com.example.metrics.Counter;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pool de conexões JDBC de tamanho fixo.
+ *
+ * As conexões são abertas sob demanda até o limite configurado e devolvidas ao pool ao fechar o
+ * {@link PooledConnection}. Cada conexão mantém seus próprios {@link java.sql.PreparedStatement}s
+ * em cache, de modo que o mesmo SQL não é preparado novamente a cada operação.
+ *
+ * O tempo de espera por uma conexão e os esgotamentos de tempo são registrados em {@link Metrics}.
+ * As conexões em uso, livres e o tamanho somado dos pools abertos são gauges, lidos apenas na
+ * coleta.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Set<ConnectionPool> OPEN_POOLS = ConcurrentHashMap.newKeySet();
+    private static final Timer ACQUIRE_TIMER = Metrics.timer("senhas_db_pool_acquire");
+    private static final Counter ACQUIRE_TIMEOUTS = Metrics.counter("senhas_db_pool_timeouts");
+
+    static {
+        Metrics.gauge("senhas_db_pool_active", () -> sum(OPEN_POOLS, ConnectionPool::getActiveCount));
+        Metrics.gauge("senhas_db_pool_idle", () -> sum(OPEN_POOLS, ConnectionPool::getIdleCount));
+        Metrics.gauge("senhas_db_pool_size", () -> sum(OPEN_POOLS, ConnectionPool::getSize));
+    }
+
+    private final DatabaseConfig config;
+    private final BlockingQueue<PhysicalConnection> idle;
+    private final Semaphore permits;
+    private volatile boolean closed;
+
+    /**
+     * Cria um pool vazio; nenhuma conexão é aberta até a primeira chamada a {@link #acquire()}.
+     *
+     * @param config Configuração do banco de dados e do tamanho do pool.
+     */
+    public ConnectionPool(DatabaseConfig config) {
+        this.config = config;
+        this.idle = new ArrayBlockingQueue<>(config.getPoolSize());
+        this.permits = new Semaphore(config.getPoolSize(), true);
+        OPEN_POOLS.add(this);
+    }
+
+    /**
+     * Obtém uma conexão do pool, abrindo uma nova se nenhuma estiver livre e o limite permitir.
+     *
+     * @return Conexão emprestada; deve ser fechada para voltar ao pool.
+     * @throws SQLException Se o pool estiver fechado, se o tempo de espera se esgotar ou se a
+     *                      abertura da conexão falhar.
+     */
+    public PooledConnection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("O pool de conexões está fechado.");
+        }
+        long start = Metrics.start();
+        try {
+            if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                ACQUIRE_TIMEOUTS.increment();
+                throw new SQLException("Tempo esgotado aguardando uma conexão livre do pool.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando uma conexão do pool.", e);
+        }
+        ACQUIRE_TIMER.recordSince(start);
+
+        try {
+            PhysicalConnection connection;
+            while ((connection = idle.poll()) != null) {
+                if (!connection.isClosed()) {
+                    return new PooledConnection(this, connection);
+                }
+            }
+            return new PooledConnection(this, new PhysicalConnection(
+                    DriverManager.getConnection(config.getUrl(), config.getUser(), config.getPassword())));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devolve uma conexão ao pool. Chamado por {@link PooledConnection#close()}.
+     *
+     * @param connection Conexão a ser devolvida.
+     */
+    void release(PhysicalConnection connection) {
+        try {
+            if (closed || !connection.reset() || !idle.offer(connection)) {
+                connection.closePhysically();
+            } else if (closed && idle.remove(connection)) {
+                // O pool foi fechado entre a verificação e o offer, depois de esvaziar a fila
+                connection.closePhysically();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return Tamanho máximo do pool.
+     */
+    public int getSize() {
+        return config.getPoolSize();
+    }
+
+    /**
+     * @return Quantidade de conexões emprestadas no momento.
+     */
+    public int getActiveCount() {
+        return config.getPoolSize() - permits.availablePermits();
+    }
+
+    /**
+     * @return Quantidade de conexões abertas e livres no pool.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Fecha todas as conexões livres; as emprestadas são fechadas quando devolvidas.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        OPEN_POOLS.remove(this);
+        PhysicalConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.closePhysically();
+        }
+    }
+
+    private static long sum(Set<ConnectionPool> pools, ToIntFunction<ConnectionPool> value) {
+        long total = 0;
+        for (ConnectionPool pool : pools) {
+            total += value.applyAsInt(pool);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.database;
+
+/**
+ * Configuração de acesso ao banco de dados usada pelo {@link DatabaseManager}.
+ * Permite ajustar a conexão, o tamanho do pool e os parâmetros das inserções em lote.
+ */
+public class DatabaseConfig {
+
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/gerador_senhas?rewriteBatchedStatements=true";
+    private static final String DEFAULT_USER = "root";
+    private static final String DEFAULT_PASSWORD = ""; // Substitua pela senha do seu MySQL
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private int poolSize = 4;
+    private int batchSize = 500;
+    private int transactionSize = 0;
+    private long acquireTimeoutMillis = 30_000;
+
+    /**
+     * Construtor padrão que aponta para o MySQL local.
+     * Valores padrão:
+     * - Pool com 4 conexões.
+     * - Lotes de 500 linhas.
+     * - Uma única transação por chamada de inserção em lote.
+     * - Espera de até 30 segundos por uma conexão livre.
+     */
+    public DatabaseConfig() {
+        this(DEFAULT_URL, DEFAULT_USER, DEFAULT_PASSWORD);
+    }
+
+    /**
+     * Construtor para um banco de dados específico, com os demais valores padrão.
+     *
+     * @param url      URL JDBC do banco de dados.
+     * @param user     Usuário do banco de dados.
+     * @param password Senha do banco de dados.
+     */
+    public DatabaseConfig(String url, String user, String password) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do pool deve ser maior que zero.");
+        }
+        this.poolSize = poolSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("O tamanho do lote deve ser maior que zero.");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return Quantidade de linhas por transação nas inserções em lote; zero indica uma única
+     *         transação por chamada.
+     */
+    public int getTransactionSize() {
+        return transactionSize;
+    }
+
+    public void setTransactionSize(int transactionSize) {
+        if (transactionSize < 0) {
+            throw new IllegalArgumentException("O tamanho da transação não pode ser negativo.");
+        }
+        this.transactionSize = transactionSize;
+    }
+
+    public long getAcquireTimeoutMillis() {
+        return acquireTimeoutMillis;
+    }
+
+    public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+        if (acquireTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("O tempo de espera deve ser maior que zero.");
+        }
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    /**
+     * Retorna uma representação em String da configuração, sem a senha do banco.
+     *
+     * @return Uma String com os valores configurados.
+     */
+    @Override
+    public String toString() {
+        return "DatabaseConfig{" +
+                "url='" + url + '\'' +
+                ", user='" + user + '\'' +
+                ", poolSize=" + poolSize +
+                ", batchSize=" + batchSize +
+                ", transactionSize=" + transactionSize +
+                ", acquireTimeoutMillis=" + acquireTimeoutMillis +
+                '}';
+    }
+}
@@ -1,31 +1,76 @@
 package com.example.database;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import com.example.metrics.Counter;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
+
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Gerenciador de banco de dados para conexão e operações com MySQL.
- * Implementa o padrão Singleton para garantir uma única instância da conexão.
+ * Implementa o padrão Singleton para a configuração padrão e distribui as operações
+ * entre as conexões de um {@link ConnectionPool}.
+ *
+ * As inserções registram o tempo de cada chamada, as linhas gravadas e as falhas em
+ * {@link Metrics}; nenhum usuário ou hash é escrito em log.
  */
 public class DatabaseManager {
-    private static final String URL = "jdbc:mysql://localhost:3306/gerador_senhas";
-    private static final String USER = "root";
-    private static final String PASSWORD = ""; // Substitua pela senha do seu MySQL
+    private static final String INSERT_SQL = "INSERT INTO usuarios (usuario, senha_hash, algoritmo) VALUES (?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT usuario, senha_hash, algoritmo FROM usuarios WHERE usuario = ?";
+    private static final String EXISTS_SQL = "SELECT 1 FROM usuarios WHERE usuario = ? AND senha_hash = ?";
+    private static final String SELECT_ALL_SQL = "SELECT usuario, senha_hash, algoritmo FROM usuarios";
+    private static final String UPDATE_HASH_SQL =
+            "UPDATE usuarios SET senha_hash = ?, algoritmo = ? WHERE usuario = ? AND senha_hash = ?";
+
+    private static final Timer INSERT_TIMER = Metrics.timer("senhas_db_insert");
+    private static final Timer BATCH_INSERT_TIMER = Metrics.timer("senhas_db_insert_batch");
+    private static final Counter INSERTED_ROWS = Metrics.counter("senhas_db_inserted_rows");
+    private static final Counter INSERT_ERRORS = Metrics.counter("senhas_db_errors", "operation", "insert");
+    private static final Counter BATCH_INSERT_ERRORS = Metrics.counter("senhas_db_errors", "operation", "insert_batch");
 
     private static DatabaseManager instance;
-    private Connection connection;
+    private final DatabaseConfig config;
+    private final ConnectionPool pool;
 
     /**
      * Construtor privado para evitar múltiplas instâncias.
-     * Inicializa a conexão com o banco de dados.
+     * Inicializa o pool de conexões com a configuração padrão.
      *
      * @throws RuntimeException Se houver falha na conexão com o banco de dados.
      */
     private DatabaseManager() {
+        this(new DatabaseConfig());
+    }
+
+    /**
+     * Cria um gerenciador conectado a uma URL JDBC específica, sem passar pelo singleton.
+     * Útil para testes e benchmarks com bancos em memória.
+     *
+     * @param url      URL JDBC do banco de dados.
+     * @param user     Usuário do banco de dados.
+     * @param password Senha do banco de dados.
+     * @throws RuntimeException Se houver falha na conexão com o banco de dados.
+     */
+    public DatabaseManager(String url, String user, String password) {
+        this(new DatabaseConfig(url, user, password));
+    }
+
+    /**
+     * Cria um gerenciador com configuração própria de conexão, pool e lotes.
+     * Uma conexão é aberta imediatamente para que erros de configuração apareçam na criação.
+     *
+     * @param config Configuração do banco de dados.
+     * @throws RuntimeException Se houver falha na conexão com o banco de dados.
+     */
+    public DatabaseManager(DatabaseConfig config) {
+        this.config = config;
+        this.pool = new ConnectionPool(config);
         try {
-            this.connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            pool.acquire().close();
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao conectar ao banco de dados: " + e.getMessage(), e);
         }
@@ -55,36 +100,203 @@ public class DatabaseManager {
      * @param algoritmo Algoritmo utilizado para gerar o hash.
      */
     public void salvarUsuario(String usuario, String senhaHash, String algoritmo) {
-        String sql = "INSERT INTO usuarios (usuario, senha_hash, algoritmo) VALUES (?, ?, ?)";
-    
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            System.out.println("Salvando no banco -> Usuário: " + usuario + ", Hash: " + senhaHash + ", Algoritmo: " + algoritmo);
-            
+        long start = Metrics.start();
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement stmt = connection.prepare(INSERT_SQL);
             stmt.setString(1, usuario);
             stmt.setString(2, senhaHash);
             stmt.setString(3, algoritmo);
-    
-            int rowsInserted = stmt.executeUpdate();
-            if (rowsInserted > 0) {
-                System.out.println("Usuário salvo no banco de dados.");
-            }
+            stmt.executeUpdate();
+            INSERTED_ROWS.increment();
+            INSERT_TIMER.recordSince(start);
         } catch (SQLException e) {
+            INSERT_ERRORS.increment();
             System.err.println("Erro ao inserir usuário no banco de dados: " + e.getMessage());
         }
     }
-    
+
     /**
-     * Fecha a conexão com o banco de dados.
-     * Deve ser chamado quando a aplicação não precisar mais da conexão.
+     * Salva vários usuários usando lotes JDBC.
+     *
+     * Os registros são enviados em lotes de {@link DatabaseConfig#getBatchSize()} linhas e
+     * confirmados a cada {@link DatabaseConfig#getTransactionSize()} linhas (ou em uma única
+     * transação, se o valor for zero). Em caso de erro, a transação em andamento é desfeita;
+     * transações já confirmadas permanecem gravadas.
+     *
+     * @param usuarios Registros a serem gravados.
+     * @return Quantidade de registros gravados e confirmados.
+     * @throws RuntimeException Se houver falha ao inserir os registros.
      */
-    public void fecharConexao() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Conexão com o banco fechada.");
-            } catch (SQLException e) {
-                System.err.println("Erro ao fechar conexão com o banco: " + e.getMessage());
+    public int salvarUsuarios(Collection<Usuario> usuarios) {
+        if (usuarios.isEmpty()) {
+            return 0;
+        }
+        int batchSize = config.getBatchSize();
+        int transactionSize = config.getTransactionSize();
+
+        long start = Metrics.start();
+        try (PooledConnection connection = pool.acquire()) {
+            connection.setAutoCommit(false);
+            PreparedStatement stmt = connection.prepare(INSERT_SQL);
+            int committed = 0;
+            int pendingBatch = 0;
+            int pendingTransaction = 0;
+
+            for (Usuario usuario : usuarios) {
+                stmt.setString(1, usuario.getUsuario());
+                stmt.setString(2, usuario.getSenhaHash());
+                stmt.setString(3, usuario.getAlgoritmo());
+                stmt.addBatch();
+                pendingTransaction++;
+
+                if (++pendingBatch == batchSize) {
+                    stmt.executeBatch();
+                    pendingBatch = 0;
+                    if (transactionSize > 0 && pendingTransaction >= transactionSize) {
+                        connection.commit();
+                        INSERTED_ROWS.add(pendingTransaction);
+                        committed += pendingTransaction;
+                        pendingTransaction = 0;
+                    }
+                }
+            }
+            if (pendingBatch > 0) {
+                stmt.executeBatch();
+            }
+            connection.commit();
+            INSERTED_ROWS.add(pendingTransaction);
+            BATCH_INSERT_TIMER.recordSince(start);
+            return committed + pendingTransaction;
+        } catch (SQLException e) {
+            BATCH_INSERT_ERRORS.increment();
+            throw new RuntimeException("Erro ao inserir usuários em lote no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca o cadastro de um usuário.
+     *
+     * @param usuario Nome do usuário.
+     * @return O cadastro encontrado, ou {@code null} se o usuário não existir.
+     * @throws RuntimeException Se houver falha na consulta.
+     */
+    public Usuario buscarUsuario(String usuario) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement stmt = connection.prepare(SELECT_SQL);
+            stmt.setString(1, usuario);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? new Usuario(rs.getString(1), rs.getString(2), rs.getString(3)) : null;
             }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar usuário no banco de dados: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Verifica se existe um cadastro com o usuário e o hash informados.
+     * Como o hash inclui um salt aleatório, a consulta identifica um cadastro específico.
+     *
+     * @param usuario   Nome do usuário.
+     * @param senhaHash Hash da senha.
+     * @return true se o cadastro existir.
+     * @throws RuntimeException Se houver falha na consulta.
+     */
+    public boolean existeCadastro(String usuario, String senhaHash) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement stmt = connection.prepare(EXISTS_SQL);
+            stmt.setString(1, usuario);
+            stmt.setString(2, senhaHash);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao consultar cadastro no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Percorre todos os cadastros da tabela, entregando um de cada vez ao consumidor.
+     * Os registros são lidos em blocos, sem carregar a tabela inteira em memória.
+     *
+     * @param consumidor Consumidor chamado para cada cadastro.
+     * @throws RuntimeException Se houver falha na consulta.
+     */
+    public void percorrerUsuarios(Consumer<Usuario> consumidor) {
+        try (PooledConnection connection = pool.acquire()) {
+            PreparedStatement stmt = connection.prepare(SELECT_ALL_SQL);
+            stmt.setFetchSize(config.getBatchSize());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.accept(new Usuario(rs.getString(1), rs.getString(2), rs.getString(3)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao percorrer usuários no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Substitui hashes de senha usando lotes JDBC em uma única transação.
+     *
+     * Cada linha só é alterada se ainda contiver o hash antigo, de modo que uma troca de senha
+     * concorrente não é sobrescrita por uma atualização antiga.
+     *
+     * @param atualizacoes Substituições a serem aplicadas.
+     * @return Quantidade de linhas efetivamente alteradas.
+     * @throws RuntimeException Se houver falha na atualização.
+     */
+    public int atualizarHashes(Collection<AtualizacaoHash> atualizacoes) {
+        if (atualizacoes.isEmpty()) {
+            return 0;
+        }
+        try (PooledConnection connection = pool.acquire()) {
+            connection.setAutoCommit(false);
+            PreparedStatement stmt = connection.prepare(UPDATE_HASH_SQL);
+            int updated = 0;
+            int pendingBatch = 0;
+            for (AtualizacaoHash atualizacao : atualizacoes) {
+                stmt.setString(1, atualizacao.getHashNovo());
+                stmt.setString(2, atualizacao.getAlgoritmo());
+                stmt.setString(3, atualizacao.getUsuario());
+                stmt.setString(4, atualizacao.getHashAntigo());
+                stmt.addBatch();
+                if (++pendingBatch == config.getBatchSize()) {
+                    updated += countUpdated(stmt.executeBatch());
+                    pendingBatch = 0;
+                }
+            }
+            if (pendingBatch > 0) {
+                updated += countUpdated(stmt.executeBatch());
+            }
+            connection.commit();
+            return updated;
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao atualizar hashes no banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    private static int countUpdated(int[] results) {
+        int updated = 0;
+        for (int result : results) {
+            // SUCCESS_NO_INFO (-2) indica sucesso sem contagem, comum com lotes reescritos pelo driver.
+            updated += result == PreparedStatement.SUCCESS_NO_INFO ? 1 : Math.max(result, 0);
+        }
+        return updated;
+    }
+
+    /**
+     * @return Pool de conexões usado por este gerenciador.
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Fecha as conexões com o banco de dados.
+     * Deve ser chamado quando a aplicação não precisar mais das conexões.
+     */
+    public void fecharConexao() {
+        pool.close();
+        System.out.println("Conexão com o banco fechada.");
+    }
 }
@@ -0,0 +1,74 @@
+package com.example.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conexão JDBC mantida pelo {@link ConnectionPool}, com os {@link PreparedStatement}s já
+ * preparados nela. Sai do pool dentro de um {@link PooledConnection} novo a cada empréstimo.
+ */
+final class PhysicalConnection {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    PhysicalConnection(Connection connection) {
+        this.connection = connection;
+    }
+
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement stmt = statements.get(sql);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = connection.prepareStatement(sql);
+            statements.put(sql, stmt);
+        }
+        return stmt;
+    }
+
+    Connection getConnection() {
+        return connection;
+    }
+
+    boolean isClosed() {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Desfaz transações pendentes e restaura o auto-commit antes de a conexão voltar ao pool.
+     *
+     * @return true se a conexão pode ser reaproveitada.
+     */
+    boolean reset() {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            for (PreparedStatement stmt : statements.values()) {
+                stmt.clearBatch();
+                stmt.clearParameters();
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void closePhysically() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar conexão com o banco: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conexão emprestada de um {@link ConnectionPool}.
+ *
+ * Mantém os {@link PreparedStatement}s já preparados nesta conexão para reaproveitá-los.
+ * Fechar este objeto devolve a conexão ao pool em vez de encerrá-la.
+ *
+ * Cada {@link ConnectionPool#acquire()} devolve um objeto novo para a mesma conexão física, de
+ * modo que quem guardou um empréstimo antigo não devolve nem usa a conexão de quem a recebeu
+ * depois: o fechamento repetido é ignorado e o uso depois dele é recusado.
+ */
+public class PooledConnection implements AutoCloseable {
+
+    private final ConnectionPool pool;
+    private final PhysicalConnection physical;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    PooledConnection(ConnectionPool pool, PhysicalConnection physical) {
+        this.pool = pool;
+        this.physical = physical;
+    }
+
+    /**
+     * Retorna o statement preparado para o SQL informado, preparando-o apenas na primeira vez.
+     * O statement pertence à conexão e não deve ser fechado pelo chamador.
+     *
+     * @param sql Comando SQL parametrizado.
+     * @return Statement pronto para receber parâmetros.
+     * @throws SQLException Se a preparação falhar ou a conexão já tiver sido devolvida.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        ensureLeased();
+        return physical.prepare(sql);
+    }
+
+    /**
+     * @return A conexão JDBC subjacente, para operações não cobertas por {@link #prepare(String)}.
+     * @throws IllegalStateException Se a conexão já tiver sido devolvida ao pool.
+     */
+    public Connection getConnection() {
+        if (released.get()) {
+            throw new IllegalStateException("A conexão já foi devolvida ao pool.");
+        }
+        return physical.getConnection();
+    }
+
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        ensureLeased();
+        physical.getConnection().setAutoCommit(autoCommit);
+    }
+
+    public void commit() throws SQLException {
+        ensureLeased();
+        physical.getConnection().commit();
+    }
+
+    /**
+     * Devolve a conexão ao pool. Chamadas repetidas são ignoradas, para não liberar a vaga duas
+     * vezes nem devolver a conexão que já foi emprestada a outro.
+     */
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.release(physical);
+        }
+    }
+
+    boolean isClosed() {
+        return physical.isClosed();
+    }
+
+    private void ensureLeased() throws SQLException {
+        if (released.get()) {
+            throw new SQLException("A conexão já foi devolvida ao pool.");
+        }
+    }
+}
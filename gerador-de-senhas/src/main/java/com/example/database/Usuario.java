@@ -0,0 +1,47 @@
+package com.example.database;
+
+/**
+ * Registro de um usuário a ser gravado na tabela {@code usuarios}.
+ */
+public final class Usuario {
+
+    private final String usuario;
+    private final String senhaHash;
+    private final String algoritmo;
+
+    /**
+     * @param usuario   Nome do usuário.
+     * @param senhaHash Hash da senha gerado.
+     * @param algoritmo Algoritmo utilizado para gerar o hash.
+     */
+    public Usuario(String usuario, String senhaHash, String algoritmo) {
+        this.usuario = usuario;
+        this.senhaHash = senhaHash;
+        this.algoritmo = algoritmo;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getSenhaHash() {
+        return senhaHash;
+    }
+
+    public String getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * Retorna uma representação em String do registro, sem o hash da senha.
+     *
+     * @return Uma String com o usuário e o algoritmo.
+     */
+    @Override
+    public String toString() {
+        return "Usuario{" +
+                "usuario='" + usuario + '\'' +
+                ", algoritmo='" + algoritmo + '\'' +
+                '}';
+    }
+}
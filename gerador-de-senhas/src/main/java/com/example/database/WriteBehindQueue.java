@@ -0,0 +1,217 @@
+package com.example.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Fila de escrita assíncrona ("write-behind") que agrupa itens em lotes antes de gravá-los.
+ *
+ * Os itens enviados vão para uma fila limitada; uma thread em segundo plano a esvazia e entrega
+ * lotes ao consumidor quando o lote atinge o tamanho máximo ou quando o item mais antigo espera
+ * pelo tempo máximo configurado. Cada item recebe um {@link CompletableFuture} concluído após a
+ * gravação do seu lote. Quando a fila está cheia, quem envia fica bloqueado, o que propaga a
+ * contrapressão até a origem.
+ *
+ * @param <T> Tipo dos itens gravados.
+ */
+public class WriteBehindQueue<T> implements AutoCloseable {
+
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final BlockingQueue<Pending<T>> queue;
+    private final Consumer<List<T>> sink;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Thread writer;
+    private final ReentrantReadWriteLock submitLock = new ReentrantReadWriteLock();
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    private final LongAdder itemsWritten = new LongAdder();
+    private final LongAdder itemsFailed = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushNanosTotal = new LongAdder();
+    private final AtomicLong flushNanosMax = new AtomicLong();
+
+    /**
+     * Cria a fila e inicia a thread de escrita.
+     *
+     * @param name           Nome usado na thread de escrita.
+     * @param sink           Consumidor que grava um lote; uma exceção falha todos os itens do lote.
+     * @param capacity       Capacidade máxima da fila.
+     * @param maxBatchSize   Quantidade máxima de itens por lote.
+     * @param maxDelayMillis Tempo máximo, em milissegundos, que um item espera pelo lote.
+     * @throws IllegalArgumentException se algum dos limites for menor que um.
+     */
+    public WriteBehindQueue(String name, Consumer<List<T>> sink, int capacity, int maxBatchSize, long maxDelayMillis) {
+        if (capacity < 1 || maxBatchSize < 1 || maxDelayMillis < 1) {
+            throw new IllegalArgumentException("Capacidade, tamanho do lote e tempo máximo devem ser maiores que zero.");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.writer = new Thread(this::run, name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Enfileira um item para gravação, bloqueando enquanto a fila estiver cheia.
+     *
+     * @param item Item a ser gravado.
+     * @return Future concluído quando o lote do item for gravado.
+     */
+    public CompletableFuture<Void> submit(T item) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        submitLock.readLock().lock();
+        try {
+            if (!accepting) {
+                future.completeExceptionally(new IllegalStateException("A fila de escrita está encerrada."));
+                return future;
+            }
+            queue.put(new Pending<>(item, future));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+        } finally {
+            submitLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    /**
+     * @return Quantidade de itens aguardando gravação.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return Quantidade de itens gravados com sucesso.
+     */
+    public long getItemsWritten() {
+        return itemsWritten.sum();
+    }
+
+    /**
+     * @return Quantidade de itens cujo lote falhou.
+     */
+    public long getItemsFailed() {
+        return itemsFailed.sum();
+    }
+
+    /**
+     * @return Quantidade de lotes entregues ao consumidor.
+     */
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    /**
+     * @return Latência média de gravação de um lote, em milissegundos.
+     */
+    public double getAverageFlushLatencyMillis() {
+        long count = flushCount.sum();
+        return count == 0 ? 0 : flushNanosTotal.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * @return Maior latência de gravação de um lote observada, em milissegundos.
+     */
+    public double getMaxFlushLatencyMillis() {
+        return flushNanosMax.get() / 1_000_000.0;
+    }
+
+    /**
+     * Deixa de aceitar novos itens, grava tudo o que já está na fila e encerra a thread de escrita.
+     */
+    @Override
+    public void close() {
+        submitLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            submitLock.writeLock().unlock();
+        }
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending<T> first = queue.poll(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == maxBatchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    // Espera em fatias curtas para perceber um encerramento sem aguardar o prazo inteiro.
+                    Pending<T> next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            IllegalStateException error = new IllegalStateException("Thread de escrita interrompida.", e);
+            batch.forEach(pending -> pending.future.completeExceptionally(error));
+            queue.forEach(pending -> pending.future.completeExceptionally(error));
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            items.add(pending.item);
+        }
+
+        long start = System.nanoTime();
+        try {
+            sink.accept(items);
+            itemsWritten.add(batch.size());
+            batch.forEach(pending -> pending.future.complete(null));
+        } catch (RuntimeException e) {
+            itemsFailed.add(batch.size());
+            batch.forEach(pending -> pending.future.completeExceptionally(e));
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushCount.increment();
+            flushNanosTotal.add(elapsed);
+            flushNanosMax.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private static final class Pending<T> {
+        private final T item;
+        private final CompletableFuture<Void> future;
+
+        private Pending(T item, CompletableFuture<Void> future) {
+            this.item = item;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.export;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Buffers diretos reaproveitados entre exportações, para que abrir muitos arquivos pequenos não
+ * aloque memória fora do heap a cada vez (ela só é devolvida quando o coletor roda). Os buffers
+ * são zerados ao serem devolvidos, já que guardam senhas.
+ */
+final class DirectBufferPool {
+
+    static final DirectBufferPool SHARED = new DirectBufferPool(8);
+
+    private final ArrayBlockingQueue<ByteBuffer> free;
+
+    DirectBufferPool(int maxFree) {
+        this.free = new ArrayBlockingQueue<>(maxFree);
+    }
+
+    /**
+     * @return Buffer vazio com exatamente {@code capacity} bytes.
+     */
+    ByteBuffer acquire(int capacity) {
+        for (int i = free.size(); i > 0; i--) {
+            ByteBuffer buffer = free.poll();
+            if (buffer == null) {
+                break;
+            }
+            if (buffer.capacity() == capacity) {
+                return buffer;
+            }
+            // Capacidade diferente: o buffer é descartado e fica para o coletor
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Zera o buffer e o guarda para o próximo {@link #acquire}, se houver espaço no pool.
+     */
+    void release(ByteBuffer buffer) {
+        wipe(buffer);
+        free.offer(buffer);
+    }
+
+    int freeCount() {
+        return free.size();
+    }
+
+    static void wipe(ByteBuffer buffer) {
+        buffer.clear();
+        while (buffer.remaining() >= Long.BYTES) {
+            buffer.putLong(0L);
+        }
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        buffer.clear();
+    }
+}
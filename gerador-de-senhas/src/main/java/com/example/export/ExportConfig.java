@@ -0,0 +1,117 @@
+package com.example.export;
+
+import java.util.Objects;
+import java.util.zip.Deflater;
+
+/**
+ * Configuração de um {@link CredentialExporter}: formato, compressão, tamanho do buffer e
+ * política de sincronização com o disco.
+ */
+public class ExportConfig {
+
+    /** Menor buffer aceito, suficiente para registros com campos de algumas centenas de caracteres. */
+    public static final int MIN_BUFFER_SIZE = 4 * 1024;
+
+    private ExportFormat format = ExportFormat.CSV;
+    private boolean gzip = false;
+    private int compressionLevel = Deflater.BEST_SPEED;
+    private int bufferSize = 256 * 1024;
+    private SyncPolicy syncPolicy = SyncPolicy.ON_CLOSE;
+    private long syncInterval = 100_000;
+    private boolean overwrite = false;
+
+    /**
+     * Construtor padrão.
+     * Valores padrão:
+     * - Formato CSV, sem compressão; com gzip, o nível mais rápido, já que no nível padrão o
+     *   Deflater fica bem mais lento que o disco.
+     * - Buffer de 256 KiB.
+     * - Sincronização com o disco apenas ao fechar o arquivo.
+     * - Falha se o arquivo de destino já existir.
+     */
+    public ExportConfig() {
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = Objects.requireNonNull(format, "O formato não pode ser nulo.");
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * Comprime a saída no formato gzip à medida que ela é escrita.
+     */
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @param compressionLevel Nível do gzip, de {@link Deflater#BEST_SPEED} a
+     *                         {@link Deflater#BEST_COMPRESSION}.
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < Deflater.BEST_SPEED || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("O nível de compressão deve estar entre 1 e 9.");
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @param bufferSize Tamanho dos buffers diretos em que os registros são montados, em bytes.
+     */
+    public void setBufferSize(int bufferSize) {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("O buffer deve ter pelo menos " + MIN_BUFFER_SIZE + " bytes.");
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    public SyncPolicy getSyncPolicy() {
+        return syncPolicy;
+    }
+
+    public void setSyncPolicy(SyncPolicy syncPolicy) {
+        this.syncPolicy = Objects.requireNonNull(syncPolicy, "A política de sincronização não pode ser nula.");
+    }
+
+    /**
+     * @return Quantidade de registros entre duas sincronizações com a política
+     *         {@link SyncPolicy#INTERVAL}.
+     */
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(long syncInterval) {
+        if (syncInterval < 1) {
+            throw new IllegalArgumentException("O intervalo de sincronização deve ser maior que zero.");
+        }
+        this.syncInterval = syncInterval;
+    }
+
+    public boolean isOverwrite() {
+        return overwrite;
+    }
+
+    /**
+     * Substitui o arquivo de destino se ele existir. O arquivo é apagado e criado de novo, para
+     * que receba as permissões restritas.
+     */
+    public void setOverwrite(boolean overwrite) {
+        this.overwrite = overwrite;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.export;
+
+import com.example.generator.Utf8;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato dos arquivos escritos pelo {@link CredentialExporter}.
+ *
+ * Os registros são codificados diretamente em UTF-8 em um array reaproveitado, caractere a
+ * caractere, sem montar uma {@link String} por registro:
+ * <ul>
+ *   <li>{@link #CSV}: cabeçalho {@code usuario,senha,hash} e uma linha por registro, com aspas
+ *       apenas nos campos que têm vírgula, aspas ou quebra de linha;</li>
+ *   <li>{@link #JSONL}: um objeto {@code {"usuario":...,"senha":...,"hash":...}} por linha, sem o
+ *       campo {@code hash} quando ele não é informado;</li>
+ *   <li>{@link #BINARY}: os bytes {@code SNH1} seguidos, para cada registro, dos três campos em
+ *       UTF-8, cada um precedido do seu tamanho em 2 bytes big-endian; um hash ausente tem
+ *       tamanho zero.</li>
+ * </ul>
+ */
+public enum ExportFormat {
+    CSV {
+        @Override
+        int header(byte[] out) {
+            return put(out, 0, CSV_HEADER);
+        }
+
+        @Override
+        int record(byte[] out, int pos, CharSequence usuario, CharSequence senha, CharSequence hash) {
+            pos = csv(out, pos, usuario);
+            out[pos++] = ',';
+            pos = csv(out, pos, senha);
+            out[pos++] = ',';
+            if (hash != null) {
+                pos = csv(out, pos, hash);
+            }
+            out[pos++] = '\n';
+            return pos;
+        }
+    },
+    JSONL {
+        @Override
+        int header(byte[] out) {
+            return 0;
+        }
+
+        @Override
+        int record(byte[] out, int pos, CharSequence usuario, CharSequence senha, CharSequence hash) {
+            pos = json(out, put(out, pos, JSON_USUARIO), usuario);
+            pos = json(out, put(out, pos, JSON_SENHA), senha);
+            if (hash != null) {
+                pos = json(out, put(out, pos, JSON_HASH), hash);
+            }
+            out[pos++] = '}';
+            out[pos++] = '\n';
+            return pos;
+        }
+    },
+    BINARY {
+        @Override
+        int header(byte[] out) {
+            return put(out, 0, MAGIC);
+        }
+
+        @Override
+        int record(byte[] out, int pos, CharSequence usuario, CharSequence senha, CharSequence hash) {
+            pos = field(out, pos, usuario);
+            pos = field(out, pos, senha);
+            if (hash != null) {
+                return field(out, pos, hash);
+            }
+            out[pos++] = 0;
+            out[pos++] = 0;
+            return pos;
+        }
+    };
+
+    /** Início dos arquivos no formato {@link #BINARY}. */
+    public static final byte[] MAGIC = {'S', 'N', 'H', '1'};
+
+    /** Tamanho máximo de um campo no formato {@link #BINARY}, em bytes UTF-8. */
+    public static final int MAX_BINARY_FIELD = 0xFFFF;
+
+    private static final byte[] CSV_HEADER = "usuario,senha,hash\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_USUARIO = "{\"usuario\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_SENHA = ",\"senha\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JSON_HASH = ",\"hash\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Escreve o que vem antes do primeiro registro no início do array.
+     *
+     * @return Tamanho do cabeçalho.
+     */
+    abstract int header(byte[] out);
+
+    /**
+     * Escreve um registro a partir de {@code pos}; o array deve ter pelo menos
+     * {@link #maxRecordLength} bytes livres.
+     *
+     * @param hash Hash da senha, ou null.
+     * @return Posição seguinte ao registro.
+     */
+    abstract int record(byte[] out, int pos, CharSequence usuario, CharSequence senha, CharSequence hash);
+
+    /**
+     * @return Maior tamanho possível de um registro com esses campos, em qualquer formato: um
+     *         caractere ocupa no máximo 6 bytes (um escape {@code \\u00XX} do JSON).
+     */
+    static int maxRecordLength(CharSequence usuario, CharSequence senha, CharSequence hash) {
+        long chars = (long) usuario.length() + senha.length() + (hash != null ? hash.length() : 0);
+        return (int) Math.min(Integer.MAX_VALUE, chars * 6 + 64);
+    }
+
+    private static int put(byte[] out, int pos, byte[] bytes) {
+        System.arraycopy(bytes, 0, out, pos, bytes.length);
+        return pos + bytes.length;
+    }
+
+    private static int csv(byte[] out, int pos, CharSequence value) {
+        int length = value.length();
+        boolean quote = false;
+        for (int i = 0; i < length && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            return Utf8.encode(value, out, pos);
+        }
+        out[pos++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out[pos++] = '"';
+                out[pos++] = '"';
+            } else if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else {
+                int count = Utf8.charCount(value, i);
+                pos = Utf8.encode(value, i, i + count, out, pos);
+                i += count - 1;
+            }
+        }
+        out[pos++] = '"';
+        return pos;
+    }
+
+    private static int json(byte[] out, int pos, CharSequence value) {
+        out[pos++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out[pos++] = '\\';
+                out[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                out[pos++] = '\\';
+                out[pos++] = 'u';
+                out[pos++] = '0';
+                out[pos++] = '0';
+                out[pos++] = HEX[c >> 4];
+                out[pos++] = HEX[c & 0xF];
+            } else if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else {
+                int count = Utf8.charCount(value, i);
+                pos = Utf8.encode(value, i, i + count, out, pos);
+                i += count - 1;
+            }
+        }
+        out[pos++] = '"';
+        return pos;
+    }
+
+    private static int field(byte[] out, int pos, CharSequence value) {
+        int end = Utf8.encode(value, out, pos + 2);
+        int size = end - pos - 2;
+        if (size > MAX_BINARY_FIELD) {
+            throw new IllegalArgumentException("Campo com mais de " + MAX_BINARY_FIELD + " bytes.");
+        }
+        out[pos] = (byte) (size >> 8);
+        out[pos + 1] = (byte) size;
+        return end;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.export;
+
+/**
+ * Quando o {@link CredentialExporter} força a gravação do arquivo no disco com
+ * {@link java.nio.channels.FileChannel#force(boolean)}.
+ */
+public enum SyncPolicy {
+    /** Nunca: o sistema operacional decide quando gravar. Mais rápido, mas uma queda pode perder o fim do arquivo. */
+    NONE,
+    /** Uma vez, ao fechar o arquivo. */
+    ON_CLOSE,
+    /** A cada {@link ExportConfig#getSyncInterval()} registros e ao fechar o arquivo. */
+    INTERVAL
+}
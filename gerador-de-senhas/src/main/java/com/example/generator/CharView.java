@@ -0,0 +1,85 @@
+package com.example.generator;
+
+import java.util.Objects;
+
+/**
+ * Visão reaproveitável de uma senha em {@code char[]} ou em {@link SecretBuffer} como
+ * {@link CharSequence}, para que ela passe pelo {@link Utf8} e pelos formatos de exportação sem
+ * ser copiada para uma {@link String}. Os caracteres não são copiados: alterações na origem
+ * aparecem na visão. {@link #subSequence(int, int)} devolve outra visão sobre a mesma origem, e
+ * {@link #toString()} não revela o conteúdo.
+ *
+ * Instâncias não são seguras para uso simultâneo por várias threads; o uso esperado é uma por
+ * thread ou por objeto, chamando {@link #clear()} em um {@code finally} para soltar a senha.
+ */
+public final class CharView implements CharSequence {
+
+    private char[] array;
+    private SecretBuffer secret;
+    private int offset;
+    private int length;
+
+    /**
+     * Passa a exibir o trecho de {@code array} que começa em {@code offset}.
+     *
+     * @return Esta visão.
+     * @throws IndexOutOfBoundsException se o trecho estiver fora do array.
+     */
+    public CharView wrap(char[] array, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, array.length);
+        clear();
+        this.array = array;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Passa a exibir o conteúdo atual de {@code secret}.
+     *
+     * @return Esta visão.
+     */
+    public CharView wrap(SecretBuffer secret) {
+        clear();
+        this.secret = secret;
+        this.length = secret.length();
+        return this;
+    }
+
+    /**
+     * Solta a referência à origem; a visão fica vazia.
+     */
+    public void clear() {
+        array = null;
+        secret = null;
+        offset = 0;
+        length = 0;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, length);
+        return array != null ? array[offset + index] : secret.charAt(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        Objects.checkFromToIndex(start, end, length);
+        CharView view = new CharView();
+        view.array = array;
+        view.secret = secret;
+        view.offset = offset + start;
+        view.length = end - start;
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        return "CharView{length=" + length + '}';
+    }
+}
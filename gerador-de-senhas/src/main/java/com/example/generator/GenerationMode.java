@@ -0,0 +1,20 @@
+package com.example.generator;
+
+/**
+ * Modos de geração de senhas do {@link SecurePasswordGenerator}.
+ */
+public enum GenerationMode {
+
+    /**
+     * Cada caractere é sorteado do conjunto completo. Uma senha curta pode não conter alguma das
+     * classes habilitadas.
+     */
+    UNIFORM,
+
+    /**
+     * Toda senha contém ao menos um caractere de cada classe habilitada, e todas as senhas com essa
+     * propriedade têm a mesma probabilidade. A senha é construída em uma única passada, sem
+     * descartar e gerar novamente.
+     */
+    ALL_CLASSES
+}
@@ -0,0 +1,86 @@
+package com.example.generator;
+
+import com.example.generator.config.EntropyReport;
+import com.example.generator.config.PassphrasePolicy;
+import com.example.generator.random.RandomBuffer;
+import com.example.generator.wordlist.MappedWordList;
+
+/**
+ * Gerador de frases-senha (passphrases) no estilo diceware.
+ *
+ * As palavras são sorteadas uniformemente de uma {@link MappedWordList}, lida diretamente do
+ * arquivo mapeado em memória, com os bytes aleatórios do {@link RandomBuffer} da thread atual.
+ * A política define a quantidade de palavras, o separador, a capitalização e um bloco opcional
+ * de dígitos inserido após uma palavra sorteada.
+ */
+public class PassphraseGenerator implements PasswordGenerator {
+
+    private static final double LOG2_10 = Math.log(10) / Math.log(2);
+
+    private final MappedWordList words;
+    private final PassphrasePolicy policy;
+
+    /**
+     * Construtor que recebe a lista de palavras e a política da frase-senha.
+     *
+     * @param words  Lista de palavras.
+     * @param policy Configuração da política de frase-senha.
+     */
+    public PassphraseGenerator(MappedWordList words, PassphrasePolicy policy) {
+        this.words = words;
+        this.policy = policy;
+    }
+
+    /**
+     * Gera uma frase-senha aleatória com base na política definida.
+     *
+     * @return Frase-senha gerada.
+     */
+    @Override
+    public String generate() {
+        RandomBuffer random = RandomBuffer.current();
+        int wordCount = policy.getWordCount();
+        int digitCount = policy.getDigitCount();
+        int digitsAfter = digitCount > 0 ? random.nextIndex(wordCount) : -1;
+
+        StringBuilder passphrase = new StringBuilder(wordCount * 8);
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                passphrase.append(policy.getSeparator());
+            }
+            String word = words.word(random.nextIndex(words.size()));
+            boolean capitalize = policy.getCapitalization() == PassphrasePolicy.Capitalization.FIRST_LETTER
+                    || (policy.getCapitalization() == PassphrasePolicy.Capitalization.RANDOM && (random.nextByte() & 1) == 1);
+            if (capitalize) {
+                int first = word.codePointAt(0);
+                passphrase.appendCodePoint(Character.toUpperCase(first)).append(word, Character.charCount(first), word.length());
+            } else {
+                passphrase.append(word);
+            }
+            if (i == digitsAfter) {
+                for (int d = 0; d < digitCount; d++) {
+                    passphrase.append((char) ('0' + random.nextIndex(10)));
+                }
+            }
+        }
+        return passphrase.toString();
+    }
+
+    /**
+     * Calcula a entropia da configuração atual.
+     *
+     * Cada palavra contribui com {@code log2(tamanho da lista)} bits. A capitalização aleatória
+     * acrescenta um bit por palavra, e o bloco de dígitos acrescenta {@code log2(10)} bits por
+     * dígito mais {@code log2(palavras)} bits pela posição escolhida.
+     *
+     * @return Relatório com a entropia de cada parte da frase-senha.
+     */
+    public EntropyReport entropy() {
+        int wordCount = policy.getWordCount();
+        double wordBits = wordCount * (Math.log(words.size()) / Math.log(2));
+        double capitalizationBits = policy.getCapitalization() == PassphrasePolicy.Capitalization.RANDOM ? wordCount : 0;
+        double digitBits = policy.getDigitCount() == 0 ? 0
+                : policy.getDigitCount() * LOG2_10 + Math.log(wordCount) / Math.log(2);
+        return new EntropyReport(words.size(), wordBits, capitalizationBits, digitBits);
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.generator;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * Senha guardada fora do heap, em um {@link ByteBuffer#allocateDirect(int) buffer direto}, com
+ * limpeza determinística.
+ *
+ * Uma {@link String} não pode ser zerada e cada conversão ({@code toCharArray()},
+ * {@code getBytes()}) deixa outra cópia no heap até o próximo ciclo de GC, que pode copiá-las de
+ * novo ao compactar. Aqui os caracteres ficam em memória nativa, que o GC não move nem copia,
+ * e {@link #clear()} e {@link #close()} os zeram imediatamente. Se o buffer for abandonado sem
+ * ser fechado, um {@link Cleaner} o zera quando ele se tornar inalcançável.
+ *
+ * O buffer pode ser reaproveitado: {@link SecurePasswordGenerator#generateInto(SecretBuffer)}
+ * sobrescreve o conteúdo anterior, e {@link com.example.generator.hashing.HashingUtils} gera e
+ * verifica hashes diretamente a partir dele. Alocar memória direta é caro, por isso o uso
+ * esperado é um buffer por thread ou por requisição, e não um por senha. Instâncias não são
+ * seguras para uso simultâneo por várias threads.
+ */
+public final class SecretBuffer implements AutoCloseable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final ByteBuffer memory;
+    private final CharBuffer chars;
+    private final Cleaner.Cleanable cleanable;
+    private int length;
+    private boolean closed;
+
+    private SecretBuffer(int capacity) {
+        this.memory = ByteBuffer.allocateDirect(capacity * Character.BYTES);
+        this.chars = memory.asCharBuffer();
+        this.cleanable = CLEANER.register(this, new Wipe(memory));
+    }
+
+    /**
+     * @param capacity Quantidade máxima de caracteres.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public static SecretBuffer allocate(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("A capacidade não pode ser negativa.");
+        }
+        return new SecretBuffer(capacity);
+    }
+
+    /**
+     * Copia os caracteres para um novo buffer; cabe ao chamador zerar o array de origem.
+     */
+    public static SecretBuffer copyOf(char[] source) {
+        SecretBuffer secret = allocate(source.length);
+        secret.chars.put(0, source);
+        secret.length = source.length;
+        return secret;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public int capacity() {
+        return chars.capacity();
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException se o índice estiver fora do conteúdo.
+     * @throws IllegalStateException     se o buffer estiver fechado.
+     */
+    public char charAt(int index) {
+        ensureOpen();
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora do conteúdo de " + length + " caracteres.");
+        }
+        return chars.get(index);
+    }
+
+    /**
+     * Copia o conteúdo para o heap, por exemplo para entregá-lo ao usuário.
+     *
+     * @return Novo array com a senha; cabe ao chamador zerá-lo.
+     */
+    public char[] toCharArray() {
+        ensureOpen();
+        char[] copy = new char[length];
+        chars.get(0, copy);
+        return copy;
+    }
+
+    /**
+     * @return Quantidade máxima de bytes que {@link #encodeUtf8(byte[])} pode escrever.
+     */
+    public int maxUtf8Length() {
+        return length * Utf8.MAX_BYTES_PER_CHAR;
+    }
+
+    /**
+     * Codifica o conteúdo em UTF-8 no array informado, sem alocar memória. Surrogates sem par
+     * viram {@code '?'}, como em {@link String#getBytes(java.nio.charset.Charset)}.
+     *
+     * @param dest Array de destino, com ao menos {@link #maxUtf8Length()} posições.
+     * @return Quantidade de bytes escritos no início do array.
+     * @throws IllegalArgumentException se o array for pequeno demais.
+     */
+    public int encodeUtf8(byte[] dest) {
+        ensureOpen();
+        if (dest.length < maxUtf8Length()) {
+            throw new IllegalArgumentException("O array de destino deve ter ao menos " + maxUtf8Length() + " posições.");
+        }
+        return Utf8.encode(chars, 0, length, dest, 0);
+    }
+
+    /**
+     * Zera o conteúdo; o buffer continua disponível para uma nova senha.
+     */
+    public void clear() {
+        ensureOpen();
+        wipe(memory);
+        length = 0;
+    }
+
+    /**
+     * Zera o conteúdo e libera o buffer. Chamadas repetidas não têm efeito.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            length = 0;
+            cleanable.clean();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Prepara o buffer para receber uma nova senha, zerando a anterior.
+     *
+     * @return Visão de caracteres posicionada no início e limitada pela capacidade.
+     */
+    CharBuffer beginWrite() {
+        clear();
+        chars.clear();
+        return chars;
+    }
+
+    void endWrite(int written) {
+        length = written;
+        // encodeUtf8 lê a visão como CharSequence, relativa à posição
+        chars.clear();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("O buffer de senha já foi fechado.");
+        }
+    }
+
+    private static void wipe(ByteBuffer memory) {
+        int capacity = memory.capacity();
+        int i = 0;
+        for (; i + Long.BYTES <= capacity; i += Long.BYTES) {
+            memory.putLong(i, 0L);
+        }
+        for (; i < capacity; i++) {
+            memory.put(i, (byte) 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SecretBuffer{length=" + length + ", capacity=" + capacity() + '}';
+    }
+
+    /*
+     * A ação de limpeza não pode referenciar o SecretBuffer, senão ele nunca ficaria inalcançável.
+     */
+    private static final class Wipe implements Runnable {
+
+        private final ByteBuffer memory;
+
+        private Wipe(ByteBuffer memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void run() {
+            wipe(memory);
+        }
+    }
+}
@@ -1,29 +1,56 @@
 package com.example.generator;
 
+import com.example.generator.config.ClassCoverage;
+import com.example.generator.config.CompiledPolicy;
+import com.example.generator.config.PasswordBlocklist;
 import com.example.generator.config.PasswordPolicy;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
-import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.security.spec.InvalidKeySpecException;
-import java.util.Base64;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.function.BooleanSupplier;
-import java.util.stream.Collectors;
+import com.example.generator.hashing.CryptoPrimitives;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import com.example.generator.random.RandomBuffer;
+import com.example.metrics.Counter;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Implementação segura do gerador de senhas aleatórias.
  *
- * Essa classe utiliza a política definida em {@link PasswordPolicy} para construir o conjunto
- * de caracteres disponíveis e gera a senha usando {@link SecureRandom} para garantir a aleatoriedade.
+ * Essa classe utiliza a política definida em {@link PasswordPolicy}, compilada em uma tabela de
+ * caracteres ({@link CompiledPolicy}) compartilhada entre geradores com a mesma configuração,
+ * e gera a senha com bytes de uma fonte criptograficamente segura para garantir a aleatoriedade.
+ * Os bytes aleatórios vêm de um {@link RandomBuffer} por thread, reabastecido em blocos a partir da
+ * {@link com.example.generator.random.EntropySource} configurada, o que permite gerar grandes lotes
+ * sem uma chamada sincronizada ao gerador por caractere.
+ *
+ * No modo {@link GenerationMode#ALL_CLASSES} cada senha contém todas as classes habilitadas e é
+ * uniforme entre as senhas com essa propriedade: as quantidades por classe são sorteadas com os
+ * pesos de {@link ClassCoverage}, os caracteres são sorteados dentro de cada classe e as posições
+ * são embaralhadas com Fisher–Yates. O custo é o mesmo para toda senha, sem laços de nova tentativa.
+ * O mesmo procedimento atende às quantidades mínimas por classe definidas na política, em qualquer
+ * modo. Apenas o limite de repetições seguidas e a {@link PasswordBlocklist} da política são
+ * tratados por nova tentativa, o que mantém a distribuição uniforme entre as senhas que respeitam
+ * a política.
  */
 public class SecurePasswordGenerator implements PasswordGenerator {
 
     private final PasswordPolicy policy;
-    private final SecureRandom secureRandom;
-    private final String availableCharacters;
-    private static final String DEFAULT_ALGORITHM = "PBKDF2WithHmacSHA256"; // Algoritmo padrão
+    private final CompiledPolicy compiledPolicy;
+    private final GenerationMode mode;
+    private final boolean coverClasses;
+    private final PasswordBlocklist blocklist;
+    private static final int MAX_ATTEMPTS = 10_000;
+    private static final String DEFAULT_ALGORITHM = CryptoPrimitives.PBKDF2_ALGORITHM; // Algoritmo padrão
+    private static final Timer GENERATE_TIMER = Metrics.timer("senhas_generate");
+    private static final Timer BATCH_TIMER = Metrics.timer("senhas_generate_batch");
+    private static final Counter GENERATED = Metrics.counter("senhas_generated_passwords");
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[64]);
 
     /**
      * Construtor que recebe uma {@link PasswordPolicy} para configurar os parâmetros da senha.
@@ -31,9 +58,21 @@ public class SecurePasswordGenerator implements PasswordGenerator {
      * @param policy Configuração da política de senha.
      */
     public SecurePasswordGenerator(PasswordPolicy policy) {
+        this(policy, GenerationMode.UNIFORM);
+    }
+
+    /**
+     * Construtor que recebe a política de senha e o modo de geração.
+     *
+     * @param policy Configuração da política de senha.
+     * @param mode   Modo de geração.
+     */
+    public SecurePasswordGenerator(PasswordPolicy policy, GenerationMode mode) {
         this.policy = policy;
-        this.secureRandom = new SecureRandom();
-        this.availableCharacters = buildAvailableCharacters();
+        this.compiledPolicy = policy.compile();
+        this.mode = mode;
+        this.coverClasses = mode == GenerationMode.ALL_CLASSES || compiledPolicy.hasMinimums();
+        this.blocklist = policy.getBlocklist();
     }
 
     /**
@@ -43,35 +82,212 @@ public class SecurePasswordGenerator implements PasswordGenerator {
      */
     @Override
     public String generate() {
-        if (availableCharacters.isEmpty()) {
-            throw new IllegalStateException("Nenhum conjunto de caracteres definido para gerar a senha.");
+        long start = Metrics.start();
+        ensureAvailableCharacters();
+
+        char[] password = new char[policy.getLength()];
+        fill(password, RandomBuffer.current());
+        String result = new String(password);
+        Arrays.fill(password, '\0');
+        GENERATE_TIMER.recordSince(start);
+        GENERATED.increment();
+        return result;
+    }
+
+    /**
+     * Gera um lote de senhas aleatórias com base na política definida.
+     *
+     * Todas as senhas do lote reaproveitam o mesmo buffer de caracteres e o buffer aleatório
+     * da thread chamadora.
+     *
+     * @param count Quantidade de senhas a serem geradas.
+     * @return Lista com as senhas geradas, na ordem de geração.
+     * @throws IllegalArgumentException se a quantidade for negativa.
+     */
+    public List<String> generateBatch(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("A quantidade de senhas não pode ser negativa.");
         }
+        long start = Metrics.start();
+        ensureAvailableCharacters();
 
-        StringBuilder password = new StringBuilder(policy.getLength());
-        for (int i = 0; i < policy.getLength(); i++) {
-            int index = secureRandom.nextInt(availableCharacters.length());
-            password.append(availableCharacters.charAt(index));
+        RandomBuffer random = RandomBuffer.current();
+        char[] password = new char[policy.getLength()];
+        List<String> passwords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            fill(password, random);
+            passwords.add(new String(password));
         }
-        return password.toString();
+        Arrays.fill(password, '\0');
+        BATCH_TIMER.recordSince(start);
+        GENERATED.add(count);
+        return passwords;
     }
 
     /**
-     * Constrói a String de caracteres disponíveis com base na política definida,
-     * utilizando uma abordagem funcional para evitar múltiplos 'if's.
+     * Retorna um {@link Stream} com a quantidade informada de senhas.
+     *
+     * O stream pode ser paralelizado com segurança, pois cada thread utiliza o seu próprio
+     * buffer aleatório.
      *
-     * @return String contendo todos os caracteres que podem ser utilizados na senha.
+     * @param count Quantidade de senhas a serem geradas.
+     * @return Stream de senhas geradas sob demanda.
+     * @throws IllegalArgumentException se a quantidade for negativa.
      */
-    private String buildAvailableCharacters() {
-        Map<BooleanSupplier, String> charSets = new LinkedHashMap<>();
-        charSets.put(policy.isIncludeLowercaseSupplier(), "abcdefghijklmnopqrstuvwxyz");
-        charSets.put(policy.isIncludeUppercaseSupplier(), "ABCDEFGHIJKLMNOPQRSTUVWXYZ");
-        charSets.put(policy.isIncludeDigitsSupplier(), "0123456789");
-        charSets.put(policy.isIncludeSpecialSupplier(), "!@#$%^&*()-_=+[]{}|;:,.<>/?");
+    public Stream<String> stream(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("A quantidade de senhas não pode ser negativa.");
+        }
+        ensureAvailableCharacters();
+        return LongStream.range(0, count).mapToObj(i -> generate());
+    }
 
-        return charSets.entrySet().stream()
-                .filter(entry -> entry.getKey().getAsBoolean())
-                .map(Map.Entry::getValue)
-                .collect(Collectors.joining());
+    /**
+     * Gera uma senha diretamente no array informado, sem criar uma {@link String}.
+     *
+     * As primeiras {@code policy.getLength()} posições do array recebem a senha; as demais não são
+     * alteradas. No modo {@link GenerationMode#UNIFORM} este caminho não aloca memória, e o chamador
+     * pode zerar o array assim que a senha não for mais necessária.
+     *
+     * @param dest Array de destino.
+     * @return Quantidade de caracteres escritos.
+     * @throws IllegalArgumentException se o array for menor que o comprimento da senha.
+     */
+    public int generateInto(char[] dest) {
+        int length = policy.getLength();
+        if (dest.length < length) {
+            throw new IllegalArgumentException("O array de destino deve ter ao menos " + length + " posições.");
+        }
+        ensureAvailableCharacters();
+        fill(dest, 0, length, RandomBuffer.current());
+        return length;
+    }
+
+    /**
+     * Gera uma senha diretamente no buffer informado, a partir da sua posição atual.
+     *
+     * A posição do buffer avança o comprimento da senha. No modo {@link GenerationMode#UNIFORM},
+     * sem quantidades mínimas, limite de repetições nem lista de senhas proibidas, nenhuma memória
+     * é alocada.
+     *
+     * @param dest Buffer de destino.
+     * @return Quantidade de caracteres escritos.
+     * @throws BufferOverflowException se não houver espaço para a senha no buffer.
+     */
+    public int generateInto(CharBuffer dest) {
+        int length = policy.getLength();
+        if (dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        ensureAvailableCharacters();
+        RandomBuffer random = RandomBuffer.current();
+        if (!coverClasses && compiledPolicy.getMaxRepeated() == 0 && blocklist == null) {
+            int size = compiledPolicy.size();
+            for (int i = 0; i < length; i++) {
+                dest.put(compiledPolicy.charAt(random.nextIndex(size)));
+            }
+        } else if (dest.hasArray()) {
+            fill(dest.array(), dest.arrayOffset() + dest.position(), length, random);
+            dest.position(dest.position() + length);
+        } else {
+            // O embaralhamento, o limite de repetições e a lista de senhas proibidas precisam reler
+            // as posições já escritas; buffers diretos usam um array da thread, zerado após o uso.
+            char[] password = scratch(length);
+            try {
+                fill(password, 0, length, random);
+                dest.put(password, 0, length);
+            } finally {
+                Arrays.fill(password, 0, length, '\0');
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Gera uma senha no buffer fora do heap informado, substituindo e zerando o conteúdo anterior.
+     *
+     * @param dest Buffer de destino, com capacidade para o comprimento da senha.
+     * @return Quantidade de caracteres escritos.
+     * @throws BufferOverflowException se a capacidade do buffer for menor que o comprimento.
+     * @throws IllegalStateException   se o buffer estiver fechado.
+     */
+    public int generateInto(SecretBuffer dest) {
+        long start = Metrics.start();
+        int length = generateInto(dest.beginWrite());
+        dest.endWrite(length);
+        GENERATE_TIMER.recordSince(start);
+        GENERATED.increment();
+        return length;
+    }
+
+    /**
+     * @return Modo de geração deste gerador.
+     */
+    public GenerationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Preenche o array com caracteres sorteados do conjunto disponível.
+     *
+     * @param password Array de destino, com o comprimento da senha.
+     * @param random   Buffer aleatório da thread atual.
+     */
+    private void fill(char[] password, RandomBuffer random) {
+        fill(password, 0, password.length, random);
+    }
+
+    private void fill(char[] password, int offset, int length, RandomBuffer random) {
+        int attempts = 0;
+        do {
+            if (++attempts > MAX_ATTEMPTS) {
+                throw new IllegalStateException("Não foi possível gerar uma senha que respeite o limite de repetições"
+                        + " e a lista de senhas proibidas da política.");
+            }
+            if (coverClasses) {
+                fillCoveringClasses(password, offset, length, random);
+            } else {
+                int size = compiledPolicy.size();
+                for (int i = offset; i < offset + length; i++) {
+                    password[i] = compiledPolicy.charAt(random.nextIndex(size));
+                }
+            }
+        } while (compiledPolicy.exceedsMaxRepeated(password, offset, length)
+                || (blocklist != null && blocklist.contains(password, offset, length)));
+    }
+
+    private void fillCoveringClasses(char[] password, int offset, int length, RandomBuffer random) {
+        int[] counts = new int[compiledPolicy.classCount()];
+        compiledPolicy.coverage(length, mode == GenerationMode.ALL_CLASSES).sampleCounts(random, counts);
+
+        int position = offset;
+        for (int k = 0; k < counts.length; k++) {
+            int size = compiledPolicy.classSize(k);
+            for (int j = 0; j < counts[k]; j++) {
+                password[position++] = compiledPolicy.classCharAt(k, random.nextIndex(size));
+            }
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextIndex(i + 1);
+            char tmp = password[offset + i];
+            password[offset + i] = password[offset + j];
+            password[offset + j] = tmp;
+        }
+    }
+
+    private static char[] scratch(int length) {
+        char[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new char[length];
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+    private void ensureAvailableCharacters() {
+        if (compiledPolicy.isEmpty()) {
+            throw new IllegalStateException("Nenhum conjunto de caracteres definido para gerar a senha.");
+        }
     }
 
     /**
@@ -86,24 +302,14 @@ public class SecurePasswordGenerator implements PasswordGenerator {
     /**
      * Gera um hash seguro para a senha utilizando PBKDF2.
      *
+     * O hash é gerado por {@link HashingUtils} no formato versionado, com o número de iterações
+     * configurado em {@link HashingUtils#getCost()}, e pode ser verificado com
+     * {@link HashingUtils#verifyPassword(String, String, HashAlgorithm)}.
+     *
      * @param password Senha em texto puro a ser protegida.
-     * @return Hash da senha em formato Base64.
+     * @return Hash da senha, com salt e hash em Base64.
      */
     public String hashPassword(String password) {
-        int iterations = 65536; // Número de iterações para PBKDF2
-        int keyLength = 256; // Tamanho da chave
-        byte[] salt = new byte[16]; // Gera um salt aleatório
-        secureRandom.nextBytes(salt);
-
-        try {
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, keyLength);
-            SecretKeyFactory skf = SecretKeyFactory.getInstance(DEFAULT_ALGORITHM);
-            byte[] hash = skf.generateSecret(spec).getEncoded();
-            
-            // Retorna o hash junto com o salt codificado em Base64
-            return Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-            throw new RuntimeException("Erro ao gerar hash da senha", e);
-        }
+        return HashingUtils.hashPassword(password, HashAlgorithm.PBKDF2);
     }
 }
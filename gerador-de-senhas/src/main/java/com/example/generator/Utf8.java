@@ -0,0 +1,69 @@
+package com.example.generator;
+
+/**
+ * Codificação UTF-8 sem alocação, em um array fornecido pelo chamador, usada onde senhas não
+ * devem passar por {@link String#getBytes}: os resumos em lote, a consulta à lista de senhas
+ * vazadas, o {@link SecretBuffer} e a exportação de credenciais.
+ *
+ * O resultado é o mesmo de {@link String#getBytes(java.nio.charset.Charset)} com UTF-8:
+ * surrogates sem par viram {@code '?'}. Cada {@code char} ocupa no máximo
+ * {@value #MAX_BYTES_PER_CHAR} bytes; um par de surrogates ocupa quatro bytes para dois chars.
+ */
+public final class Utf8 {
+
+    /** Bytes necessários por {@code char} no pior caso. */
+    public static final int MAX_BYTES_PER_CHAR = 3;
+
+    private Utf8() {
+    }
+
+    /**
+     * Codifica todo o texto a partir da posição {@code pos}.
+     *
+     * @return Posição seguinte aos bytes escritos.
+     * @throws ArrayIndexOutOfBoundsException se os bytes não couberem no array.
+     */
+    public static int encode(CharSequence value, byte[] out, int pos) {
+        return encode(value, 0, value.length(), out, pos);
+    }
+
+    /**
+     * Codifica os caracteres de {@code start} (inclusive) a {@code end} (exclusive). Um surrogate
+     * alto na última posição do trecho não é combinado com o caractere seguinte a ele.
+     *
+     * @return Posição seguinte aos bytes escritos.
+     * @throws ArrayIndexOutOfBoundsException se os bytes não couberem no array.
+     */
+    public static int encode(CharSequence value, int start, int end, byte[] out, int pos) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | c >> 6);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | codePoint >> 18);
+                out[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                out[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                out[pos++] = '?';
+            } else {
+                out[pos++] = (byte) (0xE0 | c >> 12);
+                out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * @return 2 se a posição inicia um par de surrogates, 1 nos demais casos.
+     */
+    public static int charCount(CharSequence value, int i) {
+        return Character.isHighSurrogate(value.charAt(i)) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1)) ? 2 : 1;
+    }
+}
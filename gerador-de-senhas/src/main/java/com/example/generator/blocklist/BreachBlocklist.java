@@ -0,0 +1,595 @@
+package com.example.generator.blocklist;
+
+import com.example.generator.config.PasswordBlocklist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Lista de senhas vazadas consultada localmente, sem acesso à rede.
+ *
+ * A lista é montada uma vez por {@link #build} a partir de um arquivo de hashes (SHA-1 ou NTLM em
+ * hexadecimal, um por linha) e gravada em dois arquivos ao lado do caminho base:
+ * <ul>
+ *   <li>{@code <base>.hashes}: os 8 primeiros bytes de cada hash, ordenados e sem repetições;</li>
+ *   <li>{@code <base>.bloom}: um filtro de Bloom em blocos de 64 bytes, em que todos os bits de
+ *       uma chave ficam no mesmo bloco, ou seja, em uma única linha de cache.</li>
+ * </ul>
+ *
+ * Os dois arquivos são mapeados em memória por {@link #open(Path)}. Uma consulta calcula o hash da
+ * senha e testa o filtro; a grande maioria das senhas ausentes é descartada aí, com um único acesso
+ * à memória. Só quando o filtro responde "talvez" é feita a busca binária no arquivo ordenado, que
+ * confirma a presença. Como a chave tem 64 bits, a chance de duas senhas distintas colidirem é
+ * desprezível mesmo com centenas de milhões de entradas.
+ *
+ * A montagem ordena o arquivo em blocos de memória limitada e intercala os blocos em disco, de
+ * modo que arquivos maiores que o heap são aceitos. A instância é segura para uso por várias
+ * threads.
+ */
+public final class BreachBlocklist implements PasswordBlocklist, Closeable {
+
+    /** Extensão do arquivo do filtro de Bloom. */
+    public static final String FILTER_SUFFIX = ".bloom";
+    /** Extensão do arquivo de chaves ordenadas. */
+    public static final String HASHES_SUFFIX = ".hashes";
+    /** Taxa de falsos positivos do filtro usada por {@link #build(Path, Path, BreachHashFormat)}. */
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001;
+
+    private static final int FILTER_MAGIC = 0x424C4F4D; // "BLOM"
+    private static final int HASHES_MAGIC = 0x42484153; // "BHAS"
+    private static final int VERSION = 1;
+    /** Cabeçalho do tamanho de uma linha de cache, para manter os blocos do filtro alinhados. */
+    private static final int HEADER_SIZE = 64;
+    /** Cada bloco do filtro tem 512 bits; cada posição de bit usa 9 bits do hash da chave. */
+    private static final int BLOCK_LONGS = 8;
+    private static final int BLOCK_BITS = BLOCK_LONGS * Long.SIZE;
+    private static final int BIT_INDEX_BITS = 9;
+    private static final int MAX_HASH_FUNCTIONS = Long.SIZE / BIT_INDEX_BITS;
+    /** Chaves ordenadas em memória por bloco da montagem (32 MB). */
+    private static final int RUN_SIZE = 1 << 22;
+    private static final int KEY_HEX_DIGITS = 16;
+
+    private final Path base;
+    private final BreachHashFormat format;
+    private final FileChannel filterChannel;
+    private final FileChannel hashesChannel;
+    private final MappedLongs filter;
+    private final MappedLongs hashes;
+    private final long blockCount;
+    private final int hashFunctions;
+
+    private BreachBlocklist(Path base, BreachHashFormat format, FileChannel filterChannel, FileChannel hashesChannel,
+                            MappedLongs filter, MappedLongs hashes, int hashFunctions) {
+        this.base = base;
+        this.format = format;
+        this.filterChannel = filterChannel;
+        this.hashesChannel = hashesChannel;
+        this.filter = filter;
+        this.hashes = hashes;
+        this.blockCount = filter.length() / BLOCK_LONGS;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Abre uma lista montada anteriormente por {@link #build}.
+     *
+     * @param base Caminho base informado na montagem.
+     * @return Lista mapeada em memória.
+     * @throws UncheckedIOException     se houver falha ao ler os arquivos.
+     * @throws IllegalArgumentException se os arquivos não forem de uma lista válida ou não
+     *                                  corresponderem entre si.
+     */
+    public static BreachBlocklist open(Path base) {
+        FileChannel filterChannel = null;
+        FileChannel hashesChannel = null;
+        try {
+            hashesChannel = FileChannel.open(hashesPath(base), StandardOpenOption.READ);
+            ByteBuffer hashesHeader = readHeader(hashesChannel, HASHES_MAGIC, hashesPath(base));
+            BreachHashFormat format = formatOf(hashesHeader.getInt(8), hashesPath(base));
+            long count = hashesHeader.getLong(16);
+
+            filterChannel = FileChannel.open(filterPath(base), StandardOpenOption.READ);
+            ByteBuffer filterHeader = readHeader(filterChannel, FILTER_MAGIC, filterPath(base));
+            int hashFunctions = filterHeader.getInt(12);
+            long blocks = filterHeader.getLong(16);
+            if (formatOf(filterHeader.getInt(8), filterPath(base)) != format || filterHeader.getLong(24) != count) {
+                throw new IllegalArgumentException("O filtro " + filterPath(base) + " não corresponde a " + hashesPath(base));
+            }
+            if (hashesChannel.size() != HEADER_SIZE + count * Long.BYTES
+                    || filterChannel.size() != HEADER_SIZE + blocks * BLOCK_LONGS * Long.BYTES
+                    || blocks <= 0 || hashFunctions < 1 || hashFunctions > MAX_HASH_FUNCTIONS) {
+                throw new IllegalArgumentException("Arquivos da lista de senhas vazadas incompletos: " + base);
+            }
+
+            MappedLongs hashes = MappedLongs.map(hashesChannel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count);
+            MappedLongs filter = MappedLongs.map(filterChannel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, blocks * BLOCK_LONGS);
+            return new BreachBlocklist(base, format, filterChannel, hashesChannel, filter, hashes, hashFunctions);
+        } catch (IOException e) {
+            closeQuietly(filterChannel);
+            closeQuietly(hashesChannel);
+            throw new UncheckedIOException("Erro ao abrir a lista de senhas vazadas " + base + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            closeQuietly(filterChannel);
+            closeQuietly(hashesChannel);
+            throw e;
+        }
+    }
+
+    /**
+     * Monta a lista com a taxa de falsos positivos padrão e a abre.
+     *
+     * @see #build(Path, Path, BreachHashFormat, double)
+     */
+    public static BreachBlocklist build(Path dump, Path base, BreachHashFormat format) {
+        return build(dump, base, format, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Monta os arquivos da lista a partir de um arquivo de hashes e abre a lista.
+     *
+     * Cada linha do arquivo deve começar com ao menos 16 dígitos hexadecimais do hash; o restante
+     * da linha (por exemplo, {@code :contagem}) é ignorado, assim como linhas vazias. Os arquivos
+     * são gravados em arquivos temporários e trocados atomicamente pelos definitivos.
+     *
+     * @param dump              Arquivo de hashes.
+     * @param base              Caminho base dos arquivos da lista.
+     * @param format            Formato dos hashes do arquivo.
+     * @param falsePositiveRate Taxa aproximada de falsos positivos do filtro, entre 0 e 1.
+     * @return Lista montada, mapeada em memória.
+     * @throws UncheckedIOException     se houver falha ao ler ou gravar os arquivos.
+     * @throws IllegalArgumentException se a taxa for inválida ou uma linha não começar com um hash.
+     */
+    public static BreachBlocklist build(Path dump, Path base, BreachHashFormat format, double falsePositiveRate) {
+        return build(dump, base, format, falsePositiveRate, RUN_SIZE);
+    }
+
+    /**
+     * Monta a lista ordenando no máximo {@code runSize} chaves por vez em memória.
+     */
+    static BreachBlocklist build(Path dump, Path base, BreachHashFormat format, double falsePositiveRate, int runSize) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("A taxa de falsos positivos deve estar entre 0 e 1.");
+        }
+        Path directory = base.toAbsolutePath().getParent();
+        List<Path> runs = new ArrayList<>();
+        try {
+            long count;
+            Path hashesTemp = Files.createTempFile(directory, base.getFileName().toString(), HASHES_SUFFIX + ".tmp");
+            try {
+                try (FileChannel out = FileChannel.open(hashesTemp, StandardOpenOption.WRITE)) {
+                    count = writeSortedKeys(dump, directory, runs, runSize, out);
+                    writeHeader(out, HASHES_MAGIC, format, 0, count, count);
+                    out.force(true);
+                }
+                Files.move(hashesTemp, hashesPath(base), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(hashesTemp);
+            }
+            writeFilter(base, format, count, falsePositiveRate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao montar a lista de senhas vazadas " + base + ": " + e.getMessage(), e);
+        } finally {
+            for (Path run : runs) {
+                try {
+                    Files.deleteIfExists(run);
+                } catch (IOException ignored) {
+                    // Arquivo temporário; o sistema operacional o remove depois.
+                }
+            }
+        }
+        return open(base);
+    }
+
+    /**
+     * @param base Caminho base da lista.
+     * @return Caminho do arquivo do filtro de Bloom.
+     */
+    public static Path filterPath(Path base) {
+        return base.resolveSibling(base.getFileName() + FILTER_SUFFIX);
+    }
+
+    /**
+     * @param base Caminho base da lista.
+     * @return Caminho do arquivo de chaves ordenadas.
+     */
+    public static Path hashesPath(Path base) {
+        return base.resolveSibling(base.getFileName() + HASHES_SUFFIX);
+    }
+
+    @Override
+    public boolean contains(CharSequence password) {
+        return containsKey(BreachHasher.current().key(format, password, null, 0, password.length()));
+    }
+
+    @Override
+    public boolean contains(char[] password, int offset, int length) {
+        return containsKey(BreachHasher.current().key(format, null, password, offset, length));
+    }
+
+    /**
+     * Consulta um hash já calculado no formato da lista.
+     *
+     * @param digest Hash da senha, ou ao menos os seus 8 primeiros bytes.
+     * @return true se o hash estiver na lista.
+     */
+    public boolean containsDigest(byte[] digest) {
+        if (digest.length < Long.BYTES) {
+            throw new IllegalArgumentException("O hash deve ter ao menos " + Long.BYTES + " bytes.");
+        }
+        return containsKey(keyOf(digest));
+    }
+
+    /**
+     * @return Quantidade de hashes distintos da lista.
+     */
+    public long size() {
+        return hashes.length();
+    }
+
+    /**
+     * @return Formato dos hashes da lista.
+     */
+    public BreachHashFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return Caminho base da lista.
+     */
+    public Path getBase() {
+        return base;
+    }
+
+    /**
+     * Fecha os arquivos da lista. As regiões mapeadas são liberadas pelo coletor de lixo.
+     */
+    @Override
+    public void close() {
+        closeQuietly(filterChannel);
+        closeQuietly(hashesChannel);
+    }
+
+    /**
+     * @return A chave de 64 bits de um hash: os seus 8 primeiros bytes, em big-endian.
+     */
+    static long keyOf(byte[] digest) {
+        long key = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            key = key << 8 | (digest[i] & 0xff);
+        }
+        return key;
+    }
+
+    private boolean containsKey(long key) {
+        return mightContain(key) && binarySearch(key);
+    }
+
+    /**
+     * Testa a chave no filtro: todos os bits ficam no mesmo bloco de 512 bits.
+     */
+    boolean mightContain(long key) {
+        long block = Long.remainderUnsigned(key, blockCount) * BLOCK_LONGS;
+        long bits = mix(key);
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (int) (bits >>> (i * BIT_INDEX_BITS)) & (BLOCK_BITS - 1);
+            if ((filter.get(block + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean binarySearch(long key) {
+        long low = 0;
+        long high = hashes.length() - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long value = hashes.get(middle);
+            if (value < key) {
+                low = middle + 1;
+            } else if (value > key) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Embaralha a chave (finalizador do SplitMix64) para obter as posições dos bits dentro do
+     * bloco independentemente dos bits usados para escolher o bloco.
+     */
+    private static long mix(long key) {
+        long z = key;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Lê as chaves do arquivo de hashes em blocos ordenados e grava no canal, após o cabeçalho,
+     * a sequência ordenada e sem repetições. Blocos que não cabem na memória são gravados em
+     * arquivos temporários e intercalados no fim.
+     *
+     * @return Quantidade de chaves gravadas.
+     */
+    private static long writeSortedKeys(Path dump, Path directory, List<Path> runs, int runSize, FileChannel out)
+            throws IOException {
+        long[] run = new long[runSize];
+        int size = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(dump), 1 << 16)) {
+            long line = 0;
+            while (true) {
+                line++;
+                int c = in.read();
+                while (c == '\r' || c == '\n') {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    c = in.read();
+                }
+                if (c < 0) {
+                    break;
+                }
+                long key = 0;
+                for (int i = 0; i < KEY_HEX_DIGITS; i++) {
+                    int digit = Character.digit(c, 16);
+                    if (c < 0 || digit < 0) {
+                        throw new IllegalArgumentException("A linha " + line + " de " + dump
+                                + " não começa com " + KEY_HEX_DIGITS + " dígitos hexadecimais.");
+                    }
+                    key = key << 4 | digit;
+                    c = i + 1 < KEY_HEX_DIGITS ? in.read() : c;
+                }
+                while (c >= 0 && c != '\n') {
+                    c = in.read();
+                }
+                if (size == run.length) {
+                    runs.add(writeRun(directory, run, size));
+                    size = 0;
+                }
+                run[size++] = key;
+                if (c < 0) {
+                    break;
+                }
+            }
+        }
+
+        ChannelWriter writer = new ChannelWriter(out, HEADER_SIZE);
+        if (runs.isEmpty()) {
+            size = sortUnique(run, size);
+            for (int i = 0; i < size; i++) {
+                writer.write(run[i]);
+            }
+        } else {
+            if (size > 0) {
+                runs.add(writeRun(directory, run, size));
+            }
+            merge(runs, writer);
+        }
+        return writer.finish();
+    }
+
+    private static Path writeRun(Path directory, long[] run, int size) throws IOException {
+        int unique = sortUnique(run, size);
+        Path path = Files.createTempFile(directory, "blocklist", ".run");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(unique);
+            for (int i = 0; i < unique; i++) {
+                out.writeLong(run[i]);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Ordena o trecho e remove as chaves repetidas.
+     *
+     * @return Quantidade de chaves distintas, no início do array.
+     */
+    private static int sortUnique(long[] values, int size) {
+        Arrays.sort(values, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique;
+    }
+
+    /**
+     * Intercala os blocos ordenados com uma fila de prioridade, descartando repetições entre blocos.
+     */
+    private static void merge(List<Path> runs, ChannelWriter writer) throws IOException {
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(), (x, y) -> Long.compare(x.current, y.current));
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            boolean first = true;
+            long previous = 0;
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                if (first || reader.current != previous) {
+                    writer.write(reader.current);
+                    previous = reader.current;
+                    first = false;
+                }
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    /**
+     * Dimensiona o filtro para a quantidade de chaves e liga os bits de cada chave do arquivo
+     * ordenado já gravado.
+     */
+    private static void writeFilter(Path base, BreachHashFormat format, long count, double falsePositiveRate) throws IOException {
+        double bitsPerKey = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long blocks = Math.max(1, (long) Math.ceil(count * bitsPerKey / BLOCK_BITS));
+        int hashFunctions = (int) Math.max(1, Math.min(MAX_HASH_FUNCTIONS, Math.round(bitsPerKey * Math.log(2))));
+
+        Path temp = Files.createTempFile(base.toAbsolutePath().getParent(), base.getFileName().toString(), FILTER_SUFFIX + ".tmp");
+        try {
+            try (FileChannel hashesChannel = FileChannel.open(hashesPath(base), StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedLongs keys = MappedLongs.map(hashesChannel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count);
+                out.write(ByteBuffer.allocate(1), HEADER_SIZE + blocks * BLOCK_LONGS * Long.BYTES - 1);
+                MappedLongs bits = MappedLongs.map(out, FileChannel.MapMode.READ_WRITE, HEADER_SIZE, blocks * BLOCK_LONGS);
+                for (long i = 0; i < count; i++) {
+                    long key = keys.get(i);
+                    long block = Long.remainderUnsigned(key, blocks) * BLOCK_LONGS;
+                    long mixed = mix(key);
+                    for (int h = 0; h < hashFunctions; h++) {
+                        int bit = (int) (mixed >>> (h * BIT_INDEX_BITS)) & (BLOCK_BITS - 1);
+                        bits.or(block + (bit >>> 6), 1L << bit);
+                    }
+                }
+                bits.force();
+                writeHeader(out, FILTER_MAGIC, format, hashFunctions, blocks, count);
+                out.force(true);
+            }
+            Files.move(temp, filterPath(base), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Grava o cabeçalho: magic, versão, formato, funções de hash, blocos (ou chaves) e chaves.
+     */
+    private static void writeHeader(FileChannel out, int magic, BreachHashFormat format, int hashFunctions,
+                                    long length, long count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(magic).putInt(VERSION).putInt(format.ordinal()).putInt(hashFunctions)
+                .putLong(length).putLong(count);
+        header.clear();
+        while (header.hasRemaining()) {
+            out.write(header, header.position());
+        }
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel, int magic, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+            // Lê até completar o cabeçalho ou chegar ao fim do arquivo.
+        }
+        if (header.hasRemaining() || header.getInt(0) != magic || header.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Arquivo de lista de senhas vazadas inválido: " + path);
+        }
+        return header;
+    }
+
+    private static BreachHashFormat formatOf(int ordinal, Path path) {
+        BreachHashFormat[] formats = BreachHashFormat.values();
+        if (ordinal < 0 || ordinal >= formats.length) {
+            throw new IllegalArgumentException("Formato de hash desconhecido em " + path);
+        }
+        return formats[ordinal];
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Falha ao fechar um arquivo somente leitura não afeta o resultado.
+        }
+    }
+
+    /**
+     * Grava longs em little-endian no canal por meio de um buffer de 1 MB.
+     */
+    private static final class ChannelWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+        private long count;
+
+        private ChannelWriter(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private void write(long value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(value);
+            count++;
+        }
+
+        private long finish() throws IOException {
+            flush();
+            return count;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Leitor sequencial de um bloco ordenado gravado por {@code writeRun}.
+     */
+    private static final class RunReader {
+        private final DataInputStream in;
+        private int remaining;
+        private long current;
+
+        private RunReader(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+            this.remaining = in.readInt();
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            try {
+                current = in.readLong();
+            } catch (EOFException e) {
+                throw new IOException("Bloco temporário incompleto.", e);
+            }
+            return true;
+        }
+    }
+}
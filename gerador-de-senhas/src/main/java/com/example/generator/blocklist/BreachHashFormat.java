@@ -0,0 +1,39 @@
+package com.example.generator.blocklist;
+
+/**
+ * Formato dos hashes de um arquivo de senhas vazadas.
+ *
+ * Cada linha do arquivo começa com o hash da senha em hexadecimal, opcionalmente seguido de
+ * {@code :} e da quantidade de ocorrências, como nos arquivos publicados pelo Have I Been Pwned.
+ */
+public enum BreachHashFormat {
+    /** SHA-1 dos bytes UTF-8 da senha. */
+    SHA1(20),
+    /** Hash NTLM: MD4 dos bytes UTF-16LE da senha. */
+    NTLM(Md4.DIGEST_LENGTH);
+
+    private final int digestLength;
+
+    BreachHashFormat(int digestLength) {
+        this.digestLength = digestLength;
+    }
+
+    /**
+     * @return Tamanho do hash, em bytes.
+     */
+    public int getDigestLength() {
+        return digestLength;
+    }
+
+    /**
+     * Calcula o hash da senha neste formato.
+     *
+     * @param password Senha em texto puro.
+     * @return Hash da senha.
+     */
+    public byte[] digest(CharSequence password) {
+        byte[] digest = new byte[digestLength];
+        BreachHasher.current().digest(this, password, null, 0, password.length(), digest);
+        return digest;
+    }
+}
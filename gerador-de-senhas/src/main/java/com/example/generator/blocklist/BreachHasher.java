@@ -0,0 +1,98 @@
+package com.example.generator.blocklist;
+
+import com.example.generator.CharView;
+import com.example.generator.Utf8;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Calcula os hashes consultados na lista de senhas vazadas, reaproveitando por thread o buffer
+ * de codificação, o array do hash e as instâncias de {@link MessageDigest} e {@link Md4}.
+ * Uma consulta não aloca memória, exceto quando a senha não cabe no buffer atual. A senha
+ * codificada é zerada do buffer ao fim de cada consulta e antes de o buffer ser trocado.
+ */
+final class BreachHasher {
+
+    private static final ThreadLocal<BreachHasher> CURRENT = ThreadLocal.withInitial(BreachHasher::new);
+
+    private final MessageDigest sha1;
+    private final Md4 md4 = new Md4();
+    private final byte[] digest = new byte[20];
+    private final CharView view = new CharView();
+    private byte[] encoded = new byte[256];
+
+    private BreachHasher() {
+        try {
+            this.sha1 = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 não disponível nesta JVM.", e);
+        }
+    }
+
+    /**
+     * @return Instância da thread atual.
+     */
+    static BreachHasher current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Calcula o hash da senha e devolve os seus 8 primeiros bytes, a chave usada nos arquivos
+     * da lista. A senha é lida de {@code text}, se informado, ou do trecho de {@code chars}.
+     */
+    long key(BreachHashFormat format, CharSequence text, char[] chars, int offset, int length) {
+        digest(format, text, chars, offset, length, digest);
+        return BreachBlocklist.keyOf(digest);
+    }
+
+    void digest(BreachHashFormat format, CharSequence text, char[] chars, int offset, int length, byte[] out) {
+        int maxSize = length * (format == BreachHashFormat.NTLM ? 2 : Utf8.MAX_BYTES_PER_CHAR);
+        try {
+            if (format == BreachHashFormat.NTLM) {
+                int size = encodeUtf16Le(text, chars, offset, length);
+                md4.digest(encoded, size, out);
+            } else {
+                int size = encodeUtf8(text, chars, offset, length);
+                sha1.update(encoded, 0, size);
+                sha1.digest(out, 0, format.getDigestLength());
+            }
+        } catch (DigestException e) {
+            throw new IllegalStateException("Falha ao calcular o SHA-1.", e);
+        } finally {
+            // Zera até o maior tamanho possível, cobrindo também uma codificação interrompida
+            Arrays.fill(encoded, 0, Math.min(maxSize, encoded.length), (byte) 0);
+        }
+    }
+
+    private int encodeUtf16Le(CharSequence text, char[] chars, int offset, int length) {
+        ensureCapacity(length * 2);
+        for (int i = 0; i < length; i++) {
+            char c = text != null ? text.charAt(offset + i) : chars[offset + i];
+            encoded[2 * i] = (byte) c;
+            encoded[2 * i + 1] = (byte) (c >>> 8);
+        }
+        return length * 2;
+    }
+
+    private int encodeUtf8(CharSequence text, char[] chars, int offset, int length) {
+        ensureCapacity(length * Utf8.MAX_BYTES_PER_CHAR);
+        if (text != null) {
+            return Utf8.encode(text, offset, offset + length, encoded, 0);
+        }
+        try {
+            return Utf8.encode(view.wrap(chars, offset, length), encoded, 0);
+        } finally {
+            view.clear();
+        }
+    }
+
+    private void ensureCapacity(int size) {
+        if (encoded.length < size) {
+            Arrays.fill(encoded, (byte) 0);
+            encoded = new byte[Math.max(size, encoded.length * 2)];
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.generator.blocklist;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Array de longs mapeado de um arquivo, dividido em segmentos de 1 GB para permitir arquivos
+ * maiores que o limite de 2 GB de um único {@link MappedByteBuffer}.
+ */
+final class MappedLongs {
+
+    /** Cada segmento guarda 2^27 longs (1 GB). */
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long length;
+
+    private MappedLongs(MappedByteBuffer[] segments, long length) {
+        this.segments = segments;
+        this.length = length;
+    }
+
+    /**
+     * Mapeia {@code length} longs do arquivo, a partir da posição informada.
+     *
+     * @param channel  Canal do arquivo.
+     * @param mode     Modo do mapeamento.
+     * @param position Posição do primeiro long no arquivo, em bytes.
+     * @param length   Quantidade de longs.
+     * @return Array mapeado.
+     */
+    static MappedLongs map(FileChannel channel, FileChannel.MapMode mode, long position, long length) throws IOException {
+        int count = (int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int s = 0; s < count; s++) {
+            long first = (long) s << SEGMENT_SHIFT;
+            long longs = Math.min(1L << SEGMENT_SHIFT, length - first);
+            segments[s] = channel.map(mode, position + first * Long.BYTES, longs * Long.BYTES);
+            segments[s].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new MappedLongs(segments, length);
+    }
+
+    long get(long index) {
+        return segments[(int) (index >>> SEGMENT_SHIFT)].getLong((int) (index & SEGMENT_MASK) << 3);
+    }
+
+    /**
+     * Liga os bits informados no long da posição.
+     */
+    void or(long index, long bits) {
+        MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+        int offset = (int) (index & SEGMENT_MASK) << 3;
+        segment.putLong(offset, segment.getLong(offset) | bits);
+    }
+
+    long length() {
+        return length;
+    }
+
+    /**
+     * Grava no disco as alterações feitas em um mapeamento de escrita.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.generator.blocklist;
+
+/**
+ * Implementação do MD4 (RFC 1320), usado apenas para calcular hashes NTLM.
+ *
+ * O MD4 não é oferecido pelos provedores padrão do JCE. A instância reaproveita os seus arrays
+ * entre chamadas e não é segura para uso por várias threads.
+ */
+final class Md4 {
+
+    /** Tamanho do hash, em bytes. */
+    static final int DIGEST_LENGTH = 16;
+
+    /** Ordem das palavras na terceira rodada. */
+    private static final int[] ROUND3_ORDER = {0, 2, 1, 3};
+
+    private final int[] words = new int[16];
+    private final byte[] tail = new byte[128];
+    private int a;
+    private int b;
+    private int c;
+    private int d;
+
+    /**
+     * Calcula o hash da mensagem.
+     *
+     * @param message Array com a mensagem.
+     * @param length  Quantidade de bytes da mensagem, a partir do início do array.
+     * @param digest  Array de destino, com ao menos {@link #DIGEST_LENGTH} posições.
+     */
+    void digest(byte[] message, int length, byte[] digest) {
+        a = 0x67452301;
+        b = 0xefcdab89;
+        c = 0x98badcfe;
+        d = 0x10325476;
+
+        int full = length & ~63;
+        for (int offset = 0; offset < full; offset += 64) {
+            block(message, offset);
+        }
+
+        // Preenchimento: bit 1, zeros e o comprimento em bits (little-endian) no fim do bloco.
+        int remaining = length - full;
+        System.arraycopy(message, full, tail, 0, remaining);
+        tail[remaining] = (byte) 0x80;
+        int tailLength = remaining < 56 ? 64 : 128;
+        for (int i = remaining + 1; i < tailLength - 8; i++) {
+            tail[i] = 0;
+        }
+        long bits = (long) length << 3;
+        for (int i = 0; i < 8; i++) {
+            tail[tailLength - 8 + i] = (byte) (bits >>> (8 * i));
+        }
+        block(tail, 0);
+        if (tailLength == 128) {
+            block(tail, 64);
+        }
+
+        putLittleEndian(a, digest, 0);
+        putLittleEndian(b, digest, 4);
+        putLittleEndian(c, digest, 8);
+        putLittleEndian(d, digest, 12);
+    }
+
+    private void block(byte[] data, int offset) {
+        int[] x = words;
+        for (int i = 0; i < 16; i++) {
+            int p = offset + i * 4;
+            x[i] = (data[p] & 0xff) | (data[p + 1] & 0xff) << 8 | (data[p + 2] & 0xff) << 16 | (data[p + 3] & 0xff) << 24;
+        }
+        int aa = a;
+        int bb = b;
+        int cc = c;
+        int dd = d;
+
+        for (int i = 0; i < 16; i += 4) {
+            aa = Integer.rotateLeft(aa + f(bb, cc, dd) + x[i], 3);
+            dd = Integer.rotateLeft(dd + f(aa, bb, cc) + x[i + 1], 7);
+            cc = Integer.rotateLeft(cc + f(dd, aa, bb) + x[i + 2], 11);
+            bb = Integer.rotateLeft(bb + f(cc, dd, aa) + x[i + 3], 19);
+        }
+        for (int i = 0; i < 4; i++) {
+            aa = Integer.rotateLeft(aa + g(bb, cc, dd) + x[i] + 0x5a827999, 3);
+            dd = Integer.rotateLeft(dd + g(aa, bb, cc) + x[i + 4] + 0x5a827999, 5);
+            cc = Integer.rotateLeft(cc + g(dd, aa, bb) + x[i + 8] + 0x5a827999, 9);
+            bb = Integer.rotateLeft(bb + g(cc, dd, aa) + x[i + 12] + 0x5a827999, 13);
+        }
+        for (int i : ROUND3_ORDER) {
+            aa = Integer.rotateLeft(aa + h(bb, cc, dd) + x[i] + 0x6ed9eba1, 3);
+            dd = Integer.rotateLeft(dd + h(aa, bb, cc) + x[i + 8] + 0x6ed9eba1, 9);
+            cc = Integer.rotateLeft(cc + h(dd, aa, bb) + x[i + 4] + 0x6ed9eba1, 11);
+            bb = Integer.rotateLeft(bb + h(cc, dd, aa) + x[i + 12] + 0x6ed9eba1, 15);
+        }
+
+        a += aa;
+        b += bb;
+        c += cc;
+        d += dd;
+    }
+
+    private static int f(int x, int y, int z) {
+        return (x & y) | (~x & z);
+    }
+
+    private static int g(int x, int y, int z) {
+        return (x & y) | (x & z) | (y & z);
+    }
+
+    private static int h(int x, int y, int z) {
+        return x ^ y ^ z;
+    }
+
+    private static void putLittleEndian(int value, byte[] out, int offset) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >>> 8);
+        out[offset + 2] = (byte) (value >>> 16);
+        out[offset + 3] = (byte) (value >>> 24);
+    }
+}
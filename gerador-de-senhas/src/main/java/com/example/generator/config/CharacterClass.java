@@ -0,0 +1,25 @@
+package com.example.generator.config;
+
+/**
+ * Classes de caracteres que podem compor uma senha, com os seus alfabetos padrão.
+ * A ordem das constantes define a ordem das classes na tabela compilada.
+ */
+public enum CharacterClass {
+    LOWERCASE("abcdefghijklmnopqrstuvwxyz"),
+    UPPERCASE("ABCDEFGHIJKLMNOPQRSTUVWXYZ"),
+    DIGITS("0123456789"),
+    SPECIAL("!@#$%^&*()-_=+[]{}|;:,.<>/?");
+
+    private final String defaultAlphabet;
+
+    CharacterClass(String defaultAlphabet) {
+        this.defaultAlphabet = defaultAlphabet;
+    }
+
+    /**
+     * @return Caracteres da classe quando a política não define um alfabeto próprio.
+     */
+    public String getDefaultAlphabet() {
+        return defaultAlphabet;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.generator.config;
+
+import com.example.generator.random.RandomBuffer;
+
+import java.math.BigInteger;
+
+/**
+ * Tabela de contagem das senhas que atendem às quantidades mínimas de cada classe de caracteres.
+ *
+ * Para um comprimento {@code n} e classes com {@code s_k} caracteres e mínimo {@code min_k}, a
+ * quantidade de senhas válidas que usam as classes {@code k} em diante em {@code m} posições é
+ *
+ * <pre>
+ * W_k(m) = soma, para c de min_k até m, de C(m, c) * s_k^c * W_{k+1}(m - c)
+ * </pre>
+ *
+ * A tabela é calculada uma vez por comprimento. Para sortear uma senha uniforme entre todas as
+ * válidas, basta escolher quantos caracteres de cada classe ela terá com probabilidade
+ * proporcional ao termo correspondente, sortear cada caractere uniformemente dentro da sua classe
+ * e embaralhar as posições: todas as senhas válidas ficam com a mesma probabilidade.
+ */
+public final class ClassCoverage {
+
+    private final int length;
+    private final int[] minimums;
+    /** {@code ways[k][m]} = W_k(m). */
+    private final BigInteger[][] ways;
+    /**
+     * {@code cumulative[k][m][c - minimums[k]]} = soma dos termos C(m, j) * s_k^j * W_{k+1}(m - j)
+     * para j de {@code minimums[k]} até {@code c}.
+     */
+    private final BigInteger[][][] cumulative;
+
+    /**
+     * Calcula a tabela de contagem.
+     *
+     * @param classSizes Quantidade de caracteres de cada classe.
+     * @param minimums   Quantidade mínima de caracteres de cada classe.
+     * @param length     Comprimento da senha.
+     */
+    ClassCoverage(int[] classSizes, int[] minimums, int length) {
+        int classes = classSizes.length;
+        this.length = length;
+        this.minimums = minimums.clone();
+        this.ways = new BigInteger[classes + 1][length + 1];
+        this.cumulative = new BigInteger[classes][length + 1][];
+
+        BigInteger[][] binomials = binomials(length);
+        for (int m = 0; m <= length; m++) {
+            ways[classes][m] = m == 0 ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        for (int k = classes - 1; k >= 0; k--) {
+            BigInteger[] powers = powers(classSizes[k], length);
+            for (int m = 0; m <= length; m++) {
+                int min = minimums[k];
+                BigInteger total = BigInteger.ZERO;
+                BigInteger[] row = new BigInteger[Math.max(0, m - min + 1)];
+                for (int c = min; c <= m; c++) {
+                    BigInteger term = binomials[m][c].multiply(powers[c]).multiply(ways[k + 1][m - c]);
+                    total = total.add(term);
+                    row[c - min] = total;
+                }
+                cumulative[k][m] = row;
+                ways[k][m] = total;
+            }
+        }
+    }
+
+    /**
+     * @return Quantidade de senhas que atendem a todos os mínimos.
+     */
+    public BigInteger getCompliantCount() {
+        return ways[0][length];
+    }
+
+    /**
+     * Sorteia quantos caracteres de cada classe a senha terá, com a probabilidade que cada
+     * combinação tem entre as senhas válidas.
+     *
+     * Um único inteiro uniforme em {@code [0, W_0(n))} é localizado, por busca binária, nos
+     * termos acumulados de cada classe: o termo em que ele cai define a quantidade, e o resto da divisão pelo número de
+     * possibilidades das classes seguintes continua uniforme para a próxima escolha.
+     *
+     * @param random Buffer aleatório da thread atual.
+     * @param counts Array de destino, com uma posição por classe.
+     * @throws IllegalStateException se nenhuma senha atender aos mínimos.
+     */
+    public void sampleCounts(RandomBuffer random, int[] counts) {
+        BigInteger total = getCompliantCount();
+        if (total.signum() == 0) {
+            throw new IllegalStateException("O comprimento da senha é menor que a soma das quantidades mínimas.");
+        }
+        BigInteger r = random.nextBelow(total);
+        int m = length;
+        int last = counts.length - 1;
+        for (int k = 0; k < last; k++) {
+            BigInteger[] row = cumulative[k][m];
+            int c = upperBound(row, r);
+            int chosen = minimums[k] + c;
+            if (c > 0) {
+                r = r.subtract(row[c - 1]);
+            }
+            r = r.mod(ways[k + 1][m - chosen]);
+            counts[k] = chosen;
+            m -= chosen;
+        }
+        counts[last] = m;
+    }
+
+    /**
+     * @return Primeira posição cujo valor acumulado é maior que {@code r}.
+     */
+    private static int upperBound(BigInteger[] row, BigInteger r) {
+        int low = 0;
+        int high = row.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (row[mid].compareTo(r) > 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static BigInteger[][] binomials(int n) {
+        BigInteger[][] table = new BigInteger[n + 1][];
+        for (int m = 0; m <= n; m++) {
+            table[m] = new BigInteger[m + 1];
+            table[m][0] = BigInteger.ONE;
+            table[m][m] = BigInteger.ONE;
+            for (int c = 1; c < m; c++) {
+                table[m][c] = table[m - 1][c - 1].add(table[m - 1][c]);
+            }
+        }
+        return table;
+    }
+
+    private static BigInteger[] powers(int base, int n) {
+        BigInteger[] table = new BigInteger[n + 1];
+        BigInteger value = BigInteger.valueOf(base);
+        table[0] = BigInteger.ONE;
+        for (int c = 1; c <= n; c++) {
+            table[c] = table[c - 1].multiply(value);
+        }
+        return table;
+    }
+}
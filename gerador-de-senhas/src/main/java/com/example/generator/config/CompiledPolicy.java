@@ -0,0 +1,293 @@
+package com.example.generator.config;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Forma compilada e imutável das regras de caracteres de uma {@link PasswordPolicy}.
+ *
+ * A tabela de caracteres é montada uma única vez por configuração distinta de política e
+ * compartilhada por todos os geradores que usam essa configuração, de modo que criar um gerador
+ * não exige reconstruir o conjunto nem concatenar Strings. As classes habilitadas ocupam trechos
+ * contíguos da tabela, na ordem de {@link CharacterClass}, já sem os caracteres excluídos.
+ *
+ * A compilação também monta uma tabela que associa cada caractere à sua classe, usada pelo
+ * {@link PasswordValidator} para validar uma senha em uma única passada.
+ */
+public final class CompiledPolicy {
+
+    private static final ConcurrentMap<Key, CompiledPolicy> CACHE = new ConcurrentHashMap<>();
+
+    private final char[] alphabet;
+    /** Início de cada classe na tabela, com uma posição extra marcando o fim da última. */
+    private final int[] classOffsets;
+    private final CharacterClass[] classes;
+    private final int[] minimums;
+    private final int maxRepeated;
+    /** Índice da classe de cada caractere, ou -1 se o caractere não for permitido. */
+    private final byte[] classLookup;
+    private final ConcurrentMap<Integer, ClassCoverage> coverages = new ConcurrentHashMap<>();
+
+    private CompiledPolicy(Key key) {
+        StringBuilder table = new StringBuilder();
+        int enabled = 0;
+        for (String classAlphabet : key.alphabets) {
+            if (classAlphabet != null && !classAlphabet.isEmpty()) {
+                enabled++;
+            }
+        }
+        this.classOffsets = new int[enabled + 1];
+        this.classes = new CharacterClass[enabled];
+        this.minimums = new int[enabled];
+
+        int index = 0;
+        for (CharacterClass characterClass : CharacterClass.values()) {
+            String classAlphabet = key.alphabets[characterClass.ordinal()];
+            int minimum = key.minimums[characterClass.ordinal()];
+            if (classAlphabet == null || classAlphabet.isEmpty()) {
+                if (minimum > 0) {
+                    throw new IllegalStateException("A classe " + characterClass
+                            + " tem quantidade mínima, mas nenhum caractere disponível.");
+                }
+                continue;
+            }
+            classOffsets[index] = table.length();
+            classes[index] = characterClass;
+            minimums[index] = minimum;
+            table.append(classAlphabet);
+            index++;
+        }
+        classOffsets[enabled] = table.length();
+        this.alphabet = table.toString().toCharArray();
+        this.maxRepeated = key.maxRepeated;
+
+        char max = 0;
+        for (char c : alphabet) {
+            max = (char) Math.max(max, c);
+        }
+        this.classLookup = new byte[alphabet.length == 0 ? 0 : max + 1];
+        Arrays.fill(classLookup, (byte) -1);
+        for (int k = 0; k < enabled; k++) {
+            for (int i = classOffsets[k]; i < classOffsets[k + 1]; i++) {
+                if (classLookup[alphabet[i]] != -1) {
+                    throw new IllegalArgumentException("O caractere '" + alphabet[i]
+                            + "' pertence a mais de uma classe.");
+                }
+                classLookup[alphabet[i]] = (byte) k;
+            }
+        }
+    }
+
+    /**
+     * Retorna a forma compilada da configuração atual da política, reaproveitando a tabela de
+     * uma compilação anterior com a mesma configuração.
+     *
+     * @param policy Política a ser compilada.
+     * @return Política compilada.
+     * @throws IllegalStateException    se uma classe com quantidade mínima ficar sem caracteres.
+     * @throws IllegalArgumentException se um caractere pertencer a mais de uma classe.
+     */
+    static CompiledPolicy of(PasswordPolicy policy) {
+        CharacterClass[] values = CharacterClass.values();
+        String[] alphabets = new String[values.length];
+        int[] minimums = new int[values.length];
+        for (CharacterClass characterClass : values) {
+            int i = characterClass.ordinal();
+            minimums[i] = policy.getMinimum(characterClass);
+            if (policy.isEnabled(characterClass)) {
+                alphabets[i] = effectiveAlphabet(policy, characterClass);
+            }
+        }
+        return CACHE.computeIfAbsent(new Key(alphabets, minimums, policy.getMaxRepeated()), CompiledPolicy::new);
+    }
+
+    /**
+     * Remove do alfabeto da classe os caracteres repetidos, os excluídos e, se configurado, os
+     * caracteres de aparência ambígua.
+     */
+    private static String effectiveAlphabet(PasswordPolicy policy, CharacterClass characterClass) {
+        String excluded = policy.getExcludedCharacters();
+        boolean excludeAmbiguous = policy.isExcludeAmbiguous();
+        StringBuilder result = new StringBuilder();
+        for (char c : policy.getAlphabet(characterClass).toCharArray()) {
+            if (excluded.indexOf(c) >= 0 || result.indexOf(String.valueOf(c)) >= 0
+                    || (excludeAmbiguous && PasswordPolicy.AMBIGUOUS_CHARACTERS.indexOf(c) >= 0)) {
+                continue;
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return Quantidade de caracteres disponíveis.
+     */
+    public int size() {
+        return alphabet.length;
+    }
+
+    /**
+     * Retorna o caractere na posição informada da tabela.
+     *
+     * @param index Posição entre zero e {@link #size()} - 1.
+     * @return Caractere da tabela.
+     */
+    public char charAt(int index) {
+        return alphabet[index];
+    }
+
+    /**
+     * @return true se nenhum tipo de caractere estiver habilitado.
+     */
+    public boolean isEmpty() {
+        return alphabet.length == 0;
+    }
+
+    /**
+     * @return Quantidade de classes de caracteres habilitadas.
+     */
+    public int classCount() {
+        return classes.length;
+    }
+
+    /**
+     * @param classIndex Índice da classe, entre zero e {@link #classCount()} - 1.
+     * @return Classe de caracteres na posição informada.
+     */
+    public CharacterClass characterClass(int classIndex) {
+        return classes[classIndex];
+    }
+
+    /**
+     * @param classIndex Índice da classe, entre zero e {@link #classCount()} - 1.
+     * @return Quantidade de caracteres da classe.
+     */
+    public int classSize(int classIndex) {
+        return classOffsets[classIndex + 1] - classOffsets[classIndex];
+    }
+
+    /**
+     * Retorna um caractere de uma classe específica.
+     *
+     * @param classIndex Índice da classe, entre zero e {@link #classCount()} - 1.
+     * @param index      Posição dentro da classe, entre zero e {@code classSize(classIndex) - 1}.
+     * @return Caractere da classe.
+     */
+    public char classCharAt(int classIndex, int index) {
+        return alphabet[classOffsets[classIndex] + index];
+    }
+
+    /**
+     * @param classIndex Índice da classe, entre zero e {@link #classCount()} - 1.
+     * @return Quantidade mínima de caracteres da classe.
+     */
+    public int minimum(int classIndex) {
+        return minimums[classIndex];
+    }
+
+    /**
+     * @return true se alguma classe tiver quantidade mínima.
+     */
+    public boolean hasMinimums() {
+        for (int minimum : minimums) {
+            if (minimum > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Quantidade máxima de repetições seguidas do mesmo caractere, ou zero se não houver limite.
+     */
+    public int getMaxRepeated() {
+        return maxRepeated;
+    }
+
+    /**
+     * Retorna o índice da classe do caractere.
+     *
+     * @param c Caractere consultado.
+     * @return Índice da classe, ou -1 se o caractere não for permitido pela política.
+     */
+    public int classIndexOf(char c) {
+        return c < classLookup.length ? classLookup[c] : -1;
+    }
+
+    /**
+     * Verifica se a senha repete o mesmo caractere seguidamente mais vezes que o permitido.
+     *
+     * @param password Array com a senha.
+     * @param offset   Posição inicial da senha no array.
+     * @param length   Comprimento da senha.
+     * @return true se o limite de repetições for ultrapassado.
+     */
+    public boolean exceedsMaxRepeated(char[] password, int offset, int length) {
+        if (maxRepeated == 0) {
+            return false;
+        }
+        int run = 0;
+        for (int i = offset; i < offset + length; i++) {
+            run = i > offset && password[i] == password[i - 1] ? run + 1 : 1;
+            if (run > maxRepeated) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retorna a tabela de contagem das senhas do comprimento informado que atendem às quantidades
+     * mínimas de cada classe. A tabela é calculada na primeira chamada e reaproveitada.
+     *
+     * @param length     Comprimento da senha.
+     * @param everyClass Se toda classe habilitada deve aparecer ao menos uma vez, mesmo sem mínimo.
+     * @return Tabela de contagem para o comprimento.
+     */
+    public ClassCoverage coverage(int length, boolean everyClass) {
+        return coverages.computeIfAbsent(length * 2 + (everyClass ? 1 : 0), cacheKey -> {
+            int[] sizes = new int[classCount()];
+            int[] required = new int[sizes.length];
+            for (int k = 0; k < sizes.length; k++) {
+                sizes[k] = classSize(k);
+                required[k] = everyClass ? Math.max(1, minimums[k]) : minimums[k];
+            }
+            return new ClassCoverage(sizes, required, length);
+        });
+    }
+
+    /**
+     * Chave do cache: alfabetos efetivos, quantidades mínimas e limite de repetições.
+     */
+    private static final class Key {
+        private final String[] alphabets;
+        private final int[] minimums;
+        private final int maxRepeated;
+
+        private Key(String[] alphabets, int[] minimums, int maxRepeated) {
+            this.alphabets = alphabets;
+            this.minimums = minimums;
+            this.maxRepeated = maxRepeated;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return maxRepeated == other.maxRepeated
+                    && Arrays.equals(alphabets, other.alphabets)
+                    && Arrays.equals(minimums, other.minimums);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Arrays.hashCode(alphabets) + Arrays.hashCode(minimums)) + maxRepeated;
+        }
+    }
+}
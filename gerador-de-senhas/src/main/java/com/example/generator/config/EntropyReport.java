@@ -0,0 +1,60 @@
+package com.example.generator.config;
+
+import java.util.Locale;
+
+/**
+ * Entropia, em bits, de uma configuração de gerador, separada pela origem de cada parcela.
+ *
+ * Os valores supõem que cada escolha do gerador é uniforme e que saídas diferentes vêm de
+ * escolhas diferentes (por exemplo, palavras sem dígitos quando há dígitos inseridos).
+ */
+public final class EntropyReport {
+
+    private final long wordListSize;
+    private final double wordBits;
+    private final double capitalizationBits;
+    private final double digitBits;
+
+    /**
+     * @param wordListSize       Quantidade de palavras distintas da lista.
+     * @param wordBits           Entropia das palavras sorteadas.
+     * @param capitalizationBits Entropia acrescentada pela capitalização.
+     * @param digitBits          Entropia acrescentada pelos dígitos e pela sua posição.
+     */
+    public EntropyReport(long wordListSize, double wordBits, double capitalizationBits, double digitBits) {
+        this.wordListSize = wordListSize;
+        this.wordBits = wordBits;
+        this.capitalizationBits = capitalizationBits;
+        this.digitBits = digitBits;
+    }
+
+    public long getWordListSize() {
+        return wordListSize;
+    }
+
+    public double getWordBits() {
+        return wordBits;
+    }
+
+    public double getCapitalizationBits() {
+        return capitalizationBits;
+    }
+
+    public double getDigitBits() {
+        return digitBits;
+    }
+
+    /**
+     * @return Entropia total, em bits.
+     */
+    public double getTotalBits() {
+        return wordBits + capitalizationBits + digitBits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "EntropyReport{total=%.1f bits, palavras=%.1f (lista com %d), capitalização=%.1f, dígitos=%.1f}",
+                getTotalBits(), wordBits, wordListSize, capitalizationBits, digitBits);
+    }
+}
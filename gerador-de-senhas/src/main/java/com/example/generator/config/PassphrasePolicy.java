@@ -0,0 +1,107 @@
+package com.example.generator.config;
+
+/**
+ * Classe que define a política de frases-senha (passphrases) para o gerador.
+ * Permite configurar a quantidade de palavras, o separador, a capitalização e a inclusão de dígitos.
+ */
+public class PassphrasePolicy {
+
+    /**
+     * Formas de capitalizar as palavras da frase.
+     */
+    public enum Capitalization {
+        /** As palavras são usadas como estão na lista. */
+        NONE,
+        /** A primeira letra de cada palavra fica maiúscula; não acrescenta entropia. */
+        FIRST_LETTER,
+        /** Cada palavra tem a primeira letra maiúscula com probabilidade 1/2; acrescenta um bit por palavra. */
+        RANDOM
+    }
+
+    // Atributos configuráveis da política de frase-senha
+    private int wordCount;
+    private String separator;
+    private Capitalization capitalization;
+    private int digitCount;
+
+    /**
+     * Construtor padrão que define valores padrão para a política.
+     * Valor padrão:
+     * - 6 palavras separadas por hífen.
+     * - Sem capitalização e sem dígitos.
+     */
+    public PassphrasePolicy() {
+        this(6, "-", Capitalization.NONE, 0);
+    }
+
+    /**
+     * Construtor personalizado para definir uma política de frase-senha específica.
+     *
+     * @param wordCount      Quantidade de palavras.
+     * @param separator      Texto colocado entre as palavras.
+     * @param capitalization Forma de capitalizar as palavras.
+     * @param digitCount     Quantidade de dígitos inseridos, em bloco, após uma palavra sorteada.
+     * @throws IllegalArgumentException se a quantidade de palavras for menor ou igual a zero ou a de dígitos for negativa.
+     */
+    public PassphrasePolicy(int wordCount, String separator, Capitalization capitalization, int digitCount) {
+        setWordCount(wordCount);
+        setSeparator(separator);
+        setCapitalization(capitalization);
+        setDigitCount(digitCount);
+    }
+
+    // Getters e Setters para acesso e modificação dos atributos
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(int wordCount) {
+        if (wordCount <= 0) {
+            throw new IllegalArgumentException("A quantidade de palavras deve ser maior que zero.");
+        }
+        this.wordCount = wordCount;
+    }
+
+    public String getSeparator() {
+        return separator;
+    }
+
+    public void setSeparator(String separator) {
+        this.separator = separator == null ? "" : separator;
+    }
+
+    public Capitalization getCapitalization() {
+        return capitalization;
+    }
+
+    public void setCapitalization(Capitalization capitalization) {
+        this.capitalization = capitalization == null ? Capitalization.NONE : capitalization;
+    }
+
+    public int getDigitCount() {
+        return digitCount;
+    }
+
+    public void setDigitCount(int digitCount) {
+        if (digitCount < 0) {
+            throw new IllegalArgumentException("A quantidade de dígitos não pode ser negativa.");
+        }
+        this.digitCount = digitCount;
+    }
+
+    /**
+     * Retorna uma representação em String da configuração atual da política de frase-senha.
+     *
+     * @return Uma String com os valores configurados.
+     */
+    @Override
+    public String toString() {
+        return "PassphrasePolicy{" +
+                "wordCount=" + wordCount +
+                ", separator='" + separator + '\'' +
+                ", capitalization=" + capitalization +
+                ", digitCount=" + digitCount +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.generator.config;
+
+import java.nio.CharBuffer;
+
+/**
+ * Lista de senhas proibidas, consultada pelo {@link PasswordValidator} e pelo gerador.
+ *
+ * Uma senha contida na lista viola a política com {@link PolicyViolation#BREACHED}, e o gerador
+ * sorteia outra senha quando a gerada está na lista. As implementações devem ser seguras para uso
+ * por várias threads.
+ *
+ * @see com.example.generator.blocklist.BreachBlocklist
+ */
+public interface PasswordBlocklist {
+
+    /**
+     * @param password Senha consultada.
+     * @return true se a senha estiver na lista.
+     */
+    boolean contains(CharSequence password);
+
+    /**
+     * Consulta uma senha armazenada em um trecho de array, como as geradas por
+     * {@code SecurePasswordGenerator.generateInto}.
+     *
+     * @param password Array com a senha.
+     * @param offset   Posição inicial da senha no array.
+     * @param length   Comprimento da senha.
+     * @return true se a senha estiver na lista.
+     */
+    default boolean contains(char[] password, int offset, int length) {
+        return contains(CharBuffer.wrap(password, offset, length));
+    }
+}
@@ -1,19 +1,36 @@
 package com.example.generator.config;
 
+import java.util.Arrays;
 import java.util.function.BooleanSupplier;
 
 /**
  * Classe que define a política de senhas para o gerador.
  * Permite configurar os critérios da senha, como o comprimento e os tipos de caracteres permitidos.
+ *
+ * Além das classes habilitadas, a política pode exigir quantidades mínimas por classe, excluir
+ * caracteres específicos ou de aparência ambígua, limitar repetições seguidas do mesmo caractere
+ * e substituir o alfabeto de uma classe, além de recusar senhas de uma {@link PasswordBlocklist}.
+ * As regras são compiladas uma vez em uma
+ * {@link CompiledPolicy}, usada pelo gerador, e em um {@link PasswordValidator}, que valida senhas
+ * escolhidas por usuários.
  */
 public class PasswordPolicy {
 
+    /** Caracteres facilmente confundidos entre si, removidos com {@link #setExcludeAmbiguous(boolean)}. */
+    public static final String AMBIGUOUS_CHARACTERS = "0O1lI";
+
     // Atributos configuráveis da política de senha
     private int length;
     private boolean includeUppercase;
     private boolean includeLowercase;
     private boolean includeDigits;
     private boolean includeSpecial;
+    private final int[] minimums = new int[CharacterClass.values().length];
+    private final String[] alphabets = new String[CharacterClass.values().length];
+    private String excludedCharacters = "";
+    private boolean excludeAmbiguous;
+    private int maxRepeated;
+    private PasswordBlocklist blocklist;
 
     /**
      * Construtor padrão que define valores padrão para a política.
@@ -97,6 +114,174 @@ public class PasswordPolicy {
         this.includeSpecial = includeSpecial;
     }
 
+    /**
+     * Indica se a classe de caracteres está habilitada.
+     *
+     * @param characterClass Classe de caracteres.
+     * @return true se a classe puder ser usada na senha.
+     */
+    public boolean isEnabled(CharacterClass characterClass) {
+        switch (characterClass) {
+            case LOWERCASE:
+                return includeLowercase;
+            case UPPERCASE:
+                return includeUppercase;
+            case DIGITS:
+                return includeDigits;
+            default:
+                return includeSpecial;
+        }
+    }
+
+    /**
+     * Habilita ou desabilita uma classe de caracteres.
+     *
+     * @param characterClass Classe de caracteres.
+     * @param enabled        Se a classe pode ser usada na senha.
+     */
+    public void setEnabled(CharacterClass characterClass, boolean enabled) {
+        switch (characterClass) {
+            case LOWERCASE:
+                includeLowercase = enabled;
+                break;
+            case UPPERCASE:
+                includeUppercase = enabled;
+                break;
+            case DIGITS:
+                includeDigits = enabled;
+                break;
+            default:
+                includeSpecial = enabled;
+        }
+    }
+
+    public int getMinimum(CharacterClass characterClass) {
+        return minimums[characterClass.ordinal()];
+    }
+
+    /**
+     * Define a quantidade mínima de caracteres de uma classe. A classe precisa estar habilitada.
+     *
+     * @param characterClass Classe de caracteres.
+     * @param minimum        Quantidade mínima; zero remove a exigência.
+     * @throws IllegalArgumentException se a quantidade for negativa.
+     */
+    public void setMinimum(CharacterClass characterClass, int minimum) {
+        if (minimum < 0) {
+            throw new IllegalArgumentException("A quantidade mínima não pode ser negativa.");
+        }
+        minimums[characterClass.ordinal()] = minimum;
+    }
+
+    /**
+     * Retorna o alfabeto da classe, antes de aplicar as exclusões.
+     *
+     * @param characterClass Classe de caracteres.
+     * @return Alfabeto próprio da classe, ou o alfabeto padrão se nenhum tiver sido definido.
+     */
+    public String getAlphabet(CharacterClass characterClass) {
+        String alphabet = alphabets[characterClass.ordinal()];
+        return alphabet != null ? alphabet : characterClass.getDefaultAlphabet();
+    }
+
+    /**
+     * Substitui o alfabeto de uma classe de caracteres.
+     * Os alfabetos das classes não podem ter caracteres em comum.
+     *
+     * @param characterClass Classe de caracteres.
+     * @param alphabet       Novo alfabeto, ou {@code null} para voltar ao alfabeto padrão.
+     * @throws IllegalArgumentException se o alfabeto for vazio.
+     */
+    public void setAlphabet(CharacterClass characterClass, String alphabet) {
+        if (alphabet != null && alphabet.isEmpty()) {
+            throw new IllegalArgumentException("O alfabeto da classe não pode ser vazio.");
+        }
+        alphabets[characterClass.ordinal()] = alphabet;
+    }
+
+    public String getExcludedCharacters() {
+        return excludedCharacters;
+    }
+
+    /**
+     * Define caracteres que nunca devem aparecer na senha, em qualquer classe.
+     *
+     * @param excludedCharacters Caracteres excluídos; {@code null} ou vazio remove a exclusão.
+     */
+    public void setExcludedCharacters(String excludedCharacters) {
+        this.excludedCharacters = excludedCharacters == null ? "" : excludedCharacters;
+    }
+
+    public boolean isExcludeAmbiguous() {
+        return excludeAmbiguous;
+    }
+
+    /**
+     * Define se os caracteres de {@link #AMBIGUOUS_CHARACTERS} devem ser removidos.
+     *
+     * @param excludeAmbiguous Se os caracteres ambíguos devem ser removidos.
+     */
+    public void setExcludeAmbiguous(boolean excludeAmbiguous) {
+        this.excludeAmbiguous = excludeAmbiguous;
+    }
+
+    public int getMaxRepeated() {
+        return maxRepeated;
+    }
+
+    /**
+     * Limita quantas vezes seguidas o mesmo caractere pode aparecer.
+     *
+     * @param maxRepeated Quantidade máxima de repetições seguidas; zero remove o limite.
+     * @throws IllegalArgumentException se o valor for negativo.
+     */
+    public void setMaxRepeated(int maxRepeated) {
+        if (maxRepeated < 0) {
+            throw new IllegalArgumentException("O limite de repetições não pode ser negativo.");
+        }
+        this.maxRepeated = maxRepeated;
+    }
+
+    public PasswordBlocklist getBlocklist() {
+        return blocklist;
+    }
+
+    /**
+     * Define a lista de senhas proibidas, como uma
+     * {@link com.example.generator.blocklist.BreachBlocklist} de senhas vazadas. O validador
+     * acusa {@link PolicyViolation#BREACHED} para as senhas da lista, e o gerador sorteia outra
+     * senha quando a gerada está nela.
+     *
+     * @param blocklist Lista de senhas proibidas, ou {@code null} para não consultar nenhuma.
+     */
+    public void setBlocklist(PasswordBlocklist blocklist) {
+        this.blocklist = blocklist;
+    }
+
+    /**
+     * Compila a configuração atual em uma tabela de caracteres imutável, compartilhada entre
+     * todas as políticas com a mesma configuração.
+     * Alterações feitas depois na política não afetam a tabela já compilada.
+     *
+     * @return A política compilada.
+     * @throws IllegalStateException    se uma classe com quantidade mínima estiver desabilitada ou
+     *                                  ficar sem caracteres após as exclusões.
+     * @throws IllegalArgumentException se um caractere pertencer a mais de uma classe.
+     */
+    public CompiledPolicy compile() {
+        return CompiledPolicy.of(this);
+    }
+
+    /**
+     * Compila a configuração atual em um validador, usando o comprimento da política como
+     * comprimento mínimo.
+     *
+     * @return Validador imutável das regras atuais.
+     */
+    public PasswordValidator compileValidator() {
+        return new PasswordValidator(compile(), length, blocklist);
+    }
+
     /**
      * Retorna uma representação em String da configuração atual da política de senha.
      *
@@ -110,6 +295,11 @@ public class PasswordPolicy {
                 ", includeLowercase=" + includeLowercase +
                 ", includeDigits=" + includeDigits +
                 ", includeSpecial=" + includeSpecial +
+                ", minimums=" + Arrays.toString(minimums) +
+                ", excludedCharacters='" + excludedCharacters + '\'' +
+                ", excludeAmbiguous=" + excludeAmbiguous +
+                ", maxRepeated=" + maxRepeated +
+                ", blocklist=" + (blocklist != null) +
                 '}';
     }
 }
\ No newline at end of file
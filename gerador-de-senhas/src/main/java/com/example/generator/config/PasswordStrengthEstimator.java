@@ -0,0 +1,432 @@
+package com.example.generator.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Estimativa de força de senhas.
+ *
+ * Oferece duas medidas:
+ * <ul>
+ *   <li>{@link #theoreticalEntropy(PasswordPolicy)}: a entropia de uma senha gerada
+ *       uniformemente sob a política, calculada a partir da contagem exata das senhas válidas;</li>
+ *   <li>{@link #score(CharSequence)}: a entropia estimada de uma senha qualquer, levando em conta
+ *       padrões que um atacante testa primeiro — palavras de dicionário (com maiúsculas e
+ *       substituições como "p4ssw0rd"), repetições, sequências e caminhos no teclado.</li>
+ * </ul>
+ *
+ * A avaliação decompõe a senha em trechos com programação dinâmica, escolhendo a decomposição de
+ * menor custo em bits. O dicionário fica em uma {@link WordTrie} compacta em arrays, e as tabelas
+ * de teclado e de substituições são montadas uma única vez. Os arrays de trabalho são mantidos por
+ * thread, de modo que uma avaliação leva poucos microssegundos e não aloca além do resultado.
+ * A instância é imutável e pode ser compartilhada entre threads.
+ */
+public final class PasswordStrengthEstimator {
+
+    private static final String DEFAULT_DICTIONARY = "common-passwords.txt";
+
+    private static final double LOG2 = Math.log(2);
+    private static final int MIN_PATTERN_LENGTH = 3;
+    private static final int MAX_BLOCK_LENGTH = 32;
+    /**
+     * Caracteres avaliados; o custo dos padrões cresce com o quadrado do tamanho, e a força de uma
+     * senha mais longa é estimada pelo seu início, o que só pode subestimá-la.
+     */
+    static final int MAX_SCORED_LENGTH = 256;
+    /** Teclas que podem iniciar um caminho no teclado e quantidade média de vizinhas por tecla. */
+    private static final double KEYBOARD_STARTING_KEYS = 47;
+    private static final double KEYBOARD_AVERAGE_DEGREE = 4;
+
+    private static final String[] KEYBOARD_ROWS = {"`1234567890-=", "qwertyuiop[]\\", "asdfghjkl;'", "zxcvbnm,./"};
+    private static final String[] SHIFTED_ROWS = {"~!@#$%^&*()_+", "QWERTYUIOP{}|", "ASDFGHJKL:\"", "ZXCVBNM<>?"};
+    private static final byte[] KEY_ROW = new byte[128];
+    private static final byte[] KEY_COLUMN = new byte[128];
+    private static final char[] LEET = new char[128];
+
+    static {
+        Arrays.fill(KEY_ROW, (byte) -1);
+        for (int row = 0; row < KEYBOARD_ROWS.length; row++) {
+            for (int column = 0; column < KEYBOARD_ROWS[row].length(); column++) {
+                KEY_ROW[KEYBOARD_ROWS[row].charAt(column)] = (byte) row;
+                KEY_COLUMN[KEYBOARD_ROWS[row].charAt(column)] = (byte) column;
+                KEY_ROW[SHIFTED_ROWS[row].charAt(column)] = (byte) row;
+                KEY_COLUMN[SHIFTED_ROWS[row].charAt(column)] = (byte) column;
+            }
+        }
+        String leet = "4a@a3e1i!i0o$s5s7t+t8b9g2z";
+        for (int i = 0; i < leet.length(); i += 2) {
+            LEET[leet.charAt(i)] = leet.charAt(i + 1);
+        }
+    }
+
+    private final WordTrie dictionary;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Cria o estimador com o dicionário embutido de senhas comuns.
+     */
+    public PasswordStrengthEstimator() {
+        this(loadDefaultDictionary());
+    }
+
+    /**
+     * Cria o estimador com um dicionário próprio.
+     *
+     * @param words Palavras do dicionário, das mais para as menos comuns; a posição de cada palavra
+     *              define quantas tentativas um atacante faz até chegar a ela.
+     */
+    public PasswordStrengthEstimator(Iterable<String> words) {
+        WordTrie trie = new WordTrie();
+        for (String word : words) {
+            trie.add(word.trim());
+        }
+        trie.trim();
+        this.dictionary = trie;
+    }
+
+    /**
+     * Calcula a entropia, em bits, de uma senha gerada uniformemente sob a política.
+     *
+     * @param policy Política de senha.
+     * @return Logaritmo na base 2 da quantidade de senhas que atendem às quantidades mínimas.
+     */
+    public static double theoreticalEntropy(PasswordPolicy policy) {
+        return theoreticalEntropy(policy, false);
+    }
+
+    /**
+     * Calcula a entropia, em bits, de uma senha gerada uniformemente sob a política.
+     *
+     * O limite de repetições seguidas não entra na contagem, portanto o valor é um limite
+     * superior quando esse limite está configurado.
+     *
+     * @param policy     Política de senha.
+     * @param everyClass Se toda classe habilitada deve aparecer ao menos uma vez, como no modo
+     *                   {@code GenerationMode.ALL_CLASSES}.
+     * @return Logaritmo na base 2 da quantidade de senhas válidas, ou zero se não houver nenhuma.
+     */
+    public static double theoreticalEntropy(PasswordPolicy policy, boolean everyClass) {
+        BigInteger count = policy.compile().coverage(policy.getLength(), everyClass).getCompliantCount();
+        return count.signum() == 0 ? 0 : log2(count);
+    }
+
+    /**
+     * Avalia a força da senha. Apenas os primeiros {@value #MAX_SCORED_LENGTH} caracteres são
+     * considerados, para que entradas enormes não ocupem a CPU.
+     *
+     * @param password Senha a ser avaliada.
+     * @return Entropia estimada, nota e padrões encontrados.
+     */
+    public StrengthScore score(CharSequence password) {
+        return score(password, scratch.get());
+    }
+
+    /**
+     * Avalia várias senhas, reaproveitando os arrays de trabalho da thread entre elas.
+     *
+     * @param passwords Senhas a serem avaliadas.
+     * @return Resultados, na mesma ordem das senhas.
+     */
+    public List<StrengthScore> scoreAll(List<? extends CharSequence> passwords) {
+        Scratch work = scratch.get();
+        List<StrengthScore> scores = new ArrayList<>(passwords.size());
+        for (CharSequence password : passwords) {
+            scores.add(score(password, work));
+        }
+        return scores;
+    }
+
+    /**
+     * Converte a entropia estimada em uma nota de 0 a 4.
+     * Os limites correspondem a cerca de 10^3, 10^6, 10^8 e 10^10 tentativas.
+     *
+     * @param entropyBits Entropia estimada, em bits.
+     * @return Nota de 0 (muito fraca) a 4 (muito forte).
+     */
+    public static int toScore(double entropyBits) {
+        if (entropyBits < 10) {
+            return 0;
+        }
+        if (entropyBits < 20) {
+            return 1;
+        }
+        if (entropyBits < 26.6) {
+            return 2;
+        }
+        return entropyBits < 33.2 ? 3 : 4;
+    }
+
+    private StrengthScore score(CharSequence password, Scratch work) {
+        if (password.length() > MAX_SCORED_LENGTH) {
+            password = password.subSequence(0, MAX_SCORED_LENGTH);
+        }
+        int n = password.length();
+        work.ensureCapacity(n + 1);
+        double[] bits = work.bits;
+        Arrays.fill(bits, 0, n + 1, Double.POSITIVE_INFINITY);
+        bits[0] = 0;
+        double bruteforce = log2(cardinality(password));
+
+        for (int i = 0; i < n; i++) {
+            work.relax(i, i + 1, bruteforce, StrengthScore.PatternType.BRUTEFORCE);
+            matchDictionary(password, i, i, dictionary.root(), 0, work);
+            matchRepeats(password, i, bruteforce, work);
+            matchSequence(password, i, work);
+            matchKeyboardWalk(password, i, work);
+        }
+
+        int patternMask = 0;
+        for (int j = n; j > 0; j = work.from[j]) {
+            patternMask |= work.kind[j].mask();
+        }
+        return new StrengthScore(bits[n], toScore(bits[n]), patternMask);
+    }
+
+    /**
+     * Percorre a trie a partir de {@code start}, tentando também as substituições do tipo
+     * "4" por "a". Cada palavra encontrada custa log2 da sua posição no dicionário, mais um bit
+     * por substituição e os bits da capitalização.
+     */
+    private void matchDictionary(CharSequence password, int start, int position, int node, int substitutions, Scratch work) {
+        if (position > start) {
+            int rank = dictionary.rank(node);
+            if (rank > 0) {
+                double cost = log2(rank) + substitutions + capitalizationBits(password, start, position);
+                work.relax(start, position, cost, StrengthScore.PatternType.DICTIONARY);
+            }
+        }
+        if (position == password.length()) {
+            return;
+        }
+        char c = password.charAt(position);
+        int child = dictionary.child(node, Character.toLowerCase(c));
+        if (child >= 0) {
+            matchDictionary(password, start, position + 1, child, substitutions, work);
+        }
+        if (c < LEET.length && LEET[c] != 0) {
+            child = dictionary.child(node, LEET[c]);
+            if (child >= 0) {
+                matchDictionary(password, start, position + 1, child, substitutions + 1, work);
+            }
+            // "1" também é usado no lugar de "l".
+            if (c == '1' && (child = dictionary.child(node, 'l')) >= 0) {
+                matchDictionary(password, start, position + 1, child, substitutions + 1, work);
+            }
+        }
+    }
+
+    /**
+     * Reconhece um caractere repetido ("aaaa") e um bloco repetido ("abcabc").
+     */
+    private static void matchRepeats(CharSequence password, int start, double bruteforce, Scratch work) {
+        int n = password.length();
+        int end = start + 1;
+        while (end < n && password.charAt(end) == password.charAt(start)) {
+            end++;
+            if (end - start >= MIN_PATTERN_LENGTH) {
+                work.relax(start, end, bruteforce + log2(end - start), StrengthScore.PatternType.REPEAT);
+            }
+        }
+        for (int block = 2; block <= MAX_BLOCK_LENGTH && start + 2 * block <= n; block++) {
+            int repetitions = 1;
+            while (start + (repetitions + 1) * block <= n
+                    && regionEquals(password, start, start + repetitions * block, block)) {
+                repetitions++;
+                work.relax(start, start + repetitions * block, block * bruteforce + log2(repetitions),
+                        StrengthScore.PatternType.REPEAT);
+            }
+        }
+    }
+
+    /**
+     * Reconhece sequências crescentes ou decrescentes dentro da mesma classe ("abcd", "9876").
+     */
+    private static void matchSequence(CharSequence password, int start, Scratch work) {
+        int n = password.length();
+        if (start + 1 >= n) {
+            return;
+        }
+        char first = password.charAt(start);
+        int delta = password.charAt(start + 1) - first;
+        int classSize = sequenceClassSize(first);
+        if ((delta != 1 && delta != -1) || classSize == 0) {
+            return;
+        }
+        int end = start + 1;
+        while (end < n && password.charAt(end) - password.charAt(end - 1) == delta
+                && sequenceClassSize(password.charAt(end)) == classSize) {
+            end++;
+            if (end - start >= MIN_PATTERN_LENGTH) {
+                double cost = log2(classSize) + log2(end - start) + (delta < 0 ? 1 : 0);
+                work.relax(start, end, cost, StrengthScore.PatternType.SEQUENCE);
+            }
+        }
+    }
+
+    /**
+     * Reconhece caminhos por teclas vizinhas no teclado QWERTY, contando as mudanças de direção.
+     */
+    private static void matchKeyboardWalk(CharSequence password, int start, Scratch work) {
+        int n = password.length();
+        int turns = 0;
+        int previousDirection = -1;
+        for (int end = start + 1; end < n; end++) {
+            int direction = keyboardDirection(password.charAt(end - 1), password.charAt(end));
+            if (direction < 0) {
+                return;
+            }
+            if (direction != previousDirection) {
+                turns++;
+                previousDirection = direction;
+            }
+            int length = end - start + 1;
+            if (length >= MIN_PATTERN_LENGTH) {
+                double cost = log2(KEYBOARD_STARTING_KEYS) + log2(length) + turns * log2(KEYBOARD_AVERAGE_DEGREE);
+                work.relax(start, end + 1, cost, StrengthScore.PatternType.KEYBOARD_WALK);
+            }
+        }
+    }
+
+    /**
+     * @return Direção de {@code a} para {@code b} no teclado (0 e 1 na horizontal, 2 para baixo e 3
+     *         para cima), ou -1 se as teclas não forem vizinhas.
+     */
+    private static int keyboardDirection(char a, char b) {
+        if (a >= KEY_ROW.length || b >= KEY_ROW.length || KEY_ROW[a] < 0 || KEY_ROW[b] < 0) {
+            return -1;
+        }
+        int rows = KEY_ROW[b] - KEY_ROW[a];
+        int columns = KEY_COLUMN[b] - KEY_COLUMN[a];
+        if (rows == 0 && (columns == 1 || columns == -1)) {
+            return columns > 0 ? 0 : 1;
+        }
+        // As linhas do teclado são deslocadas: a tecla de baixo fica entre as colunas c - 1 e c.
+        if (rows == 1 && (columns == 0 || columns == -1)) {
+            return 2;
+        }
+        if (rows == -1 && (columns == 0 || columns == 1)) {
+            return 3;
+        }
+        return -1;
+    }
+
+    private static int sequenceClassSize(char c) {
+        if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+            return 26;
+        }
+        return c >= '0' && c <= '9' ? 10 : 0;
+    }
+
+    private static double capitalizationBits(CharSequence password, int start, int end) {
+        int upper = 0;
+        for (int i = start; i < end; i++) {
+            if (Character.isUpperCase(password.charAt(i))) {
+                upper++;
+            }
+        }
+        if (upper == 0) {
+            return 0;
+        }
+        boolean firstOnly = upper == 1 && Character.isUpperCase(password.charAt(start));
+        return firstOnly || upper == end - start ? 1 : upper;
+    }
+
+    private static int cardinality(CharSequence password) {
+        boolean lower = false;
+        boolean upper = false;
+        boolean digit = false;
+        boolean other = false;
+        for (int i = 0; i < password.length(); i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                lower = true;
+            } else if (c >= 'A' && c <= 'Z') {
+                upper = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else {
+                other = true;
+            }
+        }
+        int cardinality = (lower ? 26 : 0) + (upper ? 26 : 0) + (digit ? 10 : 0) + (other ? 33 : 0);
+        return Math.max(cardinality, 2);
+    }
+
+    private static boolean regionEquals(CharSequence password, int a, int b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (password.charAt(a + i) != password.charAt(b + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / LOG2;
+    }
+
+    /**
+     * Logaritmo na base 2 de um inteiro positivo arbitrariamente grande.
+     */
+    static double log2(BigInteger value) {
+        int shift = Math.max(0, value.bitLength() - 63);
+        return shift + log2(value.shiftRight(shift).doubleValue());
+    }
+
+    private static List<String> loadDefaultDictionary() {
+        List<String> words = new ArrayList<>();
+        try (InputStream in = PasswordStrengthEstimator.class.getResourceAsStream(DEFAULT_DICTIONARY)) {
+            if (in == null) {
+                throw new IllegalStateException("Dicionário padrão não encontrado: " + DEFAULT_DICTIONARY);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    words.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar o dicionário padrão", e);
+        }
+        return words;
+    }
+
+    /**
+     * Arrays de trabalho da programação dinâmica, reaproveitados pela thread.
+     */
+    private static final class Scratch {
+        private double[] bits = new double[64];
+        private int[] from = new int[64];
+        private StrengthScore.PatternType[] kind = new StrengthScore.PatternType[64];
+
+        private void ensureCapacity(int capacity) {
+            if (bits.length < capacity) {
+                int size = Math.max(capacity, bits.length * 2);
+                bits = new double[size];
+                from = new int[size];
+                kind = new StrengthScore.PatternType[size];
+            }
+        }
+
+        /**
+         * Registra o trecho {@code [start, end)} se ele melhorar o custo de chegar a {@code end}.
+         */
+        private void relax(int start, int end, double cost, StrengthScore.PatternType type) {
+            double total = bits[start] + cost;
+            if (total < bits[end]) {
+                bits[end] = total;
+                from[end] = start;
+                kind[end] = type;
+            }
+        }
+    }
+}
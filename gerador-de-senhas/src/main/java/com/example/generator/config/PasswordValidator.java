@@ -0,0 +1,147 @@
+package com.example.generator.config;
+
+/**
+ * Validador de senhas compilado a partir de uma {@link PasswordPolicy}.
+ *
+ * Percorre a senha uma única vez, consultando a tabela de classes da {@link CompiledPolicy}, e
+ * devolve as regras violadas como uma máscara de bits de {@link PolicyViolation}. Não usa
+ * expressões regulares nem streams e não aloca memória, o que permite validar senhas escolhidas
+ * por usuários em alto volume. Se a política tiver uma {@link PasswordBlocklist}, a senha também é
+ * consultada nela. A instância é imutável e pode ser compartilhada entre threads.
+ */
+public final class PasswordValidator {
+
+    /** Maior contagem acompanhada por classe; os contadores ocupam 16 bits cada. */
+    private static final int COUNTER_MASK = 0xFFFF;
+    private static final int COUNTER_BITS = 16;
+
+    private final CompiledPolicy compiled;
+    private final int minLength;
+    private final int maxRepeated;
+    private final int requiredMask;
+    private final PasswordBlocklist blocklist;
+
+    /**
+     * Cria o validador.
+     *
+     * @param compiled  Política compilada.
+     * @param minLength Comprimento mínimo da senha.
+     * @param blocklist Lista de senhas proibidas, ou {@code null} se não houver.
+     */
+    PasswordValidator(CompiledPolicy compiled, int minLength, PasswordBlocklist blocklist) {
+        if (compiled.classCount() > Long.SIZE / COUNTER_BITS) {
+            throw new IllegalArgumentException("O validador suporta no máximo " + Long.SIZE / COUNTER_BITS + " classes.");
+        }
+        this.compiled = compiled;
+        this.minLength = minLength;
+        this.maxRepeated = compiled.getMaxRepeated();
+        int mask = 0;
+        for (int k = 0; k < compiled.classCount(); k++) {
+            if (compiled.minimum(k) > 0) {
+                mask |= 1 << k;
+            }
+        }
+        this.requiredMask = mask;
+        this.blocklist = blocklist;
+    }
+
+    /**
+     * Valida a senha.
+     *
+     * @param password Senha a ser validada.
+     * @return Máscara com as violações encontradas, ou zero se a senha atender à política.
+     */
+    public int validate(CharSequence password) {
+        int length = password.length();
+        int violations = length < minLength ? PolicyViolation.TOO_SHORT.mask() : 0;
+        long counts = 0;
+        int run = 0;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            run = i > 0 && c == previous ? run + 1 : 1;
+            previous = c;
+            if (maxRepeated > 0 && run > maxRepeated) {
+                violations |= PolicyViolation.TOO_MANY_REPEATED.mask();
+            }
+            int k = compiled.classIndexOf(c);
+            if (k < 0) {
+                violations |= PolicyViolation.FORBIDDEN_CHARACTER.mask();
+            } else {
+                counts = increment(counts, k);
+            }
+        }
+        if (blocklist != null && blocklist.contains(password)) {
+            violations |= PolicyViolation.BREACHED.mask();
+        }
+        return violations | missingClasses(counts);
+    }
+
+    /**
+     * Valida a senha armazenada em um trecho de array, sem criar uma {@link String}.
+     *
+     * @param password Array com a senha.
+     * @param offset   Posição inicial da senha no array.
+     * @param length   Comprimento da senha.
+     * @return Máscara com as violações encontradas, ou zero se a senha atender à política.
+     */
+    public int validate(char[] password, int offset, int length) {
+        int violations = length < minLength ? PolicyViolation.TOO_SHORT.mask() : 0;
+        long counts = 0;
+        int run = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = password[i];
+            run = i > offset && c == password[i - 1] ? run + 1 : 1;
+            if (maxRepeated > 0 && run > maxRepeated) {
+                violations |= PolicyViolation.TOO_MANY_REPEATED.mask();
+            }
+            int k = compiled.classIndexOf(c);
+            if (k < 0) {
+                violations |= PolicyViolation.FORBIDDEN_CHARACTER.mask();
+            } else {
+                counts = increment(counts, k);
+            }
+        }
+        if (blocklist != null && blocklist.contains(password, offset, length)) {
+            violations |= PolicyViolation.BREACHED.mask();
+        }
+        return violations | missingClasses(counts);
+    }
+
+    /**
+     * @param password Senha a ser validada.
+     * @return true se a senha atender a todas as regras da política.
+     */
+    public boolean isValid(CharSequence password) {
+        return validate(password) == 0;
+    }
+
+    /**
+     * @return Comprimento mínimo exigido.
+     */
+    public int getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * Soma um ao contador da classe, sem ultrapassar o limite de 16 bits.
+     */
+    private static long increment(long counts, int classIndex) {
+        int shift = classIndex * COUNTER_BITS;
+        return ((counts >>> shift) & COUNTER_MASK) == COUNTER_MASK ? counts : counts + (1L << shift);
+    }
+
+    private int missingClasses(long counts) {
+        if (requiredMask == 0) {
+            return 0;
+        }
+        int violations = 0;
+        for (int k = 0; k < compiled.classCount(); k++) {
+            if ((requiredMask & (1 << k)) != 0
+                    && ((counts >>> (k * COUNTER_BITS)) & COUNTER_MASK) < compiled.minimum(k)) {
+                violations |= PolicyViolation.missing(compiled.characterClass(k)).mask();
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.generator.config;
+
+import java.util.EnumSet;
+
+/**
+ * Regras de uma {@link PasswordPolicy} que uma senha pode violar.
+ *
+ * O {@link PasswordValidator} devolve as violações como uma máscara de bits, sem alocar objetos;
+ * {@link #fromMask(int)} converte a máscara em um conjunto para mensagens e relatórios.
+ */
+public enum PolicyViolation {
+    /** A senha é menor que o comprimento da política. */
+    TOO_SHORT,
+    /** A senha contém um caractere excluído ou fora das classes habilitadas. */
+    FORBIDDEN_CHARACTER,
+    /** A senha repete o mesmo caractere seguidamente mais vezes que o permitido. */
+    TOO_MANY_REPEATED,
+    /** A senha tem menos letras minúsculas que o mínimo. */
+    MISSING_LOWERCASE,
+    /** A senha tem menos letras maiúsculas que o mínimo. */
+    MISSING_UPPERCASE,
+    /** A senha tem menos dígitos que o mínimo. */
+    MISSING_DIGITS,
+    /** A senha tem menos caracteres especiais que o mínimo. */
+    MISSING_SPECIAL,
+    /** A senha consta da {@link PasswordBlocklist} da política. */
+    BREACHED;
+
+    private static final PolicyViolation[] VALUES = values();
+
+    /**
+     * @return Bit desta violação na máscara devolvida pelo validador.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Retorna a violação de quantidade mínima da classe informada.
+     *
+     * @param characterClass Classe de caracteres.
+     * @return Violação correspondente.
+     */
+    public static PolicyViolation missing(CharacterClass characterClass) {
+        return VALUES[MISSING_LOWERCASE.ordinal() + characterClass.ordinal()];
+    }
+
+    /**
+     * Converte uma máscara de violações em um conjunto.
+     *
+     * @param mask Máscara devolvida pelo validador.
+     * @return Conjunto com as violações presentes na máscara.
+     */
+    public static EnumSet<PolicyViolation> fromMask(int mask) {
+        EnumSet<PolicyViolation> violations = EnumSet.noneOf(PolicyViolation.class);
+        for (PolicyViolation violation : VALUES) {
+            if ((mask & violation.mask()) != 0) {
+                violations.add(violation);
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.generator.config;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Resultado da avaliação de força de uma senha pelo {@link PasswordStrengthEstimator}.
+ */
+public final class StrengthScore {
+
+    /**
+     * Tipos de padrão reconhecidos na senha.
+     */
+    public enum PatternType {
+        /** Caracteres sem padrão reconhecido. */
+        BRUTEFORCE,
+        /** Palavra de dicionário, inclusive com maiúsculas ou substituições do tipo "p4ssw0rd". */
+        DICTIONARY,
+        /** Caractere ou bloco repetido, como "aaaa" ou "abab". */
+        REPEAT,
+        /** Sequência alfabética ou numérica, como "abcd" ou "9876". */
+        SEQUENCE,
+        /** Caminho em teclas vizinhas do teclado, como "qwerty" ou "asdf". */
+        KEYBOARD_WALK;
+
+        /**
+         * @return Bit deste padrão na máscara de padrões encontrados.
+         */
+        public int mask() {
+            return 1 << ordinal();
+        }
+    }
+
+    private final double entropyBits;
+    private final int score;
+    private final int patternMask;
+
+    StrengthScore(double entropyBits, int score, int patternMask) {
+        this.entropyBits = entropyBits;
+        this.score = score;
+        this.patternMask = patternMask;
+    }
+
+    /**
+     * @return Entropia estimada, em bits: o logaritmo na base 2 do número de tentativas de um
+     *         atacante que conhece os padrões reconhecidos.
+     */
+    public double getEntropyBits() {
+        return entropyBits;
+    }
+
+    /**
+     * @return Nota de 0 (muito fraca) a 4 (muito forte).
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return Máscara com os padrões usados na melhor decomposição da senha.
+     */
+    public int getPatternMask() {
+        return patternMask;
+    }
+
+    /**
+     * @return Conjunto com os padrões usados na melhor decomposição da senha.
+     */
+    public EnumSet<PatternType> getPatterns() {
+        EnumSet<PatternType> patterns = EnumSet.noneOf(PatternType.class);
+        for (PatternType type : PatternType.values()) {
+            if ((patternMask & type.mask()) != 0) {
+                patterns.add(type);
+            }
+        }
+        return patterns;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "StrengthScore{entropia=%.1f bits, nota=%d, padrões=%s}",
+                entropyBits, score, getPatterns());
+    }
+}
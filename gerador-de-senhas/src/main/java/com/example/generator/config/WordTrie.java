@@ -0,0 +1,115 @@
+package com.example.generator.config;
+
+import java.util.Arrays;
+
+/**
+ * Trie compacta em arrays paralelos, usada para localizar palavras de dicionário dentro de senhas.
+ *
+ * Cada nó guarda o seu caractere, o primeiro filho e o próximo irmão (representação
+ * filho-esquerdo/irmão-direito), além da posição da palavra que termina nele na lista original.
+ * Não há um objeto por nó: a trie inteira ocupa quatro arrays primitivos.
+ */
+final class WordTrie {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private char[] labels = new char[256];
+    private int[] firstChild = new int[256];
+    private int[] nextSibling = new int[256];
+    private int[] ranks = new int[256];
+    private int nodes = 1;
+    private int words;
+
+    WordTrie() {
+        firstChild[ROOT] = NONE;
+        nextSibling[ROOT] = NONE;
+    }
+
+    /**
+     * Insere a palavra, em minúsculas. Palavras repetidas mantêm a posição da primeira ocorrência.
+     *
+     * @param word Palavra a ser inserida.
+     */
+    void add(String word) {
+        if (word.isEmpty()) {
+            return;
+        }
+        int node = ROOT;
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toLowerCase(word.charAt(i));
+            int child = child(node, c);
+            if (child == NONE) {
+                child = newNode(c);
+                nextSibling[child] = firstChild[node];
+                firstChild[node] = child;
+            }
+            node = child;
+        }
+        words++;
+        if (ranks[node] == 0) {
+            ranks[node] = words;
+        }
+    }
+
+    /**
+     * Retorna o filho do nó com o caractere informado.
+     *
+     * @param node Nó de origem; {@link #root()} para o início de uma palavra.
+     * @param c    Caractere em minúsculas.
+     * @return O nó filho, ou -1 se não existir.
+     */
+    int child(int node, char c) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (labels[child] == c) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @param node Nó da trie.
+     * @return Posição (a partir de 1) da palavra que termina no nó, ou zero se nenhuma termina nele.
+     */
+    int rank(int node) {
+        return ranks[node];
+    }
+
+    int root() {
+        return ROOT;
+    }
+
+    /**
+     * @return Quantidade de palavras inseridas.
+     */
+    int size() {
+        return words;
+    }
+
+    /**
+     * Reduz os arrays ao tamanho usado, depois que todas as palavras foram inseridas.
+     */
+    void trim() {
+        labels = Arrays.copyOf(labels, nodes);
+        firstChild = Arrays.copyOf(firstChild, nodes);
+        nextSibling = Arrays.copyOf(nextSibling, nodes);
+        ranks = Arrays.copyOf(ranks, nodes);
+    }
+
+    private int newNode(char c) {
+        if (nodes == labels.length) {
+            int capacity = nodes * 2;
+            labels = Arrays.copyOf(labels, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            ranks = Arrays.copyOf(ranks, capacity);
+        }
+        int node = nodes++;
+        labels[node] = c;
+        firstChild[node] = NONE;
+        nextSibling[node] = NONE;
+        ranks[node] = 0;
+        return node;
+    }
+}
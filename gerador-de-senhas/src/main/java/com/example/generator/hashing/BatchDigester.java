@@ -0,0 +1,223 @@
+package com.example.generator.hashing;
+
+import com.example.generator.Utf8;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Calcula SHA-256 de muitas entradas de uma vez, para impressões digitais em massa (remoção de
+ * duplicatas, consulta a listas de senhas vazadas) em que o formato Base64 de
+ * {@link HashingUtils#hashPassword(String, HashAlgorithm)} só atrapalha.
+ *
+ * Cada entrada é codificada em UTF-8 em um buffer reaproveitado e passada a um único
+ * {@link MessageDigest}, e os resumos de {@value #DIGEST_LENGTH} bytes são escritos
+ * lado a lado em um {@code byte[]} ou em um {@link ByteBuffer}, que pode ser direto ou mapeado de
+ * um arquivo. Nenhuma memória é alocada por entrada. Três modos são oferecidos:
+ * <ul>
+ *   <li>{@link #sha256()}: {@code SHA-256(utf8(entrada))}, igual ao algoritmo
+ *       {@link HashAlgorithm#SHA256} antes do Base64;</li>
+ *   <li>{@link #sha256(byte[])}: {@code SHA-256(salt || utf8(entrada))};</li>
+ *   <li>{@link #hmacSha256(byte[])}: {@code HMAC-SHA256(chave, utf8(entrada))}, para que as
+ *       impressões não possam ser comparadas com tabelas pré-calculadas.</li>
+ * </ul>
+ * O HMAC (RFC 2104) é calculado sobre o mesmo {@link MessageDigest}, com os blocos da chave
+ * combinados com {@code ipad} e {@code opad} preparados uma única vez: o
+ * {@link javax.crypto.Mac} do JCE aloca um array por resumo.
+ *
+ * As instâncias guardam estado e não são seguras para uso simultâneo: para paralelizar, use uma
+ * por thread, cada uma escrevendo na sua faixa da saída.
+ */
+public final class BatchDigester {
+
+    /** Tamanho de cada resumo, em bytes. */
+    public static final int DIGEST_LENGTH = 32;
+
+    private static final int BLOCK_LENGTH = 64;
+
+    private static final VarHandle LONG_VIEW =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final MessageDigest digest = newSha256();
+    private final byte[] prefix;
+    private final byte[] outerPad;
+    private final byte[] inner = new byte[DIGEST_LENGTH];
+    private final byte[] result = new byte[DIGEST_LENGTH];
+    private byte[] encoded = new byte[256];
+
+    /**
+     * @param prefix   Bytes processados antes de cada entrada: o salt ou a chave com ipad.
+     * @param outerPad Chave com opad, ou null fora do modo HMAC.
+     */
+    private BatchDigester(byte[] prefix, byte[] outerPad) {
+        this.prefix = prefix;
+        this.outerPad = outerPad;
+    }
+
+    /**
+     * @return Digester de SHA-256 simples.
+     */
+    public static BatchDigester sha256() {
+        return new BatchDigester(new byte[0], null);
+    }
+
+    /**
+     * @param salt Prefixo concatenado antes de cada entrada; é copiado.
+     * @return Digester de SHA-256 com salt.
+     */
+    public static BatchDigester sha256(byte[] salt) {
+        return new BatchDigester(salt.clone(), null);
+    }
+
+    /**
+     * @param key Chave do HMAC; pode ser zerada pelo chamador após a chamada.
+     * @return Digester de HMAC-SHA256.
+     * @throws IllegalArgumentException se a chave for vazia.
+     */
+    public static BatchDigester hmacSha256(byte[] key) {
+        if (key.length == 0) {
+            throw new IllegalArgumentException("A chave do HMAC não pode ser vazia.");
+        }
+        byte[] block = key.length > BLOCK_LENGTH ? newSha256().digest(key) : key;
+        byte[] innerPad = new byte[BLOCK_LENGTH];
+        byte[] outerPad = new byte[BLOCK_LENGTH];
+        for (int i = 0; i < BLOCK_LENGTH; i++) {
+            byte b = i < block.length ? block[i] : 0;
+            innerPad[i] = (byte) (b ^ 0x36);
+            outerPad[i] = (byte) (b ^ 0x5c);
+        }
+        if (block != key) {
+            Arrays.fill(block, (byte) 0);
+        }
+        return new BatchDigester(innerPad, outerPad);
+    }
+
+    /**
+     * Calcula o resumo de uma entrada.
+     *
+     * @param input  Texto codificado em UTF-8.
+     * @param out    Array de destino.
+     * @param offset Posição do primeiro byte do resumo em {@code out}.
+     * @throws IndexOutOfBoundsException se o resumo não couber a partir da posição.
+     */
+    public void digest(CharSequence input, byte[] out, int offset) {
+        if (offset < 0 || offset > out.length - DIGEST_LENGTH) {
+            throw new IndexOutOfBoundsException("Sem espaço para o resumo na posição " + offset);
+        }
+        int length = encodeUtf8(input);
+        try {
+            digest.update(prefix);
+            digest.update(encoded, 0, length);
+            if (outerPad != null) {
+                digest.digest(inner, 0, DIGEST_LENGTH);
+                digest.update(outerPad);
+                digest.update(inner);
+            }
+            digest.digest(out, offset, DIGEST_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException("Erro ao calcular o resumo", e);
+        } finally {
+            Arrays.fill(encoded, 0, length, (byte) 0);
+        }
+    }
+
+    /**
+     * Calcula os resumos de todas as entradas.
+     *
+     * @return Array com {@code inputs.size() * DIGEST_LENGTH} bytes; o resumo da entrada
+     *         {@code i} começa em {@code i * DIGEST_LENGTH}.
+     */
+    public byte[] digestAll(List<? extends CharSequence> inputs) {
+        byte[] out = new byte[Math.multiplyExact(inputs.size(), DIGEST_LENGTH)];
+        digestAll(inputs, out, 0);
+        return out;
+    }
+
+    /**
+     * Calcula os resumos de todas as entradas em um array existente.
+     *
+     * @param offset Posição do primeiro resumo em {@code out}.
+     * @throws IndexOutOfBoundsException se os resumos não couberem a partir da posição.
+     */
+    public void digestAll(List<? extends CharSequence> inputs, byte[] out, int offset) {
+        if (offset < 0 || (long) inputs.size() * DIGEST_LENGTH > out.length - offset) {
+            throw new IndexOutOfBoundsException("O array de destino não comporta " + inputs.size() + " resumos.");
+        }
+        for (CharSequence input : inputs) {
+            digest(input, out, offset);
+            offset += DIGEST_LENGTH;
+        }
+    }
+
+    /**
+     * Consome entradas enquanto houver espaço no buffer, a partir da sua posição atual, que avança
+     * {@value #DIGEST_LENGTH} bytes por entrada. Chamado em laço com o mesmo iterador, permite
+     * processar sequências maiores que a memória em blocos de tamanho fixo.
+     *
+     * @param inputs Entradas; as não consumidas continuam disponíveis no iterador.
+     * @param out    Buffer de destino, de heap, direto ou mapeado.
+     * @return Quantidade de entradas processadas.
+     */
+    public int digestAll(Iterator<? extends CharSequence> inputs, ByteBuffer out) {
+        int count = 0;
+        while (out.remaining() >= DIGEST_LENGTH && inputs.hasNext()) {
+            digest(inputs.next(), result, 0);
+            out.put(result);
+            count++;
+        }
+        Arrays.fill(result, (byte) 0);
+        return count;
+    }
+
+    /**
+     * Lê os 8 primeiros bytes de um resumo como um {@code long}, chave compacta para tabelas de
+     * dispersão e ordenação, no mesmo formato das chaves da lista de senhas vazadas.
+     *
+     * @param digests Resumos lado a lado, como devolvidos por {@link #digestAll(List)}.
+     * @param index   Índice do resumo.
+     */
+    public static long prefix(byte[] digests, int index) {
+        return (long) LONG_VIEW.get(digests, index * DIGEST_LENGTH);
+    }
+
+    /**
+     * Compara dois resumos sem convertê-los, em tempo constante.
+     */
+    public static boolean equals(byte[] a, int aIndex, byte[] b, int bIndex) {
+        int diff = 0;
+        int aOffset = aIndex * DIGEST_LENGTH;
+        int bOffset = bIndex * DIGEST_LENGTH;
+        for (int i = 0; i < DIGEST_LENGTH; i++) {
+            diff |= a[aOffset + i] ^ b[bOffset + i];
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Codifica a entrada no array reaproveitado, que cresce (e o antigo é zerado) quando ela não cabe.
+     */
+    private int encodeUtf8(CharSequence input) {
+        int length = input.length();
+        if (encoded.length < length * Utf8.MAX_BYTES_PER_CHAR) {
+            Arrays.fill(encoded, (byte) 0);
+            encoded = new byte[length * Utf8.MAX_BYTES_PER_CHAR];
+        }
+        return Utf8.encode(input, encoded, 0);
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Algoritmo indisponível: SHA-256", e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.generator.hashing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de hashing em lote que distribui o trabalho de {@link HashingUtils#hashPassword}
+ * entre várias threads.
+ *
+ * PBKDF2 e BCrypt são deliberadamente caros e limitados por CPU, por isso o lote é espalhado
+ * em um pool fixo, dimensionado por padrão para a quantidade de processadores. A quantidade de
+ * itens em andamento é limitada por uma janela: quem envia espera o resultado mais antigo antes
+ * de enviar o próximo, o que mantém a fila do pool limitada e o consumo de memória constante
+ * mesmo para milhões de senhas. Os resultados são entregues na mesma ordem da entrada e falhas
+ * de itens individuais são capturadas em {@link HashResult} sem interromper o lote.
+ */
+public class BatchHasher implements AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+    private final int maxInFlight;
+
+    /**
+     * Cria um serviço com uma thread por processador disponível.
+     */
+    public BatchHasher() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria um serviço com o paralelismo informado e janela de quatro itens por thread.
+     *
+     * @param parallelism Quantidade de threads de hashing.
+     */
+    public BatchHasher(int parallelism) {
+        this(parallelism, parallelism * 4);
+    }
+
+    /**
+     * Cria um serviço com paralelismo e janela de itens em andamento configuráveis.
+     *
+     * @param parallelism Quantidade de threads de hashing.
+     * @param maxInFlight Quantidade máxima de itens enviados e ainda não consumidos por lote.
+     * @throws IllegalArgumentException se algum dos valores for menor que um.
+     */
+    public BatchHasher(int parallelism, int maxInFlight) {
+        if (parallelism < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Paralelismo e janela devem ser maiores que zero.");
+        }
+        this.maxInFlight = maxInFlight;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxInFlight), daemonThreads(),
+                // Vários lotes simultâneos podem encher a fila: quem envia processa o item, o que também freia a entrada.
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Gera os hashes de uma lista de senhas.
+     *
+     * @param passwords Senhas em texto plano.
+     * @param algorithm Algoritmo de hashing.
+     * @return Resultados na mesma ordem da lista de entrada.
+     */
+    public List<HashResult> hashAll(List<String> passwords, HashAlgorithm algorithm) {
+        List<HashResult> results = new ArrayList<>(passwords.size());
+        hashAll(passwords.iterator(), algorithm, results::add);
+        return results;
+    }
+
+    /**
+     * Gera os hashes de um stream de senhas, entregando cada resultado ao consumidor em ordem.
+     *
+     * @param passwords Stream de senhas em texto plano.
+     * @param algorithm Algoritmo de hashing.
+     * @param sink      Consumidor dos resultados, chamado na thread que invocou este método.
+     * @return Quantidade de itens processados.
+     */
+    public long hashAll(Stream<String> passwords, HashAlgorithm algorithm, Consumer<HashResult> sink) {
+        return hashAll(passwords.iterator(), algorithm, sink);
+    }
+
+    /**
+     * Gera os hashes das senhas fornecidas pelo iterador, entregando cada resultado ao consumidor
+     * na ordem da entrada.
+     *
+     * O iterador só é avançado quando há espaço na janela, portanto a entrada pode ser lida de
+     * forma preguiçosa (por exemplo, de um arquivo) sem ser carregada inteira em memória.
+     *
+     * @param passwords Iterador de senhas em texto plano.
+     * @param algorithm Algoritmo de hashing.
+     * @param sink      Consumidor dos resultados, chamado na thread que invocou este método.
+     * @return Quantidade de itens processados.
+     * @throws IllegalStateException se a thread for interrompida durante o lote.
+     */
+    public long hashAll(Iterator<String> passwords, HashAlgorithm algorithm, Consumer<HashResult> sink) {
+        Objects.requireNonNull(algorithm, "O algoritmo de hash é obrigatório.");
+        Objects.requireNonNull(sink, "O consumidor de resultados é obrigatório.");
+
+        ArrayDeque<Future<HashResult>> window = new ArrayDeque<>(maxInFlight);
+        long index = 0;
+        try {
+            while (passwords.hasNext()) {
+                if (window.size() == maxInFlight) {
+                    sink.accept(await(window.poll()));
+                }
+                String password = passwords.next();
+                long position = index++;
+                window.add(executor.submit(() -> hashOne(position, password, algorithm)));
+            }
+            while (!window.isEmpty()) {
+                sink.accept(await(window.poll()));
+            }
+            return index;
+        } finally {
+            // Só sobra algo na janela se o lote foi abortado; os itens pendentes são descartados.
+            window.forEach(future -> future.cancel(false));
+        }
+    }
+
+    /**
+     * Encerra o pool de threads, aguardando os itens já enviados.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static HashResult hashOne(long index, String password, HashAlgorithm algorithm) {
+        try {
+            Objects.requireNonNull(password, "A senha não pode ser nula.");
+            return HashResult.success(index, HashingUtils.hashPassword(password, algorithm));
+        } catch (RuntimeException e) {
+            return HashResult.failure(index, e);
+        }
+    }
+
+    private static HashResult await(Future<HashResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hashing em lote interrompido.", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw new IllegalStateException("Falha inesperada no hashing em lote.", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        int pool = POOL_COUNTER.incrementAndGet();
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "batch-hasher-" + pool + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
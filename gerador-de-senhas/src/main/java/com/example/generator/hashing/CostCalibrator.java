@@ -0,0 +1,72 @@
+package com.example.generator.hashing;
+
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Mede o desempenho da máquina e escolhe custos de hashing que atinjam uma latência alvo.
+ *
+ * O PBKDF2 tem custo linear no número de iterações, então basta medir uma quantidade conhecida e
+ * escalar. No BCrypt cada unidade de custo dobra o tempo, então é escolhido o maior custo cuja
+ * estimativa não ultrapassa o alvo. Os custos ficam sempre dentro dos limites de {@link HashCost}.
+ */
+public final class CostCalibrator {
+
+    private static final int PBKDF2_SAMPLE_ITERATIONS = 20_000;
+    private static final int PBKDF2_ROUNDING = 1_000;
+    private static final int BCRYPT_SAMPLE_LOG_ROUNDS = 6;
+    private static final int SAMPLES = 3;
+
+    private CostCalibrator() {
+    }
+
+    /**
+     * Calibra os custos de PBKDF2 e BCrypt para a latência alvo.
+     *
+     * @param target Tempo desejado para gerar ou verificar um hash.
+     * @return Custos calibrados para esta máquina.
+     * @throws IllegalArgumentException se o alvo não for positivo.
+     */
+    public static HashCost calibrate(Duration target) {
+        if (target.isNegative() || target.isZero()) {
+            throw new IllegalArgumentException("A latência alvo deve ser positiva.");
+        }
+        return new HashCost(calibratePbkdf2(target), calibrateBCrypt(target));
+    }
+
+    static int calibratePbkdf2(Duration target) {
+        byte[] password = "calibracao".getBytes();
+        byte[] salt = new byte[16];
+        byte[] out = new byte[32];
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            CryptoPrimitives.pbkdf2(password, salt, PBKDF2_SAMPLE_ITERATIONS, out);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double iterations = (double) PBKDF2_SAMPLE_ITERATIONS * target.toNanos() / Math.max(best, 1);
+        long rounded = (long) (iterations / PBKDF2_ROUNDING) * PBKDF2_ROUNDING;
+        return (int) Math.max(HashCost.MIN_PBKDF2_ITERATIONS, Math.min(HashCost.MAX_PBKDF2_ITERATIONS, rounded));
+    }
+
+    static int calibrateBCrypt(Duration target) {
+        String salt = BCrypt.gensalt(BCRYPT_SAMPLE_LOG_ROUNDS);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibracao", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        int logRounds = BCRYPT_SAMPLE_LOG_ROUNDS;
+        double estimate = best;
+        while (logRounds < HashCost.MAX_BCRYPT_LOG_ROUNDS && estimate * 2 <= target.toNanos()) {
+            estimate *= 2;
+            logRounds++;
+        }
+        return Math.max(HashCost.MIN_BCRYPT_LOG_ROUNDS, logRounds);
+    }
+}
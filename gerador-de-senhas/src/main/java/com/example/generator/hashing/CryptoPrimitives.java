@@ -0,0 +1,192 @@
+package com.example.generator.hashing;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Instâncias de primitivas criptográficas reaproveitadas por thread.
+ *
+ * {@link MessageDigest#getInstance(String)} e {@link javax.crypto.SecretKeyFactory#getInstance(String)}
+ * percorrem a lista de provedores sob locks a cada chamada. Aqui cada thread obtém suas instâncias
+ * uma única vez e as reinicia antes de cada uso. O PBKDF2-HMAC-SHA256 é calculado diretamente
+ * sobre um {@link Mac} reaproveitado, com uma variante que escreve em buffers do chamador para
+ * evitar alocações no caminho crítico.
+ */
+public final class CryptoPrimitives {
+
+    /** Nome JCE do algoritmo PBKDF2 produzido por esta classe. */
+    public static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int HMAC_LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA256 =
+            ThreadLocal.withInitial(() -> newDigest("SHA-256"));
+    private static final ThreadLocal<Mac> HMAC_SHA256 =
+            ThreadLocal.withInitial(() -> newMac(HMAC_ALGORITHM));
+    private static final ThreadLocal<byte[]> BLOCK =
+            ThreadLocal.withInitial(() -> new byte[HMAC_LENGTH]);
+
+    private CryptoPrimitives() {
+    }
+
+    /**
+     * Retorna o {@link MessageDigest} SHA-256 da thread atual, já reiniciado.
+     *
+     * A instância não deve ser compartilhada com outras threads nem guardada após o uso.
+     *
+     * @return Digest SHA-256 pronto para uso.
+     */
+    public static MessageDigest sha256() {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return digest;
+    }
+
+    /**
+     * Deriva uma chave com PBKDF2-HMAC-SHA256, com o mesmo resultado de
+     * {@code SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256")}.
+     *
+     * @param password      Senha em texto plano.
+     * @param salt          Salt da derivação.
+     * @param iterations    Número de iterações.
+     * @param keyLengthBits Tamanho da chave derivada em bits (múltiplo de 8).
+     * @return Chave derivada.
+     */
+    public static byte[] pbkdf2(char[] password, byte[] salt, int iterations, int keyLengthBits) {
+        byte[] passwordBytes = encodeUtf8(password);
+        try {
+            byte[] out = new byte[keyLengthBits / 8];
+            pbkdf2(passwordBytes, salt, iterations, out);
+            return out;
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Deriva uma chave com PBKDF2-HMAC-SHA256 escrevendo o resultado no buffer informado.
+     *
+     * Esta variante não aloca buffers próprios: o {@link Mac} e o bloco intermediário são da
+     * thread atual e o resultado ocupa todo o array {@code out}.
+     *
+     * @param passwordBytes Senha codificada em UTF-8.
+     * @param salt          Salt da derivação.
+     * @param iterations    Número de iterações.
+     * @param out           Buffer de saída; seu tamanho define o tamanho da chave.
+     * @throws IllegalArgumentException se o número de iterações for menor que um.
+     */
+    public static void pbkdf2(byte[] passwordBytes, byte[] salt, int iterations, byte[] out) {
+        pbkdf2(passwordBytes, passwordBytes.length, salt, iterations, out);
+    }
+
+    /**
+     * Igual a {@link #pbkdf2(byte[], byte[], int, byte[])}, usando apenas os primeiros
+     * {@code passwordLength} bytes da senha, para buffers reaproveitados maiores que ela.
+     */
+    public static void pbkdf2(byte[] passwordBytes, int passwordLength, byte[] salt, int iterations, byte[] out) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("O número de iterações deve ser maior que zero.");
+        }
+        Mac mac = HMAC_SHA256.get();
+        byte[] block = BLOCK.get();
+        try {
+            mac.init(new PasswordKey(passwordBytes, passwordLength));
+            for (int offset = 0, blockIndex = 1; offset < out.length; offset += HMAC_LENGTH, blockIndex++) {
+                mac.update(salt);
+                mac.update((byte) (blockIndex >>> 24));
+                mac.update((byte) (blockIndex >>> 16));
+                mac.update((byte) (blockIndex >>> 8));
+                mac.update((byte) blockIndex);
+                mac.doFinal(block, 0);
+
+                int length = Math.min(HMAC_LENGTH, out.length - offset);
+                System.arraycopy(block, 0, out, offset, length);
+                for (int i = 1; i < iterations; i++) {
+                    mac.update(block);
+                    mac.doFinal(block, 0);
+                    for (int j = 0; j < length; j++) {
+                        out[offset + j] ^= block[j];
+                    }
+                }
+            }
+        } catch (InvalidKeyException | ShortBufferException e) {
+            throw new IllegalStateException("Erro ao derivar chave PBKDF2", e);
+        } finally {
+            Arrays.fill(block, (byte) 0);
+            mac.reset();
+        }
+    }
+
+    /**
+     * Codifica a senha em UTF-8, da mesma forma que o provedor JCE faz para PBKDF2.
+     *
+     * @param password Senha em texto plano.
+     * @return Bytes UTF-8 da senha; cabe ao chamador zerá-los após o uso.
+     */
+    static byte[] encodeUtf8(char[] password) {
+        ByteBuffer encoded = StandardCharsets.UTF_8.encode(CharBuffer.wrap(password));
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        if (encoded.hasArray()) {
+            Arrays.fill(encoded.array(), (byte) 0);
+        }
+        return bytes;
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo indisponível: " + algorithm, e);
+        }
+    }
+
+    private static Mac newMac(String algorithm) {
+        try {
+            return Mac.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritmo indisponível: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Chave HMAC que aceita senhas vazias, ao contrário de {@link javax.crypto.spec.SecretKeySpec}.
+     * O provedor pode zerar o array devolvido por {@link #getEncoded()}, por isso é entregue uma cópia.
+     */
+    private static final class PasswordKey implements SecretKey {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient byte[] key;
+        private final int length;
+
+        private PasswordKey(byte[] key, int length) {
+            this.key = key;
+            this.length = length;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return HMAC_ALGORITHM;
+        }
+
+        @Override
+        public String getFormat() {
+            return "RAW";
+        }
+
+        @Override
+        public byte[] getEncoded() {
+            return Arrays.copyOf(key, length);
+        }
+    }
+}
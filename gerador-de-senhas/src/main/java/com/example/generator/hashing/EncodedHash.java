@@ -0,0 +1,170 @@
+package com.example.generator.hashing;
+
+import java.util.Base64;
+
+/**
+ * Representação de um hash armazenado e dos parâmetros usados para gerá-lo.
+ *
+ * Hashes PBKDF2 novos usam um formato versionado que descreve a si mesmo:
+ * {@code $pbkdf2-sha256$v=1$i=<iterações>$<salt>:<hash>}, com salt e hash em Base64. Hashes no
+ * formato legado {@code <salt>:<hash>} continuam aceitos e são lidos com
+ * {@link HashCost#MIN_PBKDF2_ITERATIONS} iterações; a verificação em {@link HashingUtils} tenta
+ * também {@link HashCost#LEGACY_GENERATOR_ITERATIONS}. Hashes BCrypt já trazem o custo no próprio
+ * texto ({@code $2a$<custo>$...}); hashes SHA-256 não têm custo nem salt. Custos acima de
+ * {@link HashCost#MAX_PBKDF2_ITERATIONS} e {@link HashCost#MAX_BCRYPT_LOG_ROUNDS} são recusados,
+ * para que um hash adulterado não prenda uma verificação por tempo indeterminado.
+ */
+public final class EncodedHash {
+
+    /** Prefixo dos hashes PBKDF2 no formato versionado. */
+    public static final String PBKDF2_PREFIX = "$pbkdf2-sha256$";
+
+    /** Versão atual do formato. */
+    public static final int CURRENT_VERSION = 1;
+
+    private final HashAlgorithm algorithm;
+    private final int version;
+    private final int cost;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    private EncodedHash(HashAlgorithm algorithm, int version, int cost, byte[] salt, byte[] hash) {
+        this.algorithm = algorithm;
+        this.version = version;
+        this.cost = cost;
+        this.salt = salt;
+        this.hash = hash;
+    }
+
+    /**
+     * Interpreta um hash armazenado.
+     *
+     * @param storedHash Hash como gravado no banco de dados.
+     * @param algorithm  Algoritmo com que o hash foi gerado.
+     * @return Hash com os parâmetros extraídos.
+     * @throws IllegalArgumentException se o texto não estiver em um formato reconhecido.
+     */
+    public static EncodedHash parse(String storedHash, HashAlgorithm algorithm) {
+        switch (algorithm) {
+            case PBKDF2:
+                return parsePbkdf2(storedHash, HashCost.MIN_PBKDF2_ITERATIONS);
+            case BCRYPT:
+                return parseBCrypt(storedHash);
+            case SHA256:
+                return new EncodedHash(algorithm, 0, 0, new byte[0], Base64.getDecoder().decode(storedHash));
+            default:
+                throw new IllegalArgumentException("Algoritmo de hash não suportado.");
+        }
+    }
+
+    /**
+     * Formata um hash PBKDF2 no formato versionado.
+     *
+     * @param iterations Número de iterações usado.
+     * @param salt       Salt usado.
+     * @param hash       Chave derivada.
+     * @return Hash pronto para ser armazenado.
+     */
+    static String formatPbkdf2(int iterations, byte[] salt, byte[] hash) {
+        return PBKDF2_PREFIX + "v=" + CURRENT_VERSION + "$i=" + iterations + "$"
+                + Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
+    }
+
+    /**
+     * Converte um hash PBKDF2 legado ("salt:hash") para o formato versionado.
+     *
+     * Útil para hashes gerados com um número de iterações diferente do padrão legado, como os
+     * produzidos por versões antigas de {@code SecurePasswordGenerator.hashPassword} (65.536).
+     * Hashes já versionados são devolvidos sem alteração.
+     *
+     * @param storedHash       Hash armazenado.
+     * @param legacyIterations Iterações com que o hash legado foi gerado.
+     * @return Hash no formato versionado.
+     */
+    public static String upgradeLegacyPbkdf2(String storedHash, int legacyIterations) {
+        if (storedHash.startsWith(PBKDF2_PREFIX)) {
+            return storedHash;
+        }
+        EncodedHash parsed = parsePbkdf2(storedHash, legacyIterations);
+        return formatPbkdf2(parsed.cost, parsed.salt, parsed.hash);
+    }
+
+    /**
+     * Interpreta um hash PBKDF2, assumindo o número de iterações informado para o formato legado.
+     */
+    static EncodedHash parsePbkdf2(String storedHash, int legacyIterations) {
+        if (!storedHash.startsWith(PBKDF2_PREFIX)) {
+            String[] parts = storedHash.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Hash PBKDF2 em formato desconhecido.");
+            }
+            return new EncodedHash(HashAlgorithm.PBKDF2, 0, legacyIterations,
+                    Base64.getDecoder().decode(parts[0]), Base64.getDecoder().decode(parts[1]));
+        }
+
+        String[] fields = storedHash.substring(PBKDF2_PREFIX.length()).split("\\$");
+        if (fields.length != 3 || !fields[0].startsWith("v=") || !fields[1].startsWith("i=")) {
+            throw new IllegalArgumentException("Hash PBKDF2 em formato desconhecido.");
+        }
+        int version = Integer.parseInt(fields[0].substring(2));
+        if (version > CURRENT_VERSION) {
+            throw new IllegalArgumentException("Versão de hash PBKDF2 não suportada: " + version);
+        }
+        int iterations = Integer.parseInt(fields[1].substring(2));
+        String[] parts = fields[2].split(":");
+        if (parts.length != 2 || iterations < 1) {
+            throw new IllegalArgumentException("Hash PBKDF2 em formato desconhecido.");
+        }
+        if (iterations > HashCost.MAX_PBKDF2_ITERATIONS) {
+            throw new IllegalArgumentException("Hash PBKDF2 com mais de " + HashCost.MAX_PBKDF2_ITERATIONS + " iterações.");
+        }
+        return new EncodedHash(HashAlgorithm.PBKDF2, version, iterations,
+                Base64.getDecoder().decode(parts[0]), Base64.getDecoder().decode(parts[1]));
+    }
+
+    private static EncodedHash parseBCrypt(String storedHash) {
+        // Formato: $2a$<custo com dois dígitos>$<salt e hash>
+        if (storedHash.length() < 7 || storedHash.charAt(0) != '$' || storedHash.charAt(3) != '$'
+                || storedHash.charAt(6) != '$') {
+            throw new IllegalArgumentException("Hash BCrypt em formato desconhecido.");
+        }
+        int logRounds = Integer.parseInt(storedHash.substring(4, 6));
+        if (logRounds > HashCost.MAX_BCRYPT_LOG_ROUNDS) {
+            throw new IllegalArgumentException("Hash BCrypt com custo acima de " + HashCost.MAX_BCRYPT_LOG_ROUNDS + ".");
+        }
+        return new EncodedHash(HashAlgorithm.BCRYPT, 0, logRounds, new byte[0], new byte[0]);
+    }
+
+    public HashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return Versão do formato; zero para formatos legados ou externos (BCrypt, SHA-256).
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Iterações (PBKDF2), custo logarítmico (BCrypt) ou zero (SHA-256).
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return true se o hash PBKDF2 está no formato legado, sem parâmetros.
+     */
+    public boolean isLegacy() {
+        return algorithm == HashAlgorithm.PBKDF2 && version == 0;
+    }
+
+    byte[] getSalt() {
+        return salt;
+    }
+
+    byte[] getHash() {
+        return hash;
+    }
+}
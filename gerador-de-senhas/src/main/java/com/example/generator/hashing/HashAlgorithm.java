@@ -37,4 +37,25 @@ public enum HashAlgorithm {
      * Embora rápido, não é recomendado sem um salt adequado devido a ataques de dicionário.
      */
     SHA256;
+
+    /**
+     * Converte o valor da coluna {@code algoritmo} da tabela {@code usuarios} no algoritmo correspondente.
+     *
+     * Além dos nomes desta enum, aceita os valores gravados por versões anteriores:
+     * {@code SHA-256} e {@code PBKDF2WithHmacSHA256}.
+     *
+     * @param coluna Valor armazenado na coluna.
+     * @return O algoritmo correspondente.
+     * @throws IllegalArgumentException Se o valor não corresponder a nenhum algoritmo.
+     */
+    public static HashAlgorithm fromColumn(String coluna) {
+        switch (coluna) {
+            case "SHA-256":
+                return SHA256;
+            case "PBKDF2WithHmacSHA256":
+                return PBKDF2;
+            default:
+                return valueOf(coluna);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.example.generator.hashing;
+
+/**
+ * Parâmetros de custo usados na geração de novos hashes.
+ *
+ * Hashes já armazenados registram o próprio custo e são verificados com ele, portanto alterar
+ * estes valores afeta apenas os hashes gerados a partir de então.
+ */
+public final class HashCost {
+
+    /** Menor número de iterações PBKDF2 aceito; é também o valor dos hashes no formato legado. */
+    public static final int MIN_PBKDF2_ITERATIONS = 10_000;
+
+    /**
+     * Maior número de iterações PBKDF2 aceito, na calibração e na leitura de hashes armazenados;
+     * acima disso uma única verificação levaria minutos.
+     */
+    public static final int MAX_PBKDF2_ITERATIONS = 10_000_000;
+
+    /**
+     * Iterações dos hashes "salt:hash" gravados pelo {@code SecurePasswordGenerator.hashPassword}
+     * antigo, que também não registravam o custo.
+     */
+    public static final int LEGACY_GENERATOR_ITERATIONS = 65_536;
+
+    /** Menor custo BCrypt aceito (o padrão da biblioteca jBCrypt). */
+    public static final int MIN_BCRYPT_LOG_ROUNDS = 10;
+
+    /** Maior custo BCrypt suportado pela biblioteca jBCrypt. */
+    public static final int MAX_BCRYPT_LOG_ROUNDS = 30;
+
+    /** Custo padrão: 65.536 iterações PBKDF2 e BCrypt com 2^10 rodadas. */
+    public static final HashCost DEFAULT = new HashCost(65_536, MIN_BCRYPT_LOG_ROUNDS);
+
+    private final int pbkdf2Iterations;
+    private final int bcryptLogRounds;
+
+    /**
+     * @param pbkdf2Iterations Número de iterações PBKDF2.
+     * @param bcryptLogRounds  Logaritmo na base 2 do número de rodadas BCrypt.
+     * @throws IllegalArgumentException se algum dos valores estiver fora dos limites aceitos.
+     */
+    public HashCost(int pbkdf2Iterations, int bcryptLogRounds) {
+        if (pbkdf2Iterations < MIN_PBKDF2_ITERATIONS || pbkdf2Iterations > MAX_PBKDF2_ITERATIONS) {
+            throw new IllegalArgumentException("O PBKDF2 deve usar entre " + MIN_PBKDF2_ITERATIONS
+                    + " e " + MAX_PBKDF2_ITERATIONS + " iterações.");
+        }
+        if (bcryptLogRounds < MIN_BCRYPT_LOG_ROUNDS || bcryptLogRounds > MAX_BCRYPT_LOG_ROUNDS) {
+            throw new IllegalArgumentException("O custo BCrypt deve estar entre " + MIN_BCRYPT_LOG_ROUNDS
+                    + " e " + MAX_BCRYPT_LOG_ROUNDS + ".");
+        }
+        this.pbkdf2Iterations = pbkdf2Iterations;
+        this.bcryptLogRounds = bcryptLogRounds;
+    }
+
+    public int getPbkdf2Iterations() {
+        return pbkdf2Iterations;
+    }
+
+    public int getBcryptLogRounds() {
+        return bcryptLogRounds;
+    }
+
+    @Override
+    public String toString() {
+        return "HashCost{" +
+                "pbkdf2Iterations=" + pbkdf2Iterations +
+                ", bcryptLogRounds=" + bcryptLogRounds +
+                '}';
+    }
+}
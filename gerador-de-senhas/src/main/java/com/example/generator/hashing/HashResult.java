@@ -0,0 +1,64 @@
+package com.example.generator.hashing;
+
+/**
+ * Resultado do hashing de um item dentro de um lote processado pelo {@link BatchHasher}.
+ *
+ * Cada resultado guarda a posição do item na entrada e, conforme o caso, o hash gerado ou o erro
+ * que impediu sua geração. A senha em texto plano nunca é mantida no resultado.
+ */
+public final class HashResult {
+
+    private final long index;
+    private final String hash;
+    private final RuntimeException error;
+
+    private HashResult(long index, String hash, RuntimeException error) {
+        this.index = index;
+        this.hash = hash;
+        this.error = error;
+    }
+
+    static HashResult success(long index, String hash) {
+        return new HashResult(index, hash, null);
+    }
+
+    static HashResult failure(long index, RuntimeException error) {
+        return new HashResult(index, null, error);
+    }
+
+    /**
+     * @return Posição do item na entrada, começando em zero.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return Hash gerado, ou {@code null} se o item falhou.
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    /**
+     * @return Erro capturado ao processar o item, ou {@code null} em caso de sucesso.
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * @return true se o hash foi gerado com sucesso.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return "HashResult{" +
+                "index=" + index +
+                (isSuccess() ? ", hash=" + hash : ", error=" + error) +
+                '}';
+    }
+}
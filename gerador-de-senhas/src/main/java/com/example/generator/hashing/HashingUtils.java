@@ -1,22 +1,80 @@
 package com.example.generator.hashing;
 
-import java.security.NoSuchAlgorithmException;
-import java.security.spec.InvalidKeySpecException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
-import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Base64;
-import javax.crypto.SecretKeyFactory;
-import javax.crypto.spec.PBEKeySpec;
+import java.util.Objects;
+import com.example.generator.SecretBuffer;
+import com.example.generator.random.RandomBuffer;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
 import org.mindrot.jbcrypt.BCrypt;
 
 /**
  * Utilitário para hashing e verificação de senhas usando PBKDF2, BCrypt e SHA-256.
+ *
+ * As primitivas PBKDF2 e SHA-256 vêm de {@link CryptoPrimitives}, reaproveitadas por thread, e os
+ * buffers de salt e de chave derivada também são mantidos por thread. Os salts vêm do
+ * {@link RandomBuffer} da thread, com a mesma fonte de entropia usada na geração de senhas.
+ *
+ * Os hashes gerados registram o próprio custo (veja {@link EncodedHash}), e a verificação usa os
+ * parâmetros lidos do hash armazenado. Assim o custo de novos hashes pode ser ajustado, inclusive
+ * por calibração na inicialização, sem invalidar hashes antigos.
+ *
+ * As variantes que recebem um {@link SecretBuffer} codificam a senha em um buffer da thread, que
+ * é zerado logo após o uso, sem criar {@link String}s nem arrays novos com a senha. A exceção é o
+ * BCrypt, cuja biblioteca só aceita {@link String}.
+ *
+ * O tempo de cada hash e de cada verificação é registrado por algoritmo nos timers
+ * {@code senhas_hash} e {@code senhas_verify} de {@link Metrics}, quando as métricas estão ativas.
  */
 public class HashingUtils {
 
-    private static final int PBKDF2_ITERATIONS = 10000;
     private static final int PBKDF2_KEY_LENGTH = 256;
-    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final int SALT_LENGTH = 16;
+    private static final ThreadLocal<byte[]> SALT_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[SALT_LENGTH]);
+    private static final ThreadLocal<byte[]> KEY_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[PBKDF2_KEY_LENGTH / 8]);
+    private static final ThreadLocal<byte[]> PASSWORD_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[64]);
+    private static volatile HashCost cost = HashCost.DEFAULT;
+    private static final Timer[] HASH_TIMERS = timers("senhas_hash");
+    private static final Timer[] VERIFY_TIMERS = timers("senhas_verify");
+
+    /**
+     * Retorna os custos usados na geração de novos hashes.
+     *
+     * @return Custos atuais.
+     */
+    public static HashCost getCost() {
+        return cost;
+    }
+
+    /**
+     * Define os custos usados na geração de novos hashes.
+     * Hashes já armazenados continuam sendo verificados com o custo registrado neles.
+     *
+     * @param newCost Novos custos.
+     */
+    public static void setCost(HashCost newCost) {
+        cost = Objects.requireNonNull(newCost, "O custo não pode ser nulo.");
+    }
+
+    /**
+     * Mede o desempenho da máquina e passa a usar custos que atinjam a latência alvo.
+     *
+     * @param target Tempo desejado para gerar ou verificar um hash (por exemplo, 50 ms).
+     * @return Custos escolhidos e já aplicados.
+     */
+    public static HashCost calibrate(Duration target) {
+        HashCost calibrated = CostCalibrator.calibrate(target);
+        setCost(calibrated);
+        return calibrated;
+    }
 
     /**
      * Gera um hash seguro para a senha fornecida usando o algoritmo especificado.
@@ -27,16 +85,23 @@ public class HashingUtils {
      * @throws IllegalArgumentException Se o algoritmo não for suportado.
      */
     public static String hashPassword(String password, HashAlgorithm algorithm) {
+        long start = Metrics.start();
+        String hash;
         switch (algorithm) {
             case SHA256:
-                return generateSHA256Hash(password);
+                hash = generateSHA256Hash(password);
+                break;
             case BCRYPT:
-                return generateBCryptHash(password);
+                hash = generateBCryptHash(password);
+                break;
             case PBKDF2:
-                return generatePBKDF2Hash(password);
+                hash = generatePBKDF2Hash(password);
+                break;
             default:
                 throw new IllegalArgumentException("Algoritmo de hash não suportado.");
         }
+        HASH_TIMERS[algorithm.ordinal()].recordSince(start);
+        return hash;
     }
 
     /**
@@ -46,61 +111,202 @@ public class HashingUtils {
      * @param hashedPassword O hash armazenado no banco de dados.
      * @param algorithm      O algoritmo usado para gerar o hash original.
      * @return true se a senha for válida, false caso contrário.
-     * @throws IllegalArgumentException Se o algoritmo não for suportado.
+     * @throws IllegalArgumentException Se o algoritmo não for suportado, ou se o hash PBKDF2 ou
+     *                                  BCrypt for inválido ou tiver custo acima dos limites de
+     *                                  {@link HashCost}.
      */
     public static boolean verifyPassword(String password, String hashedPassword, HashAlgorithm algorithm) {
+        long start = Metrics.start();
+        boolean valid;
         switch (algorithm) {
             case SHA256:
-                return generateSHA256Hash(password).equals(hashedPassword);
+                valid = verifySHA256(password, hashedPassword);
+                break;
             case BCRYPT:
-                return BCrypt.checkpw(password, hashedPassword);
+                valid = checkBCrypt(password, hashedPassword);
+                break;
             case PBKDF2:
-                return verifyPBKDF2(password, hashedPassword);
+                valid = verifyPBKDF2(password, hashedPassword);
+                break;
             default:
                 throw new IllegalArgumentException("Algoritmo de hash não suportado.");
         }
+        VERIFY_TIMERS[algorithm.ordinal()].recordSince(start);
+        return valid;
     }
 
     /**
-     * Gera um hash usando PBKDF2 com HMAC-SHA256.
+     * Gera um hash para a senha guardada fora do heap.
+     *
+     * @see #hashPassword(String, HashAlgorithm)
+     */
+    public static String hashPassword(SecretBuffer password, HashAlgorithm algorithm) {
+        long start = Metrics.start();
+        String hash;
+        if (algorithm == HashAlgorithm.BCRYPT) {
+            char[] chars = password.toCharArray();
+            try {
+                hash = generateBCryptHash(new String(chars));
+            } finally {
+                Arrays.fill(chars, '\0');
+            }
+        } else {
+            byte[] bytes = passwordBuffer(password);
+            int length = password.encodeUtf8(bytes);
+            try {
+                switch (algorithm) {
+                    case SHA256:
+                        hash = generateSHA256Hash(bytes, length);
+                        break;
+                    case PBKDF2:
+                        hash = generatePBKDF2Hash(bytes, length);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Algoritmo de hash não suportado.");
+                }
+            } finally {
+                Arrays.fill(bytes, 0, length, (byte) 0);
+            }
+        }
+        HASH_TIMERS[algorithm.ordinal()].recordSince(start);
+        return hash;
+    }
+
+    /**
+     * Verifica se a senha guardada fora do heap corresponde ao hash armazenado.
+     *
+     * @see #verifyPassword(String, String, HashAlgorithm)
+     */
+    public static boolean verifyPassword(SecretBuffer password, String hashedPassword, HashAlgorithm algorithm) {
+        long start = Metrics.start();
+        boolean valid;
+        if (algorithm == HashAlgorithm.BCRYPT) {
+            char[] chars = password.toCharArray();
+            try {
+                valid = checkBCrypt(new String(chars), hashedPassword);
+            } finally {
+                Arrays.fill(chars, '\0');
+            }
+        } else {
+            byte[] bytes = passwordBuffer(password);
+            int length = password.encodeUtf8(bytes);
+            try {
+                switch (algorithm) {
+                    case SHA256:
+                        valid = verifySHA256(password, bytes, length, hashedPassword);
+                        break;
+                    case PBKDF2:
+                        valid = verifyPBKDF2(bytes, length, hashedPassword);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Algoritmo de hash não suportado.");
+                }
+            } finally {
+                Arrays.fill(bytes, 0, length, (byte) 0);
+            }
+        }
+        VERIFY_TIMERS[algorithm.ordinal()].recordSince(start);
+        return valid;
+    }
+
+    private static byte[] passwordBuffer(SecretBuffer password) {
+        byte[] buffer = PASSWORD_BUFFER.get();
+        if (buffer.length < password.maxUtf8Length()) {
+            buffer = new byte[password.maxUtf8Length()];
+            PASSWORD_BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static Timer[] timers(String name) {
+        HashAlgorithm[] algorithms = HashAlgorithm.values();
+        Timer[] timers = new Timer[algorithms.length];
+        for (HashAlgorithm algorithm : algorithms) {
+            timers[algorithm.ordinal()] = Metrics.timer(name, "algorithm", algorithm.name());
+        }
+        return timers;
+    }
+
+    /**
+     * Gera um hash usando PBKDF2 com HMAC-SHA256 e o número de iterações configurado.
      *
      * @param password A senha a ser protegida.
-     * @return O hash no formato "salt:hash" codificado em Base64.
+     * @return O hash no formato "$pbkdf2-sha256$v=1$i=iterações$salt:hash", com salt e hash em Base64.
      */
     private static String generatePBKDF2Hash(String password) {
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        try {
+            return generatePBKDF2Hash(passwordBytes, passwordBytes.length);
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    private static String generatePBKDF2Hash(byte[] passwordBytes, int passwordLength) {
+        byte[] salt = SALT_BUFFER.get();
+        byte[] hash = KEY_BUFFER.get();
         try {
-            byte[] salt = new byte[16];
-            SECURE_RANDOM.nextBytes(salt);
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, PBKDF2_ITERATIONS, PBKDF2_KEY_LENGTH);
-            SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            byte[] hash = skf.generateSecret(spec).getEncoded();
-            return Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            int iterations = cost.getPbkdf2Iterations();
+            RandomBuffer.current().nextBytes(salt);
+            CryptoPrimitives.pbkdf2(passwordBytes, passwordLength, salt, iterations, hash);
+            return EncodedHash.formatPbkdf2(iterations, salt, hash);
+        } catch (RuntimeException e) {
             throw new RuntimeException("Erro ao gerar hash PBKDF2", e);
+        } finally {
+            Arrays.fill(hash, (byte) 0);
         }
     }
 
     /**
      * Verifica se a senha fornecida corresponde ao hash armazenado usando PBKDF2.
+     * O número de iterações é lido do hash. Hashes no formato legado "salt:hash" não registram o
+     * custo: são verificados com {@link HashCost#MIN_PBKDF2_ITERATIONS} e, se não coincidirem, com
+     * {@link HashCost#LEGACY_GENERATOR_ITERATIONS}, usado pelo gerador antigo.
      *
      * @param password   A senha em texto plano.
-     * @param storedHash O hash armazenado no formato "salt:hash".
+     * @param storedHash O hash armazenado.
      * @return true se a senha for válida, false caso contrário.
      */
     private static boolean verifyPBKDF2(String password, String storedHash) {
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        try {
+            return verifyPBKDF2(passwordBytes, passwordBytes.length, storedHash);
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    private static boolean verifyPBKDF2(byte[] passwordBytes, int passwordLength, String storedHash) {
+        // Fora do try: um hash inválido ou com custo acima do limite é IllegalArgumentException
+        EncodedHash parsed = EncodedHash.parse(storedHash, HashAlgorithm.PBKDF2);
+        byte[] generatedHash = KEY_BUFFER.get();
         try {
-            String[] parts = storedHash.split(":");
-            byte[] salt = Base64.getDecoder().decode(parts[0]);
-            byte[] storedHashBytes = Base64.getDecoder().decode(parts[1]);
-            PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, PBKDF2_ITERATIONS, PBKDF2_KEY_LENGTH);
-            SecretKeyFactory skf = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
-            byte[] generatedHash = skf.generateSecret(spec).getEncoded();
-            return MessageDigest.isEqual(storedHashBytes, generatedHash);
+            CryptoPrimitives.pbkdf2(passwordBytes, passwordLength, parsed.getSalt(), parsed.getCost(), generatedHash);
+            if (MessageDigest.isEqual(parsed.getHash(), generatedHash)) {
+                return true;
+            }
+            if (!parsed.isLegacy()) {
+                return false;
+            }
+            CryptoPrimitives.pbkdf2(passwordBytes, passwordLength, parsed.getSalt(),
+                    HashCost.LEGACY_GENERATOR_ITERATIONS, generatedHash);
+            return MessageDigest.isEqual(parsed.getHash(), generatedHash);
         } catch (Exception e) {
             throw new RuntimeException("Erro ao verificar hash PBKDF2", e);
+        } finally {
+            Arrays.fill(generatedHash, (byte) 0);
         }
     }
 
+    /**
+     * Confere o custo com {@link EncodedHash} antes do BCrypt, que aceitaria qualquer custo de
+     * dois dígitos do hash armazenado.
+     */
+    private static boolean checkBCrypt(String password, String storedHash) {
+        EncodedHash.parse(storedHash, HashAlgorithm.BCRYPT);
+        return BCrypt.checkpw(password, storedHash);
+    }
+
     /**
      * Gera um hash seguro para a senha usando o algoritmo BCrypt.
      *
@@ -108,22 +314,67 @@ public class HashingUtils {
      * @return O hash BCrypt gerado.
      */
     private static String generateBCryptHash(String password) {
-        return BCrypt.hashpw(password, BCrypt.gensalt());
+        return BCrypt.hashpw(password, BCrypt.gensalt(cost.getBcryptLogRounds(), RandomBuffer.secureRandom()));
     }
 
     /**
-     * Gera um hash SHA-256 para a senha.
+     * Gera um hash SHA-256 da senha codificada em UTF-8. Para impressões digitais de muitas
+     * entradas, sem Base64, use {@link BatchDigester}.
      *
      * @param password A senha em texto plano.
      * @return O hash gerado codificado em Base64.
      */
     private static String generateSHA256Hash(String password) {
+        return generateSHA256Hash(password, StandardCharsets.UTF_8);
+    }
+
+    private static String generateSHA256Hash(String password, Charset charset) {
+        byte[] passwordBytes = password.getBytes(charset);
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(password.getBytes());
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
+            return generateSHA256Hash(passwordBytes, passwordBytes.length);
+        } catch (RuntimeException e) {
             throw new RuntimeException("Erro ao gerar hash SHA-256", e);
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
         }
     }
+
+    /**
+     * Versões anteriores codificavam a senha no charset padrão da plataforma; em plataformas que
+     * não usam UTF-8, os hashes dessas senhas com caracteres não ASCII ainda são aceitos.
+     */
+    private static boolean verifySHA256(String password, String storedHash) {
+        if (generateSHA256Hash(password).equals(storedHash)) {
+            return true;
+        }
+        Charset platform = Charset.defaultCharset();
+        return !platform.equals(StandardCharsets.UTF_8)
+                && generateSHA256Hash(password, platform).equals(storedHash);
+    }
+
+    /**
+     * Como {@link #verifySHA256(String, String)}, com a senha já codificada em UTF-8; a cópia no
+     * heap para o charset da plataforma só é feita quando o hash UTF-8 não confere.
+     */
+    private static boolean verifySHA256(SecretBuffer password, byte[] utf8, int length, String storedHash) {
+        if (generateSHA256Hash(utf8, length).equals(storedHash)) {
+            return true;
+        }
+        Charset platform = Charset.defaultCharset();
+        if (platform.equals(StandardCharsets.UTF_8)) {
+            return false;
+        }
+        char[] chars = password.toCharArray();
+        try {
+            return generateSHA256Hash(new String(chars), platform).equals(storedHash);
+        } finally {
+            Arrays.fill(chars, '\0');
+        }
+    }
+
+    private static String generateSHA256Hash(byte[] passwordBytes, int passwordLength) {
+        MessageDigest digest = CryptoPrimitives.sha256();
+        digest.update(passwordBytes, 0, passwordLength);
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
 }
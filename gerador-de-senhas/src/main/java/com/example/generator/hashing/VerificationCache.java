@@ -0,0 +1,254 @@
+package com.example.generator.hashing;
+
+import com.example.generator.random.RandomBuffer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache opcional de verificações de senha bem-sucedidas.
+ *
+ * Evita refazer o PBKDF2/BCrypt quando o mesmo usuário se autentica repetidamente em pouco tempo.
+ * As entradas são identificadas por um HMAC-SHA256 do par (hash armazenado, senha candidata)
+ * calculado com uma chave aleatória da instância, portanto nenhuma senha em texto plano fica em
+ * memória. Apenas verificações válidas são guardadas: tentativas com senha errada sempre passam
+ * pelo algoritmo completo e não ocupam espaço no cache.
+ *
+ * O cache tem tamanho máximo com remoção do item usado há mais tempo (LRU) e tempo de vida por
+ * entrada. Quando o hash de um usuário muda, {@link #invalidate(String)} descarta as entradas
+ * associadas ao hash antigo.
+ */
+public class VerificationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ThreadLocal<Mac> mac;
+    private final LinkedHashMap<Key, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Cria um cache com o tamanho máximo e o tempo de vida informados.
+     *
+     * @param maxEntries Quantidade máxima de verificações guardadas.
+     * @param ttl        Tempo de vida de cada entrada.
+     * @throws IllegalArgumentException se o tamanho ou o tempo de vida não forem positivos.
+     */
+    public VerificationCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    VerificationCache(int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries <= 0 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("O tamanho e o tempo de vida do cache devem ser positivos.");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        byte[] secret = new byte[32];
+        RandomBuffer.current().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        Arrays.fill(secret, (byte) 0);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Erro ao inicializar o HMAC do cache de verificação", e);
+            }
+        });
+    }
+
+    /**
+     * Verifica a senha, consultando o cache antes de executar o algoritmo de hashing.
+     *
+     * @param password       A senha em texto plano que será testada.
+     * @param hashedPassword O hash armazenado no banco de dados.
+     * @param algorithm      O algoritmo usado para gerar o hash original.
+     * @return true se a senha for válida, false caso contrário.
+     */
+    public boolean verifyPassword(String password, String hashedPassword, HashAlgorithm algorithm) {
+        Key key = entryKey(password, hashedPassword, algorithm);
+        if (lookup(key)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+
+        boolean valid = HashingUtils.verifyPassword(password, hashedPassword, algorithm);
+        if (valid) {
+            store(key, hashKey(hashedPassword));
+        }
+        return valid;
+    }
+
+    /**
+     * Remove todas as verificações associadas ao hash informado.
+     * Deve ser chamado sempre que o hash armazenado de um usuário for alterado.
+     *
+     * @param hashedPassword Hash que deixou de ser válido.
+     */
+    public void invalidate(String hashedPassword) {
+        Key hashKey = hashKey(hashedPassword);
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.hashKey.equals(hashKey));
+        }
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return Quantidade de entradas no cache.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Quantidade de verificações respondidas pelo cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Quantidade de verificações que executaram o algoritmo de hashing.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Quantidade de entradas removidas por tamanho ou por tempo de vida.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private boolean lookup(Key key) {
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return false;
+            }
+            if (now - entry.expiresAt >= 0) {
+                entries.remove(key);
+                evictions.increment();
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private void store(Key key, Key hashKey) {
+        long expiresAt = clock.getAsLong() + ttlNanos;
+        synchronized (entries) {
+            entries.put(key, new Entry(hashKey, expiresAt));
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private Key entryKey(String password, String hashedPassword, HashAlgorithm algorithm) {
+        Mac hmac = mac.get();
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] hashBytes = hashedPassword.getBytes(StandardCharsets.UTF_8);
+            hmac.update((byte) algorithm.ordinal());
+            hmac.update(intBytes(hashBytes.length));
+            hmac.update(hashBytes);
+            hmac.update(passwordBytes);
+            return new Key(hmac.doFinal());
+        } finally {
+            Arrays.fill(passwordBytes, (byte) 0);
+        }
+    }
+
+    private Key hashKey(String hashedPassword) {
+        Mac hmac = mac.get();
+        hmac.update((byte) 0xFF);
+        return new Key(hmac.doFinal(hashedPassword.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] intBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    /**
+     * Chave de 128 bits extraída do HMAC.
+     */
+    private static final class Key {
+        private final long high;
+        private final long low;
+
+        private Key(byte[] mac) {
+            long h = 0;
+            long l = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (mac[i] & 0xFF);
+                l = (l << 8) | (mac[i + 8] & 0xFF);
+            }
+            this.high = h;
+            this.low = l;
+            Arrays.fill(mac, (byte) 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high ^ low);
+        }
+    }
+
+    private static final class Entry {
+        private final Key hashKey;
+        private final long expiresAt;
+
+        private Entry(Key hashKey, long expiresAt) {
+            this.hashKey = hashKey;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.generator.random;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de bytes aleatórios baseado no fluxo de chave (keystream) do ChaCha20.
+ *
+ * A chave de 256 bits e o nonce de 96 bits vêm da fonte do sistema operacional; os bytes
+ * aleatórios são a cifra de um bloco de zeros, calculada pelo provedor JCE. A instância é
+ * exclusiva da thread, então não há locks no caminho crítico. Uma nova chave é obtida a cada
+ * {@link #RESEED_INTERVAL_BYTES} bytes ou {@link #RESEED_INTERVAL_NANOS} nanossegundos, o que
+ * limita quanto da saída depende de uma mesma chave.
+ */
+final class ChaCha20Source implements EntropySource {
+
+    static final long RESEED_INTERVAL_BYTES = 16L << 20;
+    static final long RESEED_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private static final int KEY_LENGTH = 32;
+    private static final int NONCE_LENGTH = 12;
+
+    private final SecureRandom seedSource;
+    private final LongSupplier clock;
+    private final Cipher cipher;
+    private final byte[] seed = new byte[KEY_LENGTH + NONCE_LENGTH];
+    private long bytesSinceReseed;
+    private long reseededAt;
+    private long reseedCount;
+
+    /**
+     * @param seedSource Fonte do sistema operacional usada para as chaves.
+     * @param clock      Relógio em nanossegundos, usado no intervalo de renovação.
+     */
+    ChaCha20Source(SecureRandom seedSource, LongSupplier clock) {
+        this.seedSource = seedSource;
+        this.clock = clock;
+        try {
+            this.cipher = Cipher.getInstance("ChaCha20");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("ChaCha20 indisponível neste provedor JCE", e);
+        }
+        reseed();
+    }
+
+    @Override
+    public void nextBytes(byte[] dest) {
+        if (bytesSinceReseed >= RESEED_INTERVAL_BYTES || clock.getAsLong() - reseededAt >= RESEED_INTERVAL_NANOS) {
+            reseed();
+        }
+        Arrays.fill(dest, (byte) 0);
+        try {
+            cipher.update(dest, 0, dest.length, dest, 0);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao gerar o fluxo ChaCha20", e);
+        }
+        bytesSinceReseed += dest.length;
+    }
+
+    @Override
+    public String getName() {
+        return EntropySources.CHACHA20;
+    }
+
+    /**
+     * @return Quantidade de vezes que a chave foi obtida da fonte do sistema operacional.
+     */
+    long getReseedCount() {
+        return reseedCount;
+    }
+
+    private void reseed() {
+        seedSource.nextBytes(seed);
+        try {
+            SecretKeySpec key = new SecretKeySpec(seed, 0, KEY_LENGTH, "ChaCha20");
+            byte[] nonce = Arrays.copyOfRange(seed, KEY_LENGTH, seed.length);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new ChaCha20ParameterSpec(nonce, 0));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao inicializar o ChaCha20", e);
+        } finally {
+            Arrays.fill(seed, (byte) 0);
+        }
+        bytesSinceReseed = 0;
+        reseededAt = clock.getAsLong();
+        reseedCount++;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.generator.random;
+
+/**
+ * Fonte de bytes aleatórios criptograficamente seguros usada pelo {@link RandomBuffer}.
+ *
+ * Cada thread obtém a sua própria instância por meio de {@link EntropySources#create()}, portanto
+ * as implementações não precisam ser seguras para uso concorrente. Implementações externas podem
+ * ser escolhidas pela propriedade {@value EntropySources#PROPERTY} com o nome completo da classe,
+ * que deve ter um construtor público sem argumentos.
+ */
+public interface EntropySource {
+
+    /**
+     * Preenche o array informado com bytes aleatórios.
+     *
+     * @param dest Array de destino.
+     */
+    void nextBytes(byte[] dest);
+
+    /**
+     * @return Nome da fonte, usado em relatórios e benchmarks.
+     */
+    String getName();
+}
@@ -0,0 +1,110 @@
+package com.example.generator.random;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Seleção e criação das fontes de entropia.
+ *
+ * A fonte é escolhida pela propriedade de sistema {@value #PROPERTY}:
+ * <ul>
+ *   <li>{@value #NATIVE}: {@code NativePRNGNonBlocking}, que lê {@code /dev/urandom} e nunca
+ *       bloqueia na inicialização (padrão quando disponível);</li>
+ *   <li>{@value #DRBG}: Hash_DRBG/HMAC_DRBG de 256 bits configurado por {@link DrbgParameters};</li>
+ *   <li>{@value #CHACHA20}: fluxo ChaCha20 por thread, com chave renovada periodicamente a partir
+ *       da fonte do sistema operacional;</li>
+ *   <li>{@value #DEFAULT}: {@code new SecureRandom()}, o comportamento anterior;</li>
+ *   <li>o nome completo de uma classe que implemente {@link EntropySource}.</li>
+ * </ul>
+ * Sem a propriedade, é usada {@value #NATIVE}, ou {@value #DRBG} nas plataformas sem
+ * {@code NativePRNGNonBlocking}.
+ */
+public final class EntropySources {
+
+    /** Propriedade de sistema que escolhe a fonte de entropia. */
+    public static final String PROPERTY = "senhas.entropy";
+
+    public static final String NATIVE = "native";
+    public static final String DRBG = "drbg";
+    public static final String CHACHA20 = "chacha20";
+    public static final String DEFAULT = "default";
+
+    private static final String NATIVE_ALGORITHM = "NativePRNGNonBlocking";
+
+    private EntropySources() {
+    }
+
+    /**
+     * Cria uma nova instância da fonte configurada em {@value #PROPERTY}.
+     *
+     * @return Fonte de entropia para uso exclusivo da thread chamadora.
+     * @throws IllegalArgumentException se a fonte configurada não existir.
+     */
+    public static EntropySource create() {
+        return create(System.getProperty(PROPERTY, NATIVE));
+    }
+
+    /**
+     * Cria uma nova instância da fonte informada.
+     *
+     * @param name Nome de uma fonte embutida ou nome completo de uma classe {@link EntropySource}.
+     * @return Fonte de entropia para uso exclusivo da thread chamadora.
+     * @throws IllegalArgumentException se a fonte não existir.
+     */
+    public static EntropySource create(String name) {
+        switch (name) {
+            case NATIVE:
+                SecureRandom nonBlocking = nonBlocking();
+                return nonBlocking != null ? new SecureRandomSource(nonBlocking, NATIVE) : create(DRBG);
+            case DRBG:
+                return new SecureRandomSource(drbg(), DRBG);
+            case CHACHA20:
+                return new ChaCha20Source(seedSource(), System::nanoTime);
+            case DEFAULT:
+                return new SecureRandomSource(new SecureRandom(), DEFAULT);
+            default:
+                return custom(name);
+        }
+    }
+
+    /**
+     * Retorna a fonte usada para obter sementes: {@code NativePRNGNonBlocking} quando disponível,
+     * ou o {@link SecureRandom} padrão da plataforma.
+     */
+    static SecureRandom seedSource() {
+        SecureRandom nonBlocking = nonBlocking();
+        return nonBlocking != null ? nonBlocking : new SecureRandom();
+    }
+
+    private static SecureRandom nonBlocking() {
+        try {
+            return SecureRandom.getInstance(NATIVE_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static SecureRandom drbg() {
+        try {
+            byte[] personalization = ("gerador-de-senhas/" + Thread.currentThread().getId()).getBytes(StandardCharsets.UTF_8);
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, personalization));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG indisponível neste provedor", e);
+        }
+    }
+
+    private static EntropySource custom(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!EntropySource.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " não implementa " + EntropySource.class.getName());
+            }
+            return (EntropySource) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Fonte de entropia desconhecida: " + className, e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.generator.random;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+
+/**
+ * Buffer de bytes aleatórios mantido por thread e reabastecido em blocos grandes.
+ *
+ * Cada thread possui a sua própria {@link EntropySource}, escolhida em {@link EntropySources}, e o
+ * seu próprio buffer, de modo que a geração em massa não disputa o lock de uma única instância
+ * compartilhada. Os índices são obtidos por amostragem com rejeição, o que garante distribuição
+ * uniforme sem viés de módulo.
+ */
+public final class RandomBuffer {
+
+    private static final int BUFFER_SIZE = 4096;
+    private static final ThreadLocal<RandomBuffer> LOCAL =
+            ThreadLocal.withInitial(() -> new RandomBuffer(EntropySources.create()));
+    private static final SecureRandom SECURE_RANDOM_VIEW = new SecureRandom(new BufferSpi(), null) {
+        private static final long serialVersionUID = 1L;
+    };
+
+    private final EntropySource source;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position = BUFFER_SIZE;
+
+    private RandomBuffer(EntropySource source) {
+        this.source = source;
+    }
+
+    /**
+     * Retorna o buffer associado à thread atual.
+     *
+     * @return Buffer aleatório exclusivo da thread chamadora.
+     */
+    public static RandomBuffer current() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Retorna um {@link SecureRandom} que lê do buffer da thread chamadora.
+     *
+     * Serve para APIs de terceiros que exigem um {@link SecureRandom}, como a geração de salt do
+     * BCrypt, para que usem a mesma fonte de entropia configurada.
+     *
+     * @return Visão {@link SecureRandom} dos buffers por thread.
+     */
+    public static SecureRandom secureRandom() {
+        return SECURE_RANDOM_VIEW;
+    }
+
+    /**
+     * @return Nome da fonte de entropia usada por este buffer.
+     */
+    public String getSourceName() {
+        return source.getName();
+    }
+
+    /**
+     * Retorna o próximo byte aleatório, sem sinal.
+     *
+     * O byte consumido é zerado no buffer para que valores já usados não permaneçam em memória.
+     *
+     * @return Valor entre 0 e 255.
+     */
+    public int nextByte() {
+        if (position == buffer.length) {
+            refill();
+        }
+        int value = buffer[position] & 0xFF;
+        buffer[position++] = 0;
+        return value;
+    }
+
+    /**
+     * Retorna um inteiro aleatório de 32 bits.
+     *
+     * @return Inteiro aleatório.
+     */
+    public int nextInt() {
+        return (nextByte() << 24) | (nextByte() << 16) | (nextByte() << 8) | nextByte();
+    }
+
+    /**
+     * Retorna um índice uniforme no intervalo {@code [0, bound)}.
+     *
+     * Para limites de até 256 é consumido apenas um byte por tentativa; acima disso são usados
+     * 31 bits. Em ambos os casos os valores que introduziriam viés de módulo são descartados.
+     *
+     * @param bound Limite superior exclusivo.
+     * @return Índice aleatório uniforme.
+     * @throws IllegalArgumentException se o limite for menor ou igual a zero.
+     */
+    public int nextIndex(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero.");
+        }
+        if (bound <= 256) {
+            int limit = 256 - (256 % bound);
+            int value;
+            do {
+                value = nextByte();
+            } while (value >= limit);
+            return value % bound;
+        }
+        long range = 1L << 31;
+        long limit = range - (range % bound);
+        long value;
+        do {
+            value = nextInt() >>> 1;
+        } while (value >= limit);
+        return (int) (value % bound);
+    }
+
+    /**
+     * Retorna um inteiro uniforme no intervalo {@code [0, bound)}, para limites arbitrariamente grandes.
+     *
+     * São sorteados apenas os bits necessários para representar o limite, e os valores acima dele
+     * são descartados; em média são feitas menos de duas tentativas.
+     *
+     * @param bound Limite superior exclusivo.
+     * @return Inteiro aleatório uniforme.
+     * @throws IllegalArgumentException se o limite for menor ou igual a zero.
+     */
+    public BigInteger nextBelow(BigInteger bound) {
+        if (bound.signum() <= 0) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero.");
+        }
+        int bits = bound.bitLength();
+        byte[] bytes = new byte[(bits + 7) / 8];
+        int excessBits = bytes.length * 8 - bits;
+        BigInteger value;
+        do {
+            nextBytes(bytes);
+            bytes[0] &= (byte) (0xFF >>> excessBits);
+            value = new BigInteger(1, bytes);
+        } while (value.compareTo(bound) >= 0);
+        return value;
+    }
+
+    /**
+     * Preenche o array informado com bytes aleatórios retirados do buffer.
+     *
+     * @param dest Array de destino.
+     */
+    public void nextBytes(byte[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = (byte) nextByte();
+        }
+    }
+
+    private void refill() {
+        source.nextBytes(buffer);
+        position = 0;
+    }
+
+    /**
+     * Implementação de {@link SecureRandom} que delega ao buffer da thread chamadora.
+     */
+    private static final class BufferSpi extends SecureRandomSpi {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void engineSetSeed(byte[] seed) {
+            // A semente vem da fonte de entropia configurada; sementes externas são ignoradas.
+        }
+
+        @Override
+        protected void engineNextBytes(byte[] bytes) {
+            current().nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(int numBytes) {
+            byte[] seed = new byte[numBytes];
+            current().nextBytes(seed);
+            return seed;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.generator.random;
+
+import java.security.SecureRandom;
+
+/**
+ * Fonte de entropia que delega a um {@link SecureRandom} exclusivo da thread.
+ */
+final class SecureRandomSource implements EntropySource {
+
+    private final SecureRandom random;
+    private final String name;
+
+    SecureRandomSource(SecureRandom random, String name) {
+        this.random = random;
+        this.name = name;
+    }
+
+    @Override
+    public void nextBytes(byte[] dest) {
+        random.nextBytes(dest);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.generator.wordlist;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Lista de palavras lida diretamente de um arquivo mapeado em memória.
+ *
+ * O arquivo de palavras (UTF-8, uma palavra por linha) não é convertido em uma lista de Strings:
+ * um índice com a posição de cada palavra fica em um arquivo ao lado ({@code <lista>.idx}), também
+ * mapeado, e cada palavra só é decodificada quando sorteada. Assim a inicialização não depende do
+ * tamanho da lista, o heap não guarda centenas de milhares de objetos e vários processos que
+ * abrem a mesma lista compartilham as páginas do cache do sistema operacional.
+ *
+ * Linhas no formato diceware ({@code 11111<TAB>palavra}) são aceitas: apenas o último campo da
+ * linha é usado. Linhas vazias e palavras repetidas são ignoradas, para que cada palavra do
+ * índice conte uma única vez na entropia.
+ *
+ * O índice é criado na primeira abertura e recriado quando o tamanho ou a data de modificação da
+ * lista mudam. Se o diretório não permitir escrita, o índice é mantido apenas em memória.
+ */
+public final class MappedWordList implements Closeable {
+
+    /** Extensão do arquivo de índice criado ao lado da lista. */
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x574C4958; // "WLIX"
+    private static final int VERSION = 1;
+    /** magic, versão, tamanho da lista, data de modificação, quantidade de palavras. */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    /** Posição inicial e final de cada palavra. */
+    private static final int ENTRY_SIZE = 8;
+
+    private final Path path;
+    private final FileChannel wordsChannel;
+    private final ByteBuffer words;
+    private final ByteBuffer index;
+    private final int size;
+
+    private MappedWordList(Path path, FileChannel wordsChannel, ByteBuffer words, ByteBuffer index) {
+        this.path = path;
+        this.wordsChannel = wordsChannel;
+        this.words = words;
+        this.index = index;
+        this.size = index.getInt(HEADER_SIZE - 4);
+    }
+
+    /**
+     * Abre a lista de palavras, criando ou atualizando o índice se necessário.
+     *
+     * @param path Caminho do arquivo de palavras.
+     * @return Lista mapeada em memória.
+     * @throws UncheckedIOException     se houver falha ao ler a lista ou o índice.
+     * @throws IllegalArgumentException se a lista for maior que 2 GB ou não contiver palavras.
+     */
+    public static MappedWordList open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            long length = channel.size();
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("A lista de palavras deve ter no máximo 2 GB: " + path);
+            }
+            MappedByteBuffer words = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            long modified = Files.getLastModifiedTime(path).toMillis();
+
+            ByteBuffer index = openIndex(indexPath(path), length, modified);
+            if (index == null) {
+                index = buildIndex(words, length, modified);
+                index = storeIndex(indexPath(path), index);
+            }
+            MappedWordList list = new MappedWordList(path, channel, words, index);
+            if (list.size() == 0) {
+                throw new IllegalArgumentException("A lista de palavras está vazia: " + path);
+            }
+            return list;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Erro ao abrir a lista de palavras " + path + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * @param path Caminho do arquivo de palavras.
+     * @return Caminho do arquivo de índice correspondente.
+     */
+    public static Path indexPath(Path path) {
+        return path.resolveSibling(path.getFileName() + INDEX_SUFFIX);
+    }
+
+    /**
+     * @return Quantidade de palavras distintas da lista.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodifica a palavra na posição informada.
+     *
+     * @param i Posição da palavra, entre zero e {@link #size()} - 1.
+     * @return A palavra.
+     * @throws IndexOutOfBoundsException se a posição for inválida.
+     */
+    public String word(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Posição fora da lista de palavras: " + i);
+        }
+        int entry = HEADER_SIZE + i * ENTRY_SIZE;
+        int start = index.getInt(entry);
+        int end = index.getInt(entry + 4);
+        byte[] bytes = new byte[end - start];
+        words.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Caminho do arquivo de palavras.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Fecha o arquivo de palavras. As regiões mapeadas são liberadas pelo coletor de lixo.
+     */
+    @Override
+    public void close() {
+        closeQuietly(wordsChannel);
+    }
+
+    /**
+     * Mapeia o índice existente, se ele corresponder à versão atual da lista.
+     *
+     * @return O índice mapeado, ou {@code null} se ele não existir ou estiver desatualizado.
+     */
+    private static ByteBuffer openIndex(Path indexPath, long length, long modified) throws IOException {
+        if (!Files.isRegularFile(indexPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                return null;
+            }
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index.order(ByteOrder.BIG_ENDIAN);
+            boolean current = index.getInt(0) == MAGIC
+                    && index.getInt(4) == VERSION
+                    && index.getLong(8) == length
+                    && index.getLong(16) == modified
+                    && channel.size() == HEADER_SIZE + (long) index.getInt(24) * ENTRY_SIZE;
+            return current ? index : null;
+        }
+    }
+
+    /**
+     * Percorre a lista uma vez e monta o índice em memória, ignorando linhas vazias e repetidas.
+     */
+    private static ByteBuffer buildIndex(ByteBuffer words, long length, long modified) {
+        Set<String> seen = new HashSet<>();
+        ByteBuffer entries = ByteBuffer.allocate(1024 * ENTRY_SIZE);
+        int limit = (int) length;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && words.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd;
+            while (end > lineStart && isWhitespace(words.get(end - 1))) {
+                end--;
+            }
+            int start = end;
+            while (start > lineStart && !isWhitespace(words.get(start - 1))) {
+                start--;
+            }
+            if (start < end) {
+                byte[] bytes = new byte[end - start];
+                words.get(start, bytes);
+                if (seen.add(new String(bytes, StandardCharsets.UTF_8))) {
+                    if (entries.remaining() < ENTRY_SIZE) {
+                        entries = grow(entries);
+                    }
+                    entries.putInt(start).putInt(end);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        entries.flip();
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER_SIZE + entries.remaining());
+        index.putInt(MAGIC).putInt(VERSION).putLong(length).putLong(modified)
+                .putInt(entries.remaining() / ENTRY_SIZE).put(entries);
+        index.flip();
+        return index;
+    }
+
+    /**
+     * Grava o índice em um arquivo temporário, troca-o atomicamente pelo definitivo e o mapeia.
+     * Se não houver permissão de escrita, o índice em memória é devolvido sem alteração.
+     */
+    private static ByteBuffer storeIndex(Path indexPath, ByteBuffer index) throws IOException {
+        Path temp;
+        try {
+            temp = Files.createTempFile(indexPath.toAbsolutePath().getParent(), indexPath.getFileName().toString(), ".tmp");
+        } catch (IOException e) {
+            // Diretório somente leitura: o índice fica apenas em memória.
+            return index;
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer source = index.duplicate();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer larger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        return larger.put(buffer);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // Falha ao fechar um arquivo somente leitura não afeta o resultado.
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.example.json;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Leitura e escrita mínimas de JSON, usadas pelos corpos das requisições do servidor HTTP e pelos
+ * arquivos JSONL da carga em lote.
+ *
+ * Apenas o primeiro nível de um objeto é lido: os valores de texto são devolvidos sem as aspas e
+ * os demais valores simples ({@code true}, números, {@code null}) como o texto original.
+ */
+public final class Json {
+
+    private final String text;
+    private int position;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Lê um objeto de um único nível; objetos e listas aninhados são recusados.
+     *
+     * @param text Texto do objeto.
+     * @return Campos do objeto, na ordem em que aparecem.
+     * @throws IllegalArgumentException se o texto não for um objeto JSON de um nível.
+     */
+    public static Map<String, String> parseObject(String text) {
+        Json reader = new Json(text);
+        Map<String, String> fields = reader.readObject();
+        reader.skipWhitespace();
+        if (reader.position < text.length()) {
+            throw reader.error("fim do corpo");
+        }
+        return fields;
+    }
+
+    /**
+     * Localiza um campo de texto no primeiro nível de um objeto, sem ler o restante dele. Os
+     * valores dos demais campos, inclusive aninhados, são percorridos e ignorados.
+     *
+     * @param text  Texto do objeto.
+     * @param field Aceita o nome do campo procurado.
+     * @return Valor do primeiro campo aceito, ou {@code null} se nenhum for encontrado.
+     * @throws IllegalArgumentException se o JSON for inválido até o campo, ou se o valor do campo
+     *                                  não for um texto.
+     */
+    public static String findString(String text, Predicate<String> field) {
+        Json reader = new Json(text);
+        reader.skipWhitespace();
+        reader.expect('{');
+        reader.skipWhitespace();
+        if (reader.peek() == '}') {
+            return null;
+        }
+        while (true) {
+            reader.skipWhitespace();
+            String name = reader.readString();
+            reader.skipWhitespace();
+            reader.expect(':');
+            reader.skipWhitespace();
+            if (field.test(name)) {
+                if (reader.peek() != '"') {
+                    throw new IllegalArgumentException("O campo '" + name + "' deve ser um texto.");
+                }
+                return reader.readString();
+            }
+            reader.skipValue();
+            reader.skipWhitespace();
+            char c = reader.next();
+            if (c == '}') {
+                return null;
+            }
+            if (c != ',') {
+                reader.position--;
+                throw reader.error("',' ou '}'");
+            }
+        }
+    }
+
+    /**
+     * @return O valor entre aspas, com os escapes exigidos pelo JSON.
+     */
+    public static String quote(String value) {
+        StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private Map<String, String> readObject() {
+        Map<String, String> fields = new LinkedHashMap<>();
+        skipWhitespace();
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return fields;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (fields.put(name, readValue()) != null) {
+                throw new IllegalArgumentException("Campo repetido no JSON: '" + name + "'.");
+            }
+            skipWhitespace();
+            char c = next();
+            if (c == '}') {
+                return fields;
+            }
+            if (c != ',') {
+                position--;
+                throw error("',' ou '}'");
+            }
+        }
+    }
+
+    private String readValue() {
+        char c = peek();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw new IllegalArgumentException("Valores aninhados não são aceitos no JSON.");
+        }
+        int start = position;
+        while (position < text.length() && ",} \t\r\n".indexOf(text.charAt(position)) < 0) {
+            position++;
+        }
+        if (start == position) {
+            throw error("um valor");
+        }
+        return text.substring(start, position);
+    }
+
+    private void skipValue() {
+        char c = peek();
+        if (c == '"') {
+            readString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = peek();
+                if (c == '"') {
+                    readString();
+                    continue;
+                }
+                position++;
+                if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+                position++;
+            }
+        }
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            char escaped = next();
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("escape \\u");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("escape \\u");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("continuação do JSON");
+        }
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            position--;
+            throw error("'" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return new IllegalArgumentException("JSON inválido: esperado " + expected + " na posição " + (position + 1) + ".");
+    }
+}
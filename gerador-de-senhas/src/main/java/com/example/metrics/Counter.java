@@ -0,0 +1,37 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador crescente, com um {@link LongAdder} para que várias threads incrementem sem disputa.
+ * Com as métricas desativadas os incrementos são ignorados.
+ */
+public class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String labels) {
+        super(name, labels);
+    }
+
+    public void increment() {
+        if (Metrics.isEnabled()) {
+            value.increment();
+        }
+    }
+
+    public void add(long amount) {
+        if (Metrics.isEnabled()) {
+            value.add(amount);
+        }
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Valor lido no momento da coleta, como a quantidade de conexões em uso. Não tem custo fora da
+ * coleta.
+ */
+public class Gauge extends Metric {
+
+    private final LongSupplier supplier;
+
+    Gauge(String name, String labels, LongSupplier supplier) {
+        super(name, labels);
+        this.supplier = supplier;
+    }
+
+    public long get() {
+        return supplier.getAsLong();
+    }
+
+    @Override
+    void reset() {
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma log-linear de valores não negativos, no estilo do HdrHistogram.
+ *
+ * Os valores abaixo de {@value #EXACT} têm um balde cada. Acima disso, cada potência de dois é
+ * dividida em {@value #HALF} baldes de mesma largura, o que limita o erro relativo de qualquer
+ * percentil a 1/{@value #HALF} (cerca de 3%) em toda a faixa de {@code long}, com
+ * {@value #BUCKETS} contadores fixos. O registro é um índice calculado com poucas operações de
+ * bits e um incremento atômico, sem alocação; o total e a soma usam {@link LongAdder} para não
+ * disputar a mesma linha de cache entre threads.
+ */
+public class Histogram {
+
+    private static final int SUB_BITS = 6;
+    static final int EXACT = 1 << SUB_BITS;
+    static final int HALF = EXACT >> 1;
+    static final int BUCKETS = EXACT + (63 - SUB_BITS) * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Registra um valor; valores negativos contam como zero.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(index(value));
+        sum.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return Cópia dos contadores. Registros simultâneos podem ou não aparecer nela, mas a
+     *         contagem total é sempre a soma dos baldes copiados.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new HistogramSnapshot(copy, count, sum.sum(), max.get());
+    }
+
+    /**
+     * Zera o histograma. Registros simultâneos podem sobreviver à limpeza.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.set(0);
+    }
+
+    static int index(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int mantissa = (int) (value >>> shift);
+        return EXACT + (shift - 1) * HALF + (mantissa - HALF);
+    }
+
+    static long lowerBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int offset = index - EXACT;
+        int shift = offset / HALF + 1;
+        return (long) (offset % HALF + HALF) << shift;
+    }
+
+    static long upperBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int shift = (index - EXACT) / HALF + 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+}
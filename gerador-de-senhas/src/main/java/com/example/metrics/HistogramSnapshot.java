@@ -0,0 +1,71 @@
+package com.example.metrics;
+
+/**
+ * Cópia imutável de um {@link Histogram}.
+ */
+public class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    HistogramSnapshot(long[] counts, long count, long sum, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile Percentil entre 0 e 100, por exemplo {@code 99.9}.
+     * @return Valor no percentil, com erro relativo de até cerca de 3%, ou zero sem registros.
+     * @throws IllegalArgumentException se o percentil estiver fora da faixa.
+     */
+    public long getPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("O percentil deve estar entre 0 e 100.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long lower = Histogram.lowerBound(i);
+                long middle = lower + (Histogram.upperBound(i) - lower) / 2;
+                return Math.min(middle, max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramSnapshot{" +
+                "count=" + count +
+                ", mean=" + Math.round(getMean()) +
+                ", p50=" + getPercentile(50) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + max +
+                '}';
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.metrics;
+
+/**
+ * Base das métricas do registro de {@link Metrics}: um nome e rótulos opcionais.
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String labels;
+
+    Metric(String name, String labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Rótulos no formato {@code chave="valor",...}, ou texto vazio.
+     */
+    public String getLabels() {
+        return labels;
+    }
+
+    /**
+     * @return Nome seguido dos rótulos entre chaves, como na exposição do Prometheus.
+     */
+    public String getId() {
+        return labels.isEmpty() ? name : name + '{' + labels + '}';
+    }
+
+    abstract void reset();
+}
@@ -0,0 +1,133 @@
+package com.example.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Registro global de métricas do gerador, do hashing, do banco e do servidor.
+ *
+ * As métricas ficam desativadas por padrão e são ativadas com {@code -Dsenhas.metrics=true} ou
+ * {@link #setEnabled(boolean)}. Desativadas, o custo nos pontos instrumentados é a leitura de um
+ * campo volátil: {@link #start()} não lê o relógio e contadores e timers ignoram os registros.
+ * As métricas são criadas uma vez, em campos estáticos das classes instrumentadas, de modo que o
+ * caminho de registro não consulta o mapa.
+ *
+ * {@link #snapshot()} copia os valores atuais, que podem ser exportados no formato de texto do
+ * Prometheus com {@link MetricsSnapshot#toPrometheus()}.
+ */
+public final class Metrics {
+
+    /** Valor devolvido por {@link #start()} com as métricas desativadas. */
+    public static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private static final ConcurrentHashMap<String, Metric> REGISTRY = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = Boolean.getBoolean("senhas.metrics");
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * @return O instante atual para um {@link Timer}, ou {@link #NOT_STARTED} se as métricas
+     *         estiverem desativadas.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Obtém ou cria um contador.
+     *
+     * @param name   Nome da métrica, como {@code senhas_db_errors}.
+     * @param labels Pares de chave e valor dos rótulos.
+     * @throws IllegalArgumentException se já existir uma métrica de outro tipo com o mesmo nome
+     *                                  e rótulos, ou se os rótulos não forem pares.
+     */
+    public static Counter counter(String name, String... labels) {
+        String formatted = formatLabels(labels);
+        return register(name, formatted, Counter.class, () -> new Counter(name, formatted));
+    }
+
+    /**
+     * Obtém ou cria um timer.
+     *
+     * @see #counter(String, String...)
+     */
+    public static Timer timer(String name, String... labels) {
+        String formatted = formatLabels(labels);
+        return register(name, formatted, Timer.class, () -> new Timer(name, formatted));
+    }
+
+    /**
+     * Registra um gauge, substituindo o anterior com o mesmo nome e rótulos.
+     *
+     * @param supplier Função lida a cada coleta; não deve bloquear.
+     */
+    public static Gauge gauge(String name, LongSupplier supplier, String... labels) {
+        Gauge gauge = new Gauge(name, formatLabels(labels), supplier);
+        REGISTRY.put(gauge.getId(), gauge);
+        return gauge;
+    }
+
+    /**
+     * Remove uma métrica, por exemplo o gauge de um componente que foi encerrado.
+     *
+     * @param metric Métrica a remover; nada acontece se ela já tiver sido substituída.
+     */
+    public static void unregister(Metric metric) {
+        REGISTRY.remove(metric.getId(), metric);
+    }
+
+    /**
+     * @return Cópia dos valores atuais de todas as métricas registradas.
+     */
+    public static MetricsSnapshot snapshot() {
+        List<Metric> metrics = new ArrayList<>(REGISTRY.values());
+        return new MetricsSnapshot(metrics);
+    }
+
+    /**
+     * Zera contadores e timers, mantendo-os registrados.
+     */
+    public static void reset() {
+        for (Metric metric : REGISTRY.values()) {
+            metric.reset();
+        }
+    }
+
+    private static <M extends Metric> M register(String name, String labels, Class<M> type,
+                                                 Supplier<M> factory) {
+        String id = labels.isEmpty() ? name : name + '{' + labels + '}';
+        Metric metric = REGISTRY.computeIfAbsent(id, key -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("A métrica " + id + " já existe com outro tipo.");
+        }
+        return type.cast(metric);
+    }
+
+    private static String formatLabels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Os rótulos devem ser pares de chave e valor.");
+        }
+        StringBuilder formatted = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                formatted.append(',');
+            }
+            formatted.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return formatted.toString();
+    }
+}
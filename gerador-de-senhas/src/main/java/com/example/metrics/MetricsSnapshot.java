@@ -0,0 +1,105 @@
+package com.example.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Valores de todas as métricas em um instante, indexados pelo identificador
+ * ({@code nome{rótulos}}) e ordenados por ele.
+ */
+public class MetricsSnapshot {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Map<String, Long> counters = new TreeMap<>();
+    private final Map<String, Long> gauges = new TreeMap<>();
+    private final Map<String, HistogramSnapshot> timers = new TreeMap<>();
+    private final Map<String, Metric> metrics = new TreeMap<>();
+
+    MetricsSnapshot(List<Metric> registered) {
+        for (Metric metric : registered) {
+            String id = metric.getId();
+            metrics.put(id, metric);
+            if (metric instanceof Counter) {
+                counters.put(id, ((Counter) metric).get());
+            } else if (metric instanceof Gauge) {
+                gauges.put(id, ((Gauge) metric).get());
+            } else if (metric instanceof Timer) {
+                timers.put(id, ((Timer) metric).snapshot());
+            }
+        }
+    }
+
+    public Map<String, Long> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    public Map<String, Long> getGauges() {
+        return Collections.unmodifiableMap(gauges);
+    }
+
+    /**
+     * @return Histogramas dos timers, em nanossegundos.
+     */
+    public Map<String, HistogramSnapshot> getTimers() {
+        return Collections.unmodifiableMap(timers);
+    }
+
+    /**
+     * Exporta os valores no formato de texto do Prometheus (versão 0.0.4). Os timers viram
+     * resumos em segundos, com o sufixo {@code _seconds}, quantis, soma e contagem.
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        String lastType = null;
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            Metric metric = metrics.get(entry.getKey());
+            lastType = typeLine(out, lastType, metric.getName(), "counter");
+            out.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : gauges.entrySet()) {
+            Metric metric = metrics.get(entry.getKey());
+            lastType = typeLine(out, lastType, metric.getName(), "gauge");
+            out.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, HistogramSnapshot> entry : timers.entrySet()) {
+            Metric metric = metrics.get(entry.getKey());
+            String name = metric.getName() + "_seconds";
+            String labels = metric.getLabels();
+            HistogramSnapshot histogram = entry.getValue();
+            lastType = typeLine(out, lastType, name, "summary");
+            for (double quantile : QUANTILES) {
+                out.append(name).append('{').append(labels).append(labels.isEmpty() ? "" : ",")
+                        .append("quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(histogram.getPercentile(quantile * 100))).append('\n');
+            }
+            String suffix = labels.isEmpty() ? "" : '{' + labels + '}';
+            out.append(name).append("_sum").append(suffix).append(' ').append(seconds(histogram.getSum())).append('\n');
+            out.append(name).append("_count").append(suffix).append(' ').append(histogram.getCount()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String typeLine(StringBuilder out, String lastType, String name, String type) {
+        if (!name.equals(lastType)) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+        return name;
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "counters=" + counters +
+                ", gauges=" + gauges +
+                ", timers=" + timers +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.metrics;
+
+/**
+ * Tempo de uma operação, em nanossegundos, guardado em um {@link Histogram}.
+ *
+ * Uso: {@code long start = Metrics.start(); ...; timer.recordSince(start);}. Com as métricas
+ * desativadas, {@link Metrics#start()} não lê o relógio e {@link #recordSince} não faz nada.
+ */
+public class Timer extends Metric {
+
+    private final Histogram histogram = new Histogram();
+
+    Timer(String name, String labels) {
+        super(name, labels);
+    }
+
+    /**
+     * Registra o tempo decorrido desde {@code start}, obtido de {@link Metrics#start()}.
+     */
+    public void recordSince(long start) {
+        if (start != Metrics.NOT_STARTED) {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Registra uma duração medida por quem chama.
+     */
+    public void record(long nanos) {
+        if (Metrics.isEnabled()) {
+            histogram.record(nanos);
+        }
+    }
+
+    public HistogramSnapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    @Override
+    void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.migration;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Relatório do andamento da migração de hashes.
+ *
+ * Informa, para cada valor da coluna {@code algoritmo}, quantos cadastros ainda precisam ser
+ * rehasheados para atingir o algoritmo e o custo atuais, e quantos têm um hash que não pôde ser
+ * interpretado.
+ */
+public final class MigrationReport {
+
+    private final long totalUsuarios;
+    private final Map<String, Long> pendentesPorAlgoritmo;
+    private final long malformados;
+
+    MigrationReport(long totalUsuarios, Map<String, Long> pendentesPorAlgoritmo, long malformados) {
+        this.totalUsuarios = totalUsuarios;
+        this.pendentesPorAlgoritmo = Collections.unmodifiableMap(new TreeMap<>(pendentesPorAlgoritmo));
+        this.malformados = malformados;
+    }
+
+    /**
+     * @return Quantidade total de cadastros na tabela.
+     */
+    public long getTotalUsuarios() {
+        return totalUsuarios;
+    }
+
+    /**
+     * @return Quantidade de cadastros pendentes por valor da coluna {@code algoritmo}.
+     */
+    public Map<String, Long> getPendentesPorAlgoritmo() {
+        return pendentesPorAlgoritmo;
+    }
+
+    /**
+     * @return Quantidade total de cadastros pendentes.
+     */
+    public long getTotalPendentes() {
+        return pendentesPorAlgoritmo.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return Quantidade de cadastros com hash ou algoritmo em formato desconhecido, que não entram
+     *         nos pendentes.
+     */
+    public long getMalformados() {
+        return malformados;
+    }
+
+    @Override
+    public String toString() {
+        return "MigrationReport{" +
+                "totalUsuarios=" + totalUsuarios +
+                ", pendentes=" + getTotalPendentes() +
+                ", pendentesPorAlgoritmo=" + pendentesPorAlgoritmo +
+                ", malformados=" + malformados +
+                '}';
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.migration;
+
+import com.example.database.AtualizacaoHash;
+import com.example.database.DatabaseManager;
+import com.example.database.Usuario;
+import com.example.database.WriteBehindQueue;
+import com.example.generator.hashing.EncodedHash;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashCost;
+import com.example.generator.hashing.HashingUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Migração gradual de hashes antigos, feita no momento do login.
+ *
+ * Cadastros com algoritmo diferente do alvo (por exemplo, {@code SHA256}) ou com custo abaixo do
+ * configurado em {@link HashingUtils#getCost()} não podem ser atualizados sem a senha em texto
+ * plano. Quando um login é verificado com sucesso, a senha informada é rehasheada em segundo
+ * plano e o novo hash é gravado em lote por uma {@link WriteBehindQueue}, espalhando o custo da
+ * migração pelo tráfego normal em vez de exigir uma passada completa sobre a base. A fila de
+ * rehash é limitada; quando ela está cheia o rehash é descartado e refeito no próximo login.
+ */
+public class RehashMigrator implements AutoCloseable {
+
+    private static final String LEGACY_GENERATOR_COLUMN = "PBKDF2WithHmacSHA256";
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final int QUEUE_PER_THREAD = 64;
+
+    private final DatabaseManager db;
+    private final HashAlgorithm target;
+    private final ThreadPoolExecutor rehashExecutor;
+    private final WriteBehindQueue<AtualizacaoHash> updater;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rehashesScheduled = new LongAdder();
+    private final LongAdder rehashesFailed = new LongAdder();
+    private final LongAdder rehashesSkipped = new LongAdder();
+
+    /**
+     * Cria um migrador com uma thread de rehash e lotes de até 200 atualizações ou 1 segundo.
+     *
+     * @param db     Gerenciador do banco de dados.
+     * @param target Algoritmo para o qual os cadastros devem ser migrados.
+     */
+    public RehashMigrator(DatabaseManager db, HashAlgorithm target) {
+        this(db, target, 1, 200, 1_000);
+    }
+
+    /**
+     * Cria um migrador com limites configuráveis.
+     *
+     * @param db             Gerenciador do banco de dados.
+     * @param target         Algoritmo para o qual os cadastros devem ser migrados.
+     * @param rehashThreads  Quantidade de threads de rehash em segundo plano.
+     * @param maxBatchSize   Quantidade máxima de atualizações por lote.
+     * @param maxDelayMillis Tempo máximo, em milissegundos, que uma atualização espera pelo lote.
+     */
+    public RehashMigrator(DatabaseManager db, HashAlgorithm target, int rehashThreads, int maxBatchSize, long maxDelayMillis) {
+        this(db, target, rehashThreads, rehashThreads * QUEUE_PER_THREAD, maxBatchSize, maxDelayMillis);
+    }
+
+    /**
+     * Cria um migrador com limites configuráveis, inclusive o da fila de rehash.
+     *
+     * Cada rehash na fila guarda a senha em texto plano até rodar, então a fila é limitada: com
+     * ela cheia, o rehash é ignorado e contado em {@link #getRehashesSkipped()}, e o cadastro
+     * continua pendente até o próximo login.
+     *
+     * @param db             Gerenciador do banco de dados.
+     * @param target         Algoritmo para o qual os cadastros devem ser migrados.
+     * @param rehashThreads  Quantidade de threads de rehash em segundo plano.
+     * @param queueCapacity  Quantidade máxima de rehashes esperando uma thread.
+     * @param maxBatchSize   Quantidade máxima de atualizações por lote.
+     * @param maxDelayMillis Tempo máximo, em milissegundos, que uma atualização espera pelo lote.
+     */
+    public RehashMigrator(DatabaseManager db, HashAlgorithm target, int rehashThreads, int queueCapacity,
+                          int maxBatchSize, long maxDelayMillis) {
+        this.db = db;
+        this.target = target;
+        this.rehashExecutor = new ThreadPoolExecutor(rehashThreads, rehashThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "rehash-" + THREAD_COUNTER.incrementAndGet());
+                    thread.setDaemon(true);
+                    // O rehash não deve competir com os logins em andamento.
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.updater = new WriteBehindQueue<>("rehash-writer", db::atualizarHashes,
+                maxBatchSize * 10, maxBatchSize, maxDelayMillis);
+    }
+
+    /**
+     * Autentica um usuário e, se o hash armazenado estiver desatualizado, agenda o rehash.
+     *
+     * @param usuario  Nome do usuário.
+     * @param password Senha em texto plano informada no login.
+     * @return true se o usuário existir e a senha for válida.
+     */
+    public boolean login(String usuario, String password) {
+        Usuario cadastro = db.buscarUsuario(usuario);
+        return cadastro != null && verify(cadastro, password);
+    }
+
+    /**
+     * Verifica a senha de um cadastro já carregado e, se válida e desatualizada, agenda o rehash.
+     *
+     * @param cadastro Cadastro lido do banco de dados.
+     * @param password Senha em texto plano informada no login.
+     * @return true se a senha for válida.
+     */
+    public boolean verify(Usuario cadastro, String password) {
+        HashAlgorithm algorithm = HashAlgorithm.fromColumn(cadastro.getAlgoritmo());
+        String storedHash = normalize(cadastro);
+        boolean valid = HashingUtils.verifyPassword(password, storedHash, algorithm);
+        if (valid && needsRehash(cadastro) && pending.add(cadastro.getUsuario())) {
+            scheduleRehash(cadastro, password);
+        }
+        return valid;
+    }
+
+    /**
+     * Indica se um cadastro está abaixo do algoritmo ou do custo atuais.
+     *
+     * @param cadastro Cadastro lido do banco de dados.
+     * @return true se o cadastro deve ser rehasheado.
+     * @throws IllegalArgumentException se o hash ou o algoritmo gravados não forem reconhecidos.
+     */
+    public boolean needsRehash(Usuario cadastro) {
+        HashAlgorithm algorithm = HashAlgorithm.fromColumn(cadastro.getAlgoritmo());
+        if (algorithm != target || !algorithm.name().equals(cadastro.getAlgoritmo())) {
+            return true;
+        }
+        HashCost cost = HashingUtils.getCost();
+        EncodedHash parsed = EncodedHash.parse(cadastro.getSenhaHash(), algorithm);
+        switch (algorithm) {
+            case PBKDF2:
+                return parsed.isLegacy() || parsed.getCost() < cost.getPbkdf2Iterations();
+            case BCRYPT:
+                return parsed.getCost() < cost.getBcryptLogRounds();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Percorre a tabela e conta os cadastros que ainda precisam de rehash, por algoritmo. Cadastros
+     * com hash ou algoritmo em formato desconhecido são contados à parte, sem interromper a contagem.
+     *
+     * @return Relatório da migração.
+     */
+    public MigrationReport report() {
+        Map<String, Long> pendentes = new HashMap<>();
+        long[] total = new long[1];
+        long[] malformados = new long[1];
+        db.percorrerUsuarios(cadastro -> {
+            total[0]++;
+            try {
+                if (needsRehash(cadastro)) {
+                    pendentes.merge(cadastro.getAlgoritmo(), 1L, Long::sum);
+                }
+            } catch (IllegalArgumentException e) {
+                malformados[0]++;
+            }
+        });
+        return new MigrationReport(total[0], pendentes, malformados[0]);
+    }
+
+    /**
+     * @return Quantidade de rehashes agendados.
+     */
+    public long getRehashesScheduled() {
+        return rehashesScheduled.sum();
+    }
+
+    /**
+     * @return Quantidade de atualizações gravadas no banco.
+     */
+    public long getRehashesWritten() {
+        return updater.getItemsWritten();
+    }
+
+    /**
+     * @return Quantidade de rehashes que falharam ao gerar ou gravar o novo hash.
+     */
+    public long getRehashesFailed() {
+        return rehashesFailed.sum();
+    }
+
+    /**
+     * @return Quantidade de rehashes ignorados porque a fila estava cheia ou o migrador fechado;
+     *         os cadastros continuam pendentes.
+     */
+    public long getRehashesSkipped() {
+        return rehashesSkipped.sum();
+    }
+
+    /**
+     * Conclui os rehashes em andamento e grava as atualizações pendentes.
+     */
+    @Override
+    public void close() {
+        rehashExecutor.shutdown();
+        try {
+            if (!rehashExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                rehashExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            rehashExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        updater.close();
+    }
+
+    private void scheduleRehash(Usuario cadastro, String password) {
+        try {
+            rehashExecutor.execute(() -> {
+                try {
+                    String newHash = HashingUtils.hashPassword(password, target);
+                    updater.submit(new AtualizacaoHash(cadastro.getUsuario(), cadastro.getSenhaHash(), newHash, target.name()))
+                            .whenComplete((ignored, error) -> finish(cadastro, error));
+                } catch (RuntimeException e) {
+                    finish(cadastro, e);
+                }
+            });
+            rehashesScheduled.increment();
+        } catch (RejectedExecutionException e) {
+            // Fila cheia ou migrador fechado: a migração é preguiçosa e volta no próximo login
+            rehashesSkipped.increment();
+            pending.remove(cadastro.getUsuario());
+        }
+    }
+
+    private void finish(Usuario cadastro, Throwable error) {
+        if (error != null) {
+            rehashesFailed.increment();
+        }
+        pending.remove(cadastro.getUsuario());
+    }
+
+    /**
+     * Converte hashes legados do gerador antigo, gravados com 65.536 iterações sem registrar o
+     * custo, para o formato versionado antes da verificação.
+     */
+    private static String normalize(Usuario cadastro) {
+        if (LEGACY_GENERATOR_COLUMN.equals(cadastro.getAlgoritmo())) {
+            return EncodedHash.upgradeLegacyPbkdf2(cadastro.getSenhaHash(), HashCost.LEGACY_GENERATOR_ITERATIONS);
+        }
+        return cadastro.getSenhaHash();
+    }
+}
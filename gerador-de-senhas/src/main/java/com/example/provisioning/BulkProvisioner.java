@@ -0,0 +1,428 @@
+package com.example.provisioning;
+
+import com.example.database.DatabaseManager;
+import com.example.database.Usuario;
+import com.example.generator.PasswordGenerator;
+import com.example.generator.hashing.BatchHasher;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Carga em lote de usuários a partir de um arquivo CSV ou JSONL, como as exportações do RH.
+ *
+ * A entrada é lida em blocos de {@link #DEFAULT_CHUNK_SIZE} linhas: para cada usuário do bloco
+ * uma senha é gerada, os hashes são calculados em paralelo por um {@link BatchHasher}, as
+ * credenciais vão para o arquivo de saída e os cadastros são gravados no banco em lote. Apenas um
+ * bloco fica em memória por vez, portanto o consumo de memória não depende do tamanho do arquivo.
+ *
+ * Linhas inválidas não interrompem a carga: vão para {@code <saída>.errors.csv} com o número da
+ * linha e o motivo. Depois de cada bloco um checkpoint ({@code <saída>.checkpoint}) registra até
+ * onde a entrada foi processada; chamar {@link #provision} de novo com os mesmos arquivos retoma a
+ * carga a partir dele, truncando o que foi escrito depois do último checkpoint. Os cadastros de um
+ * bloco são registrados em {@code <saída>.pending} antes de irem ao banco, para que uma falha no
+ * meio da gravação seja completada na retomada sem duplicar nem perder cadastros.
+ *
+ * O arquivo de saída contém senhas em texto plano e é criado com permissão apenas para o dono,
+ * quando o sistema de arquivos suporta permissões POSIX.
+ */
+public class BulkProvisioner implements AutoCloseable {
+
+    /** Quantidade padrão de linhas por bloco. */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+    /** Extensão do arquivo de erros criado ao lado da saída. */
+    public static final String ERRORS_SUFFIX = ".errors.csv";
+    /** Extensão do arquivo de checkpoint criado ao lado da saída. */
+    public static final String CHECKPOINT_SUFFIX = ".checkpoint";
+    /** Extensão do registro dos cadastros do bloco em gravação no banco. */
+    public static final String PENDING_SUFFIX = ".pending";
+
+    private static final String ERRORS_HEADER = "linha,erro,entrada";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final PasswordGenerator generator;
+    private final HashAlgorithm algorithm;
+    private final DatabaseManager db;
+    private final BatchHasher hasher;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private String usernameField;
+    private Consumer<ProvisioningReport> progressListener = report -> { };
+
+    /**
+     * Cria uma carga com uma thread de hashing por processador.
+     *
+     * @param generator Gerador das senhas.
+     * @param algorithm Algoritmo de hashing.
+     * @param db        Banco onde os cadastros são gravados, ou {@code null} para gerar apenas o
+     *                  arquivo de saída.
+     */
+    public BulkProvisioner(PasswordGenerator generator, HashAlgorithm algorithm, DatabaseManager db) {
+        this(generator, algorithm, db, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Cria uma carga com a quantidade informada de threads de hashing.
+     *
+     * @param generator   Gerador das senhas.
+     * @param algorithm   Algoritmo de hashing.
+     * @param db          Banco onde os cadastros são gravados, ou {@code null}.
+     * @param hashThreads Quantidade de threads de hashing.
+     */
+    public BulkProvisioner(PasswordGenerator generator, HashAlgorithm algorithm, DatabaseManager db, int hashThreads) {
+        this.generator = Objects.requireNonNull(generator, "O gerador é obrigatório.");
+        this.algorithm = Objects.requireNonNull(algorithm, "O algoritmo de hash é obrigatório.");
+        this.db = db;
+        this.hasher = new BatchHasher(hashThreads);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Define quantas linhas são processadas entre dois checkpoints.
+     *
+     * @param chunkSize Linhas por bloco.
+     * @throws IllegalArgumentException se o valor for menor que um.
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("O tamanho do bloco deve ser maior que zero.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public String getUsernameField() {
+        return usernameField;
+    }
+
+    /**
+     * Define a coluna do CSV ou o campo do JSONL com o nome do usuário.
+     *
+     * @param usernameField Nome da coluna ou campo; {@code null} aceita {@code usuario},
+     *                      {@code username}, {@code user} e {@code login}.
+     */
+    public void setUsernameField(String usernameField) {
+        this.usernameField = usernameField;
+    }
+
+    /**
+     * Define quem recebe o andamento da carga, ao fim de cada bloco.
+     *
+     * @param progressListener Consumidor chamado na thread da carga.
+     */
+    public void setProgressListener(Consumer<ProvisioningReport> progressListener) {
+        this.progressListener = Objects.requireNonNull(progressListener);
+    }
+
+    /**
+     * @param output Arquivo de saída.
+     * @return Caminho do arquivo de erros correspondente.
+     */
+    public static Path errorsPath(Path output) {
+        return output.resolveSibling(output.getFileName() + ERRORS_SUFFIX);
+    }
+
+    /**
+     * @param output Arquivo de saída.
+     * @return Caminho do checkpoint correspondente.
+     */
+    public static Path checkpointPath(Path output) {
+        return output.resolveSibling(output.getFileName() + CHECKPOINT_SUFFIX);
+    }
+
+    /**
+     * Processa o arquivo de entrada, começando do início ou retomando do checkpoint.
+     *
+     * @param input  Arquivo CSV ou JSONL com os usuários.
+     * @param output Arquivo de saída com as credenciais geradas, no mesmo formato da entrada.
+     * @return Resultado da carga.
+     * @throws IllegalStateException    se a saída já existir sem checkpoint ou se a entrada tiver
+     *                                  mudado desde o checkpoint.
+     * @throws IllegalArgumentException se o cabeçalho do CSV não tiver a coluna do usuário.
+     * @throws UncheckedIOException     se houver falha ao ler ou gravar os arquivos.
+     * @throws RuntimeException         se a gravação no banco falhar; o bloco é completado na retomada.
+     */
+    public ProvisioningReport provision(Path input, Path output) {
+        long start = System.nanoTime();
+        RecordFormat format = RecordFormat.of(input);
+        Path checkpointPath = checkpointPath(output);
+        Path pendingPath = output.resolveSibling(output.getFileName() + PENDING_SUFFIX);
+        try {
+            ProvisioningCheckpoint checkpoint = ProvisioningCheckpoint.load(checkpointPath);
+            if (checkpoint == null) {
+                if (Files.exists(output)) {
+                    throw new IllegalStateException("O arquivo de saída já existe e não há checkpoint para retomar: " + output);
+                }
+                checkpoint = ProvisioningCheckpoint.start(checkpointPath, input);
+                // Gravado antes de criar a saída, para que uma falha no primeiro bloco possa ser retomada
+                checkpoint.store();
+            } else if (!checkpoint.matches(input)) {
+                throw new IllegalStateException("O arquivo de entrada mudou desde o checkpoint " + checkpointPath);
+            } else if (checkpoint.isCompleted()) {
+                return report(checkpoint, checkpoint.getLines(), start);
+            }
+            recoverPending(checkpoint, pendingPath);
+
+            try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+                 OutputFile credentials = OutputFile.open(output, checkpoint.getOutputSize());
+                 OutputFile errors = OutputFile.open(errorsPath(output), checkpoint.getErrorsSize())) {
+                return process(format, reader, credentials, errors, checkpoint, pendingPath, start);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro na carga em lote de " + input + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ProvisioningReport process(RecordFormat format, BufferedReader reader, OutputFile credentials, OutputFile errors,
+                                       ProvisioningCheckpoint checkpoint, Path pendingPath, long start) throws IOException {
+        long resumedAt = checkpoint.getLines();
+        long line = 0;
+        int column = -1;
+        if (format.hasHeader()) {
+            String header = reader.readLine();
+            if (header != null) {
+                line++;
+                column = format.column(stripByteOrderMark(header), usernameField);
+            }
+            if (credentials.size() == 0) {
+                credentials.writeLine(format.header());
+            }
+        }
+        if (errors.size() == 0) {
+            errors.writeLine(ERRORS_HEADER);
+        }
+        while (line < resumedAt) {
+            if (reader.readLine() == null) {
+                throw new IllegalStateException("O checkpoint aponta para além do fim da entrada.");
+            }
+            line++;
+        }
+
+        long provisioned = checkpoint.getProvisioned();
+        long failed = checkpoint.getFailed();
+        String[] users = new String[chunkSize];
+        String[] passwords = new String[chunkSize];
+        String[] originals = new String[chunkSize];
+        long[] lineNumbers = new long[chunkSize];
+        boolean endOfInput = false;
+
+        while (!endOfInput) {
+            int size = 0;
+            while (size < chunkSize) {
+                String text = reader.readLine();
+                if (text == null) {
+                    endOfInput = true;
+                    break;
+                }
+                line++;
+                if (line == 1) {
+                    text = stripByteOrderMark(text);
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    String usuario = format.username(text, column, usernameField);
+                    if (usuario.isEmpty()) {
+                        throw new IllegalArgumentException("O usuário está vazio.");
+                    }
+                    passwords[size] = generator.generate();
+                    users[size] = usuario;
+                    originals[size] = text;
+                    lineNumbers[size] = line;
+                    size++;
+                } catch (RuntimeException e) {
+                    errors.writeLine(errorLine(line, e, text));
+                    failed++;
+                }
+            }
+
+            List<Usuario> rows = new ArrayList<>(size);
+            if (size > 0) {
+                List<HashResult> results = hasher.hashAll(Arrays.asList(passwords).subList(0, size), algorithm);
+                for (int i = 0; i < size; i++) {
+                    HashResult result = results.get(i);
+                    if (result.isSuccess()) {
+                        credentials.writeLine(format.credential(users[i], passwords[i]));
+                        rows.add(new Usuario(users[i], result.getHash(), algorithm.name()));
+                        provisioned++;
+                    } else {
+                        errors.writeLine(errorLine(lineNumbers[i], result.getError(), originals[i]));
+                        failed++;
+                    }
+                }
+                Arrays.fill(passwords, 0, size, null);
+                Arrays.fill(users, 0, size, null);
+                Arrays.fill(originals, 0, size, null);
+            }
+            credentials.sync();
+            errors.sync();
+
+            boolean pending = db != null && !rows.isEmpty();
+            if (pending) {
+                writePending(pendingPath, rows);
+            }
+            checkpoint.advance(line, credentials.size(), errors.size(), provisioned, failed, pending);
+            checkpoint.store();
+            if (pending) {
+                db.salvarUsuarios(rows);
+                Files.delete(pendingPath);
+                checkpoint.setPending(false);
+                checkpoint.store();
+            }
+            progressListener.accept(report(checkpoint, resumedAt, start));
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.store();
+        return report(checkpoint, resumedAt, start);
+    }
+
+    /**
+     * Completa a gravação de um bloco interrompida na execução anterior: grava no banco apenas
+     * os cadastros do registro pendente que ainda não estão lá.
+     */
+    private void recoverPending(ProvisioningCheckpoint checkpoint, Path pendingPath) throws IOException {
+        if (!checkpoint.isPending()) {
+            // Registro de um bloco cujo checkpoint não chegou a ser gravado: o bloco será refeito.
+            Files.deleteIfExists(pendingPath);
+            return;
+        }
+        if (db == null) {
+            throw new IllegalStateException("O checkpoint tem cadastros pendentes de gravação no banco, "
+                    + "mas nenhum banco foi informado.");
+        }
+        if (!Files.isRegularFile(pendingPath)) {
+            throw new IllegalStateException("O registro de cadastros pendentes não foi encontrado: " + pendingPath);
+        }
+        List<Usuario> missing = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(pendingPath)))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Usuario usuario = new Usuario(in.readUTF(), in.readUTF(), in.readUTF());
+                if (!db.existeCadastro(usuario.getUsuario(), usuario.getSenhaHash())) {
+                    missing.add(usuario);
+                }
+            }
+        }
+        db.salvarUsuarios(missing);
+        Files.delete(pendingPath);
+        checkpoint.setPending(false);
+        checkpoint.store();
+    }
+
+    private static void writePending(Path pendingPath, List<Usuario> rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(pendingPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            out.writeInt(rows.size());
+            for (Usuario row : rows) {
+                out.writeUTF(row.getUsuario());
+                out.writeUTF(row.getSenhaHash());
+                out.writeUTF(row.getAlgoritmo());
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+
+    private static String errorLine(long line, RuntimeException error, String text) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        return line + "," + RecordFormat.escapeCsv(message) + "," + RecordFormat.escapeCsv(text);
+    }
+
+    private static String stripByteOrderMark(String text) {
+        return !text.isEmpty() && text.charAt(0) == BYTE_ORDER_MARK ? text.substring(1) : text;
+    }
+
+    private static ProvisioningReport report(ProvisioningCheckpoint checkpoint, long resumedAt, long start) {
+        return new ProvisioningReport(checkpoint.getLines(), checkpoint.getProvisioned(), checkpoint.getFailed(),
+                resumedAt, System.nanoTime() - start, checkpoint.isCompleted());
+    }
+
+    /**
+     * Encerra o pool de hashing.
+     */
+    @Override
+    public void close() {
+        hasher.close();
+    }
+
+    /**
+     * Arquivo de saída escrito em UTF-8 sobre um {@link FileChannel}, o que permite truncá-lo no
+     * tamanho do checkpoint e sincronizá-lo com o disco ao fim de cada bloco.
+     */
+    private static final class OutputFile implements Closeable {
+        private final FileChannel channel;
+        private final BufferedWriter writer;
+
+        private OutputFile(FileChannel channel) {
+            this.channel = channel;
+            this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16);
+        }
+
+        /**
+         * Abre o arquivo, criando-o apenas para o dono se não existir, e descarta o que houver
+         * depois do tamanho informado.
+         */
+        static OutputFile open(Path path, long size) throws IOException {
+            if (!Files.exists(path)) {
+                if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                    Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+                } else {
+                    Files.createFile(path);
+                }
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+            if (channel.size() < size) {
+                channel.close();
+                throw new IllegalStateException("O arquivo " + path + " é menor que o registrado no checkpoint.");
+            }
+            channel.truncate(size);
+            channel.position(size);
+            return new OutputFile(channel);
+        }
+
+        void writeLine(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+        }
+
+        long size() throws IOException {
+            writer.flush();
+            return channel.position();
+        }
+
+        void sync() throws IOException {
+            writer.flush();
+            channel.force(false);
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.provisioning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * Estado de uma carga do {@link BulkProvisioner}, gravado depois de cada bloco de linhas.
+ *
+ * Guarda quantas linhas da entrada já foram processadas e o tamanho dos arquivos de saída e de
+ * erros naquele momento; ao retomar, os arquivos são truncados nesses tamanhos e as linhas já
+ * processadas são puladas. O arquivo é gravado em um temporário e trocado atomicamente, de modo
+ * que uma interrupção nunca deixa um checkpoint pela metade.
+ */
+final class ProvisioningCheckpoint {
+
+    private final Path path;
+    private long inputSize;
+    private long inputModified;
+    private long lines;
+    private long outputSize;
+    private long errorsSize;
+    private long provisioned;
+    private long failed;
+    private boolean pending;
+    private boolean completed;
+
+    private ProvisioningCheckpoint(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Cria o checkpoint de uma carga nova.
+     */
+    static ProvisioningCheckpoint start(Path path, Path input) throws IOException {
+        ProvisioningCheckpoint checkpoint = new ProvisioningCheckpoint(path);
+        checkpoint.inputSize = Files.size(input);
+        checkpoint.inputModified = Files.getLastModifiedTime(input).toMillis();
+        return checkpoint;
+    }
+
+    /**
+     * @return O checkpoint gravado, ou {@code null} se ele não existir.
+     */
+    static ProvisioningCheckpoint load(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        ProvisioningCheckpoint checkpoint = new ProvisioningCheckpoint(path);
+        try {
+            checkpoint.inputSize = Long.parseLong(properties.getProperty("input.size"));
+            checkpoint.inputModified = Long.parseLong(properties.getProperty("input.modified"));
+            checkpoint.lines = Long.parseLong(properties.getProperty("lines"));
+            checkpoint.outputSize = Long.parseLong(properties.getProperty("output.size"));
+            checkpoint.errorsSize = Long.parseLong(properties.getProperty("errors.size"));
+            checkpoint.provisioned = Long.parseLong(properties.getProperty("provisioned"));
+            checkpoint.failed = Long.parseLong(properties.getProperty("failed"));
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Checkpoint inválido: " + path, e);
+        }
+        checkpoint.pending = Boolean.parseBoolean(properties.getProperty("pending"));
+        checkpoint.completed = Boolean.parseBoolean(properties.getProperty("completed"));
+        return checkpoint;
+    }
+
+    /**
+     * @return true se o arquivo de entrada tiver o mesmo tamanho e data de modificação de quando
+     *         a carga começou.
+     */
+    boolean matches(Path input) throws IOException {
+        return Files.size(input) == inputSize && Files.getLastModifiedTime(input).toMillis() == inputModified;
+    }
+
+    /**
+     * Grava o checkpoint em disco, de forma atômica.
+     */
+    void store() {
+        Properties properties = new Properties();
+        properties.setProperty("input.size", Long.toString(inputSize));
+        properties.setProperty("input.modified", Long.toString(inputModified));
+        properties.setProperty("lines", Long.toString(lines));
+        properties.setProperty("output.size", Long.toString(outputSize));
+        properties.setProperty("errors.size", Long.toString(errorsSize));
+        properties.setProperty("provisioned", Long.toString(provisioned));
+        properties.setProperty("failed", Long.toString(failed));
+        properties.setProperty("pending", Boolean.toString(pending));
+        properties.setProperty("completed", Boolean.toString(completed));
+        try {
+            Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    properties.store(out, "Checkpoint da carga em lote");
+                }
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar o checkpoint " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Registra o fim de um bloco.
+     *
+     * @param lines      Linhas da entrada processadas até aqui, incluindo o cabeçalho.
+     * @param outputSize Tamanho do arquivo de saída.
+     * @param errorsSize Tamanho do arquivo de erros.
+     * @param pending    Se há cadastros do bloco ainda não confirmados no banco.
+     */
+    void advance(long lines, long outputSize, long errorsSize, long provisioned, long failed, boolean pending) {
+        this.lines = lines;
+        this.outputSize = outputSize;
+        this.errorsSize = errorsSize;
+        this.provisioned = provisioned;
+        this.failed = failed;
+        this.pending = pending;
+    }
+
+    long getLines() {
+        return lines;
+    }
+
+    long getOutputSize() {
+        return outputSize;
+    }
+
+    long getErrorsSize() {
+        return errorsSize;
+    }
+
+    long getProvisioned() {
+        return provisioned;
+    }
+
+    long getFailed() {
+        return failed;
+    }
+
+    boolean isPending() {
+        return pending;
+    }
+
+    void setPending(boolean pending) {
+        this.pending = pending;
+    }
+
+    boolean isCompleted() {
+        return completed;
+    }
+
+    void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.provisioning;
+
+import java.util.Locale;
+
+/**
+ * Andamento ou resultado de uma carga do {@link BulkProvisioner}.
+ *
+ * As contagens incluem as linhas processadas em execuções anteriores da mesma carga, retomadas
+ * a partir do checkpoint.
+ */
+public final class ProvisioningReport {
+
+    private final long linesRead;
+    private final long provisioned;
+    private final long failed;
+    private final long resumedAtLine;
+    private final long elapsedNanos;
+    private final boolean completed;
+
+    ProvisioningReport(long linesRead, long provisioned, long failed, long resumedAtLine, long elapsedNanos, boolean completed) {
+        this.linesRead = linesRead;
+        this.provisioned = provisioned;
+        this.failed = failed;
+        this.resumedAtLine = resumedAtLine;
+        this.elapsedNanos = elapsedNanos;
+        this.completed = completed;
+    }
+
+    /**
+     * @return Linhas da entrada processadas, incluindo o cabeçalho e as linhas vazias.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return Usuários com senha gerada e gravada.
+     */
+    public long getProvisioned() {
+        return provisioned;
+    }
+
+    /**
+     * @return Linhas enviadas ao arquivo de erros.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return Linha do checkpoint a partir da qual esta execução continuou, ou zero.
+     */
+    public long getResumedAtLine() {
+        return resumedAtLine;
+    }
+
+    /**
+     * @return Tempo desta execução, em milissegundos.
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * @return Linhas processadas por segundo nesta execução.
+     */
+    public double getLinesPerSecond() {
+        return elapsedNanos == 0 ? 0 : (linesRead - resumedAtLine) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return true se a entrada foi processada até o fim.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "ProvisioningReport{linhas=%d, cadastrados=%d, erros=%d, retomadoNaLinha=%d, "
+                        + "linhasPorSegundo=%.1f, concluido=%b}",
+                linesRead, provisioned, failed, resumedAtLine, getLinesPerSecond(), completed);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.provisioning;
+
+import com.example.json.Json;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formato dos arquivos de entrada e saída do {@link BulkProvisioner}, escolhido pela extensão
+ * do arquivo de entrada.
+ *
+ * Cada registro ocupa uma linha: o CSV deve ter um cabeçalho com a coluna do usuário, e cada
+ * linha do JSONL deve ser um objeto com o campo do usuário. Campos com quebras de linha não são
+ * aceitos, o que permite contar registros por linha para o checkpoint.
+ */
+enum RecordFormat {
+    CSV {
+        @Override
+        String header() {
+            return "usuario,senha";
+        }
+
+        @Override
+        int column(String header, String field) {
+            List<String> names = parseCsv(header);
+            for (int i = 0; i < names.size(); i++) {
+                if (matches(names.get(i), field)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("O cabeçalho do CSV não tem a coluna do usuário"
+                    + (field != null ? " '" + field + "'" : " (" + String.join(", ", DEFAULT_FIELDS) + ")") + ".");
+        }
+
+        @Override
+        String username(String line, int column, String field) {
+            List<String> values = parseCsv(line);
+            if (column >= values.size()) {
+                throw new IllegalArgumentException("A linha tem " + values.size() + " colunas.");
+            }
+            return values.get(column).trim();
+        }
+
+        @Override
+        String credential(String usuario, String senha) {
+            return escapeCsv(usuario) + ',' + escapeCsv(senha);
+        }
+    },
+    JSONL {
+        @Override
+        String header() {
+            return null;
+        }
+
+        @Override
+        int column(String header, String field) {
+            throw new UnsupportedOperationException("JSONL não tem cabeçalho.");
+        }
+
+        @Override
+        String username(String line, int column, String field) {
+            String value = Json.findString(line, name -> matches(name, field));
+            if (value == null) {
+                throw new IllegalArgumentException("O objeto JSON não tem o campo do usuário"
+                        + (field != null ? " '" + field + "'" : "") + ".");
+            }
+            return value.trim();
+        }
+
+        @Override
+        String credential(String usuario, String senha) {
+            return "{\"usuario\":" + Json.quote(usuario) + ",\"senha\":" + Json.quote(senha) + '}';
+        }
+    };
+
+    /** Nomes aceitos para a coluna ou o campo do usuário, se nenhum for configurado. */
+    static final String[] DEFAULT_FIELDS = {"usuario", "username", "user", "login"};
+
+    /**
+     * @param input Arquivo de entrada.
+     * @return {@link #JSONL} para as extensões {@code .jsonl}, {@code .ndjson} e {@code .json};
+     *         {@link #CSV} para as demais.
+     */
+    static RecordFormat of(Path input) {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json") ? JSONL : CSV;
+    }
+
+    /**
+     * @return Cabeçalho do arquivo de saída, ou {@code null} se o formato não tiver cabeçalho.
+     */
+    abstract String header();
+
+    /**
+     * Localiza a coluna do usuário no cabeçalho.
+     *
+     * @param header Primeira linha do arquivo.
+     * @param field  Nome configurado da coluna, ou {@code null} para os nomes padrão.
+     * @return Índice da coluna.
+     * @throws IllegalArgumentException se a coluna não existir.
+     */
+    abstract int column(String header, String field);
+
+    /**
+     * Extrai o usuário de uma linha.
+     *
+     * @throws IllegalArgumentException se a linha for inválida ou não tiver o usuário.
+     */
+    abstract String username(String line, int column, String field);
+
+    /**
+     * @return Linha do arquivo de saída com o usuário e a senha gerada.
+     */
+    abstract String credential(String usuario, String senha);
+
+    boolean hasHeader() {
+        return header() != null;
+    }
+
+    static boolean matches(String name, String field) {
+        String normalized = name.trim().toLowerCase(Locale.ROOT);
+        if (field != null) {
+            return normalized.equals(field.toLowerCase(Locale.ROOT));
+        }
+        for (String candidate : DEFAULT_FIELDS) {
+            if (normalized.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Separa uma linha CSV (RFC 4180) em campos, aceitando campos entre aspas com {@code ""}.
+     *
+     * @throws IllegalArgumentException se houver aspas sem fechamento.
+     */
+    static List<String> parseCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Aspas sem fechamento no CSV.");
+                    }
+                    char c = line.charAt(i++);
+                    if (c == '"') {
+                        if (i < line.length() && line.charAt(i) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',') {
+                    throw new IllegalArgumentException("Caractere inesperado após as aspas na coluna " + (fields.size() + 1) + ".");
+                }
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    field.append(line.charAt(i++));
+                }
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++; // vírgula
+        }
+    }
+
+    static String escapeCsv(String value) {
+        boolean quote = !value.isEmpty() && (value.charAt(0) == ' ' || value.charAt(value.length() - 1) == ' ');
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.registration;
+
+import com.example.database.DatabaseManager;
+import com.example.database.Usuario;
+import com.example.database.WriteBehindQueue;
+import com.example.generator.PasswordGenerator;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pipeline assíncrono de cadastro de usuários.
+ *
+ * A geração e o hashing da senha são feitos em um pool dedicado; o registro pronto vai para uma
+ * {@link WriteBehindQueue}, que grava os cadastros em lotes no banco de dados. Quem chama recebe
+ * um {@link CompletableFuture} por usuário, concluído somente depois que o registro foi gravado,
+ * de modo que a latência da requisição não inclui uma ida ao banco por usuário.
+ */
+public class RegistrationPipeline implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final PasswordGenerator generator;
+    private final HashAlgorithm algorithm;
+    private final ExecutorService hashExecutor;
+    private final WriteBehindQueue<Usuario> writer;
+    private volatile boolean closed;
+
+    /**
+     * Cria um pipeline com uma thread de hashing por processador, fila de 10.000 registros e
+     * lotes de até 500 registros ou 50 ms.
+     *
+     * @param generator Gerador das senhas.
+     * @param algorithm Algoritmo de hashing.
+     * @param db        Gerenciador do banco de dados.
+     */
+    public RegistrationPipeline(PasswordGenerator generator, HashAlgorithm algorithm, DatabaseManager db) {
+        this(generator, algorithm, db, Runtime.getRuntime().availableProcessors(), 10_000, 500, 50);
+    }
+
+    /**
+     * Cria um pipeline com todos os limites configuráveis.
+     *
+     * @param generator      Gerador das senhas.
+     * @param algorithm      Algoritmo de hashing.
+     * @param db             Gerenciador do banco de dados.
+     * @param hashThreads    Quantidade de threads de geração e hashing.
+     * @param queueCapacity  Capacidade da fila de registros aguardando gravação.
+     * @param maxBatchSize   Quantidade máxima de registros por lote gravado.
+     * @param maxDelayMillis Tempo máximo, em milissegundos, que um registro espera pelo lote.
+     */
+    public RegistrationPipeline(PasswordGenerator generator, HashAlgorithm algorithm, DatabaseManager db,
+                                int hashThreads, int queueCapacity, int maxBatchSize, long maxDelayMillis) {
+        this.generator = generator;
+        this.algorithm = algorithm;
+        this.hashExecutor = Executors.newFixedThreadPool(hashThreads, runnable -> {
+            Thread thread = new Thread(runnable, "registration-hash-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer = new WriteBehindQueue<>("registration-writer", db::salvarUsuarios,
+                queueCapacity, maxBatchSize, maxDelayMillis);
+    }
+
+    /**
+     * Gera a senha de um usuário, calcula o hash e agenda a gravação do cadastro.
+     *
+     * @param usuario Nome do usuário.
+     * @return Future concluído com o resultado após a gravação, ou com a exceção que a impediu.
+     */
+    public CompletableFuture<RegistrationResult> register(String usuario) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("O pipeline de cadastro está encerrado."));
+        }
+        CompletableFuture<RegistrationResult> hashed;
+        try {
+            hashed = CompletableFuture.supplyAsync(() -> {
+                String password = generator.generate();
+                String hash = HashingUtils.hashPassword(password, algorithm);
+                return new RegistrationResult(usuario, password, hash, algorithm);
+            }, hashExecutor);
+        } catch (RejectedExecutionException e) {
+            // close() foi chamado entre a verificação acima e o agendamento
+            return CompletableFuture.failedFuture(new IllegalStateException("O pipeline de cadastro está encerrado.", e));
+        }
+        return hashed
+                .thenCompose(result -> writer
+                        .submit(new Usuario(usuario, result.getSenhaHash(), algorithm.name()))
+                        .thenApply(ignored -> result));
+    }
+
+    /**
+     * @return Quantidade de registros aguardando gravação.
+     */
+    public int getQueueDepth() {
+        return writer.getQueueDepth();
+    }
+
+    /**
+     * @return Quantidade de registros gravados.
+     */
+    public long getRegistrosGravados() {
+        return writer.getItemsWritten();
+    }
+
+    /**
+     * @return Quantidade de lotes gravados.
+     */
+    public long getFlushCount() {
+        return writer.getFlushCount();
+    }
+
+    /**
+     * @return Latência média de gravação de um lote, em milissegundos.
+     */
+    public double getAverageFlushLatencyMillis() {
+        return writer.getAverageFlushLatencyMillis();
+    }
+
+    /**
+     * @return Maior latência de gravação de um lote, em milissegundos.
+     */
+    public double getMaxFlushLatencyMillis() {
+        return writer.getMaxFlushLatencyMillis();
+    }
+
+    /**
+     * Encerra o pipeline: recusa novos cadastros, conclui os hashes em andamento e grava tudo o
+     * que estiver na fila antes de retornar.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        hashExecutor.shutdown();
+        try {
+            if (!hashExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                hashExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            hashExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        writer.close();
+    }
+}
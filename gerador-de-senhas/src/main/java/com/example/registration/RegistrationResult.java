@@ -0,0 +1,53 @@
+package com.example.registration;
+
+import com.example.generator.hashing.HashAlgorithm;
+
+/**
+ * Resultado do cadastro de um usuário pelo {@link RegistrationPipeline}.
+ *
+ * Contém a senha gerada em texto plano, que deve ser entregue ao usuário e descartada, e o hash
+ * que foi gravado no banco de dados.
+ */
+public final class RegistrationResult {
+
+    private final String usuario;
+    private final String password;
+    private final String senhaHash;
+    private final HashAlgorithm algoritmo;
+
+    RegistrationResult(String usuario, String password, String senhaHash, HashAlgorithm algoritmo) {
+        this.usuario = usuario;
+        this.password = password;
+        this.senhaHash = senhaHash;
+        this.algoritmo = algoritmo;
+    }
+
+    public String getUsuario() {
+        return usuario;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getSenhaHash() {
+        return senhaHash;
+    }
+
+    public HashAlgorithm getAlgoritmo() {
+        return algoritmo;
+    }
+
+    /**
+     * Retorna uma representação em String do resultado, sem a senha e sem o hash.
+     *
+     * @return Uma String com o usuário e o algoritmo.
+     */
+    @Override
+    public String toString() {
+        return "RegistrationResult{" +
+                "usuario='" + usuario + '\'' +
+                ", algoritmo=" + algoritmo +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.reservoir;
+
+import com.example.generator.hashing.HashAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * Senha temporária já acompanhada do seu hash, entregue por um {@link CredentialReservoir}.
+ *
+ * A senha fica em um array de caracteres que pertence a quem recebeu a credencial: depois de
+ * enviá-la ao usuário, {@link #close()} zera o array. O reservatório faz o mesmo com as
+ * credenciais que expiram ou sobram quando ele é fechado.
+ */
+public final class Credential implements AutoCloseable {
+
+    private final char[] password;
+    private final String hash;
+    private final HashAlgorithm algorithm;
+    private final long createdNanos;
+    private volatile boolean closed;
+
+    Credential(char[] password, String hash, HashAlgorithm algorithm, long createdNanos) {
+        this.password = password;
+        this.hash = hash;
+        this.algorithm = algorithm;
+        this.createdNanos = createdNanos;
+    }
+
+    /**
+     * @return A senha em texto plano; o array é o da própria credencial, sem cópia.
+     * @throws IllegalStateException se a credencial já tiver sido fechada.
+     */
+    public char[] getPassword() {
+        if (closed) {
+            throw new IllegalStateException("A credencial já foi descartada.");
+        }
+        return password;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public HashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    long getCreatedNanos() {
+        return createdNanos;
+    }
+
+    /**
+     * Zera a senha. Chamadas repetidas não têm efeito.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Arrays.fill(password, '\0');
+    }
+
+    @Override
+    public String toString() {
+        return "Credential{algorithm=" + algorithm + ", hash=" + hash + '}';
+    }
+}
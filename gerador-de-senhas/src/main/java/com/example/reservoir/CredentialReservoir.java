@@ -0,0 +1,324 @@
+package com.example.reservoir;
+
+import com.example.generator.SecretBuffer;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import com.example.metrics.Counter;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Reservatório de credenciais temporárias (senha e hash) geradas antes de serem pedidas.
+ *
+ * Emitir uma senha temporária exige gerá-la e calcular o seu hash, e o PBKDF2 ou o BCrypt levam
+ * dezenas ou centenas de milissegundos. O reservatório guarda credenciais prontas de uma política
+ * e um algoritmo em uma fila circular sem trava, de modo que {@link #take()} é apenas a retirada
+ * de um elemento. Quando o nível cai até a marca inferior, threads de fundo voltam a produzir
+ * credenciais até a marca superior; se o reservatório estiver vazio, a credencial é produzida na
+ * própria chamada, como sem o reservatório.
+ *
+ * Cada credencial tem tempo de vida limitado: as vencidas são descartadas na retirada e em uma
+ * varredura periódica, e a senha delas é zerada, assim como a das que sobram em {@link #close()}.
+ * A fila é FIFO, então as mais antigas são sempre as primeiras a sair.
+ *
+ * As retiradas atendidas pelo reservatório e as produzidas na hora, as expirações, o nível e o
+ * tempo entre o pedido de reabastecimento e a chegada à marca superior ficam em
+ * {@link com.example.metrics.Metrics}.
+ */
+public class CredentialReservoir implements AutoCloseable {
+
+    private static final AtomicInteger RESERVOIR_COUNTER = new AtomicInteger();
+    private static final Set<CredentialReservoir> OPEN_RESERVOIRS = ConcurrentHashMap.newKeySet();
+    private static final Counter HITS = Metrics.counter("senhas_reservoir_takes", "result", "hit");
+    private static final Counter MISSES = Metrics.counter("senhas_reservoir_takes", "result", "miss");
+    private static final Counter EXPIRED = Metrics.counter("senhas_reservoir_expired");
+    private static final Counter REFILL_ERRORS = Metrics.counter("senhas_reservoir_refill_errors");
+    private static final Timer REFILL_LAG = Metrics.timer("senhas_reservoir_refill_lag");
+
+    static {
+        Metrics.gauge("senhas_reservoir_size", () -> {
+            long total = 0;
+            for (CredentialReservoir reservoir : OPEN_RESERVOIRS) {
+                total += reservoir.size();
+            }
+            return total;
+        });
+    }
+
+    private final SecurePasswordGenerator generator;
+    private final HashAlgorithm algorithm;
+    private final int passwordLength;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final long ttlNanos;
+    private final int refillThreads;
+    private final LongSupplier clock;
+    private final MpmcRing<Credential> ring;
+    private final ScheduledThreadPoolExecutor executor;
+    private final ThreadLocal<SecretBuffer> scratch;
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final AtomicInteger activeRefills = new AtomicInteger();
+    private volatile long refillRequestedNanos;
+    private volatile long lastRefillLagNanos;
+    private volatile boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * Cria o reservatório e inicia o seu preenchimento em segundo plano.
+     *
+     * @param policy    Política das senhas geradas.
+     * @param algorithm Algoritmo dos hashes.
+     * @param config    Tamanho, marcas, tempo de vida e threads.
+     * @throws IllegalArgumentException se as marcas da configuração forem inconsistentes.
+     */
+    public CredentialReservoir(PasswordPolicy policy, HashAlgorithm algorithm, ReservoirConfig config) {
+        this(policy, algorithm, config, System::nanoTime);
+    }
+
+    CredentialReservoir(PasswordPolicy policy, HashAlgorithm algorithm, ReservoirConfig config, LongSupplier clock) {
+        config.validate();
+        this.generator = new SecurePasswordGenerator(policy);
+        this.algorithm = Objects.requireNonNull(algorithm, "O algoritmo não pode ser nulo.");
+        this.passwordLength = policy.getLength();
+        this.lowWatermark = config.getLowWatermark();
+        this.highWatermark = config.getHighWatermark();
+        this.ttlNanos = config.getTtl().toNanos();
+        this.refillThreads = config.getRefillThreads();
+        this.clock = clock;
+        this.ring = new MpmcRing<>(config.getCapacity());
+        this.scratch = ThreadLocal.withInitial(() -> SecretBuffer.allocate(passwordLength));
+        this.executor = new ScheduledThreadPoolExecutor(refillThreads, daemonThreads());
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+        // A varredura roda algumas vezes por tempo de vida, entre 100 ms e 1 minuto
+        long sweepNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(100), Math.min(ttlNanos / 4, TimeUnit.MINUTES.toNanos(1)));
+        executor.scheduleWithFixedDelay(this::maintain, sweepNanos, sweepNanos, TimeUnit.NANOSECONDS);
+        OPEN_RESERVOIRS.add(this);
+        requestRefill();
+    }
+
+    /**
+     * Retira uma credencial pronta ou, com o reservatório vazio, produz uma na hora.
+     *
+     * @return Credencial ainda não entregue a ninguém; quem a recebe deve fechá-la.
+     * @throws IllegalStateException se o reservatório estiver fechado.
+     */
+    public Credential take() {
+        Credential credential = poll();
+        if (credential != null) {
+            return credential;
+        }
+        misses.increment();
+        MISSES.increment();
+        return create();
+    }
+
+    /**
+     * Retira uma credencial pronta, sem nunca calcular um hash na chamada.
+     *
+     * @return Credencial, ou null se não houver nenhuma válida.
+     * @throws IllegalStateException se o reservatório estiver fechado.
+     */
+    public Credential poll() {
+        if (closed) {
+            throw new IllegalStateException("O reservatório está fechado.");
+        }
+        long now = clock.getAsLong();
+        Credential credential;
+        while ((credential = ring.poll()) != null && isExpired(credential, now)) {
+            discard(credential);
+        }
+        requestRefill();
+        if (credential != null) {
+            hits.increment();
+            HITS.increment();
+        }
+        return credential;
+    }
+
+    /**
+     * Preenche o reservatório até a marca superior na thread atual, por exemplo na inicialização,
+     * antes de receber tráfego.
+     */
+    public void fill() {
+        while (!closed && ring.size() < highWatermark) {
+            if (!offer(create())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Descarta as credenciais vencidas do início da fila, parando na primeira ainda válida sem
+     * retirá-la, para que a ordem de saída não mude.
+     *
+     * @return Quantidade de credenciais descartadas.
+     */
+    public int evictExpired() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        Credential credential;
+        while ((credential = ring.pollIf(c -> isExpired(c, now))) != null) {
+            discard(credential);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    /**
+     * @return Quantidade de credenciais prontas, incluindo as já vencidas ainda não descartadas.
+     */
+    public int size() {
+        return ring.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * @return Fração das retiradas atendidas por credenciais prontas, ou zero sem retiradas.
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    /**
+     * @return Tempo, em nanossegundos, entre o último pedido de reabastecimento concluído e a
+     *         chegada à marca superior.
+     */
+    public long getLastRefillLagNanos() {
+        return lastRefillLagNanos;
+    }
+
+    /**
+     * @return Se há um ciclo de reabastecimento em andamento.
+     */
+    boolean isRefilling() {
+        return refilling.get();
+    }
+
+    /**
+     * Interrompe o reabastecimento e zera as senhas das credenciais que sobraram.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        OPEN_RESERVOIRS.remove(this);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Credential credential;
+        while ((credential = ring.poll()) != null) {
+            credential.close();
+        }
+    }
+
+    private void maintain() {
+        evictExpired();
+        requestRefill();
+    }
+
+    /*
+     * Apenas um ciclo de reabastecimento por vez: quem encontra o nível na marca inferior e
+     * consegue marcar o ciclo dispara as threads, que param na marca superior.
+     */
+    private void requestRefill() {
+        if (closed || ring.size() > lowWatermark || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        refillRequestedNanos = clock.getAsLong();
+        activeRefills.set(refillThreads);
+        for (int i = 0; i < refillThreads; i++) {
+            executor.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        try {
+            fill();
+        } catch (RuntimeException e) {
+            REFILL_ERRORS.increment();
+        } finally {
+            if (activeRefills.decrementAndGet() == 0) {
+                if (!closed && ring.size() >= highWatermark) {
+                    lastRefillLagNanos = clock.getAsLong() - refillRequestedNanos;
+                    REFILL_LAG.record(lastRefillLagNanos);
+                }
+                refilling.set(false);
+                // Retiradas que chegaram à marca inferior durante o ciclo não dispararam outro
+                requestRefill();
+            }
+        }
+    }
+
+    private boolean offer(Credential credential) {
+        if (closed || !ring.offer(credential)) {
+            credential.close();
+            return false;
+        }
+        return true;
+    }
+
+    private Credential create() {
+        // A senha é gerada e passada ao hashing fora do heap; só a cópia entregue fica em um array
+        SecretBuffer secret = scratch.get();
+        try {
+            generator.generateInto(secret);
+            String hash = HashingUtils.hashPassword(secret, algorithm);
+            return new Credential(secret.toCharArray(), hash, algorithm, clock.getAsLong());
+        } finally {
+            secret.clear();
+        }
+    }
+
+    private boolean isExpired(Credential credential, long now) {
+        return now - credential.getCreatedNanos() >= ttlNanos;
+    }
+
+    private void discard(Credential credential) {
+        credential.close();
+        expired.increment();
+        EXPIRED.increment();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        int reservoir = RESERVOIR_COUNTER.incrementAndGet();
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "credential-reservoir-" + reservoir + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
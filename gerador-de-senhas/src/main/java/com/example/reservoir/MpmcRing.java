@@ -0,0 +1,136 @@
+package com.example.reservoir;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Fila circular limitada, sem trava, para vários produtores e vários consumidores.
+ *
+ * Cada posição guarda, além do elemento, um número de sequência que diz de quem é a vez: a
+ * posição está livre para quem vai escrever na volta {@code n} quando a sequência é igual à
+ * posição absoluta de escrita, e pronta para leitura quando é uma unidade maior. Produtores e
+ * consumidores disputam apenas o compare-and-set do próprio índice (cauda ou cabeça), e a
+ * publicação do elemento é a escrita volátil da sequência.
+ */
+final class MpmcRing<E> {
+
+    private final AtomicReferenceArray<E> items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param capacity Capacidade mínima; é arredondada para a próxima potência de dois.
+     */
+    MpmcRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return false se a fila estiver cheia.
+     */
+    boolean offer(E item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items.setPlain(index, item);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return O elemento mais antigo, ou null se a fila estiver vazia.
+     */
+    E poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    E item = items.getPlain(index);
+                    items.setPlain(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Retira o elemento mais antigo apenas se ele satisfizer a condição; caso contrário ele fica
+     * onde está. A condição é avaliada antes do compare-and-set da cabeça, então é o mesmo
+     * elemento que sai: um {@code peek} seguido de {@link #poll()} poderia retirar outro se um
+     * consumidor simultâneo levasse o primeiro.
+     *
+     * @return O elemento retirado, ou null se a fila estiver vazia ou a condição recusar o mais antigo.
+     */
+    E pollIf(Predicate<? super E> condition) {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                // Enquanto a cabeça não avança, nenhum produtor reescreve esta posição
+                E item = items.getPlain(index);
+                if (!condition.test(item)) {
+                    if (head.get() == position) {
+                        return null;
+                    }
+                } else if (head.compareAndSet(position, position + 1)) {
+                    items.setPlain(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return item;
+                }
+                position = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * @return Quantidade aproximada de elementos; exata quando não há operações simultâneas.
+     */
+    int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, mask + 1));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.reservoir;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuração de um {@link CredentialReservoir}: tamanho, marcas de reabastecimento, tempo de
+ * vida das credenciais e quantidade de threads que as produzem.
+ */
+public class ReservoirConfig {
+
+    private int capacity = 64;
+    private int lowWatermark = 16;
+    private int highWatermark = 64;
+    private Duration ttl = Duration.ofMinutes(10);
+    private int refillThreads = 1;
+
+    /**
+     * Construtor padrão.
+     * Valores padrão:
+     * - Até 64 credenciais prontas.
+     * - Reabastecimento iniciado quando restam 16 ou menos e concluído ao chegar a 64.
+     * - Credenciais descartadas 10 minutos depois de criadas.
+     * - Uma thread de reabastecimento, para não disputar a CPU com o restante da aplicação.
+     */
+    public ReservoirConfig() {
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Define a capacidade e ajusta a marca superior para ela.
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A capacidade deve ser maior que zero.");
+        }
+        this.capacity = capacity;
+        this.highWatermark = capacity;
+    }
+
+    /**
+     * @return Quantidade de credenciais prontas a partir da qual (inclusive) o reabastecimento
+     *         começa.
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public void setLowWatermark(int lowWatermark) {
+        if (lowWatermark < 0) {
+            throw new IllegalArgumentException("A marca inferior não pode ser negativa.");
+        }
+        this.lowWatermark = lowWatermark;
+    }
+
+    /**
+     * @return Quantidade de credenciais prontas em que o reabastecimento para.
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    public void setHighWatermark(int highWatermark) {
+        if (highWatermark < 1) {
+            throw new IllegalArgumentException("A marca superior deve ser maior que zero.");
+        }
+        this.highWatermark = highWatermark;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        Objects.requireNonNull(ttl, "O tempo de vida não pode ser nulo.");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("O tempo de vida deve ser positivo.");
+        }
+        this.ttl = ttl;
+    }
+
+    public int getRefillThreads() {
+        return refillThreads;
+    }
+
+    public void setRefillThreads(int refillThreads) {
+        if (refillThreads < 1) {
+            throw new IllegalArgumentException("É necessária ao menos uma thread de reabastecimento.");
+        }
+        this.refillThreads = refillThreads;
+    }
+
+    /**
+     * @throws IllegalArgumentException se as marcas não satisfizerem
+     *                                  {@code lowWatermark < highWatermark <= capacity}.
+     */
+    void validate() {
+        if (lowWatermark >= highWatermark || highWatermark > capacity) {
+            throw new IllegalArgumentException("As marcas devem satisfazer inferior < superior <= capacidade.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReservoirConfig{" +
+                "capacity=" + capacity +
+                ", lowWatermark=" + lowWatermark +
+                ", highWatermark=" + highWatermark +
+                ", ttl=" + ttl +
+                ", refillThreads=" + refillThreads +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.server;
+
+/**
+ * Falha de uma requisição que deve ser respondida com o código HTTP informado.
+ */
+class HttpStatusException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    HttpStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int getStatus() {
+        return status;
+    }
+}
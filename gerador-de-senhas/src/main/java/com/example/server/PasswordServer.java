@@ -0,0 +1,499 @@
+package com.example.server;
+
+import com.example.admission.AdmissionController;
+import com.example.admission.AdmissionRejectedException;
+import com.example.generator.GenerationMode;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.hashing.EncodedHash;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import com.example.json.Json;
+import com.example.metrics.Counter;
+import com.example.metrics.Gauge;
+import com.example.metrics.Metrics;
+import com.example.metrics.Timer;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor HTTP embutido, baseado em {@code com.sun.net.httpserver}, que expõe o gerador e o
+ * hashing de senhas:
+ * <ul>
+ *     <li>{@code GET /generate?count=N&mode=uniform|all_classes}: gera senhas com a política
+ *     configurada e responde {@code {"passwords":[...]}}.</li>
+ *     <li>{@code POST /hash} com {@code {"password":"...","algorithm":"PBKDF2"}}: responde
+ *     {@code {"algorithm":"PBKDF2","hash":"..."}}.</li>
+ *     <li>{@code POST /verify} com {@code {"password":"...","hash":"...","algorithm":"PBKDF2"}}:
+ *     responde {@code {"valid":true}}.</li>
+ * </ul>
+ *
+ * As requisições rodam em threads virtuais quando a JVM as oferece (Java 21 ou superior, obtidas
+ * por reflexão para manter a compilação em Java 17) e, caso contrário, em um pool fixo de
+ * threads de plataforma. PBKDF2 e BCrypt não rodam nessas threads: vão para um pool separado,
+ * com uma thread por processador e fila limitada, para que hashes lentos não ocupem as threads
+ * que atendem as conexões. Quando a fila está cheia a requisição é recusada na hora com 503 e
+ * {@code Retry-After}, em vez de esperar; quando o hash não termina dentro do tempo máximo da
+ * requisição a resposta é 504, e um hash que ainda não começou é descartado.
+ *
+ * Antes da fila, cada hash passa pelo {@link AdmissionController} configurado: o endereço de
+ * origem e, quando informado, o {@code user} do corpo são cobrados cada um da sua taxa, e qualquer
+ * um acima dela recebe 429; acima do limite adaptativo de hashes simultâneos, medido por endpoint
+ * e algoritmo, a resposta é 503, ambos com {@code Retry-After}. No {@code /verify}, um hash com
+ * custo acima de {@link ServerConfig#getMaxVerifyCost()} é recusado com 400 antes da fila.
+ *
+ * {@code GET /metrics} exporta o {@link Metrics#snapshot()} no formato de texto do Prometheus,
+ * incluindo o tempo de cada endpoint, as respostas por código e os contadores de admissão.
+ *
+ * As demais respostas são JSON; todas levam {@code Cache-Control: no-store}, já que contêm senhas.
+ */
+public class PasswordServer implements AutoCloseable {
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+    // Contadores de senhas_http_responses por código, de 100 a 599, criados no primeiro uso. Como
+    // o registro devolve sempre o mesmo contador, a corrida entre duas threads é inofensiva.
+    private static final Counter[] RESPONSES = new Counter[500];
+
+    private final ServerConfig config;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final boolean virtualThreads;
+    private final ThreadPoolExecutor hashExecutor;
+    private final AdmissionController admission;
+    private final Map<GenerationMode, SecurePasswordGenerator> generators = new EnumMap<>(GenerationMode.class);
+    private final long timeoutNanos;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final List<Gauge> gauges = new ArrayList<>();
+
+    /**
+     * Cria o servidor e abre a porta configurada, sem começar a atender.
+     *
+     * @param config Configuração do servidor.
+     * @throws UncheckedIOException se a porta não puder ser aberta.
+     */
+    public PasswordServer(ServerConfig config) {
+        this.config = config;
+        this.admission = config.getAdmission();
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getRequestTimeoutMillis());
+        for (GenerationMode mode : GenerationMode.values()) {
+            generators.put(mode, new SecurePasswordGenerator(config.getPolicy(), mode));
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(config.getHost(), config.getPort()), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a porta " + config.getPort(), e);
+        }
+
+        ExecutorService virtual = newVirtualThreadExecutor();
+        virtualThreads = virtual != null;
+        requestExecutor = virtual != null ? virtual : new ThreadPoolExecutor(config.getIoThreads(), config.getIoThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), daemonThreads("http"));
+        hashExecutor = new ThreadPoolExecutor(config.getHashThreads(), config.getHashThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getHashQueueCapacity()), daemonThreads("http-hash"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        server.setExecutor(requestExecutor);
+        route("/generate", "GET", JSON, this::generate);
+        route("/hash", "POST", JSON, this::hash);
+        route("/verify", "POST", JSON, this::verify);
+        route("/metrics", "GET", PROMETHEUS, (exchange, deadline) -> Metrics.snapshot().toPrometheus());
+
+        gauges.add(Metrics.gauge("senhas_http_shed", shed::sum));
+        gauges.add(Metrics.gauge("senhas_http_timeouts", timedOut::sum));
+        gauges.add(Metrics.gauge("senhas_http_hash_queue", () -> hashExecutor.getQueue().size()));
+        if (admission != null) {
+            gauges.add(Metrics.gauge("senhas_admission_admitted", admission::getAdmittedCount));
+            gauges.add(Metrics.gauge("senhas_admission_rejected", admission::getRateLimitedCount, "reason", "rate_limited"));
+            gauges.add(Metrics.gauge("senhas_admission_rejected", admission::getOverloadedCount, "reason", "overloaded"));
+            gauges.add(Metrics.gauge("senhas_admission_dropped", admission::getDroppedCount));
+            gauges.add(Metrics.gauge("senhas_admission_limit", () -> admission.getLimit().getLimit()));
+            gauges.add(Metrics.gauge("senhas_admission_in_flight", () -> admission.getLimit().getInFlight()));
+        }
+    }
+
+    /**
+     * Começa a atender as requisições.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return Porta em que o servidor escuta, útil quando a configurada for zero.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return {@code true} se as requisições rodam em threads virtuais.
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return Requisições recusadas com 503 porque a fila de hashing estava cheia.
+     */
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    /**
+     * @return Requisições respondidas com 504 porque o hash não terminou a tempo.
+     */
+    public long getTimeoutCount() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Para de aceitar conexões e encerra os pools. Hashes em andamento não são aguardados.
+     */
+    @Override
+    public void close() {
+        for (Gauge gauge : gauges) {
+            Metrics.unregister(gauge);
+        }
+        server.stop(0);
+        requestExecutor.shutdown();
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * @return Controle de admissão dos hashes, ou {@code null} se estiver desativado.
+     */
+    public AdmissionController getAdmission() {
+        return admission;
+    }
+
+    ThreadPoolExecutor hashExecutor() {
+        return hashExecutor;
+    }
+
+    private String generate(HttpExchange exchange, long deadline) {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        int count = parseInt(query.getOrDefault("count", "1"), "count");
+        if (count < 1 || count > config.getMaxBatchSize()) {
+            throw new IllegalArgumentException("'count' deve estar entre 1 e " + config.getMaxBatchSize() + ".");
+        }
+        GenerationMode mode = GenerationMode.UNIFORM;
+        if (query.containsKey("mode")) {
+            mode = parseEnum(GenerationMode.class, query.get("mode"), "mode");
+        }
+
+        List<String> passwords = generators.get(mode).generateBatch(count);
+        StringBuilder json = new StringBuilder(16 + count * (config.getPolicy().getLength() + 3)).append("{\"passwords\":[");
+        for (int i = 0; i < passwords.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(Json.quote(passwords.get(i)));
+        }
+        return json.append("]}").toString();
+    }
+
+    private String hash(HttpExchange exchange, long deadline) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(exchange));
+        String password = required(body, "password");
+        HashAlgorithm algorithm = algorithm(body);
+        String hash = compute(admissionKeys(exchange, body), "hash:" + algorithm,
+                () -> HashingUtils.hashPassword(password, algorithm), deadline);
+        return "{\"algorithm\":" + Json.quote(algorithm.name()) + ",\"hash\":" + Json.quote(hash) + '}';
+    }
+
+    private String verify(HttpExchange exchange, long deadline) throws IOException {
+        Map<String, String> body = Json.parseObject(readBody(exchange));
+        String password = required(body, "password");
+        String hash = required(body, "hash");
+        HashAlgorithm algorithm = algorithm(body);
+        checkVerifyCost(hash, algorithm);
+        boolean valid = compute(admissionKeys(exchange, body), "verify:" + algorithm,
+                () -> HashingUtils.verifyPassword(password, hash, algorithm), deadline);
+        return "{\"valid\":" + valid + '}';
+    }
+
+    /**
+     * Recusa, antes de ocupar uma thread de hashing, um hash cujo custo passa do máximo
+     * configurado: o custo vem do próprio cliente, e um 504 não interrompe um hash já iniciado.
+     *
+     * @throws IllegalArgumentException se o hash for inválido ou o custo passar do máximo.
+     */
+    private void checkVerifyCost(String hash, HashAlgorithm algorithm) {
+        int max;
+        switch (algorithm) {
+            case PBKDF2:
+                max = Math.max(config.getMaxVerifyCost().getPbkdf2Iterations(), HashingUtils.getCost().getPbkdf2Iterations());
+                break;
+            case BCRYPT:
+                max = Math.max(config.getMaxVerifyCost().getBcryptLogRounds(), HashingUtils.getCost().getBcryptLogRounds());
+                break;
+            default:
+                return;
+        }
+        int cost = EncodedHash.parse(hash, algorithm).getCost();
+        if (cost > max) {
+            throw new IllegalArgumentException("Custo do hash acima do máximo aceito: " + cost + " > " + max + ".");
+        }
+    }
+
+    /**
+     * Pede uma vaga ao controle de admissão e executa o hash. Recusas por fila cheia e por prazo
+     * estourado liberam a vaga como descartada, o que reduz o limite de simultâneos; um hash que
+     * falhou, como por um hash armazenado inválido, libera a vaga sem medir a latência.
+     *
+     * @param route Endpoint e algoritmo, que têm cada um a sua latência de referência.
+     */
+    private <T> T compute(List<String> keys, String route, Callable<T> task, long deadline) {
+        AdmissionController.Permit permit = admission == null ? null : admission.acquire(route, keys);
+        if (permit == null) {
+            return execute(task, deadline);
+        }
+        try {
+            T result = execute(task, deadline);
+            permit.release();
+            return result;
+        } catch (HttpStatusException e) {
+            permit.drop();
+            throw e;
+        } finally {
+            // Sem efeito depois de release ou drop; cobre as falhas do próprio hash.
+            permit.cancel();
+        }
+    }
+
+    /**
+     * Executa um hash no pool de CPU e espera o resultado até o prazo da requisição.
+     */
+    private <T> T execute(Callable<T> task, long deadline) {
+        Future<T> future;
+        try {
+            future = hashExecutor.submit(() -> {
+                // Um hash que ficou na fila além do prazo não é mais esperado por ninguém.
+                if (System.nanoTime() - deadline >= 0) {
+                    throw new TimeoutException();
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            shed.increment();
+            throw new HttpStatusException(503, "Fila de hashing cheia, tente novamente.");
+        }
+
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timedOut.increment();
+            throw new HttpStatusException(504, "O hash não terminou dentro do tempo máximo da requisição.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                timedOut.increment();
+                throw new HttpStatusException(504, "O hash não terminou dentro do tempo máximo da requisição.");
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Falha ao calcular o hash.", cause);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new HttpStatusException(503, "Servidor encerrando.");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        String handle(HttpExchange exchange, long deadline) throws IOException;
+    }
+
+    private void route(String path, String method, String contentType, Endpoint endpoint) {
+        Timer timer = Metrics.timer("senhas_http_request", "path", path);
+        server.createContext(path, exchange -> {
+            long start = Metrics.start();
+            long deadline = System.nanoTime() + timeoutNanos;
+            requests.increment();
+            try {
+                if (!exchange.getRequestURI().getPath().equals(path)) {
+                    throw new HttpStatusException(404, "Caminho desconhecido.");
+                }
+                if (!exchange.getRequestMethod().equals(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    throw new HttpStatusException(405, "Use " + method + " em " + path + ".");
+                }
+                send(exchange, 200, contentType, endpoint.handle(exchange, deadline));
+            } catch (HttpStatusException e) {
+                if (e.getStatus() == 503) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                }
+                sendError(exchange, e.getStatus(), e.getMessage());
+            } catch (AdmissionRejectedException e) {
+                exchange.getResponseHeaders().set("Retry-After", Long.toString(e.getRetryAfterSeconds()));
+                sendError(exchange, e.getReason() == AdmissionRejectedException.Reason.RATE_LIMITED ? 429 : 503,
+                        e.getMessage());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (RuntimeException e) {
+                sendError(exchange, 500, "Erro interno.");
+            } finally {
+                exchange.close();
+                timer.recordSince(start);
+            }
+        });
+    }
+
+    private String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(config.getMaxBodyBytes() + 1);
+            if (body.length > config.getMaxBodyBytes()) {
+                throw new HttpStatusException(413, "O corpo da requisição excede " + config.getMaxBodyBytes() + " bytes.");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, JSON, "{\"error\":" + Json.quote(message) + '}');
+    }
+
+    private static Counter responses(int status) {
+        int index = status - 100;
+        if (index < 0 || index >= RESPONSES.length) {
+            return Metrics.counter("senhas_http_responses", "status", Integer.toString(status));
+        }
+        Counter counter = RESPONSES[index];
+        if (counter == null) {
+            counter = Metrics.counter("senhas_http_responses", "status", Integer.toString(status));
+            RESPONSES[index] = counter;
+        }
+        return counter;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        if (Metrics.isEnabled()) {
+            responses(status).increment();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", contentType);
+        headers.set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> values = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return values;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            values.put(name, value);
+        }
+        return values;
+    }
+
+    /**
+     * @return Chaves do limite de taxa: sempre o endereço de origem e, quando informado, também o
+     *         campo {@code user} do corpo, que o cliente escolhe e por isso não pode substituir o
+     *         endereço.
+     */
+    private static List<String> admissionKeys(HttpExchange exchange, Map<String, String> body) {
+        String address = "addr:" + exchange.getRemoteAddress().getAddress().getHostAddress();
+        String user = body.get("user");
+        return user != null ? List.of(address, "user:" + user) : List.of(address);
+    }
+
+    private static String required(Map<String, String> body, String field) {
+        String value = body.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: '" + field + "'.");
+        }
+        return value;
+    }
+
+    private static HashAlgorithm algorithm(Map<String, String> body) {
+        String value = body.get("algorithm");
+        return value == null ? HashAlgorithm.PBKDF2 : parseEnum(HashAlgorithm.class, value, "algorithm");
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String field) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor inválido para '" + field + "': " + value);
+        }
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + field + "' deve ser um número inteiro.");
+        }
+    }
+
+    /**
+     * @return Um executor com uma thread virtual por tarefa, ou {@code null} se a JVM não as
+     *         oferecer (antes do Java 21, ou Java 19 e 20 sem {@code --enable-preview}).
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        int pool = POOL_COUNTER.incrementAndGet();
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + pool + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.server;
+
+import com.example.admission.AdmissionController;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashCost;
+
+/**
+ * Configuração do {@link PasswordServer}: endereço, pools de threads, limites da fila de hashing,
+ * custo máximo aceito no {@code /verify} e tempo máximo de cada requisição.
+ *
+ * O servidor do JDK grava cabeçalhos e corpo em escritas separadas e, com o algoritmo de Nagle
+ * ativo, a segunda escrita espera o ACK atrasado do cliente (cerca de 40 ms por resposta). Quem
+ * embute o {@link PasswordServer} deve definir {@code -Dsun.net.httpserver.nodelay=true}, lida uma
+ * única vez, na primeira criação de um {@code HttpServer}; o {@code App --server} já a define.
+ */
+public class ServerConfig {
+
+    private String host = "127.0.0.1";
+    private int port = 8080;
+    private int hashThreads = Runtime.getRuntime().availableProcessors();
+    private int hashQueueCapacity = hashThreads * 8;
+    private int ioThreads = 64;
+    private long requestTimeoutMillis = 2_000;
+    private int maxBodyBytes = 4_096;
+    private int maxBatchSize = 100;
+    private HashCost maxVerifyCost = new HashCost(1_000_000, 14);
+    private PasswordPolicy policy = new PasswordPolicy(16, true, true, true, true);
+    private AdmissionController admission = new AdmissionController();
+
+    /**
+     * Construtor padrão.
+     * Valores padrão:
+     * - Escuta apenas em 127.0.0.1, porta 8080.
+     * - Uma thread de hashing por processador e fila de oito hashes por thread.
+     * - 64 threads de requisição quando não houver threads virtuais.
+     * - Requisições com no máximo 2 segundos e corpo de até 4 KiB.
+     * - Até 100 senhas por chamada a {@code /generate}, com 16 caracteres de todas as classes.
+     * - Controle de admissão com os valores padrão de {@link AdmissionController}.
+     */
+    public ServerConfig() {
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    /**
+     * @return Porta do servidor; zero escolhe uma porta livre.
+     */
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        if (port < 0 || port > 65_535) {
+            throw new IllegalArgumentException("Porta inválida: " + port);
+        }
+        this.port = port;
+    }
+
+    public int getHashThreads() {
+        return hashThreads;
+    }
+
+    public void setHashThreads(int hashThreads) {
+        if (hashThreads <= 0) {
+            throw new IllegalArgumentException("A quantidade de threads de hashing deve ser maior que zero.");
+        }
+        this.hashThreads = hashThreads;
+    }
+
+    /**
+     * @return Quantidade de hashes que podem esperar por uma thread livre; acima disso as
+     *         requisições são recusadas com 503.
+     */
+    public int getHashQueueCapacity() {
+        return hashQueueCapacity;
+    }
+
+    public void setHashQueueCapacity(int hashQueueCapacity) {
+        if (hashQueueCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade da fila de hashing deve ser maior que zero.");
+        }
+        this.hashQueueCapacity = hashQueueCapacity;
+    }
+
+    /**
+     * @return Tamanho do pool de requisições usado quando a JVM não oferece threads virtuais.
+     */
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public void setIoThreads(int ioThreads) {
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("A quantidade de threads de requisição deve ser maior que zero.");
+        }
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * @return Tempo máximo entre o início de uma requisição e a sua resposta; acima disso a
+     *         resposta é 504.
+     */
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+        if (requestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("O tempo máximo da requisição deve ser maior que zero.");
+        }
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        if (maxBodyBytes <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do corpo deve ser maior que zero.");
+        }
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo do lote deve ser maior que zero.");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @return Maior custo, em iterações PBKDF2 e rodadas BCrypt, de um hash enviado ao
+     *         {@code /verify}; acima disso a resposta é 400. O custo atual de
+     *         {@link com.example.generator.hashing.HashingUtils#getCost()} é sempre aceito.
+     */
+    public HashCost getMaxVerifyCost() {
+        return maxVerifyCost;
+    }
+
+    public void setMaxVerifyCost(HashCost maxVerifyCost) {
+        if (maxVerifyCost == null) {
+            throw new IllegalArgumentException("O custo máximo de verificação não pode ser nulo.");
+        }
+        this.maxVerifyCost = maxVerifyCost;
+    }
+
+    /**
+     * @return Política usada pelo endpoint {@code /generate}.
+     */
+    public PasswordPolicy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(PasswordPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("A política não pode ser nula.");
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * @return Controle de admissão dos hashes, ou {@code null} para desativá-lo.
+     */
+    public AdmissionController getAdmission() {
+        return admission;
+    }
+
+    public void setAdmission(AdmissionController admission) {
+        this.admission = admission;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerConfig{" +
+                "host='" + host + '\'' +
+                ", port=" + port +
+                ", hashThreads=" + hashThreads +
+                ", hashQueueCapacity=" + hashQueueCapacity +
+                ", ioThreads=" + ioThreads +
+                ", requestTimeoutMillis=" + requestTimeoutMillis +
+                ", maxBodyBytes=" + maxBodyBytes +
+                ", maxBatchSize=" + maxBatchSize +
+                ", maxVerifyCost=" + maxVerifyCost +
+                ", policy=" + policy +
+                ", admission=" + admission +
+                '}';
+    }
+}
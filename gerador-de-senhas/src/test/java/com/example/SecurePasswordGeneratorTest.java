@@ -1,8 +1,19 @@
 package com.example;
 
+import com.example.generator.GenerationMode;
 import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.CompiledPolicy;
 import com.example.generator.config.PasswordPolicy;
+import com.example.generator.random.RandomBuffer;
 import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 
 /*
@@ -78,5 +89,207 @@ import static org.junit.jupiter.api.Assertions.*;
                    "A senha deve conter pelo menos um caractere especial.");
                    System.out.println("Senha gerada: " + password);
     }
-}
 
+    /*
+     * Testa se o lote gerado tem a quantidade e o comprimento corretos e respeita a política.
+     */
+
+    @Test
+    void testGenerateBatch() {
+        PasswordPolicy policy = new PasswordPolicy(10, false, false, true, false);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+
+        List<String> passwords = generator.generateBatch(1000);
+        assertEquals(1000, passwords.size(), "O lote deve conter 1000 senhas.");
+        for (String password : passwords) {
+            assertEquals(10, password.length(), "Cada senha do lote deve ter 10 caracteres.");
+            assertTrue(password.chars().allMatch(Character::isDigit), "A senha deve conter apenas dígitos.");
+        }
+        assertTrue(new HashSet<>(passwords).size() > 990, "As senhas do lote devem ser distintas.");
+    }
+
+    /*
+     * Testa se o stream paralelo gera a quantidade pedida de senhas válidas.
+     */
+
+    @Test
+    void testParallelStream() {
+        PasswordPolicy policy = new PasswordPolicy(16, true, true, true, true);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+
+        List<String> passwords = generator.stream(5000).parallel().collect(Collectors.toList());
+        assertEquals(5000, passwords.size(), "O stream deve gerar 5000 senhas.");
+        assertTrue(passwords.stream().allMatch(p -> p.length() == 16), "Todas as senhas devem ter 16 caracteres.");
+    }
+
+    /*
+     * Testa se a amostragem com rejeição produz índices uniformes (teste qui-quadrado).
+     */
+
+    @Test
+    void testRandomBufferIsUniform() {
+        int bound = 89;
+        int samples = 89_000;
+        int[] counts = new int[bound];
+        RandomBuffer random = RandomBuffer.current();
+        for (int i = 0; i < samples; i++) {
+            counts[random.nextIndex(bound)]++;
+        }
+
+        double expected = (double) samples / bound;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // 88 graus de liberdade: média 88, desvio padrão ~13,3; o limite fica bem acima de 5 desvios.
+        assertTrue(chiSquare < 160, "A distribuição dos índices deve ser uniforme, qui-quadrado = " + chiSquare);
+    }
+
+    /*
+     * Testa se políticas com a mesma configuração compartilham a mesma tabela compilada.
+     */
+
+    @Test
+    void testCompiledPolicyIsCached() {
+        CompiledPolicy first = new PasswordPolicy(8, true, false, true, false).compile();
+        CompiledPolicy second = new PasswordPolicy(20, true, false, true, false).compile();
+        assertSame(first, second, "Configurações iguais devem reaproveitar a mesma tabela.");
+        assertEquals(36, first.size(), "A tabela deve conter maiúsculas e dígitos.");
+        assertNotSame(first, new PasswordPolicy(8, true, true, true, false).compile(),
+                "Configurações diferentes devem gerar tabelas diferentes.");
+    }
+
+    /*
+     * Testa se a senha é escrita no array do chamador sem alterar as posições excedentes.
+     */
+
+    @Test
+    void testGenerateIntoArray() {
+        PasswordPolicy policy = new PasswordPolicy(12, false, false, true, false);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+
+        char[] dest = new char[16];
+        Arrays.fill(dest, '#');
+        assertEquals(12, generator.generateInto(dest), "Devem ser escritos 12 caracteres.");
+        for (int i = 0; i < 12; i++) {
+            assertTrue(Character.isDigit(dest[i]), "A senha deve conter apenas dígitos.");
+        }
+        for (int i = 12; i < 16; i++) {
+            assertEquals('#', dest[i], "As posições excedentes não devem ser alteradas.");
+        }
+        assertThrows(IllegalArgumentException.class, () -> generator.generateInto(new char[11]));
+    }
+
+    /*
+     * Testa se a senha é escrita no buffer a partir da posição atual.
+     */
+
+    @Test
+    void testGenerateIntoCharBuffer() {
+        PasswordPolicy policy = new PasswordPolicy(8, true, false, false, false);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+
+        CharBuffer buffer = CharBuffer.allocate(20);
+        buffer.put("ab");
+        assertEquals(8, generator.generateInto(buffer), "Devem ser escritos 8 caracteres.");
+        assertEquals(10, buffer.position(), "A posição do buffer deve avançar o comprimento da senha.");
+        buffer.flip();
+        assertTrue(buffer.subSequence(2, 10).chars().allMatch(Character::isUpperCase),
+                "A senha deve conter apenas letras maiúsculas.");
+
+        CharBuffer small = CharBuffer.allocate(7);
+        assertThrows(BufferOverflowException.class, () -> generator.generateInto(small));
+    }
+
+    /*
+     * Testa se o modo ALL_CLASSES sempre inclui todas as classes habilitadas, mesmo em senhas curtas.
+     */
+
+    @Test
+    void testAllClassesModeCoversEveryClass() {
+        PasswordPolicy policy = new PasswordPolicy(4, true, true, true, true);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy, GenerationMode.ALL_CLASSES);
+
+        for (String password : generator.generateBatch(2000)) {
+            assertEquals(4, password.length(), "A senha deve ter 4 caracteres.");
+            assertTrue(password.chars().anyMatch(Character::isUpperCase), "A senha deve conter maiúsculas: " + password);
+            assertTrue(password.chars().anyMatch(Character::isLowerCase), "A senha deve conter minúsculas: " + password);
+            assertTrue(password.chars().anyMatch(Character::isDigit), "A senha deve conter dígitos: " + password);
+            assertTrue(password.chars().anyMatch(c -> !Character.isLetterOrDigit(c)),
+                    "A senha deve conter caracteres especiais: " + password);
+        }
+        assertThrows(IllegalStateException.class,
+                () -> new SecurePasswordGenerator(new PasswordPolicy(3, true, true, true, true),
+                        GenerationMode.ALL_CLASSES).generate(),
+                "Um comprimento menor que o número de classes não admite senhas válidas.");
+    }
+
+    /*
+     * Testa se o modo ALL_CLASSES é uniforme entre todas as senhas válidas (teste qui-quadrado).
+     * Com 2 caracteres, maiúsculas e dígitos, existem 2 * 26 * 10 = 520 senhas válidas.
+     */
+
+    @Test
+    void testAllClassesModeIsUniformOverCompliantPasswords() {
+        PasswordPolicy policy = new PasswordPolicy(2, true, false, true, false);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy, GenerationMode.ALL_CLASSES);
+        assertEquals(BigInteger.valueOf(520), policy.compile().coverage(2, true).getCompliantCount());
+
+        int cells = 520;
+        int samples = cells * 200;
+        int[] counts = new int[cells];
+        char[] password = new char[2];
+        for (int i = 0; i < samples; i++) {
+            generator.generateInto(password);
+            int digitPosition = Character.isDigit(password[0]) ? 0 : 1;
+            char digit = password[digitPosition];
+            char letter = password[1 - digitPosition];
+            assertTrue(Character.isUpperCase(letter), "A senha deve conter uma letra maiúscula e um dígito.");
+            counts[digitPosition * 260 + (digit - '0') * 26 + (letter - 'A')]++;
+        }
+
+        double expected = (double) samples / cells;
+        double chiSquare = 0;
+        for (int count : counts) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+        }
+        // 519 graus de liberdade: média 519, desvio padrão ~32,2; o limite fica cerca de 7 desvios acima.
+        assertTrue(chiSquare < 750, "As senhas válidas devem ser equiprováveis, qui-quadrado = " + chiSquare);
+    }
+
+    /*
+     * Testa se a quantidade de caracteres por classe segue o peso de cada combinação entre as
+     * senhas válidas. Com 4 caracteres, maiúsculas e dígitos, as senhas com 1, 2 e 3 dígitos são
+     * 4*10*26^3, 6*10^2*26^2 e 4*10^3*26, de um total de 36^4 - 26^4 - 10^4.
+     */
+
+    @Test
+    void testAllClassesModeWeightsClassCounts() {
+        PasswordPolicy policy = new PasswordPolicy(4, true, false, true, false);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy, GenerationMode.ALL_CLASSES);
+        assertEquals(BigInteger.valueOf(1_212_640), policy.compile().coverage(4, true).getCompliantCount());
+
+        double[] weights = {703_040, 405_600, 104_000};
+        int samples = 60_000;
+        int[] counts = new int[3];
+        char[] password = new char[4];
+        for (int i = 0; i < samples; i++) {
+            generator.generateInto(password);
+            int digits = 0;
+            for (char c : password) {
+                if (Character.isDigit(c)) {
+                    digits++;
+                }
+            }
+            counts[digits - 1]++;
+        }
+
+        double chiSquare = 0;
+        for (int i = 0; i < counts.length; i++) {
+            double expected = samples * weights[i] / 1_212_640;
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+        }
+        // 2 graus de liberdade: valores acima de 20 ocorrem com probabilidade menor que 0,005%.
+        assertTrue(chiSquare < 20, "As quantidades por classe devem seguir os pesos, qui-quadrado = " + chiSquare);
+    }
+}
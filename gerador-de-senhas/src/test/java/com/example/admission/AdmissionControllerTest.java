@@ -0,0 +1,202 @@
+package com.example.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes do controle de admissão, com um relógio controlado pelo teste.
+ */
+class AdmissionControllerTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000 * MS);
+
+    /*
+     * Testa a rajada, o reabastecimento e a independência das chaves no limite de taxa.
+     */
+    @Test
+    void testRateLimiterBurstAndRefill() {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(10, 3, now::get);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ana"), "A rajada deve ser aceita");
+        }
+        long wait = limiter.tryAcquire("ana");
+        assertEquals(100 * MS, wait, "A próxima ficha chega em 100 ms");
+        assertEquals(0, limiter.tryAcquire("bruno"), "Outra chave tem o seu próprio balde");
+
+        now.addAndGet(50 * MS);
+        assertEquals(50 * MS, limiter.tryAcquire("ana"));
+        now.addAndGet(50 * MS);
+        assertEquals(0, limiter.tryAcquire("ana"));
+        assertTrue(limiter.tryAcquire("ana") > 0, "Reabastece uma ficha por intervalo");
+
+        // Depois de ociosos, os baldes estão cheios e podem ser removidos.
+        assertEquals(2, limiter.size());
+        now.addAndGet(1_000 * MS);
+        limiter.sweep();
+        assertEquals(0, limiter.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("ana"));
+        }
+    }
+
+    /*
+     * Testa se, com muitas threads na mesma chave, exatamente a rajada é aceita.
+     */
+    @Test
+    void testRateLimiterConcurrent() throws InterruptedException {
+        KeyedRateLimiter limiter = new KeyedRateLimiter(1, 100, now::get);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1_000; i++) {
+                    if (limiter.tryAcquire("alvo") == 0) {
+                        accepted.incrementAndGet();
+                    }
+                    limiter.tryAcquire("outra" + i);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(100, accepted.get());
+        assertTrue(limiter.size() <= 1_001);
+    }
+
+    /*
+     * Testa o aumento aditivo com latência baixa e a redução multiplicativa com latência alta.
+     */
+    @Test
+    void testAdaptiveLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 2, 8, 2.0, now::get);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire(), "Acima do limite não há vaga");
+        assertEquals(4, limit.getInFlight());
+
+        // Latência estável com o limite em uso: cresce até o máximo.
+        for (int i = 0; i < 200; i++) {
+            limit.release(10 * MS, false);
+            assertTrue(limit.tryAcquire());
+            now.addAndGet(10 * MS);
+        }
+        assertEquals(8, limit.getLimit());
+        assertEquals(10 * MS, limit.getBaselineLatencyNanos());
+
+        // Latência acima de duas vezes a referência: reduz, no máximo uma vez por latência média.
+        limit.release(50 * MS, false);
+        assertEquals(7, limit.getLimit());
+        assertTrue(limit.tryAcquire());
+        limit.release(50 * MS, false);
+        assertEquals(7, limit.getLimit(), "Reduções seguidas devem esperar uma latência média");
+        for (int i = 0; i < 20; i++) {
+            now.addAndGet(100 * MS);
+            if (limit.getInFlight() == 0) {
+                assertTrue(limit.tryAcquire());
+            }
+            limit.release(100 * MS, true);
+        }
+        assertEquals(2, limit.getLimit(), "O limite não cai abaixo do mínimo");
+
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 2, 8, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(2, 1, 8, 0.5));
+    }
+
+    /*
+     * Testa que rotas de custos muito diferentes, como PBKDF2 e SHA-256, não derrubam o limite:
+     * cada rota é comparada com a sua própria latência de referência.
+     */
+    @Test
+    void testMixedRoutesKeepLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 16, 2.0, now::get);
+        long slow = 50 * MS;
+        long fast = TimeUnit.MICROSECONDS.toNanos(20);
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < 3; i++) {
+                now.addAndGet(slow);
+                limit.release("hash:PBKDF2", slow, false);
+            }
+            limit.release("verify:SHA256", fast, false);
+        }
+        assertTrue(limit.getLimit() >= 4, "O limite caiu para " + limit.getLimit());
+        assertEquals(slow, limit.getBaselineLatencyNanos("hash:PBKDF2"));
+        assertEquals(fast, limit.getBaselineLatencyNanos("verify:SHA256"));
+        assertEquals(0, limit.getBaselineLatencyNanos());
+
+        // Trabalhos descartados ou cancelados não mudam a referência.
+        assertTrue(limit.tryAcquire());
+        limit.release("hash:PBKDF2", 1, true);
+        assertTrue(limit.tryAcquire());
+        limit.cancel();
+        assertEquals(slow, limit.getBaselineLatencyNanos("hash:PBKDF2"));
+        assertEquals(0, limit.getInFlight());
+    }
+
+    /*
+     * Testa as recusas, as sugestões de nova tentativa e os contadores do controle.
+     */
+    @Test
+    void testController() {
+        AdmissionController controller = new AdmissionController(new KeyedRateLimiter(2, 2, now::get),
+                new AdaptiveConcurrencyLimit(2, 1, 4, 2.0, now::get), now::get);
+
+        AdmissionController.Permit first = controller.acquire("ana");
+        AdmissionController.Permit second = controller.acquire("bruno");
+        AdmissionRejectedException overloaded = assertThrows(AdmissionRejectedException.class,
+                () -> controller.acquire("carla"));
+        assertEquals(AdmissionRejectedException.Reason.OVERLOADED, overloaded.getReason());
+        assertEquals(1, overloaded.getRetryAfterSeconds());
+
+        now.addAndGet(30 * MS);
+        first.release();
+        first.release();
+        second.drop();
+        assertEquals(0, controller.getLimit().getInFlight(), "Liberações repetidas não têm efeito");
+
+        assertEquals("ok", controller.call("ana", () -> "ok"));
+        AdmissionRejectedException limited = assertThrows(AdmissionRejectedException.class,
+                () -> controller.call("ana", () -> fail("O trabalho não deve rodar")));
+        assertEquals(AdmissionRejectedException.Reason.RATE_LIMITED, limited.getReason());
+        assertEquals(470 * MS, limited.getRetryAfterNanos(), "A ficha seguinte chega 500 ms depois da primeira");
+        long smoothed = controller.getLimit().getSmoothedLatencyNanos();
+        assertThrows(IllegalStateException.class, () -> controller.call(null, () -> {
+            now.addAndGet(1_000 * MS);
+            throw new IllegalStateException("falha do trabalho");
+        }));
+        assertEquals(0, controller.getLimit().getInFlight());
+        assertEquals(smoothed, controller.getLimit().getSmoothedLatencyNanos(), "Trabalhos que falharam não são medidos");
+
+        // O endereço é cobrado mesmo quando o usuário muda; a chave recusada é a primeira.
+        assertNotNull(controller.acquire("hash", List.of("addr:1", "user:x")));
+        assertNotNull(controller.acquire("hash", List.of("addr:1", "user:y")));
+        assertThrows(AdmissionRejectedException.class, () -> controller.acquire("hash", List.of("addr:1", "user:z")));
+        assertEquals(0, controller.getRateLimiter().tryAcquire("user:z"), "A chave seguinte à recusada não é cobrada");
+
+        assertEquals(6, controller.getAdmittedCount());
+        assertEquals(1, controller.getOverloadedCount());
+        assertEquals(2, controller.getRateLimitedCount());
+        assertEquals(1, controller.getDroppedCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.database;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link DatabaseManager} com pool de conexões e inserções em lote,
+ * executados contra um banco H2 em memória.
+ */
+public class DatabaseManagerPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:pool-test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private Connection keepAlive;
+    private DatabaseManager db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE usuarios (id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "usuario VARCHAR(255) NOT NULL, senha_hash TEXT NOT NULL, algoritmo VARCHAR(50) NOT NULL)");
+        }
+        DatabaseConfig config = new DatabaseConfig(URL, "sa", "");
+        config.setPoolSize(2);
+        config.setBatchSize(100);
+        db = new DatabaseManager(config);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.fecharConexao();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE usuarios");
+        }
+        keepAlive.close();
+    }
+
+    /**
+     * Testa se a inserção em lote grava todos os registros, inclusive o lote final incompleto.
+     */
+    @Test
+    void testSalvarUsuariosEmLote() throws SQLException {
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < 1050; i++) {
+            usuarios.add(new Usuario("usuario" + i, "hash" + i, "PBKDF2"));
+        }
+
+        assertEquals(1050, db.salvarUsuarios(usuarios), "Todos os registros devem ser gravados");
+        assertEquals(1050, countRows(), "A tabela deve conter todos os registros do lote");
+    }
+
+    /**
+     * Testa se uma falha no lote desfaz a transação em andamento.
+     */
+    @Test
+    void testFalhaNoLoteDesfazTransacao() throws SQLException {
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            usuarios.add(new Usuario(i == 120 ? null : "usuario" + i, "hash", "BCRYPT"));
+        }
+
+        assertThrows(RuntimeException.class, () -> db.salvarUsuarios(usuarios),
+                "Um registro inválido deve fazer o lote falhar");
+        assertEquals(0, countRows(), "Nenhum registro da transação com falha deve permanecer");
+
+        db.salvarUsuario("depois", "hash", "BCRYPT");
+        assertEquals(1, countRows(), "A conexão devolvida ao pool deve continuar utilizável");
+    }
+
+    /**
+     * Testa inserções concorrentes com mais threads do que conexões no pool.
+     */
+    @Test
+    void testInsercoesConcorrentes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            String usuario = "usuario" + i;
+            executor.submit(() -> db.salvarUsuario(usuario, "hash", "SHA256"));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "As inserções devem terminar");
+
+        assertEquals(200, countRows(), "Todas as inserções concorrentes devem ser gravadas");
+        assertEquals(0, db.getPool().getActiveCount(), "Todas as conexões devem voltar ao pool");
+        assertTrue(db.getPool().getIdleCount() <= 2, "O pool não deve abrir mais conexões que o limite");
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM usuarios")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Testa que fechar a mesma conexão duas vezes não aumenta o pool e que uma conexão devolvida
+     * depois do fechamento do pool é encerrada.
+     */
+    @Test
+    void testFechamentoDuploEPoolFechado() throws SQLException {
+        DatabaseConfig config = new DatabaseConfig(URL, "sa", "");
+        config.setPoolSize(1);
+        try (ConnectionPool pool = new ConnectionPool(config)) {
+            PooledConnection first = pool.acquire();
+            Connection physical = first.getConnection();
+            first.close();
+            first.close();
+            assertEquals(0, pool.getActiveCount());
+
+            PooledConnection second = pool.acquire();
+            assertNotSame(first, second, "Cada empréstimo deve ter o seu próprio objeto");
+            assertSame(physical, second.getConnection(), "A conexão livre deve ser reaproveitada");
+            assertEquals(1, pool.getActiveCount());
+            pool.close();
+            second.close();
+            assertTrue(second.isClosed());
+            assertEquals(0, pool.getIdleCount());
+        }
+    }
+
+    /**
+     * Testa que fechar um empréstimo antigo depois que a mesma conexão foi emprestada de novo não
+     * a devolve ao pool nem desfaz a transação do novo dono.
+     */
+    @Test
+    void testFechamentoDeEmprestimoAntigo() throws SQLException {
+        DatabaseConfig config = new DatabaseConfig(URL, "sa", "");
+        config.setPoolSize(1);
+        config.setAcquireTimeoutMillis(100);
+        try (ConnectionPool pool = new ConnectionPool(config)) {
+            PooledConnection first = pool.acquire();
+            first.close();
+            PooledConnection second = pool.acquire();
+            second.setAutoCommit(false);
+            try (PreparedStatement stmt = second.getConnection().prepareStatement(
+                    "INSERT INTO usuarios (usuario, senha_hash, algoritmo) VALUES ('ana', 'h', 'SHA256')")) {
+                stmt.executeUpdate();
+            }
+
+            first.close();
+            assertEquals(1, pool.getActiveCount(), "O empréstimo antigo não deve liberar a vaga");
+            assertThrows(SQLException.class, pool::acquire, "A vaga não deve ser entregue duas vezes");
+            assertThrows(SQLException.class, () -> first.prepare("SELECT 1"));
+            assertThrows(IllegalStateException.class, first::getConnection);
+
+            second.commit();
+            second.close();
+            assertEquals(1, countRows(), "A transação do novo dono não deve ser desfeita");
+            assertEquals(0, pool.getActiveCount());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.export;
+
+import com.example.generator.SecretBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da exportação de credenciais nos três formatos, com e sem gzip.
+ */
+class CredentialExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static ExportConfig config(ExportFormat format, boolean gzip) {
+        ExportConfig config = new ExportConfig();
+        config.setFormat(format);
+        config.setGzip(gzip);
+        config.setBufferSize(ExportConfig.MIN_BUFFER_SIZE);
+        return config;
+    }
+
+    private static String read(Path file, boolean gzip) throws IOException {
+        try (InputStream in = gzip ? new GZIPInputStream(Files.newInputStream(file)) : Files.newInputStream(file)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * Testa o escape de vírgulas, aspas e quebras de linha no CSV e no JSONL, com caracteres não
+     * ASCII e hash ausente.
+     */
+    @Test
+    void testCsvAndJsonlEscaping() throws IOException {
+        Path csv = dir.resolve("saida.csv");
+        try (CredentialExporter exporter = new CredentialExporter(csv, config(ExportFormat.CSV, false))) {
+            exporter.write("joão", "a,b\"c", "hash1");
+            exporter.write("maria", "linha\nnova", null);
+        }
+        assertEquals("usuario,senha,hash\njoão,\"a,b\"\"c\",hash1\nmaria,\"linha\nnova\",\n", read(csv, false));
+
+        Path jsonl = dir.resolve("saida.jsonl");
+        try (CredentialExporter exporter = new CredentialExporter(jsonl, config(ExportFormat.JSONL, false))) {
+            exporter.write("joão", "a\"b\\c\t密码𝄞", "hash1");
+            exporter.write("maria", "x", null);
+            assertEquals(2, exporter.getRecordCount());
+        }
+        assertEquals("{\"usuario\":\"joão\",\"senha\":\"a\\\"b\\\\c\\u0009密码𝄞\",\"hash\":\"hash1\"}\n"
+                + "{\"usuario\":\"maria\",\"senha\":\"x\"}\n", read(jsonl, false));
+    }
+
+    /*
+     * Testa que a saída comprimida, com vários buffers e descargas intermediárias, descomprime
+     * para o mesmo conteúdo da saída sem compressão.
+     */
+    @Test
+    void testGzipMatchesPlain() throws IOException {
+        Path plain = dir.resolve("saida.jsonl");
+        Path gzip = dir.resolve("saida.jsonl.gz");
+        try (CredentialExporter a = new CredentialExporter(plain, config(ExportFormat.JSONL, false));
+             CredentialExporter b = new CredentialExporter(gzip, config(ExportFormat.JSONL, true))) {
+            for (int i = 0; i < 5_000; i++) {
+                String usuario = "usuario" + i;
+                String senha = Integer.toHexString(i * 7919) + "-ç";
+                a.write(usuario, senha, "hash" + i);
+                b.write(usuario, senha.toCharArray(), "hash" + i);
+                if (i == 1_234) {
+                    b.flush();
+                    assertTrue(b.getBytesWritten() > 0);
+                }
+            }
+        }
+        String expected = read(plain, false);
+        assertEquals(expected, read(gzip, true));
+        assertTrue(Files.size(gzip) < Files.size(plain));
+    }
+
+    /*
+     * Testa o formato binário lendo os campos de volta, inclusive com a senha em SecretBuffer.
+     */
+    @Test
+    void testBinaryRoundTrip() throws IOException {
+        Path file = dir.resolve("saida.bin");
+        ExportConfig config = config(ExportFormat.BINARY, false);
+        config.setSyncPolicy(SyncPolicy.INTERVAL);
+        config.setSyncInterval(2);
+        try (CredentialExporter exporter = new CredentialExporter(file, config);
+             SecretBuffer secret = SecretBuffer.copyOf("senha-çã".toCharArray())) {
+            exporter.write("ana", secret, "hash-ana");
+            exporter.write("bia", "senha2", null);
+            // O intervalo de sincronização descarrega o buffer
+            assertTrue(exporter.getBytesWritten() > 0);
+            // Com o buffer mínimo, o registro é recusado antes do limite do campo
+            IllegalArgumentException tooBig = assertThrows(IllegalArgumentException.class,
+                    () -> exporter.write("x", "y".repeat(ExportFormat.MAX_BINARY_FIELD + 1), null));
+            assertTrue(tooBig.getMessage().contains("buffer"), tooBig.getMessage());
+            exporter.write("carla", "senha3", "hash-carla");
+        }
+
+        // Com um buffer acima do pior caso de 6 bytes por caractere, vale o limite do campo
+        Path large = dir.resolve("grande.bin");
+        ExportConfig largeConfig = config(ExportFormat.BINARY, false);
+        largeConfig.setBufferSize(8 * (ExportFormat.MAX_BINARY_FIELD + 1));
+        try (CredentialExporter exporter = new CredentialExporter(large, largeConfig)) {
+            IllegalArgumentException field = assertThrows(IllegalArgumentException.class,
+                    () -> exporter.write("x", "y".repeat(ExportFormat.MAX_BINARY_FIELD + 1), null));
+            assertTrue(field.getMessage().contains(Integer.toString(ExportFormat.MAX_BINARY_FIELD)), field.getMessage());
+            exporter.write("x", "y".repeat(ExportFormat.MAX_BINARY_FIELD), null);
+            assertEquals(1, exporter.getRecordCount());
+        }
+        assertEquals(ExportFormat.MAGIC.length + 2 + 1 + 2 + ExportFormat.MAX_BINARY_FIELD + 2, Files.size(large),
+                "O registro recusado não deve deixar bytes no arquivo");
+
+        List<String> fields = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            byte[] magic = new byte[4];
+            in.readFully(magic);
+            assertArrayEquals(ExportFormat.MAGIC, magic);
+            while (in.available() > 0) {
+                byte[] field = new byte[in.readUnsignedShort()];
+                in.readFully(field);
+                fields.add(new String(field, StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(List.of("ana", "senha-çã", "hash-ana", "bia", "senha2", "", "carla", "senha3", "hash-carla"), fields);
+    }
+
+    /*
+     * Testa as permissões do arquivo, a recusa em sobrescrever e o uso depois de fechado.
+     */
+    @Test
+    void testPermissionsAndOverwrite() throws IOException {
+        Path file = dir.resolve("saida.csv");
+        Files.writeString(file, "antigo");
+        assertThrows(UncheckedIOException.class, () -> new CredentialExporter(file, config(ExportFormat.CSV, false)));
+        assertEquals("antigo", Files.readString(file));
+
+        ExportConfig config = config(ExportFormat.CSV, false);
+        config.setOverwrite(true);
+        config.setSyncPolicy(SyncPolicy.NONE);
+        CredentialExporter exporter = new CredentialExporter(file, config);
+        exporter.write("ana", "senha", "hash");
+        exporter.close();
+        exporter.close();
+        assertThrows(IllegalStateException.class, () -> exporter.write("bia", "senha", "hash"));
+        assertEquals("usuario,senha,hash\nana,senha,hash\n", Files.readString(file));
+        if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+        }
+        assertThrows(IllegalArgumentException.class, () -> config.setBufferSize(16));
+        assertThrows(IllegalArgumentException.class, () -> config.setCompressionLevel(0));
+    }
+
+    /*
+     * Testa que os buffers devolvidos ao pool são zerados e reaproveitados.
+     */
+    @Test
+    void testPoolWipesBuffers() {
+        DirectBufferPool pool = new DirectBufferPool(1);
+        ByteBuffer buffer = pool.acquire(64);
+        buffer.put("segredo".getBytes(StandardCharsets.US_ASCII));
+        pool.release(buffer);
+        assertEquals(1, pool.freeCount());
+        assertSame(buffer, pool.acquire(64));
+        assertEquals(0, buffer.position());
+        for (int i = 0; i < buffer.capacity(); i++) {
+            assertEquals(0, buffer.get(i));
+        }
+        pool.release(buffer);
+        assertNotSame(buffer, pool.acquire(128));
+        assertEquals(0, pool.freeCount());
+    }
+}
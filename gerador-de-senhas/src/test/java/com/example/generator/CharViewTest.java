@@ -0,0 +1,48 @@
+package com.example.generator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da visão de senhas em char[] e em SecretBuffer como CharSequence.
+ */
+class CharViewTest {
+
+    /*
+     * Testa o trecho de um array, o subSequence sobre ele e a limpeza da visão.
+     */
+    @Test
+    void testArray() {
+        char[] chars = "xxsenhaxx".toCharArray();
+        CharView view = new CharView().wrap(chars, 2, 5);
+        assertEquals(5, view.length());
+        assertEquals('s', view.charAt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.charAt(5));
+
+        CharSequence sub = view.subSequence(1, 4);
+        assertEquals(3, sub.length());
+        assertEquals("enh", new StringBuilder(sub).toString());
+        assertEquals(0, view.subSequence(2, 2).length());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.subSequence(3, 6));
+        assertFalse(view.toString().contains("senha"), "O toString não deve revelar a senha");
+
+        view.clear();
+        assertEquals(0, view.length());
+        assertThrows(IndexOutOfBoundsException.class, () -> new CharView().wrap(chars, 5, 5));
+    }
+
+    /*
+     * Testa a visão de um SecretBuffer e a codificação UTF-8 de um trecho dela.
+     */
+    @Test
+    void testSecretBuffer() {
+        try (SecretBuffer secret = SecretBuffer.copyOf("senha𝄞".toCharArray())) {
+            CharView view = new CharView().wrap(secret);
+            assertEquals(secret.length(), view.length());
+            CharSequence sub = view.subSequence(5, 7);
+            byte[] out = new byte[sub.length() * Utf8.MAX_BYTES_PER_CHAR];
+            assertEquals(4, Utf8.encode(sub, out, 0), "O par de surrogates do trecho deve virar quatro bytes");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.generator;
+
+import com.example.generator.config.EntropyReport;
+import com.example.generator.config.PassphrasePolicy;
+import com.example.generator.wordlist.MappedWordList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da lista de palavras mapeada em memória e do gerador de frases-senha.
+ */
+class PassphraseGeneratorTest {
+
+    private static final int WORDS = 7776;
+
+    @TempDir
+    Path dir;
+
+    /*
+     * Cria uma lista no formato diceware, com uma linha vazia e uma palavra repetida.
+     */
+    private Path writeWordList(int count) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            content.append(10000 + i).append('\t').append(word(i)).append("\r\n");
+        }
+        content.append('\n').append("99999\t").append(word(0)).append('\n');
+        Path path = dir.resolve("palavras.txt");
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    private static String word(int i) {
+        StringBuilder word = new StringBuilder("p");
+        do {
+            word.append((char) ('a' + i % 26));
+            i /= 26;
+        } while (i > 0);
+        return word.toString();
+    }
+
+    /*
+     * Testa se o índice é criado, reaproveitado e recriado quando a lista muda.
+     */
+    @Test
+    void testIndexIsCreatedAndReused() throws IOException {
+        Path path = writeWordList(WORDS);
+        Path index = MappedWordList.indexPath(path);
+
+        try (MappedWordList list = MappedWordList.open(path)) {
+            assertEquals(WORDS, list.size(), "Linhas vazias e repetidas devem ser ignoradas.");
+            assertEquals(word(0), list.word(0));
+            assertEquals(word(WORDS - 1), list.word(WORDS - 1));
+        }
+        assertTrue(Files.exists(index), "O índice deve ser gravado ao lado da lista.");
+
+        FileTime created = Files.getLastModifiedTime(index);
+        try (MappedWordList list = MappedWordList.open(path)) {
+            assertEquals(WORDS, list.size());
+        }
+        assertEquals(created, Files.getLastModifiedTime(index), "Um índice atual deve ser reaproveitado.");
+
+        Files.write(path, "alfa\nbeta\ngama\n".getBytes(StandardCharsets.UTF_8));
+        try (MappedWordList list = MappedWordList.open(path)) {
+            assertEquals(3, list.size(), "O índice deve ser recriado quando a lista muda.");
+            assertEquals("gama", list.word(2));
+        }
+    }
+
+    /*
+     * Testa se a frase-senha respeita a quantidade de palavras, o separador e os dígitos.
+     */
+    @Test
+    void testGeneratePassphrase() throws IOException {
+        Path path = writeWordList(WORDS);
+        Set<String> vocabulary = new HashSet<>();
+        for (int i = 0; i < WORDS; i++) {
+            vocabulary.add(word(i));
+        }
+
+        try (MappedWordList list = MappedWordList.open(path)) {
+            PassphrasePolicy policy = new PassphrasePolicy(5, ".", PassphrasePolicy.Capitalization.FIRST_LETTER, 2);
+            PassphraseGenerator generator = new PassphraseGenerator(list, policy);
+            for (int n = 0; n < 200; n++) {
+                String passphrase = generator.generate();
+                String[] parts = passphrase.split("\\.");
+                assertEquals(5, parts.length, "A frase deve ter 5 palavras: " + passphrase);
+                assertEquals(2, passphrase.chars().filter(Character::isDigit).count(), "A frase deve ter 2 dígitos: " + passphrase);
+                for (String part : parts) {
+                    assertTrue(Character.isUpperCase(part.charAt(0)), "A palavra deve começar com maiúscula: " + part);
+                    assertTrue(vocabulary.contains(part.replaceAll("[0-9]", "").toLowerCase()), "Palavra fora da lista: " + part);
+                }
+            }
+        }
+    }
+
+    /*
+     * Testa a entropia informada para cada configuração.
+     */
+    @Test
+    void testEntropyReport() throws IOException {
+        try (MappedWordList list = MappedWordList.open(writeWordList(WORDS))) {
+            EntropyReport plain = new PassphraseGenerator(list, new PassphrasePolicy()).entropy();
+            assertEquals(6 * Math.log(WORDS) / Math.log(2), plain.getTotalBits(), 1e-9, "6 palavras de 7776 têm ~77,5 bits.");
+
+            PassphrasePolicy policy = new PassphrasePolicy(4, " ", PassphrasePolicy.Capitalization.RANDOM, 3);
+            EntropyReport report = new PassphraseGenerator(list, policy).entropy();
+            assertEquals(4, report.getCapitalizationBits(), 1e-9);
+            assertEquals(3 * Math.log(10) / Math.log(2) + 2, report.getDigitBits(), 1e-9);
+            assertEquals(WORDS, report.getWordListSize());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.generator;
+
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes do buffer de senha fora do heap e do seu uso na geração e no hashing.
+ */
+class SecretBufferTest {
+
+    /*
+     * Testa a geração no buffer, inclusive o reaproveitamento e a capacidade insuficiente.
+     */
+    @Test
+    void testGenerateInto() {
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy(20, true, true, true, false));
+        try (SecretBuffer secret = SecretBuffer.allocate(32)) {
+            assertEquals(20, generator.generateInto(secret));
+            assertEquals(20, secret.length());
+            char[] first = secret.toCharArray();
+            for (char c : first) {
+                assertTrue(Character.isLetterOrDigit(c), "Caractere fora da política: " + c);
+            }
+
+            generator.generateInto(secret);
+            assertEquals(20, secret.length());
+            assertFalse(Arrays.equals(first, secret.toCharArray()), "O conteúdo deve ser substituído");
+            Arrays.fill(first, '\0');
+        }
+        try (SecretBuffer small = SecretBuffer.allocate(8)) {
+            assertThrows(BufferOverflowException.class, () -> generator.generateInto(small));
+        }
+    }
+
+    /*
+     * Testa que a codificação UTF-8 sem alocação coincide com a do JDK.
+     */
+    @Test
+    void testEncodeUtf8() {
+        String text = "aç€𝄞-\uD800x";
+        try (SecretBuffer secret = SecretBuffer.copyOf(text.toCharArray())) {
+            byte[] dest = new byte[secret.maxUtf8Length()];
+            int length = secret.encodeUtf8(dest);
+            assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), Arrays.copyOf(dest, length));
+            assertThrows(IllegalArgumentException.class, () -> secret.encodeUtf8(new byte[2]));
+        }
+    }
+
+    /*
+     * Testa que hashes gerados a partir do buffer e de uma String são intercambiáveis.
+     */
+    @Test
+    void testHashAndVerify() {
+        String password = "Senha-Fora-Do-Heap-1";
+        try (SecretBuffer secret = SecretBuffer.copyOf(password.toCharArray())) {
+            for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+                String hash = HashingUtils.hashPassword(secret, algorithm);
+                assertTrue(HashingUtils.verifyPassword(password, hash, algorithm), algorithm.name());
+                assertTrue(HashingUtils.verifyPassword(secret, HashingUtils.hashPassword(password, algorithm), algorithm));
+                try (SecretBuffer wrong = SecretBuffer.copyOf("senha-errada".toCharArray())) {
+                    assertFalse(HashingUtils.verifyPassword(wrong, hash, algorithm), algorithm.name());
+                }
+            }
+            assertEquals(HashingUtils.hashPassword(password, HashAlgorithm.SHA256),
+                    HashingUtils.hashPassword(secret, HashAlgorithm.SHA256));
+        }
+        try (SecretBuffer accented = SecretBuffer.copyOf("senha-çã".toCharArray())) {
+            assertEquals(HashingUtils.hashPassword("senha-çã", HashAlgorithm.SHA256),
+                    HashingUtils.hashPassword(accented, HashAlgorithm.SHA256));
+        }
+    }
+
+    /*
+     * Testa a limpeza e o fechamento do buffer.
+     */
+    @Test
+    void testClearAndClose() {
+        SecretBuffer secret = SecretBuffer.copyOf("segredo".toCharArray());
+        assertEquals('s', secret.charAt(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> secret.charAt(7));
+
+        secret.clear();
+        assertEquals(0, secret.length());
+        assertEquals(7, secret.capacity());
+        assertThrows(IndexOutOfBoundsException.class, () -> secret.charAt(0));
+
+        secret.close();
+        secret.close();
+        assertTrue(secret.isClosed());
+        assertThrows(IllegalStateException.class, secret::toCharArray);
+        assertThrows(IllegalStateException.class, secret::clear);
+        assertFalse(secret.toString().contains("segredo"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da codificação UTF-8 compartilhada, comparada com String.getBytes.
+ */
+class Utf8Test {
+
+    /*
+     * Testa um, dois, três e quatro bytes, surrogates sem par e a escrita a partir de uma posição.
+     */
+    @Test
+    void testMatchesGetBytes() {
+        String[] values = {"", "abc", "çãé", "密码", "𝄞x𝄞", "a\uD834", "\uDD1Eb", "\uD834𝄞"};
+        for (String value : values) {
+            byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+            byte[] out = new byte[2 + value.length() * Utf8.MAX_BYTES_PER_CHAR];
+            int end = Utf8.encode(value, out, 2);
+            assertEquals(2 + expected.length, end, value);
+            assertArrayEquals(expected, Arrays.copyOfRange(out, 2, end), value);
+        }
+    }
+
+    /*
+     * Testa que um trecho terminado no meio de um par trata o surrogate alto como isolado.
+     */
+    @Test
+    void testRange() {
+        String value = "x𝄞y";
+        byte[] out = new byte[16];
+        assertEquals(2, Utf8.encode(value, 0, 2, out, 0));
+        assertArrayEquals(new byte[]{'x', '?'}, Arrays.copyOf(out, 2));
+        assertEquals(4, Utf8.encode(value, 1, 3, out, 0));
+        assertEquals(2, Utf8.charCount(value, 1));
+        assertEquals(1, Utf8.charCount(value, 2));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> Utf8.encode("密码", new byte[5], 0));
+    }
+}
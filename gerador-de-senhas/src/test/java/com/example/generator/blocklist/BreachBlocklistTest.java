@@ -0,0 +1,166 @@
+package com.example.generator.blocklist;
+
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.config.PasswordValidator;
+import com.example.generator.config.PolicyViolation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da lista de senhas vazadas e da sua integração com a política e o gerador.
+ */
+class BreachBlocklistTest {
+
+    private static final int ENTRIES = 2000;
+
+    @TempDir
+    Path dir;
+
+    /*
+     * Cria um arquivo no formato do Have I Been Pwned, fora de ordem, com repetições e linhas vazias.
+     */
+    private Path writeDump(BreachHashFormat format, int count) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = count - 1; i >= 0; i--) {
+            String hex = HexFormat.of().withUpperCase().formatHex(format.digest("senha" + i));
+            content.append(hex).append(':').append(i + 1).append("\r\n");
+            if (i % 100 == 0) {
+                content.append(hex).append(":1\n\n");
+            }
+        }
+        Path path = dir.resolve("vazadas.txt");
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    /*
+     * Testa os hashes SHA-1 e NTLM com valores de referência.
+     */
+    @Test
+    void testDigestFormats() throws NoSuchAlgorithmException {
+        HexFormat hex = HexFormat.of();
+        assertEquals("5baa61e4c9b93f3f0682250b6cf8331b7ee68fd8", hex.formatHex(BreachHashFormat.SHA1.digest("password")));
+        assertEquals("8846f7eaee8fb117ad06bdd830b7586c", hex.formatHex(BreachHashFormat.NTLM.digest("password")));
+        assertEquals("31d6cfe0d16ae931b73c59d7e0c089c0", hex.formatHex(BreachHashFormat.NTLM.digest("")));
+
+        // Caracteres fora do ASCII, incluindo um par de surrogates, e uma senha maior que um bloco.
+        String password = "senhá€😀" + "x".repeat(300);
+        byte[] expected = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, BreachHashFormat.SHA1.digest(password), "O SHA-1 deve usar os bytes UTF-8 da senha");
+    }
+
+    /*
+     * Testa a montagem com intercalação em disco e as consultas, antes e depois de reabrir a lista.
+     */
+    @Test
+    void testBuildAndLookup() throws IOException {
+        Path dump = writeDump(BreachHashFormat.SHA1, ENTRIES);
+        Path base = dir.resolve("vazadas");
+
+        try (BreachBlocklist blocklist = BreachBlocklist.build(dump, base, BreachHashFormat.SHA1, 0.01, 256)) {
+            assertEquals(ENTRIES, blocklist.size(), "As repetições devem ser removidas");
+            assertLookups(blocklist);
+        }
+        assertTrue(Files.exists(BreachBlocklist.filterPath(base)));
+        assertTrue(Files.exists(BreachBlocklist.hashesPath(base)));
+        try (BreachBlocklist blocklist = BreachBlocklist.open(base)) {
+            assertEquals(BreachHashFormat.SHA1, blocklist.getFormat());
+            assertLookups(blocklist);
+            assertTrue(blocklist.containsDigest(BreachHashFormat.SHA1.digest("senha7")));
+        }
+    }
+
+    private static void assertLookups(BreachBlocklist blocklist) {
+        for (int i = 0; i < ENTRIES; i++) {
+            assertTrue(blocklist.contains("senha" + i), "A senha vazada deve ser encontrada: senha" + i);
+            assertFalse(blocklist.contains("outra" + i), "A busca exata deve descartar os falsos positivos do filtro");
+        }
+        char[] chars = "xxsenha42xx".toCharArray();
+        assertTrue(blocklist.contains(chars, 2, 7));
+    }
+
+    /*
+     * Testa se a taxa de falsos positivos do filtro fica próxima da configurada.
+     */
+    @Test
+    void testFilterFalsePositiveRate() throws IOException {
+        Path dump = writeDump(BreachHashFormat.NTLM, 20_000);
+        try (BreachBlocklist blocklist = BreachBlocklist.build(dump, dir.resolve("ntlm"), BreachHashFormat.NTLM, 0.01)) {
+            assertTrue(blocklist.contains("senha123"));
+            SplittableRandom random = new SplittableRandom(42);
+            int samples = 200_000;
+            int positives = 0;
+            for (int i = 0; i < samples; i++) {
+                if (blocklist.mightContain(random.nextLong())) {
+                    positives++;
+                }
+            }
+            double rate = (double) positives / samples;
+            assertTrue(rate < 0.02, "Taxa de falsos positivos acima do esperado: " + rate);
+        }
+    }
+
+    /*
+     * Testa se linhas que não começam com um hash e arquivos inexistentes são recusados.
+     */
+    @Test
+    void testInvalidInput() throws IOException {
+        Path dump = dir.resolve("invalido.txt");
+        Files.write(dump, "5BAA61E4C9B93F3F:3\nnao-e-hash\n".getBytes(StandardCharsets.UTF_8));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BreachBlocklist.build(dump, dir.resolve("invalido"), BreachHashFormat.SHA1));
+        assertTrue(e.getMessage().contains("linha 2"), e.getMessage());
+
+        assertThrows(UncheckedIOException.class, () -> BreachBlocklist.open(dir.resolve("inexistente")));
+    }
+
+    /*
+     * Testa a integração com o validador e o gerador da política.
+     */
+    @Test
+    void testPolicyIntegration() throws IOException {
+        Path dump = writeDump(BreachHashFormat.SHA1, 100);
+        try (BreachBlocklist blocklist = BreachBlocklist.build(dump, dir.resolve("politica"), BreachHashFormat.SHA1)) {
+            PasswordPolicy policy = new PasswordPolicy(6, false, true, true, false);
+            policy.setBlocklist(blocklist);
+            PasswordValidator validator = policy.compileValidator();
+            assertEquals(EnumSet.of(PolicyViolation.BREACHED), PolicyViolation.fromMask(validator.validate("senha42")));
+            assertEquals(0, validator.validate("senha420"));
+            assertEquals(PolicyViolation.BREACHED.mask(), validator.validate("senha42".toCharArray(), 0, 7));
+        }
+
+        // O gerador sorteia outra senha quando a gerada está na lista.
+        PasswordPolicy policy = new PasswordPolicy(4, false, true, false, false);
+        policy.setBlocklist(password -> password.toString().indexOf('a') >= 0);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+        for (String password : generator.generateBatch(500)) {
+            assertEquals(-1, password.indexOf('a'), "Senha da lista gerada: " + password);
+        }
+        CharBuffer direct = ByteBuffer.allocateDirect(8).asCharBuffer();
+        for (int i = 0; i < 100; i++) {
+            direct.clear();
+            generator.generateInto(direct);
+            direct.flip();
+            assertEquals(-1, direct.toString().indexOf('a'), "Senha da lista gerada: " + direct);
+        }
+
+        policy.setBlocklist(password -> true);
+        assertThrows(IllegalStateException.class, () -> new SecurePasswordGenerator(policy).generate());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.generator.config;
+
+import com.example.generator.GenerationMode;
+import com.example.generator.SecurePasswordGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes das regras estendidas da política de senhas e do validador compilado.
+ */
+class PasswordPolicyTest {
+
+    /*
+     * Testa se as senhas geradas respeitam as quantidades mínimas por classe, mesmo no modo uniforme.
+     */
+    @Test
+    void testGeneratedPasswordsRespectMinimums() {
+        PasswordPolicy policy = new PasswordPolicy(10, true, true, true, true);
+        policy.setMinimum(CharacterClass.DIGITS, 3);
+        policy.setMinimum(CharacterClass.SPECIAL, 2);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+        PasswordValidator validator = policy.compileValidator();
+
+        for (String password : generator.generateBatch(2000)) {
+            assertTrue(password.chars().filter(Character::isDigit).count() >= 3, "A senha deve ter ao menos 3 dígitos: " + password);
+            assertEquals(0, validator.validate(password), "A senha gerada deve ser válida: " + password);
+        }
+    }
+
+    /*
+     * Testa se caracteres excluídos e ambíguos nunca aparecem nas senhas geradas.
+     */
+    @Test
+    void testExcludedAndAmbiguousCharacters() {
+        PasswordPolicy policy = new PasswordPolicy(32, true, true, true, false);
+        policy.setExcludeAmbiguous(true);
+        policy.setExcludedCharacters("aeiou");
+        CompiledPolicy compiled = policy.compile();
+        assertEquals(26 + 26 + 10 - 5 - 5, compiled.size(), "Devem ser removidos 5 ambíguos e 5 vogais.");
+
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy, GenerationMode.ALL_CLASSES);
+        for (String password : generator.generateBatch(500)) {
+            for (char c : "0O1lIaeiou".toCharArray()) {
+                assertTrue(password.indexOf(c) < 0, "A senha não deve conter '" + c + "': " + password);
+            }
+        }
+    }
+
+    /*
+     * Testa se o limite de repetições seguidas é respeitado mesmo com um alfabeto pequeno.
+     */
+    @Test
+    void testMaxRepeated() {
+        PasswordPolicy policy = new PasswordPolicy(24, false, false, true, false);
+        policy.setAlphabet(CharacterClass.DIGITS, "01");
+        policy.setMaxRepeated(2);
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy);
+
+        for (String password : generator.generateBatch(500)) {
+            assertFalse(password.contains("000") || password.contains("111"),
+                    "A senha não deve repetir um caractere mais de 2 vezes seguidas: " + password);
+        }
+    }
+
+    /*
+     * Testa o alfabeto próprio de uma classe e a rejeição de alfabetos sobrepostos.
+     */
+    @Test
+    void testCustomAlphabets() {
+        PasswordPolicy policy = new PasswordPolicy(16, false, true, false, true);
+        policy.setAlphabet(CharacterClass.SPECIAL, "#$%");
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(policy, GenerationMode.ALL_CLASSES);
+        String password = generator.generate();
+        assertTrue(password.chars().allMatch(c -> Character.isLowerCase(c) || "#$%".indexOf(c) >= 0),
+                "A senha deve usar apenas minúsculas e o alfabeto próprio: " + password);
+
+        policy.setAlphabet(CharacterClass.SPECIAL, "#a");
+        assertThrows(IllegalArgumentException.class, policy::compile, "Classes não podem compartilhar caracteres.");
+    }
+
+    /*
+     * Testa se o validador aponta cada regra violada na máscara.
+     */
+    @Test
+    void testValidatorReportsViolations() {
+        PasswordPolicy policy = new PasswordPolicy(8, true, true, true, false);
+        policy.setMinimum(CharacterClass.UPPERCASE, 1);
+        policy.setMinimum(CharacterClass.DIGITS, 2);
+        policy.setMaxRepeated(2);
+        policy.setExcludedCharacters("x");
+        PasswordValidator validator = policy.compileValidator();
+
+        assertTrue(validator.isValid("Abcdef12"));
+        assertEquals(EnumSet.of(PolicyViolation.TOO_SHORT), PolicyViolation.fromMask(validator.validate("Abc12")));
+        assertEquals(EnumSet.of(PolicyViolation.MISSING_UPPERCASE, PolicyViolation.MISSING_DIGITS),
+                PolicyViolation.fromMask(validator.validate("abcdefg1")));
+        assertEquals(EnumSet.of(PolicyViolation.FORBIDDEN_CHARACTER),
+                PolicyViolation.fromMask(validator.validate("Abxdef12")));
+        assertEquals(EnumSet.of(PolicyViolation.FORBIDDEN_CHARACTER),
+                PolicyViolation.fromMask(validator.validate("Abcd!f12")));
+        assertEquals(EnumSet.of(PolicyViolation.TOO_MANY_REPEATED),
+                PolicyViolation.fromMask(validator.validate("Abbbef12")));
+
+        char[] password = "--Abcdef12--".toCharArray();
+        assertEquals(0, validator.validate(password, 2, 8), "O trecho do array deve ser validado sem cópias.");
+    }
+
+    /*
+     * Testa se uma quantidade mínima em uma classe desabilitada é rejeitada na compilação.
+     */
+    @Test
+    void testMinimumOnDisabledClass() {
+        PasswordPolicy policy = new PasswordPolicy(8, false, true, false, false);
+        policy.setMinimum(CharacterClass.DIGITS, 1);
+        assertThrows(IllegalStateException.class, policy::compile);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.generator.config;
+
+import com.example.generator.SecurePasswordGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da estimativa de força de senhas.
+ */
+class PasswordStrengthEstimatorTest {
+
+    private final PasswordStrengthEstimator estimator = new PasswordStrengthEstimator();
+
+    /*
+     * Testa a entropia teórica de políticas com e sem quantidades mínimas.
+     */
+    @Test
+    void testTheoreticalEntropy() {
+        PasswordPolicy alnum = new PasswordPolicy(12, true, true, true, false);
+        assertEquals(12 * Math.log(62) / Math.log(2), PasswordStrengthEstimator.theoreticalEntropy(alnum), 1e-9);
+
+        PasswordPolicy digits = new PasswordPolicy(4, true, false, true, false);
+        assertEquals(Math.log(1_212_640) / Math.log(2), PasswordStrengthEstimator.theoreticalEntropy(digits, true), 1e-9,
+                "Com todas as classes obrigatórias, a contagem exclui senhas só de letras ou só de dígitos.");
+    }
+
+    /*
+     * Testa se palavras de dicionário são reconhecidas, inclusive com maiúsculas e substituições.
+     */
+    @Test
+    void testDictionaryMatches() {
+        for (String password : new String[]{"password", "Password", "P4ssw0rd", "s3nh4"}) {
+            StrengthScore score = estimator.score(password);
+            assertTrue(score.getPatterns().contains(StrengthScore.PatternType.DICTIONARY), "Deve achar palavra em " + password);
+            assertEquals(0, score.getScore(), "A senha " + password + " deve ser muito fraca: " + score);
+        }
+    }
+
+    /*
+     * Testa o reconhecimento de repetições, sequências e caminhos no teclado.
+     */
+    @Test
+    void testPatternMatches() {
+        assertPattern("zzzzzzzzzz", StrengthScore.PatternType.REPEAT);
+        assertPattern("xkcdxkcdxkcd", StrengthScore.PatternType.REPEAT);
+        assertPattern("lmnopqrstu", StrengthScore.PatternType.SEQUENCE);
+        assertPattern("98765432", StrengthScore.PatternType.SEQUENCE);
+        assertPattern("zxcvbnm,./", StrengthScore.PatternType.KEYBOARD_WALK);
+        assertPattern("1qaz2wsx", StrengthScore.PatternType.KEYBOARD_WALK);
+    }
+
+    private void assertPattern(String password, StrengthScore.PatternType type) {
+        StrengthScore score = estimator.score(password);
+        assertTrue(score.getPatterns().contains(type), "A senha " + password + " deve conter " + type + ": " + score);
+        // Força bruta sobre essas senhas custaria de 4,7 a 5,2 bits por caractere.
+        assertTrue(score.getEntropyBits() < 2.5 * password.length(), "O padrão deve reduzir a entropia de " + password + ": " + score);
+    }
+
+    /*
+     * Testa se senhas aleatórias longas recebem a nota máxima, avaliadas em lote.
+     */
+    @Test
+    void testRandomPasswordsAreStrong() {
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy(16, true, true, true, true));
+        List<String> passwords = generator.generateBatch(200);
+        List<StrengthScore> scores = estimator.scoreAll(passwords);
+        assertEquals(200, scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+            assertEquals(4, scores.get(i).getScore(), "A senha " + passwords.get(i) + " deve ser forte: " + scores.get(i));
+            assertTrue(scores.get(i).getEntropyBits() > 60, "Senhas aleatórias de 16 caracteres devem ter mais de 60 bits.");
+        }
+    }
+
+    /*
+     * Testa o dicionário próprio e a ordem das palavras na estimativa.
+     */
+    @Test
+    void testCustomDictionary() {
+        PasswordStrengthEstimator custom = new PasswordStrengthEstimator(Arrays.asList("tucano", "capivara"));
+        double first = custom.score("tucano").getEntropyBits();
+        double second = custom.score("capivara").getEntropyBits();
+        assertTrue(first < second, "Palavras mais comuns devem custar menos tentativas.");
+        assertFalse(custom.score("password").getPatterns().contains(StrengthScore.PatternType.DICTIONARY));
+    }
+
+    /*
+     * Testa que entradas enormes e repetitivas são avaliadas em tempo limitado, pelo seu início.
+     */
+    @Test
+    void testLongInputsAreBounded() {
+        String[] inputs = {"a".repeat(10_000), "qwqw".repeat(2_500), "password".repeat(1_250)};
+        estimator.score(inputs[0]);
+        long start = System.nanoTime();
+        for (String input : inputs) {
+            StrengthScore score = estimator.score(input);
+            assertEquals(estimator.score(input.substring(0, PasswordStrengthEstimator.MAX_SCORED_LENGTH)).getEntropyBits(),
+                    score.getEntropyBits(), 1e-9);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 1_000, "Avaliação lenta demais: " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.generator.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe {@link BatchDigester}.
+ * Compara os resumos em lote com o {@link MessageDigest} e o {@link Mac} do JCE.
+ */
+public class BatchDigesterTest {
+
+    private static final List<String> INPUTS = List.of("MinhaSenha123", "çãéü-ß-密码", "", "𝄞x\uD800", "x");
+
+    private static byte[] digestAt(byte[] digests, int index) {
+        return Arrays.copyOfRange(digests, index * BatchDigester.DIGEST_LENGTH, (index + 1) * BatchDigester.DIGEST_LENGTH);
+    }
+
+    /**
+     * Testa o SHA-256 simples e com salt contra o MessageDigest, com entradas não ASCII.
+     */
+    @Test
+    void testSha256MatchesMessageDigest() throws Exception {
+        byte[] salt = "salt-de-teste-16".getBytes(StandardCharsets.UTF_8);
+        byte[] plain = BatchDigester.sha256().digestAll(INPUTS);
+        byte[] salted = BatchDigester.sha256(salt).digestAll(INPUTS);
+        assertEquals(INPUTS.size() * BatchDigester.DIGEST_LENGTH, plain.length);
+
+        for (int i = 0; i < INPUTS.size(); i++) {
+            byte[] bytes = INPUTS.get(i).getBytes(StandardCharsets.UTF_8);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            assertArrayEquals(digest.digest(bytes), digestAt(plain, i), INPUTS.get(i));
+            digest.update(salt);
+            assertArrayEquals(digest.digest(bytes), digestAt(salted, i), INPUTS.get(i));
+        }
+    }
+
+    /**
+     * Testa o HMAC-SHA256 contra o Mac do JCE.
+     */
+    @Test
+    void testHmacMatchesMac() throws Exception {
+        byte[] key = "chave-de-teste".getBytes(StandardCharsets.UTF_8);
+        byte[] digests = BatchDigester.hmacSha256(key).digestAll(INPUTS);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key, "HmacSHA256"));
+        for (int i = 0; i < INPUTS.size(); i++) {
+            assertArrayEquals(mac.doFinal(INPUTS.get(i).getBytes(StandardCharsets.UTF_8)), digestAt(digests, i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> BatchDigester.hmacSha256(new byte[0]));
+    }
+
+    /**
+     * Testa a escrita em blocos em um buffer direto e os limites da saída.
+     */
+    @Test
+    void testDirectBufferInChunks() {
+        BatchDigester digester = BatchDigester.sha256();
+        byte[] expected = digester.digestAll(INPUTS);
+
+        ByteBuffer out = ByteBuffer.allocateDirect(2 * BatchDigester.DIGEST_LENGTH + 5);
+        Iterator<String> inputs = INPUTS.iterator();
+        byte[] collected = new byte[expected.length];
+        int total = 0;
+        int count;
+        while ((count = digester.digestAll(inputs, out)) > 0) {
+            out.flip();
+            out.get(collected, total * BatchDigester.DIGEST_LENGTH, count * BatchDigester.DIGEST_LENGTH);
+            out.clear();
+            total += count;
+        }
+        assertEquals(INPUTS.size(), total);
+        assertArrayEquals(expected, collected);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> digester.digestAll(INPUTS, new byte[expected.length], 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> digester.digest("x", new byte[40], 9));
+    }
+
+    /**
+     * Testa a chave compacta e a comparação de resumos.
+     */
+    @Test
+    void testPrefixAndEquals() {
+        byte[] digests = BatchDigester.sha256().digestAll(List.of("a", "b", "a"));
+        assertTrue(BatchDigester.equals(digests, 0, digests, 2));
+        assertFalse(BatchDigester.equals(digests, 0, digests, 1));
+        assertEquals(BatchDigester.prefix(digests, 0), BatchDigester.prefix(digests, 2));
+
+        byte[] first = digestAt(digests, 1);
+        long expected = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            expected = expected << 8 | (first[i] & 0xff);
+        }
+        assertEquals(expected, BatchDigester.prefix(digests, 1));
+    }
+
+    /**
+     * Testa que o algoritmo SHA256 usa UTF-8 e coincide com o resumo em lote.
+     */
+    @Test
+    void testHashingUtilsUsesUtf8() {
+        String password = "senha-çã-密码";
+        String hash = HashingUtils.hashPassword(password, HashAlgorithm.SHA256);
+        byte[] digest = BatchDigester.sha256().digestAll(List.of(password));
+        assertEquals(Base64.getEncoder().encodeToString(digest), hash);
+        assertTrue(HashingUtils.verifyPassword(password, hash, HashAlgorithm.SHA256));
+        assertFalse(HashingUtils.verifyPassword("senha-ca-", hash, HashAlgorithm.SHA256));
+    }
+}
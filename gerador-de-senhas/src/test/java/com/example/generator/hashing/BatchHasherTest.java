@@ -0,0 +1,69 @@
+package com.example.generator.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe {@link BatchHasher}.
+ */
+public class BatchHasherTest {
+
+    /**
+     * Testa se os resultados são entregues na ordem da entrada e correspondem às senhas.
+     */
+    @Test
+    void testResultsKeepInputOrder() {
+        List<String> passwords = new ArrayList<>();
+        IntStream.range(0, 200).forEach(i -> passwords.add("senha-" + i));
+
+        try (BatchHasher hasher = new BatchHasher(4, 8)) {
+            List<HashResult> results = hasher.hashAll(passwords, HashAlgorithm.SHA256);
+            assertEquals(passwords.size(), results.size(), "Deve haver um resultado por senha");
+            for (int i = 0; i < passwords.size(); i++) {
+                HashResult result = results.get(i);
+                assertEquals(i, result.getIndex(), "Os resultados devem seguir a ordem da entrada");
+                assertTrue(HashingUtils.verifyPassword(passwords.get(i), result.getHash(), HashAlgorithm.SHA256),
+                        "O hash deve corresponder à senha da mesma posição");
+            }
+        }
+    }
+
+    /**
+     * Testa se a falha de um item é capturada sem interromper o restante do lote.
+     */
+    @Test
+    void testFailuresAreCapturedPerItem() {
+        List<String> passwords = Arrays.asList("primeira", null, "terceira");
+
+        try (BatchHasher hasher = new BatchHasher(2)) {
+            List<HashResult> results = hasher.hashAll(passwords, HashAlgorithm.PBKDF2);
+            assertTrue(results.get(0).isSuccess(), "O primeiro item deve ter sucesso");
+            assertFalse(results.get(1).isSuccess(), "O item nulo deve falhar");
+            assertNull(results.get(1).getHash(), "O item com falha não deve ter hash");
+            assertNotNull(results.get(1).getError(), "O erro do item deve ser capturado");
+            assertTrue(HashingUtils.verifyPassword("terceira", results.get(2).getHash(), HashAlgorithm.PBKDF2),
+                    "O item após a falha deve ser processado normalmente");
+        }
+    }
+
+    /**
+     * Testa o processamento de um stream maior que a janela de itens em andamento.
+     */
+    @Test
+    void testStreamLargerThanWindow() {
+        List<HashResult> results = new ArrayList<>();
+        try (BatchHasher hasher = new BatchHasher(3, 2)) {
+            long count = hasher.hashAll(IntStream.range(0, 50).mapToObj(i -> "s" + i), HashAlgorithm.SHA256, results::add);
+            assertEquals(50, count, "Todos os itens do stream devem ser processados");
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex(), "Os resultados devem seguir a ordem do stream");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.generator.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe {@link CryptoPrimitives}.
+ * Compara o PBKDF2 reaproveitado por thread com a implementação do provedor JCE.
+ */
+public class CryptoPrimitivesTest {
+
+    private final byte[] salt = "salt-de-teste-16".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Testa se o PBKDF2 produz o mesmo resultado do SecretKeyFactory para vários tamanhos de chave.
+     */
+    @Test
+    void testPbkdf2MatchesSecretKeyFactory() throws Exception {
+        SecretKeyFactory factory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256");
+        for (String password : new String[]{"MinhaSenha123", "çãéü-ß-密码", "x"}) {
+            for (int keyLength : new int[]{160, 256, 512}) {
+                byte[] expected = factory.generateSecret(
+                        new PBEKeySpec(password.toCharArray(), salt, 1000, keyLength)).getEncoded();
+                byte[] actual = CryptoPrimitives.pbkdf2(password.toCharArray(), salt, 1000, keyLength);
+                assertArrayEquals(expected, actual, "O PBKDF2 deve coincidir com o provedor JCE");
+            }
+        }
+    }
+
+    /**
+     * Testa se a instância de SHA-256 é reiniciada entre usos na mesma thread.
+     */
+    @Test
+    void testSha256IsResetBetweenUses() throws Exception {
+        CryptoPrimitives.sha256().update("resto de um uso anterior".getBytes(StandardCharsets.UTF_8));
+        byte[] actual = CryptoPrimitives.sha256().digest("abc".getBytes(StandardCharsets.UTF_8));
+        byte[] expected = MessageDigest.getInstance("SHA-256").digest("abc".getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, actual, "O digest deve ser reiniciado antes de cada uso");
+    }
+}
@@ -1,6 +1,17 @@
 package com.example.generator.hashing;
 
+import com.example.generator.SecretBuffer;
 import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -77,4 +88,132 @@ public class HashingUtilsTest {
         assertFalse(valid, "Uma senha incorreta não deve ser validada com sucesso");
         System.out.println("Senha incorreta não validada com sucesso");
     }
+
+    /**
+     * Testa se o hash PBKDF2 registra versão e iterações e se a verificação usa o custo armazenado,
+     * mesmo depois que o custo configurado muda.
+     */
+    @Test
+    void testPBKDF2HashIsSelfDescribing() {
+        HashCost original = HashingUtils.getCost();
+        try {
+            HashingUtils.setCost(new HashCost(12_000, original.getBcryptLogRounds()));
+            String hash = HashingUtils.hashPassword(senhaTeste, HashAlgorithm.PBKDF2);
+            assertTrue(hash.startsWith("$pbkdf2-sha256$v=1$i=12000$"), "O hash deve registrar versão e iterações");
+
+            HashingUtils.setCost(new HashCost(20_000, original.getBcryptLogRounds()));
+            assertTrue(HashingUtils.verifyPassword(senhaTeste, hash, HashAlgorithm.PBKDF2),
+                    "A verificação deve usar as iterações gravadas no hash");
+            assertEquals(12_000, EncodedHash.parse(hash, HashAlgorithm.PBKDF2).getCost());
+        } finally {
+            HashingUtils.setCost(original);
+        }
+    }
+
+    /**
+     * Testa se hashes PBKDF2 no formato legado "salt:hash" (10.000 iterações) continuam válidos.
+     */
+    @Test
+    void testLegacyPBKDF2HashStillVerifies() {
+        byte[] salt = "salt-legado-0016".getBytes(StandardCharsets.UTF_8);
+        byte[] derived = CryptoPrimitives.pbkdf2(senhaTeste.toCharArray(), salt, 10_000, 256);
+        String legacy = Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(derived);
+
+        assertTrue(EncodedHash.parse(legacy, HashAlgorithm.PBKDF2).isLegacy(), "O hash deve ser reconhecido como legado");
+        assertTrue(HashingUtils.verifyPassword(senhaTeste, legacy, HashAlgorithm.PBKDF2),
+                "Hashes legados devem continuar sendo verificados");
+        assertFalse(HashingUtils.verifyPassword("SenhaErrada", legacy, HashAlgorithm.PBKDF2),
+                "Uma senha incorreta não deve validar um hash legado");
+    }
+
+    /**
+     * Testa se hashes gravados pelo SecurePasswordGenerator.hashPassword original, no formato
+     * "salt:hash" com 65.536 iterações, continuam válidos pelas duas sobrecargas.
+     */
+    @Test
+    void testLegacyGeneratorHashStillVerifies() throws Exception {
+        // Mesmo código da versão original do gerador
+        byte[] salt = new byte[16];
+        new SecureRandom().nextBytes(salt);
+        PBEKeySpec spec = new PBEKeySpec(senhaTeste.toCharArray(), salt, 65536, 256);
+        byte[] hash = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        String legacy = Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
+
+        assertTrue(HashingUtils.verifyPassword(senhaTeste, legacy, HashAlgorithm.PBKDF2),
+                "Hashes do gerador antigo devem continuar sendo verificados");
+        assertFalse(HashingUtils.verifyPassword("SenhaErrada", legacy, HashAlgorithm.PBKDF2));
+        try (SecretBuffer secret = SecretBuffer.copyOf(senhaTeste.toCharArray())) {
+            assertTrue(HashingUtils.verifyPassword(secret, legacy, HashAlgorithm.PBKDF2));
+        }
+    }
+
+    /**
+     * Testa se hashes SHA-256 de versões que usavam o charset da plataforma são aceitos pelas
+     * duas sobrecargas de verificação.
+     */
+    @Test
+    void testSHA256PlatformCharsetFallback() throws Exception {
+        String senha = "senha-çã-密码";
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(senha.getBytes(Charset.defaultCharset()));
+        String legacy = Base64.getEncoder().encodeToString(digest);
+
+        assertTrue(HashingUtils.verifyPassword(senha, legacy, HashAlgorithm.SHA256));
+        try (SecretBuffer secret = SecretBuffer.copyOf(senha.toCharArray())) {
+            assertTrue(HashingUtils.verifyPassword(secret, legacy, HashAlgorithm.SHA256),
+                    "A senha fora do heap deve ter o mesmo fallback da String");
+        }
+        try (SecretBuffer secret = SecretBuffer.copyOf("outra-çã".toCharArray())) {
+            assertFalse(HashingUtils.verifyPassword(secret, legacy, HashAlgorithm.SHA256));
+        }
+    }
+
+    /**
+     * Testa se hashes com custo acima dos limites são recusados antes de qualquer cálculo.
+     */
+    @Test
+    void testCostAboveLimitIsRejected() {
+        String salt = Base64.getEncoder().encodeToString(new byte[16]);
+        String pbkdf2 = EncodedHash.PBKDF2_PREFIX + "v=1$i=" + (HashCost.MAX_PBKDF2_ITERATIONS + 1) + "$" + salt + ":" + salt;
+        assertThrows(IllegalArgumentException.class, () -> EncodedHash.parse(pbkdf2, HashAlgorithm.PBKDF2));
+        assertThrows(IllegalArgumentException.class, () -> HashingUtils.verifyPassword(senhaTeste, pbkdf2, HashAlgorithm.PBKDF2));
+        String huge = EncodedHash.PBKDF2_PREFIX + "v=1$i=2000000000$" + salt + ":" + salt;
+        assertThrows(IllegalArgumentException.class, () -> HashingUtils.verifyPassword(senhaTeste, huge, HashAlgorithm.PBKDF2));
+
+        String bcrypt = "$2a$31$" + "a".repeat(53);
+        assertThrows(IllegalArgumentException.class, () -> EncodedHash.parse(bcrypt, HashAlgorithm.BCRYPT));
+        assertThrows(IllegalArgumentException.class, () -> HashingUtils.verifyPassword(senhaTeste, bcrypt, HashAlgorithm.BCRYPT));
+        try (SecretBuffer secret = SecretBuffer.copyOf(senhaTeste.toCharArray())) {
+            assertThrows(IllegalArgumentException.class, () -> HashingUtils.verifyPassword(secret, bcrypt, HashAlgorithm.BCRYPT));
+            assertThrows(IllegalArgumentException.class, () -> HashingUtils.verifyPassword(secret, pbkdf2, HashAlgorithm.PBKDF2));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new HashCost(HashCost.MAX_PBKDF2_ITERATIONS + 1, 10));
+    }
+
+    /**
+     * Testa se o BCrypt usa o custo configurado e se o custo é lido do hash.
+     */
+    @Test
+    void testBCryptUsesConfiguredCost() {
+        HashCost original = HashingUtils.getCost();
+        try {
+            HashingUtils.setCost(new HashCost(original.getPbkdf2Iterations(), 11));
+            String hash = HashingUtils.hashPassword(senhaTeste, HashAlgorithm.BCRYPT);
+            assertEquals(11, EncodedHash.parse(hash, HashAlgorithm.BCRYPT).getCost(), "O hash deve usar o custo 11");
+        } finally {
+            HashingUtils.setCost(original);
+        }
+    }
+
+    /**
+     * Testa se a calibração respeita os custos mínimos.
+     */
+    @Test
+    void testCalibrationRespectsMinimums() {
+        HashCost calibrated = CostCalibrator.calibrate(Duration.ofMillis(1));
+        assertEquals(HashCost.MIN_BCRYPT_LOG_ROUNDS, calibrated.getBcryptLogRounds(),
+                "Um alvo muito baixo deve resultar no custo BCrypt mínimo");
+        assertTrue(calibrated.getPbkdf2Iterations() >= HashCost.MIN_PBKDF2_ITERATIONS,
+                "As iterações PBKDF2 não devem ficar abaixo do mínimo");
+        System.out.println("Custos calibrados: " + calibrated);
+    }
 }
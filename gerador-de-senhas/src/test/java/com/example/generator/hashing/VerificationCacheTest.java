@@ -0,0 +1,96 @@
+package com.example.generator.hashing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe {@link VerificationCache}.
+ */
+public class VerificationCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    /**
+     * Testa se a segunda verificação da mesma senha é respondida pelo cache.
+     */
+    @Test
+    void testRepeatedVerificationHitsCache() {
+        VerificationCache cache = new VerificationCache(10, Duration.ofMinutes(1), now::get);
+        String hash = HashingUtils.hashPassword("MinhaSenha123", HashAlgorithm.PBKDF2);
+
+        assertTrue(cache.verifyPassword("MinhaSenha123", hash, HashAlgorithm.PBKDF2), "A senha correta deve ser válida");
+        assertTrue(cache.verifyPassword("MinhaSenha123", hash, HashAlgorithm.PBKDF2), "A senha correta deve continuar válida");
+        assertEquals(1, cache.getMisses(), "Apenas a primeira verificação deve executar o algoritmo");
+        assertEquals(1, cache.getHits(), "A segunda verificação deve vir do cache");
+    }
+
+    /**
+     * Testa se senhas erradas não são guardadas nem aceitas.
+     */
+    @Test
+    void testWrongPasswordIsNotCached() {
+        VerificationCache cache = new VerificationCache(10, Duration.ofMinutes(1), now::get);
+        String hash = HashingUtils.hashPassword("MinhaSenha123", HashAlgorithm.SHA256);
+
+        assertFalse(cache.verifyPassword("SenhaErrada", hash, HashAlgorithm.SHA256), "A senha errada deve ser rejeitada");
+        assertFalse(cache.verifyPassword("SenhaErrada", hash, HashAlgorithm.SHA256), "A senha errada deve continuar rejeitada");
+        assertEquals(0, cache.size(), "Verificações com falha não devem ocupar o cache");
+    }
+
+    /**
+     * Testa a expiração das entradas pelo tempo de vida.
+     */
+    @Test
+    void testEntriesExpire() {
+        VerificationCache cache = new VerificationCache(10, Duration.ofSeconds(30), now::get);
+        String hash = HashingUtils.hashPassword("MinhaSenha123", HashAlgorithm.SHA256);
+
+        cache.verifyPassword("MinhaSenha123", hash, HashAlgorithm.SHA256);
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.verifyPassword("MinhaSenha123", hash, HashAlgorithm.SHA256);
+
+        assertEquals(0, cache.getHits(), "Uma entrada expirada não deve ser usada");
+        assertEquals(1, cache.getEvictions(), "A entrada expirada deve ser contada como removida");
+    }
+
+    /**
+     * Testa a remoção da entrada usada há mais tempo quando o cache está cheio.
+     */
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        VerificationCache cache = new VerificationCache(2, Duration.ofMinutes(1), now::get);
+        String hashA = HashingUtils.hashPassword("a", HashAlgorithm.SHA256);
+        String hashB = HashingUtils.hashPassword("b", HashAlgorithm.SHA256);
+        String hashC = HashingUtils.hashPassword("c", HashAlgorithm.SHA256);
+
+        cache.verifyPassword("a", hashA, HashAlgorithm.SHA256);
+        cache.verifyPassword("b", hashB, HashAlgorithm.SHA256);
+        cache.verifyPassword("a", hashA, HashAlgorithm.SHA256);
+        cache.verifyPassword("c", hashC, HashAlgorithm.SHA256);
+
+        assertEquals(2, cache.size(), "O cache não deve passar do tamanho máximo");
+        assertEquals(1, cache.getEvictions(), "Uma entrada deve ter sido removida");
+        cache.verifyPassword("a", hashA, HashAlgorithm.SHA256);
+        assertEquals(2, cache.getHits(), "A entrada usada recentemente deve permanecer no cache");
+    }
+
+    /**
+     * Testa a invalidação explícita quando o hash do usuário muda.
+     */
+    @Test
+    void testInvalidateRemovesEntriesOfHash() {
+        VerificationCache cache = new VerificationCache(10, Duration.ofMinutes(1), now::get);
+        String hash = HashingUtils.hashPassword("MinhaSenha123", HashAlgorithm.SHA256);
+        String other = HashingUtils.hashPassword("OutraSenha", HashAlgorithm.SHA256);
+
+        cache.verifyPassword("MinhaSenha123", hash, HashAlgorithm.SHA256);
+        cache.verifyPassword("OutraSenha", other, HashAlgorithm.SHA256);
+        cache.invalidate(hash);
+
+        assertEquals(1, cache.size(), "Apenas as entradas do hash invalidado devem ser removidas");
+    }
+}
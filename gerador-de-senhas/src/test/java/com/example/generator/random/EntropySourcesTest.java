@@ -0,0 +1,92 @@
+package com.example.generator.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes das fontes de entropia e da renovação de chave do ChaCha20.
+ */
+class EntropySourcesTest {
+
+    /*
+     * Testa se cada fonte embutida produz bytes com distribuição uniforme (teste qui-quadrado).
+     */
+    @Test
+    void testBuiltInSourcesAreUniform() {
+        for (String name : new String[]{EntropySources.NATIVE, EntropySources.DRBG,
+                EntropySources.CHACHA20, EntropySources.DEFAULT}) {
+            EntropySource source = EntropySources.create(name);
+            int[] counts = new int[256];
+            byte[] block = new byte[4096];
+            for (int i = 0; i < 64; i++) {
+                source.nextBytes(block);
+                for (byte b : block) {
+                    counts[b & 0xFF]++;
+                }
+            }
+            double expected = 64 * 4096 / 256.0;
+            double chiSquare = 0;
+            for (int count : counts) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            // 255 graus de liberdade: média 255, desvio padrão ~22,6; o limite fica 7 desvios acima.
+            assertTrue(chiSquare < 415, "A fonte " + name + " deve ser uniforme, qui-quadrado = " + chiSquare);
+        }
+    }
+
+    /*
+     * Testa se o ChaCha20 renova a chave por volume de bytes e por tempo.
+     */
+    @Test
+    void testChaCha20Reseeds() {
+        AtomicLong clock = new AtomicLong();
+        ChaCha20Source source = new ChaCha20Source(new SecureRandom(), clock::get);
+        assertEquals(1, source.getReseedCount(), "A chave inicial deve vir da fonte do sistema.");
+
+        byte[] block = new byte[1 << 20];
+        for (long written = 0; written < ChaCha20Source.RESEED_INTERVAL_BYTES; written += block.length) {
+            source.nextBytes(block);
+        }
+        assertEquals(1, source.getReseedCount());
+        source.nextBytes(block);
+        assertEquals(2, source.getReseedCount(), "A chave deve ser renovada após o volume máximo.");
+
+        clock.addAndGet(ChaCha20Source.RESEED_INTERVAL_NANOS);
+        source.nextBytes(new byte[16]);
+        assertEquals(3, source.getReseedCount(), "A chave deve ser renovada após o intervalo máximo.");
+    }
+
+    /*
+     * Testa a escolha de uma fonte externa pelo nome da classe e a rejeição de nomes desconhecidos.
+     */
+    @Test
+    void testCustomAndUnknownSources() {
+        EntropySource custom = EntropySources.create(CountingSource.class.getName());
+        assertEquals("contador", custom.getName());
+        assertThrows(IllegalArgumentException.class, () -> EntropySources.create("inexistente"));
+        assertThrows(IllegalArgumentException.class, () -> EntropySources.create(String.class.getName()));
+    }
+
+    /*
+     * Fonte determinística usada apenas para testar o carregamento por nome de classe.
+     */
+    public static class CountingSource implements EntropySource {
+        private byte next;
+
+        @Override
+        public void nextBytes(byte[] dest) {
+            for (int i = 0; i < dest.length; i++) {
+                dest[i] = next++;
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "contador";
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da leitura e escrita mínimas de JSON compartilhadas pelo servidor e pela carga em lote.
+ */
+class JsonTest {
+
+    /*
+     * Testa a leitura de um objeto de um nível, usada nos corpos das requisições.
+     */
+    @Test
+    void testParseObject() {
+        Map<String, String> fields = Json.parseObject(" {\"a\": \"x\\n\\u0041\", \"b\": 12, \"c\": true} ");
+        assertEquals(Map.of("a", "x\nA", "b", "12", "c", "true"), fields);
+        assertEquals(Map.of(), Json.parseObject("{}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1,\"a\":2}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":[1]}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":\"\\uzzzz\"}"));
+    }
+
+    /*
+     * Testa a busca de um campo de texto ignorando valores aninhados, e o escape na escrita.
+     */
+    @Test
+    void testFindStringAndQuote() {
+        String line = "{\"id\": 1, \"extra\": {\"user\": \"x\", \"l\": [1, \"}\"]}, \"user\": \"ana\"}";
+        assertEquals("ana", Json.findString(line, "user"::equals));
+        assertNull(Json.findString(line, "login"::equals));
+        assertNull(Json.findString("{}", "user"::equals));
+        assertThrows(IllegalArgumentException.class, () -> Json.findString("{\"user\": 1}", "user"::equals));
+        assertThrows(IllegalArgumentException.class, () -> Json.findString("[]", "user"::equals));
+        assertEquals("\"a\\\"b\\\\c\\u0001\"", Json.quote("a\"b\\c\u0001"));
+    }
+}
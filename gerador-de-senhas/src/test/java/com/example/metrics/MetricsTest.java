@@ -0,0 +1,129 @@
+package com.example.metrics;
+
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes do histograma, do registro de métricas e da exportação no formato do Prometheus.
+ */
+class MetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    /*
+     * Testa que os baldes cobrem a faixa de long sem lacunas e em ordem.
+     */
+    @Test
+    void testHistogramBuckets() {
+        assertEquals(0, Histogram.index(0));
+        assertEquals(Histogram.BUCKETS - 1, Histogram.index(Long.MAX_VALUE));
+        for (int i = 1; i < Histogram.BUCKETS; i++) {
+            assertEquals(Histogram.upperBound(i - 1) + 1, Histogram.lowerBound(i), "Lacuna antes do balde " + i);
+            assertEquals(i, Histogram.index(Histogram.lowerBound(i)));
+            assertEquals(i, Histogram.index(Histogram.upperBound(i)));
+        }
+    }
+
+    /*
+     * Testa que os percentis ficam dentro do erro relativo prometido.
+     */
+    @Test
+    void testHistogramPercentiles() {
+        Histogram histogram = new Histogram();
+        long[] values = new long[100_000];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000 + random.nextLong(50_000_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMax());
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = snapshot.getPercentile(percentile);
+            assertEquals(expected, actual, expected * 0.035, "p" + percentile);
+        }
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getPercentile(101));
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getPercentile(99));
+    }
+
+    /*
+     * Testa que contadores e timers ignoram os registros com as métricas desativadas.
+     */
+    @Test
+    void testDisabled() {
+        Counter counter = Metrics.counter("teste_contador");
+        Timer timer = Metrics.timer("teste_timer");
+        long start = Metrics.start();
+        assertEquals(Metrics.NOT_STARTED, start);
+        counter.increment();
+        timer.recordSince(start);
+        timer.record(10);
+        assertEquals(0, counter.get());
+        assertEquals(0, timer.snapshot().getCount());
+
+        Metrics.setEnabled(true);
+        counter.add(3);
+        timer.recordSince(Metrics.start());
+        assertEquals(3, counter.get());
+        assertEquals(1, timer.snapshot().getCount());
+        assertSame(counter, Metrics.counter("teste_contador"));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.timer("teste_contador"));
+        assertThrows(IllegalArgumentException.class, () -> Metrics.counter("teste_contador", "sem_valor"));
+    }
+
+    /*
+     * Testa a exportação de contadores, gauges e timers com rótulos.
+     */
+    @Test
+    void testPrometheus() {
+        Metrics.setEnabled(true);
+        Metrics.counter("teste_erros", "operation", "insert").add(2);
+        Gauge gauge = Metrics.gauge("teste_ativos", () -> 7);
+        Timer timer = Metrics.timer("teste_latencia", "path", "/a\"b");
+        timer.record(1_000_000);
+        timer.record(3_000_000);
+
+        String text = Metrics.snapshot().toPrometheus();
+        assertTrue(text.contains("# TYPE teste_erros counter\nteste_erros{operation=\"insert\"} 2\n"), text);
+        assertTrue(text.contains("# TYPE teste_ativos gauge\nteste_ativos 7\n"), text);
+        assertTrue(text.contains("# TYPE teste_latencia_seconds summary\n"), text);
+        assertTrue(text.contains("teste_latencia_seconds{path=\"/a\\\"b\",quantile=\"0.5\"} 0.001"), text);
+        assertTrue(text.contains("teste_latencia_seconds_sum{path=\"/a\\\"b\"} 0.004000000\n"), text);
+        assertTrue(text.contains("teste_latencia_seconds_count{path=\"/a\\\"b\"} 2\n"), text);
+
+        Metrics.unregister(gauge);
+        assertFalse(Metrics.snapshot().getGauges().containsKey("teste_ativos"));
+    }
+
+    /*
+     * Testa o timer registrado pelo hashing.
+     */
+    @Test
+    void testHashingTimer() {
+        Metrics.setEnabled(true);
+        String hash = HashingUtils.hashPassword("s3nha", HashAlgorithm.SHA256);
+        assertTrue(HashingUtils.verifyPassword("s3nha", hash, HashAlgorithm.SHA256));
+
+        MetricsSnapshot snapshot = Metrics.snapshot();
+        assertEquals(1, snapshot.getTimers().get("senhas_hash{algorithm=\"SHA256\"}").getCount());
+        assertEquals(1, snapshot.getTimers().get("senhas_verify{algorithm=\"SHA256\"}").getCount());
+    }
+}
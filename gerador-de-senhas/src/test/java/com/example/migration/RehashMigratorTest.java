@@ -0,0 +1,146 @@
+package com.example.migration;
+
+import com.example.database.DatabaseManager;
+import com.example.database.Usuario;
+import com.example.generator.hashing.CryptoPrimitives;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashCost;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link RehashMigrator} contra um banco H2 em memória.
+ */
+public class RehashMigratorTest {
+
+    private static final String URL = "jdbc:h2:mem:migration-test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private Connection keepAlive;
+    private DatabaseManager db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE usuarios (id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "usuario VARCHAR(255) NOT NULL, senha_hash TEXT NOT NULL, algoritmo VARCHAR(50) NOT NULL)");
+        }
+        db = new DatabaseManager(URL, "sa", "");
+        db.salvarUsuario("sha", HashingUtils.hashPassword("senha-sha", HashAlgorithm.SHA256), "SHA-256");
+        db.salvarUsuario("gerador", legacyGeneratorHash("senha-gerador"), "PBKDF2WithHmacSHA256");
+        db.salvarUsuario("atual", HashingUtils.hashPassword("senha-atual", HashAlgorithm.PBKDF2), "PBKDF2");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.fecharConexao();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE usuarios");
+        }
+        keepAlive.close();
+    }
+
+    /**
+     * Testa se logins válidos migram os cadastros desatualizados e se o relatório acompanha a migração.
+     */
+    @Test
+    void testLoginMigraCadastrosDesatualizados() {
+        RehashMigrator migrator = new RehashMigrator(db, HashAlgorithm.PBKDF2, 1, 10, 50);
+        MigrationReport antes = migrator.report();
+        assertEquals(3, antes.getTotalUsuarios(), "O relatório deve contar todos os cadastros");
+        assertEquals(2, antes.getTotalPendentes(), "Dois cadastros devem estar pendentes");
+        assertEquals(1L, antes.getPendentesPorAlgoritmo().get("SHA-256"));
+        assertEquals(1L, antes.getPendentesPorAlgoritmo().get("PBKDF2WithHmacSHA256"));
+
+        assertTrue(migrator.login("sha", "senha-sha"), "O login SHA-256 deve ser válido");
+        assertTrue(migrator.login("gerador", "senha-gerador"), "O login com hash legado do gerador deve ser válido");
+        assertTrue(migrator.login("atual", "senha-atual"), "O login com hash atual deve ser válido");
+        migrator.close();
+
+        assertEquals(2, migrator.getRehashesScheduled(), "Apenas os cadastros desatualizados devem ser rehasheados");
+        try (RehashMigrator depois = new RehashMigrator(db, HashAlgorithm.PBKDF2)) {
+            assertEquals(0, depois.report().getTotalPendentes(), "Não deve restar cadastro pendente após os logins");
+        }
+
+        Usuario migrado = db.buscarUsuario("sha");
+        assertEquals("PBKDF2", migrado.getAlgoritmo(), "O cadastro deve usar o algoritmo alvo");
+        assertTrue(HashingUtils.verifyPassword("senha-sha", migrado.getSenhaHash(), HashAlgorithm.PBKDF2),
+                "O novo hash deve validar a mesma senha");
+    }
+
+    /**
+     * Testa se um login com senha errada não dispara a migração.
+     */
+    @Test
+    void testLoginInvalidoNaoMigra() {
+        RehashMigrator migrator = new RehashMigrator(db, HashAlgorithm.PBKDF2);
+        assertFalse(migrator.login("sha", "senha-errada"), "A senha errada deve ser rejeitada");
+        assertFalse(migrator.login("inexistente", "senha"), "Um usuário inexistente deve ser rejeitado");
+        migrator.close();
+
+        assertEquals(0, migrator.getRehashesScheduled(), "Nenhum rehash deve ser agendado");
+        assertEquals("SHA-256", db.buscarUsuario("sha").getAlgoritmo(), "O cadastro deve permanecer inalterado");
+    }
+
+    /**
+     * Testa se, com a fila de rehash cheia, os rehashes excedentes são ignorados sem contar como
+     * falha e se os cadastros ignorados continuam pendentes.
+     */
+    @Test
+    void testFilaCheiaIgnoraRehash() {
+        int logins = 6;
+        for (int i = 0; i < logins; i++) {
+            db.salvarUsuario("extra" + i, HashingUtils.hashPassword("senha-extra", HashAlgorithm.SHA256), "SHA-256");
+        }
+        RehashMigrator migrator = new RehashMigrator(db, HashAlgorithm.PBKDF2, 1, 1, 10, 50);
+        for (int i = 0; i < logins; i++) {
+            assertTrue(migrator.login("extra" + i, "senha-extra"), "O login deve ser válido mesmo com a fila cheia");
+        }
+        migrator.close();
+
+        assertTrue(migrator.getRehashesSkipped() > 0, "Os rehashes além da fila devem ser ignorados");
+        assertEquals(logins, migrator.getRehashesScheduled() + migrator.getRehashesSkipped(),
+                "Cada login deve ser agendado ou ignorado");
+        assertEquals(0, migrator.getRehashesFailed(), "Rehashes ignorados não são falhas");
+        try (RehashMigrator depois = new RehashMigrator(db, HashAlgorithm.PBKDF2)) {
+            assertEquals(2 + migrator.getRehashesSkipped(), depois.report().getTotalPendentes(),
+                    "Os cadastros ignorados devem continuar pendentes");
+        }
+    }
+
+    /**
+     * Testa se cadastros com hash em formato desconhecido são contados à parte sem interromper o
+     * relatório.
+     */
+    @Test
+    void testRelatorioContaHashesMalformados() {
+        db.salvarUsuario("quebrado", "nao-e-um-hash", "PBKDF2");
+        db.salvarUsuario("truncado", "$pbkdf2-sha256$v=1$i=abc$x:y", "PBKDF2");
+        try (RehashMigrator migrator = new RehashMigrator(db, HashAlgorithm.PBKDF2)) {
+            MigrationReport report = migrator.report();
+            assertEquals(5, report.getTotalUsuarios());
+            assertEquals(2, report.getMalformados(), "Os hashes inválidos devem ser contados à parte");
+            assertEquals(2, report.getTotalPendentes(), "Os demais cadastros devem continuar sendo contados");
+        }
+    }
+
+    /**
+     * Gera um hash no formato das versões antigas de SecurePasswordGenerator.hashPassword.
+     */
+    private static String legacyGeneratorHash(String password) {
+        byte[] salt = "salt-do-gerador!".getBytes(StandardCharsets.UTF_8);
+        byte[] hash = CryptoPrimitives.pbkdf2(password.toCharArray(), salt, HashCost.LEGACY_GENERATOR_ITERATIONS, 256);
+        return Base64.getEncoder().encodeToString(salt) + ":" + Base64.getEncoder().encodeToString(hash);
+    }
+}
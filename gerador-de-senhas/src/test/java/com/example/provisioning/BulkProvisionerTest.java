@@ -0,0 +1,302 @@
+package com.example.provisioning;
+
+import com.example.database.DatabaseManager;
+import com.example.generator.PasswordGenerator;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da carga em lote contra um banco H2 em memória.
+ */
+public class BulkProvisionerTest {
+
+    private static final String URL = "jdbc:h2:mem:provisioning-test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path dir;
+
+    private Connection keepAlive;
+    private DatabaseManager db;
+    private SecurePasswordGenerator generator;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE usuarios (id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "usuario VARCHAR(255) NOT NULL, senha_hash TEXT NOT NULL, algoritmo VARCHAR(50) NOT NULL)");
+        }
+        db = new DatabaseManager(URL, "sa", "");
+        generator = new SecurePasswordGenerator(new PasswordPolicy());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.fecharConexao();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE usuarios");
+        }
+        keepAlive.close();
+    }
+
+    private Path writeCsv(int users) throws IOException {
+        StringBuilder content = new StringBuilder("id,nome,Usuario,email\n");
+        for (int i = 0; i < users; i++) {
+            content.append(i).append(",\"Pessoa, ").append(i).append("\",usuario").append(i).append(",p").append(i).append("@example.com\n");
+            if (i == 3) {
+                content.append("\n");
+                content.append("99,Sem Usuário,,x@example.com\n");
+                content.append("98,\"aspas abertas,usuarioX,y@example.com\n");
+            }
+        }
+        Path input = dir.resolve("rh.csv");
+        Files.write(input, content.toString().getBytes(StandardCharsets.UTF_8));
+        return input;
+    }
+
+    /**
+     * Testa a carga de um CSV: credenciais na saída, cadastros no banco e linhas inválidas no
+     * arquivo de erros.
+     */
+    @Test
+    void testCargaCsv() throws Exception {
+        Path input = writeCsv(25);
+        Path output = dir.resolve("credenciais.csv");
+        List<ProvisioningReport> progress = new ArrayList<>();
+
+        ProvisioningReport report;
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            provisioner.setProgressListener(progress::add);
+            report = provisioner.provision(input, output);
+        }
+
+        assertTrue(report.isCompleted());
+        assertEquals(25, report.getProvisioned());
+        assertEquals(2, report.getFailed());
+        assertEquals(29, report.getLinesRead(), "Cabeçalho, usuários, linha vazia e linhas inválidas");
+        assertTrue(progress.size() >= 3, "O andamento deve ser informado a cada bloco");
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals("usuario,senha", lines.get(0));
+        assertEquals(26, lines.size());
+        assertEquals(25, countRows());
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",", 2);
+            String hash = storedHash(fields[0]);
+            assertTrue(HashingUtils.verifyPassword(fields[1], hash, HashAlgorithm.SHA256),
+                    "O hash gravado deve corresponder à senha da saída: " + fields[0]);
+        }
+
+        List<String> errors = Files.readAllLines(BulkProvisioner.errorsPath(output));
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(1).startsWith("7,"), errors.get(1));
+        assertTrue(errors.get(2).startsWith("8,") && errors.get(2).contains("Aspas"), errors.get(2));
+
+        if (output.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(output)),
+                    "O arquivo com senhas deve ser legível apenas pelo dono");
+        }
+    }
+
+    /**
+     * Testa a carga de um JSONL sem banco, com BOM, escapes e campo configurado.
+     */
+    @Test
+    void testCargaJsonlSemBanco() throws Exception {
+        Path input = dir.resolve("rh.jsonl");
+        String content = "\uFEFF{\"id\": 1, \"extra\": {\"login\": \"ignorado\"}, \"conta\": \"ana\\u00e7\"}\n"
+                + "{\"conta\": \"bruno \\\"b\\\"\", \"lista\": [1, 2]}\n"
+                + "{\"id\": 3}\n"
+                + "nao e json\n";
+        Files.write(input, content.getBytes(StandardCharsets.UTF_8));
+        Path output = dir.resolve("credenciais.jsonl");
+
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, null, 1)) {
+            provisioner.setUsernameField("conta");
+            ProvisioningReport report = provisioner.provision(input, output);
+            assertEquals(2, report.getProvisioned());
+            assertEquals(2, report.getFailed());
+        }
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"usuario\":\"anaç\",\"senha\":\""), lines.get(0));
+        assertTrue(lines.get(1).startsWith("{\"usuario\":\"bruno \\\"b\\\"\",\"senha\":\""), lines.get(1));
+        assertEquals(0, countRows(), "Sem banco, nada deve ser gravado");
+    }
+
+    /**
+     * Testa a retomada após uma interrupção entre dois blocos: nenhum usuário é cadastrado duas
+     * vezes e a saída contém cada usuário uma única vez.
+     */
+    @Test
+    void testRetomaDoCheckpoint() throws Exception {
+        Path input = writeCsv(40);
+        Path output = dir.resolve("credenciais.csv");
+
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            provisioner.setProgressListener(report -> {
+                if (report.getLinesRead() > 20) {
+                    throw new IllegalStateException("interrupção simulada");
+                }
+            });
+            assertThrows(IllegalStateException.class, () -> provisioner.provision(input, output));
+        }
+        int afterCrash = countRows();
+        assertTrue(afterCrash > 0 && afterCrash < 40);
+
+        ProvisioningReport report;
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            report = provisioner.provision(input, output);
+        }
+        assertTrue(report.getResumedAtLine() > 0);
+        assertEquals(40, report.getProvisioned());
+        assertEquals(40, countRows(), "Nenhum usuário deve ser cadastrado duas vezes");
+        assertUniqueUsers(output, 40);
+        assertEquals(3, Files.readAllLines(BulkProvisioner.errorsPath(output)).size());
+
+        // Uma nova execução sobre a carga concluída não faz nada.
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 1)) {
+            assertTrue(provisioner.provision(input, output).isCompleted());
+        }
+        assertEquals(40, countRows());
+    }
+
+    /**
+     * Testa a retomada de um bloco cuja gravação no banco falhou depois de a saída ser gravada.
+     */
+    @Test
+    void testRetomaGravacaoPendente() throws Exception {
+        Path input = writeCsv(15);
+        Path output = dir.resolve("credenciais.csv");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("ALTER TABLE usuarios ADD CONSTRAINT sem_usuario12 CHECK (usuario <> 'usuario12')");
+        }
+
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            assertThrows(RuntimeException.class, () -> provisioner.provision(input, output));
+        }
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("ALTER TABLE usuarios DROP CONSTRAINT sem_usuario12");
+        }
+
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            assertTrue(provisioner.provision(input, output).isCompleted());
+        }
+        assertEquals(15, countRows());
+        for (String line : assertUniqueUsers(output, 15)) {
+            String[] fields = line.split(",", 2);
+            assertTrue(HashingUtils.verifyPassword(fields[1], storedHash(fields[0]), HashAlgorithm.SHA256),
+                    "O bloco pendente deve ser gravado com as senhas já entregues na saída");
+        }
+    }
+
+    /**
+     * Testa a retomada após uma falha no primeiro bloco, antes de qualquer checkpoint de bloco.
+     */
+    @Test
+    void testRetomaAposFalhaNoPrimeiroBloco() throws Exception {
+        Path input = writeCsv(15);
+        Path output = dir.resolve("credenciais.csv");
+        AtomicInteger calls = new AtomicInteger();
+        PasswordGenerator failing = () -> {
+            if (calls.incrementAndGet() == 3) {
+                // Um Error não vira linha de erro: simula a queda do processo no meio do bloco
+                throw new OutOfMemoryError("falha simulada");
+            }
+            return generator.generate();
+        };
+        try (BulkProvisioner provisioner = new BulkProvisioner(failing, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            assertThrows(OutOfMemoryError.class, () -> provisioner.provision(input, output));
+        }
+        assertTrue(Files.exists(output));
+        assertEquals(0, countRows());
+
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, db, 2)) {
+            provisioner.setChunkSize(10);
+            assertTrue(provisioner.provision(input, output).isCompleted());
+        }
+        assertEquals(15, countRows());
+        assertUniqueUsers(output, 15);
+    }
+
+    /**
+     * Testa as situações em que a carga não pode continuar.
+     */
+    @Test
+    void testCargaRecusada() throws IOException {
+        Path input = writeCsv(5);
+        Path output = dir.resolve("credenciais.csv");
+        try (BulkProvisioner provisioner = new BulkProvisioner(generator, HashAlgorithm.SHA256, null, 1)) {
+            Files.writeString(output, "existente\n");
+            assertThrows(IllegalStateException.class, () -> provisioner.provision(input, output),
+                    "Uma saída existente sem checkpoint não deve ser sobrescrita");
+            Files.delete(output);
+
+            provisioner.provision(input, output);
+            Files.writeString(input, "usuario\nnovo\n");
+            assertThrows(IllegalStateException.class, () -> provisioner.provision(input, output),
+                    "Uma entrada alterada não deve ser retomada");
+
+            Path semColuna = dir.resolve("sem-coluna.csv");
+            Files.writeString(semColuna, "nome,email\na,b\n");
+            assertThrows(IllegalArgumentException.class, () -> provisioner.provision(semColuna, dir.resolve("saida2.csv")));
+        }
+    }
+
+    private List<String> assertUniqueUsers(Path output, int expected) throws IOException {
+        List<String> lines = Files.readAllLines(output);
+        List<String> credentials = lines.subList(1, lines.size());
+        Set<String> users = new HashSet<>();
+        for (String line : credentials) {
+            assertTrue(users.add(line.split(",", 2)[0]), "Usuário repetido na saída: " + line);
+        }
+        assertEquals(expected, users.size());
+        return credentials;
+    }
+
+    private String storedHash(String usuario) throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT senha_hash FROM usuarios WHERE usuario = '" + usuario + "'")) {
+            assertTrue(rs.next(), "Usuário não cadastrado: " + usuario);
+            return rs.getString(1);
+        }
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM usuarios")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
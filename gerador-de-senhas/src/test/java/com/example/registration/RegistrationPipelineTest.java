@@ -0,0 +1,102 @@
+package com.example.registration;
+
+import com.example.database.DatabaseManager;
+import com.example.generator.SecurePasswordGenerator;
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes do {@link RegistrationPipeline} contra um banco H2 em memória.
+ */
+public class RegistrationPipelineTest {
+
+    private static final String URL = "jdbc:h2:mem:registration-test;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private Connection keepAlive;
+    private DatabaseManager db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        keepAlive = DriverManager.getConnection(URL, "sa", "");
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("CREATE TABLE usuarios (id INT AUTO_INCREMENT PRIMARY KEY, "
+                    + "usuario VARCHAR(255) NOT NULL, senha_hash TEXT NOT NULL, algoritmo VARCHAR(50) NOT NULL)");
+        }
+        db = new DatabaseManager(URL, "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.fecharConexao();
+        try (Statement stmt = keepAlive.createStatement()) {
+            stmt.execute("DROP TABLE usuarios");
+        }
+        keepAlive.close();
+    }
+
+    /**
+     * Testa se os cadastros são gravados em lotes e se cada future traz o hash da senha gerada.
+     */
+    @Test
+    void testCadastrosSaoGravadosEmLotes() throws Exception {
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy());
+        List<CompletableFuture<RegistrationResult>> futures = new ArrayList<>();
+
+        try (RegistrationPipeline pipeline = new RegistrationPipeline(generator, HashAlgorithm.SHA256, db, 2, 100, 20, 200)) {
+            for (int i = 0; i < 60; i++) {
+                futures.add(pipeline.register("usuario" + i));
+            }
+            for (CompletableFuture<RegistrationResult> future : futures) {
+                RegistrationResult result = future.get(10, TimeUnit.SECONDS);
+                assertTrue(HashingUtils.verifyPassword(result.getPassword(), result.getSenhaHash(), HashAlgorithm.SHA256),
+                        "O hash gravado deve corresponder à senha gerada");
+            }
+            assertEquals(60, pipeline.getRegistrosGravados(), "Todos os cadastros devem ser gravados");
+            assertTrue(pipeline.getFlushCount() < 60, "Os cadastros devem ser agrupados em lotes");
+        }
+        assertEquals(60, countRows(), "A tabela deve conter todos os cadastros");
+    }
+
+    /**
+     * Testa se o encerramento grava os cadastros pendentes e recusa novos.
+     */
+    @Test
+    void testEncerramentoGravaPendentes() throws SQLException {
+        SecurePasswordGenerator generator = new SecurePasswordGenerator(new PasswordPolicy());
+        RegistrationPipeline pipeline = new RegistrationPipeline(generator, HashAlgorithm.SHA256, db, 2, 100, 1000, 60_000);
+        List<CompletableFuture<RegistrationResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            futures.add(pipeline.register("usuario" + i));
+        }
+        pipeline.close();
+
+        assertTrue(futures.stream().allMatch(future -> future.isDone() && !future.isCompletedExceptionally()),
+                "Todos os cadastros enviados antes do encerramento devem ser concluídos");
+        assertEquals(25, countRows(), "Os cadastros pendentes devem ser gravados no encerramento");
+        assertTrue(pipeline.register("tarde").isCompletedExceptionally(), "Cadastros após o encerramento devem falhar");
+    }
+
+    private int countRows() throws SQLException {
+        try (Statement stmt = keepAlive.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM usuarios")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
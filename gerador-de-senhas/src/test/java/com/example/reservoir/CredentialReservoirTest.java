@@ -0,0 +1,208 @@
+package com.example.reservoir;
+
+import com.example.generator.config.PasswordPolicy;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes da fila circular e do reservatório de credenciais, com SHA256 para que o
+ * reabastecimento seja rápido.
+ */
+class CredentialReservoirTest {
+
+    private final PasswordPolicy policy = new PasswordPolicy(16, true, true, true, true);
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private static ReservoirConfig config(int low, int high) {
+        ReservoirConfig config = new ReservoirConfig();
+        config.setCapacity(high);
+        config.setLowWatermark(low);
+        return config;
+    }
+
+    private static void awaitSize(CredentialReservoir reservoir, int size) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (reservoir.size() < size) {
+            assertTrue(System.nanoTime() < limit, "O reservatório não foi reabastecido");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitRefillDone(CredentialReservoir reservoir) throws InterruptedException {
+        long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (reservoir.isRefilling()) {
+            assertTrue(System.nanoTime() < limit, "O ciclo de reabastecimento não terminou");
+            Thread.sleep(5);
+        }
+    }
+
+    /*
+     * Testa a ordem, os limites e o arredondamento da capacidade da fila.
+     */
+    @Test
+    void testRingSingleThread() {
+        MpmcRing<Integer> ring = new MpmcRing<>(3);
+        assertEquals(4, ring.capacity());
+        assertNull(ring.poll());
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(ring.offer(i));
+            }
+            assertFalse(ring.offer(4), "A fila cheia deve recusar");
+            assertEquals(4, ring.size());
+            for (int i = 0; i < 4; i++) {
+                assertEquals(i, ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+
+        // A retirada condicional não tira o mais antigo do lugar quando a condição o recusa
+        assertTrue(ring.offer(1) && ring.offer(2) && ring.offer(3));
+        assertEquals(1, ring.pollIf(i -> i < 2));
+        assertNull(ring.pollIf(i -> i < 2));
+        assertEquals(2, ring.poll());
+        assertEquals(3, ring.poll());
+        assertNull(ring.pollIf(i -> true));
+        assertThrows(IllegalArgumentException.class, () -> new MpmcRing<>(0));
+    }
+
+    /*
+     * Testa que vários produtores e consumidores não perdem nem duplicam elementos.
+     */
+    @Test
+    void testRingConcurrent() throws Exception {
+        MpmcRing<Long> ring = new MpmcRing<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        long total = (long) producers * perProducer;
+        LongAdder consumed = new LongAdder();
+        LongAdder sum = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(producers * 2);
+        try {
+            Future<?>[] futures = new Future<?>[producers * 2];
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                futures[p] = executor.submit(() -> {
+                    for (long i = base; i < base + perProducer; i++) {
+                        while (!ring.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+                futures[producers + p] = executor.submit(() -> {
+                    while (consumed.sum() < total) {
+                        Long item = ring.poll();
+                        if (item == null) {
+                            Thread.yield();
+                        } else {
+                            sum.add(item);
+                            consumed.increment();
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(total, consumed.sum());
+        assertEquals(total * (total - 1) / 2, sum.sum());
+        assertNull(ring.poll());
+    }
+
+    /*
+     * Testa o preenchimento em segundo plano e as retiradas atendidas pelo reservatório.
+     */
+    @Test
+    void testRefillAndTake() throws Exception {
+        try (CredentialReservoir reservoir = new CredentialReservoir(policy, HashAlgorithm.SHA256, config(2, 8))) {
+            awaitSize(reservoir, 8);
+            long limit = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (reservoir.getLastRefillLagNanos() == 0) {
+                assertTrue(System.nanoTime() < limit, "O ciclo de reabastecimento não terminou");
+                Thread.sleep(5);
+            }
+
+            for (int i = 0; i < 6; i++) {
+                try (Credential credential = reservoir.take()) {
+                    String password = new String(credential.getPassword());
+                    assertEquals(16, password.length());
+                    assertTrue(HashingUtils.verifyPassword(password, credential.getHash(), HashAlgorithm.SHA256));
+                }
+            }
+            assertEquals(6, reservoir.getHitCount());
+            assertEquals(0, reservoir.getMissCount());
+            assertEquals(1.0, reservoir.getHitRate());
+
+            // Abaixo da marca inferior o reservatório volta à marca superior
+            awaitSize(reservoir, 8);
+        }
+    }
+
+    /*
+     * Testa que credenciais vencidas são descartadas e não entregues.
+     */
+    @Test
+    void testExpiry() throws Exception {
+        ReservoirConfig config = config(0, 4);
+        config.setTtl(Duration.ofMinutes(10));
+        try (CredentialReservoir reservoir = new CredentialReservoir(policy, HashAlgorithm.SHA256, config, now::get)) {
+            awaitSize(reservoir, 4);
+            now.addAndGet(Duration.ofMinutes(10).toNanos());
+
+            assertNull(reservoir.poll(), "Todas as credenciais venceram");
+            assertEquals(4, reservoir.getExpiredCount());
+            assertEquals(0, reservoir.getHitCount());
+
+            // A retirada seguinte é atendida pelo reabastecimento ou produzida na hora; com a
+            // marca inferior em zero, o ciclo pode terminar com 3 ou 4 credenciais
+            try (Credential fresh = reservoir.take()) {
+                assertEquals(HashAlgorithm.SHA256, fresh.getAlgorithm());
+            }
+            assertEquals(1, reservoir.getHitCount() + reservoir.getMissCount());
+            awaitRefillDone(reservoir);
+            int refilled = reservoir.size();
+            assertTrue(refilled >= 3, "Reabastecido com " + refilled);
+
+            assertEquals(0, reservoir.evictExpired(), "Nenhuma das novas venceu");
+            assertEquals(refilled, reservoir.size());
+            now.addAndGet(Duration.ofMinutes(10).toNanos());
+            assertEquals(refilled, reservoir.evictExpired());
+            assertEquals(0, reservoir.size());
+        }
+    }
+
+    /*
+     * Testa que a senha é zerada ao fechar a credencial e que o reservatório fechado recusa
+     * retiradas.
+     */
+    @Test
+    void testCloseZeroes() {
+        CredentialReservoir reservoir = new CredentialReservoir(policy, HashAlgorithm.SHA256, config(1, 2));
+        Credential credential = reservoir.take();
+        char[] password = credential.getPassword();
+        credential.close();
+        for (char c : password) {
+            assertEquals('\0', c);
+        }
+        assertThrows(IllegalStateException.class, credential::getPassword);
+
+        reservoir.close();
+        assertEquals(0, reservoir.size());
+        assertThrows(IllegalStateException.class, reservoir::take);
+        assertThrows(IllegalArgumentException.class, () -> new CredentialReservoir(policy, HashAlgorithm.SHA256, config(4, 4)));
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.server;
+
+import com.example.admission.AdaptiveConcurrencyLimit;
+import com.example.admission.AdmissionController;
+import com.example.admission.KeyedRateLimiter;
+import com.example.generator.hashing.HashAlgorithm;
+import com.example.generator.hashing.HashingUtils;
+import com.example.metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Testes do servidor HTTP embutido, em uma porta livre da interface local.
+ */
+class PasswordServerTest {
+
+    static {
+        // Como no App --server; sem isso cada resposta espera o ACK atrasado do cliente
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PasswordServer server;
+
+    private PasswordServer start(ServerConfig config) {
+        config.setPort(0);
+        server = new PasswordServer(config);
+        server.start();
+        return server;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+
+    /*
+     * Testa a geração de senhas e as respostas para parâmetros, métodos e caminhos inválidos.
+     */
+    @Test
+    void testGenerate() throws Exception {
+        start(new ServerConfig());
+
+        HttpResponse<String> response = get("/generate?count=5&mode=all_classes");
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals("no-store", response.headers().firstValue("Cache-Control").orElse(null));
+        assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+        Matcher matcher = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(response.body());
+        assertTrue(matcher.find());
+        assertEquals("passwords", matcher.group(1));
+        int count = 0;
+        while (matcher.find()) {
+            String password = matcher.group(1).replace("\\\"", "\"").replace("\\\\", "\\");
+            assertEquals(16, password.length(), password);
+            count++;
+        }
+        assertEquals(5, count);
+
+        assertEquals(400, get("/generate?count=0").statusCode());
+        assertEquals(400, get("/generate?count=abc").statusCode());
+        assertEquals(400, get("/generate?mode=nenhum").statusCode());
+        HttpResponse<String> wrongMethod = post("/generate", "");
+        assertEquals(405, wrongMethod.statusCode());
+        assertEquals("GET", wrongMethod.headers().firstValue("Allow").orElse(null));
+        assertEquals(404, get("/generatex").statusCode());
+    }
+
+    /*
+     * Testa o hash e a verificação de ida e volta pela API.
+     */
+    @Test
+    void testHashAndVerify() throws Exception {
+        start(new ServerConfig());
+
+        for (HashAlgorithm algorithm : new HashAlgorithm[]{HashAlgorithm.SHA256, HashAlgorithm.PBKDF2}) {
+            HttpResponse<String> response = post("/hash", "{\"password\": \"s3nh\\u00e1 \\\"x\\\"\", \"algorithm\": \""
+                    + algorithm.name().toLowerCase() + "\"}");
+            assertEquals(200, response.statusCode(), response.body());
+            Matcher matcher = Pattern.compile("\"hash\":\"([^\"]+)\"").matcher(response.body());
+            assertTrue(matcher.find(), response.body());
+            String hash = matcher.group(1);
+            assertTrue(HashingUtils.verifyPassword("s3nhá \"x\"", hash, algorithm));
+
+            String verify = "{\"password\":\"s3nhá \\\"x\\\"\",\"hash\":\"" + hash + "\",\"algorithm\":\"" + algorithm + "\"}";
+            assertEquals("{\"valid\":true}", post("/verify", verify).body());
+            assertEquals("{\"valid\":false}", post("/verify", verify.replace("s3nh", "outra")).body());
+        }
+    }
+
+    /*
+     * Testa as respostas para corpos inválidos ou grandes demais.
+     */
+    @Test
+    void testInvalidBodies() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setMaxBodyBytes(64);
+        start(config);
+
+        assertEquals(400, post("/hash", "nao e json").statusCode());
+        assertEquals(400, post("/hash", "{\"algorithm\":\"SHA256\"}").statusCode());
+        assertEquals(400, post("/hash", "{\"password\":\"x\",\"algorithm\":\"MD5\"}").statusCode());
+        assertEquals(400, post("/hash", "{\"password\":{\"a\":1}}").statusCode());
+        assertEquals(400, post("/verify", "{\"password\":\"x\"}").statusCode());
+        assertEquals(413, post("/hash", "{\"password\":\"" + "x".repeat(100) + "\"}").statusCode());
+    }
+
+    /*
+     * Testa que o /verify recusa com 400, sem ocupar o pool de hashing, hashes com custo acima
+     * do máximo configurado.
+     */
+    @Test
+    void testVerifyCostAboveMaximum() throws Exception {
+        start(new ServerConfig());
+        String pbkdf2 = "$pbkdf2-sha256$v=1$i=9000000$c2FsdA==:aGFzaA==";
+        HttpResponse<String> response = post("/verify", "{\"password\":\"x\",\"hash\":\"" + pbkdf2 + "\",\"algorithm\":\"PBKDF2\"}");
+        assertEquals(400, response.statusCode(), response.body());
+        String bcrypt = "$2a$20$" + "a".repeat(53);
+        assertEquals(400, post("/verify", "{\"password\":\"x\",\"hash\":\"" + bcrypt + "\",\"algorithm\":\"BCRYPT\"}").statusCode());
+        assertEquals(0, server.hashExecutor().getCompletedTaskCount(), "Nenhum hash deve chegar ao pool");
+
+        String valid = HashingUtils.hashPassword("x", HashAlgorithm.PBKDF2);
+        assertEquals("{\"valid\":true}", post("/verify", "{\"password\":\"x\",\"hash\":\"" + valid + "\",\"algorithm\":\"PBKDF2\"}").body());
+    }
+
+    /*
+     * Testa a recusa imediata com a fila de hashing cheia e o tempo máximo da requisição.
+     */
+    @Test
+    void testLoadSheddingAndTimeout() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setHashThreads(1);
+        config.setHashQueueCapacity(1);
+        config.setRequestTimeoutMillis(300);
+        start(config);
+
+        // Ocupa a única thread de hashing e a única vaga da fila.
+        CountDownLatch release = new CountDownLatch(1);
+        server.hashExecutor().execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.hashExecutor().execute(() -> { });
+        try {
+            HttpResponse<String> shed = post("/hash", "{\"password\":\"x\",\"algorithm\":\"SHA256\"}");
+            assertEquals(503, shed.statusCode(), shed.body());
+            assertEquals("1", shed.headers().firstValue("Retry-After").orElse(null));
+            assertEquals(1, server.getShedCount());
+        } finally {
+            release.countDown();
+        }
+        awaitIdle();
+
+        // Com a thread ocupada e a fila livre, o hash espera na fila até estourar o prazo.
+        CountDownLatch busy = new CountDownLatch(1);
+        server.hashExecutor().execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            long start = System.nanoTime();
+            HttpResponse<String> late = post("/verify", "{\"password\":\"x\",\"hash\":\"y\",\"algorithm\":\"SHA256\"}");
+            assertEquals(504, late.statusCode(), late.body());
+            assertTrue(System.nanoTime() - start < 5_000_000_000L);
+            assertEquals(1, server.getTimeoutCount());
+        } finally {
+            busy.countDown();
+        }
+        awaitIdle();
+
+        // Depois de liberado, o pool volta a atender normalmente.
+        assertEquals(200, post("/hash", "{\"password\":\"x\",\"algorithm\":\"SHA256\"}").statusCode());
+        assertTrue(server.getRequestCount() >= 3);
+    }
+
+    /*
+     * Testa a recusa com 429 de uma chave acima da sua taxa e os contadores de admissão. O
+     * endereço de origem é cobrado junto com o usuário, então trocar de usuário não escapa do
+     * limite.
+     */
+    @Test
+    void testRateLimited() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setAdmission(new AdmissionController(new KeyedRateLimiter(0.5, 2), new AdaptiveConcurrencyLimit()));
+        start(config);
+
+        String body = "{\"user\":\"ana\",\"password\":\"x\",\"algorithm\":\"SHA256\"}";
+        assertEquals(200, post("/hash", body).statusCode());
+        assertEquals(200, post("/hash", body).statusCode());
+        HttpResponse<String> limited = post("/hash", body);
+        assertEquals(429, limited.statusCode(), limited.body());
+        long retryAfter = Long.parseLong(limited.headers().firstValue("Retry-After").orElse("0"));
+        assertTrue(retryAfter >= 1 && retryAfter <= 2, "Retry-After: " + retryAfter);
+
+        assertEquals(429, post("/hash", body.replace("ana", "bruno")).statusCode(), "A origem também é limitada");
+        AdmissionController admission = server.getAdmission();
+        assertEquals(2, admission.getAdmittedCount());
+        assertEquals(2, admission.getRateLimitedCount());
+        assertEquals(0, admission.getLimit().getInFlight());
+    }
+
+    /*
+     * Testa a exportação das métricas do servidor no formato do Prometheus.
+     */
+    @Test
+    void testMetrics() throws Exception {
+        Metrics.setEnabled(true);
+        try {
+            start(new ServerConfig());
+            assertEquals(200, post("/hash", "{\"user\":\"ana\",\"password\":\"x\",\"algorithm\":\"SHA256\"}").statusCode());
+            assertEquals(405, post("/generate", "").statusCode());
+
+            HttpResponse<String> response = get("/metrics");
+            assertEquals(200, response.statusCode());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/plain"));
+            String body = response.body();
+            assertTrue(body.contains("senhas_http_request_seconds_count{path=\"/hash\"} 1"), body);
+            assertTrue(body.contains("senhas_http_responses{status=\"405\"}"), body);
+            assertTrue(body.contains("senhas_hash_seconds_count{algorithm=\"SHA256\"}"), body);
+            assertTrue(body.contains("senhas_admission_admitted 1"), body);
+        } finally {
+            Metrics.setEnabled(false);
+            Metrics.reset();
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long limit = System.nanoTime() + 5_000_000_000L;
+        while (server.hashExecutor().getActiveCount() > 0 || !server.hashExecutor().getQueue().isEmpty()) {
+            assertTrue(System.nanoTime() < limit, "O pool de hashing não ficou livre");
+            Thread.sleep(5);
+        }
+    }
+}